@@ -31,5 +31,12 @@ echo "Java version: $(java -version 2>&1 | head -n 1)"
 echo "JAR file: $JAR_FILE"
 echo ""
 
+# Use the class-data sharing archive from "mvn -Pappcds package" if present
+CDS_ARCHIVE="target/app-cds.jsa"
+JAVA_OPTS=""
+if [ -f "$CDS_ARCHIVE" ]; then
+    JAVA_OPTS="-XX:SharedArchiveFile=$CDS_ARCHIVE -Xshare:auto"
+fi
+
 # Run the application
-java -jar "$JAR_FILE"
\ No newline at end of file
+java $JAVA_OPTS -jar "$JAR_FILE"
\ No newline at end of file
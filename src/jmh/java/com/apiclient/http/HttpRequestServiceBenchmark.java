@@ -0,0 +1,65 @@
+package com.apiclient.http;
+
+import com.apiclient.model.RequestData;
+import com.apiclient.model.ResponseData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip through HttpRequestService against an in-process server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpRequestServiceBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    public int bodySize;
+
+    private LocalTestServer server;
+    private HttpRequestService httpRequestService;
+    private RequestData requestData;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = new LocalTestServer(bodySize, 4);
+        httpRequestService = new HttpRequestService();
+        requestData = new RequestData("GET", server.url());
+        requestData.addHeader("Accept", "application/json");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public ResponseData executeRequest() throws Exception {
+        ResponseData responseData = httpRequestService.executeRequest(requestData);
+        responseData.getBodyContent().close();
+        return responseData;
+    }
+
+    @Benchmark
+    public ResponseData executeRequestAsync() throws Exception {
+        ResponseData responseData = httpRequestService.executeRequestAsync(requestData).get();
+        responseData.getBodyContent().close();
+        return responseData;
+    }
+}
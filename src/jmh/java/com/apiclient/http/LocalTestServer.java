@@ -0,0 +1,86 @@
+package com.apiclient.http;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process HTTP server for benchmarks, serving a fixed JSON payload on /payload,
+ * optionally after a fixed delay.
+ */
+public class LocalTestServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    static {
+        // Without TCP_NODELAY, Nagle plus delayed ACKs add ~40 ms to every exchange
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    public LocalTestServer(int bodySize, int threads) throws IOException {
+        this(bodySize, threads, 0);
+    }
+
+    /**
+     * Server that waits {@code delayMillis} before each response, so that many
+     * requests are in flight at once. With {@code threads <= 0} every exchange
+     * gets its own thread (a virtual thread on Java 21).
+     */
+    public LocalTestServer(int bodySize, int threads, long delayMillis) throws IOException {
+        byte[] body = payload(bodySize);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 16384);
+        if (threads > 0) {
+            executor = Executors.newFixedThreadPool(threads);
+        } else if (VirtualThreads.isSupported()) {
+            executor = VirtualThreads.newPerTaskExecutor("test-server");
+        } else {
+            executor = Executors.newCachedThreadPool();
+        }
+        server.setExecutor(executor);
+        server.createContext("/payload", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/payload";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * JSON array of objects padded to exactly {@code size} bytes.
+     */
+    static byte[] payload(int size) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) ' ');
+        if (size >= 2) {
+            bytes[0] = '[';
+            bytes[size - 1] = ']';
+        }
+        return bytes;
+    }
+}
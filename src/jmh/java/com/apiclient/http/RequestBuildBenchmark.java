@@ -0,0 +1,66 @@
+package com.apiclient.http;
+
+import com.apiclient.model.RequestData;
+import com.apiclient.template.RequestTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.http.HttpRequest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building an HttpRequest for a new id: from a RequestData rebuilt from
+ * strings each time, versus rendering a compiled RequestTemplate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestBuildBenchmark {
+    private static final String URL = "http://localhost:8080/users/{{id}}/orders?limit=20";
+    private static final String BODY = "{\"userId\": {{id}}, \"status\": \"open\"}";
+
+    private HttpRequestService httpRequestService;
+    private RequestTemplate template;
+    private final Map<String, String> variables = new HashMap<>();
+    private int id;
+
+    @Setup
+    public void setUp() {
+        httpRequestService = new HttpRequestService();
+        template = RequestTemplate.compile(newRequestData(URL, BODY));
+    }
+
+    @Benchmark
+    public HttpRequest buildFromRequestData() {
+        String value = Integer.toString(id++);
+        RequestData requestData = newRequestData(URL.replace("{{id}}", value), BODY.replace("{{id}}", value));
+        return httpRequestService.buildRequest(requestData);
+    }
+
+    @Benchmark
+    public HttpRequest renderTemplate() {
+        variables.put("id", Integer.toString(id++));
+        return template.toHttpRequest(variables, true);
+    }
+
+    private static RequestData newRequestData(String url, String body) {
+        RequestData requestData = new RequestData("post", url);
+        requestData.addHeader("Content-Type", "application/json");
+        requestData.addHeader("Authorization", "Bearer token");
+        requestData.setBody(body);
+        return requestData;
+    }
+}
@@ -0,0 +1,59 @@
+package com.apiclient.http;
+
+import com.apiclient.model.ResponseData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.http.HttpHeaders;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of HttpClient response headers into ResponseData.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseConversionBenchmark {
+
+    @Param({"5", "20", "100"})
+    public int headerCount;
+
+    private HttpHeaders headers;
+
+    @Setup
+    public void setUp() {
+        Map<String, List<String>> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < headerCount; i++) {
+            List<String> values = new ArrayList<>();
+            values.add("value-" + i);
+            if (i % 4 == 0) {
+                values.add("second-value-" + i);
+            }
+            map.put("x-header-" + i, values);
+        }
+        headers = HttpHeaders.of(map, (name, value) -> true);
+    }
+
+    @Benchmark
+    public ResponseData copyHeaders() {
+        ResponseData responseData = new ResponseData();
+        HttpRequestService.copyHeaders(headers, responseData);
+        return responseData;
+    }
+}
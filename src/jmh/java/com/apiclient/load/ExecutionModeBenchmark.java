@@ -0,0 +1,74 @@
+package com.apiclient.load;
+
+import com.apiclient.http.HttpRequestService;
+import com.apiclient.http.LocalTestServer;
+import com.apiclient.http.VirtualThreads;
+import com.apiclient.model.RequestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop LoadRunner with platform-thread, virtual-thread and sendAsync
+ * workers, holding up to 10k connections open against a local server that
+ * answers after 100 ms. Each operation is one round of requests per worker.
+ *
+ * 10k connections need about 20k file descriptors (client and server side);
+ * raise the limit first (ulimit -n 65536). VIRTUAL_THREADS runs on Java 21+:
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.args="ExecutionMode"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xss512k", "-Djdk.httpclient.keepalive.timeout=30"})
+public class ExecutionModeBenchmark {
+    private static final long SERVER_DELAY_MILLIS = 100;
+
+    @Param({"PLATFORM_THREADS", "VIRTUAL_THREADS", "ASYNC"})
+    public LoadRunner.ExecutionMode mode;
+
+    @Param({"1000", "10000"})
+    public int concurrency;
+
+    private LocalTestServer server;
+    private LoadRunner loadRunner;
+    private RequestData requestData;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if (mode == LoadRunner.ExecutionMode.VIRTUAL_THREADS && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("VIRTUAL_THREADS needs Java 21; run with -p mode=PLATFORM_THREADS,ASYNC");
+        }
+        server = new LocalTestServer(1024, 0, SERVER_DELAY_MILLIS);
+        HttpRequestService httpRequestService = mode == LoadRunner.ExecutionMode.VIRTUAL_THREADS
+                ? new HttpRequestService(VirtualThreads.newPerTaskExecutor("http"))
+                : new HttpRequestService();
+        loadRunner = new LoadRunner(httpRequestService);
+        loadRunner.setExecutionMode(mode);
+        requestData = new RequestData("GET", server.url());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public LoadResult oneRequestPerWorker() throws Exception {
+        return loadRunner.run(requestData, concurrency, concurrency);
+    }
+}
@@ -0,0 +1,73 @@
+package com.apiclient.ui;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON pretty printing of the Pretty tab for payloads from 1 KB to 100 MB:
+ * into a String, and streamed to a Writer the way the Pretty tab does it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+public class JsonPrettyPrintBenchmark {
+
+    @Param({"1024", "1048576", "104857600"})
+    public int payloadSize;
+
+    private String json;
+
+    @Setup
+    public void setUp() {
+        json = generateJson(payloadSize);
+    }
+
+    @Benchmark
+    public String prettyPrintJson() throws IOException {
+        return ResponsePanel.prettyPrintJson(json);
+    }
+
+    @Benchmark
+    public void formatStreaming() throws IOException {
+        JsonFormatter.format(new StringReader(json), Writer.nullWriter());
+    }
+
+    /**
+     * Compact JSON array of records of roughly the requested size.
+     */
+    static String generateJson(int size) {
+        StringBuilder sb = new StringBuilder(size + 256);
+        sb.append('[');
+        int id = 0;
+        while (sb.length() < size - 2) {
+            if (id > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(id)
+                    .append(",\"name\":\"item ").append(id).append("\"")
+                    .append(",\"active\":").append(id % 2 == 0)
+                    .append(",\"tags\":[\"a\",\"b\\\"c\"],\"score\":").append(id * 0.5)
+                    .append(",\"owner\":{\"id\":").append(id % 97).append(",\"email\":null}}");
+            id++;
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+}
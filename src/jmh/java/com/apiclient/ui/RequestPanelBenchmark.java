@@ -0,0 +1,57 @@
+package com.apiclient.ui;
+
+import com.apiclient.model.RequestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collecting RequestData from the request form.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RequestPanelBenchmark {
+
+    @Param({"1", "20"})
+    public int headerCount;
+
+    @Param({"0", "65536"})
+    public int bodySize;
+
+    private RequestPanel requestPanel;
+
+    @Setup
+    public void setUp() {
+        RequestData requestData = new RequestData("POST", "https://api.example.com/orders/12345?expand=items");
+        for (int i = 0; i < headerCount; i++) {
+            requestData.addHeader("X-Header-" + i, "value-" + i);
+        }
+        StringBuilder body = new StringBuilder(bodySize);
+        while (body.length() < bodySize) {
+            body.append("{\"field\": \"value\"}\n");
+        }
+        requestData.setBody(body.toString());
+
+        requestPanel = new RequestPanel();
+        requestPanel.setRequestData(requestData);
+    }
+
+    @Benchmark
+    public RequestData getRequestData() {
+        return requestPanel.getRequestData();
+    }
+}
@@ -1,14 +1,31 @@
 package com.apiclient;
 
+import com.apiclient.cli.CommandLineRunner;
 import com.apiclient.ui.ApiClientFrame;
 
 import javax.swing.SwingUtilities;
 
 /**
  * Main entry point for the Java API Client application.
+ *
+ * Without arguments the GUI is started; with arguments the request is run
+ * headless by CommandLineRunner, which never loads AWT or Swing.
  */
 public class Main {
     public static void main(String[] args) {
+        StartupTiming.mainEntered();
+        if (CommandLineRunner.isCommandLine(args)) {
+            int exitCode = new CommandLineRunner(System.out, System.err).run(args);
+            System.exit(exitCode);
+        }
+        launchGui();
+    }
+
+    /**
+     * Start the Swing GUI. Kept separate from main so the command-line path
+     * does not touch any GUI class.
+     */
+    private static void launchGui() {
         // Set Look and Feel to system default for better native appearance
         try {
             javax.swing.UIManager.setLookAndFeel(
@@ -24,4 +41,4 @@ public class Main {
             frame.setVisible(true);
         });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package com.apiclient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures time to first paint of the main window.
+ *
+ * With {@code -Dapiclient.startupTiming=true} the time from JVM start and
+ * from entering main to the first paint is printed to stderr. With
+ * {@code -Dapiclient.exitAfterFirstPaint=true} the application exits right
+ * after the first paint, which is used for the AppCDS training run and for
+ * repeatable start-up measurements.
+ */
+public final class StartupTiming {
+    private static final AtomicBoolean FIRST_PAINT_SEEN = new AtomicBoolean();
+    private static volatile long mainEnteredNanos;
+
+    private StartupTiming() {
+    }
+
+    /**
+     * Record the start of main; call before anything else is loaded.
+     */
+    public static void mainEntered() {
+        mainEnteredNanos = System.nanoTime();
+    }
+
+    /**
+     * Called by the main window whenever it paints; only the first call counts.
+     */
+    public static void firstPaint() {
+        if (!FIRST_PAINT_SEEN.compareAndSet(false, true)) {
+            return;
+        }
+        long sinceMainMillis = mainEnteredNanos == 0
+                ? -1
+                : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - mainEnteredNanos);
+        if (Boolean.getBoolean("apiclient.startupTiming")) {
+            System.err.printf("First paint: %d ms after JVM start, %d ms after main%n",
+                    sinceJvmStartMillis(), sinceMainMillis);
+        }
+        if (Boolean.getBoolean("apiclient.exitAfterFirstPaint")) {
+            System.exit(0);
+        }
+    }
+
+    private static long sinceJvmStartMillis() {
+        return ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toMillis())
+                .orElse(-1L);
+    }
+}
@@ -0,0 +1,340 @@
+package com.apiclient.cli;
+
+import com.apiclient.collection.CollectionEntry;
+import com.apiclient.collection.CollectionResult;
+import com.apiclient.collection.CollectionRunner;
+import com.apiclient.collection.EntryResult;
+import com.apiclient.collection.RequestCollection;
+import com.apiclient.http.HttpRequestService;
+import com.apiclient.http.RequestPolicy;
+import com.apiclient.http.RequestPolicyExecutor;
+import com.apiclient.model.RequestData;
+import com.apiclient.model.RequestTiming;
+import com.apiclient.model.ResponseBody;
+import com.apiclient.model.ResponseData;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Headless command-line mode: sends one request, or a file of requests run
+ * as a collection, through HttpRequestService and prints status, timing and body.
+ *
+ * Nothing in this package may reference AWT or Swing, so that running it
+ * never loads the GUI toolkit.
+ */
+public class CommandLineRunner {
+    /** All requests completed with a status below 400. */
+    public static final int EXIT_OK = 0;
+    /** At least one request failed or returned a 4xx/5xx status. */
+    public static final int EXIT_REQUEST_FAILED = 1;
+    /** The command line or request file could not be parsed. */
+    public static final int EXIT_USAGE = 2;
+
+    private static final Set<String> METHODS =
+            Set.of("GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS");
+
+    private final PrintStream out;
+    private final PrintStream err;
+
+    private RequestData singleRequest;
+    private RequestCollection collection;
+    private boolean printBody = true;
+    private boolean printHeaders;
+    private int retries;
+    private int parallel = 1;
+
+    public CommandLineRunner(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    /**
+     * Whether the arguments ask for command-line mode rather than the GUI.
+     */
+    public static boolean isCommandLine(String[] args) {
+        return args != null && args.length > 0;
+    }
+
+    /**
+     * Parse the arguments, send the requests in order and return the exit code.
+     */
+    public int run(String[] args) {
+        try {
+            if (!parseArguments(args)) {
+                return EXIT_OK;
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            err.println("Error: " + e.getMessage());
+            err.println();
+            printUsage(err);
+            return EXIT_USAGE;
+        }
+
+        HttpRequestService httpRequestService = new HttpRequestService();
+        RequestPolicy policy = RequestPolicy.noRetries();
+        policy.setMaxRetries(retries);
+        RequestPolicyExecutor executor = new RequestPolicyExecutor(httpRequestService, policy);
+
+        try {
+            if (collection != null) {
+                return runCollection(executor);
+            }
+            ResponseData response = executor.execute(singleRequest);
+            try {
+                printResponse(singleRequest, response);
+                return isFailure(response) ? EXIT_REQUEST_FAILED : EXIT_OK;
+            } finally {
+                ResponseBody content = response.getBodyContent();
+                if (content != null) {
+                    content.close();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            err.println("Interrupted");
+            return EXIT_REQUEST_FAILED;
+        } catch (IllegalStateException e) {
+            err.println("Error: " + e.getMessage());
+            return EXIT_USAGE;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Run the request file through CollectionRunner and print the results in
+     * file order, followed by wall and serial time. The response bodies are
+     * released once printed.
+     */
+    private int runCollection(RequestPolicyExecutor executor) throws InterruptedException {
+        CollectionRunner collectionRunner = new CollectionRunner(executor);
+        collectionRunner.setMaxConcurrency(parallel);
+        try (CollectionResult result = collectionRunner.run(collection)) {
+            return printCollectionResult(result);
+        }
+    }
+
+    private int printCollectionResult(CollectionResult result) {
+        for (EntryResult entryResult : result.getEntryResults()) {
+            CollectionEntry entry = entryResult.getEntry();
+            if (entryResult.getOutcome() == EntryResult.Outcome.SKIPPED) {
+                out.printf("%s %s -> SKIPPED (%s)%n%n", entry.getRequestData().getMethod(),
+                        entry.getRequestData().getUrl(), entryResult.getMessage());
+            } else if (entryResult.getResponseData() != null) {
+                printResponse(entry.getRequestData(), entryResult.getResponseData());
+                out.println();
+            } else {
+                out.printf("%s %s -> -1 Error: %s%n%n", entry.getRequestData().getMethod(),
+                        entry.getRequestData().getUrl(), entryResult.getMessage());
+            }
+        }
+        out.println(result.toSummary());
+        out.flush();
+        return result.isAllSucceeded() ? EXIT_OK : EXIT_REQUEST_FAILED;
+    }
+
+    private static boolean isFailure(ResponseData response) {
+        return response.getStatusCode() < 0 || response.getStatusCode() >= 400;
+    }
+
+    /**
+     * Parse options into the request list. Returns false when only help was requested.
+     */
+    private boolean parseArguments(String[] args) throws IOException {
+        List<String> positional = new ArrayList<>();
+        List<String> headers = new ArrayList<>();
+        String data = null;
+        Path requestFile = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "-h":
+                case "--help":
+                    printUsage(out);
+                    return false;
+                case "-H":
+                case "--header":
+                    headers.add(value(args, ++i, arg));
+                    break;
+                case "-d":
+                case "--data":
+                    data = value(args, ++i, arg);
+                    break;
+                case "-f":
+                case "--file":
+                    requestFile = Paths.get(value(args, ++i, arg));
+                    break;
+                case "-i":
+                case "--include":
+                    printHeaders = true;
+                    break;
+                case "--no-body":
+                    printBody = false;
+                    break;
+                case "--retries":
+                    retries = parseCount(value(args, ++i, arg), arg, 0);
+                    break;
+                case "--parallel":
+                    parallel = parseCount(value(args, ++i, arg), arg, 1);
+                    break;
+                default:
+                    if (arg.startsWith("-") && arg.length() > 1) {
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                    }
+                    positional.add(arg);
+            }
+        }
+
+        if (requestFile != null) {
+            if (!positional.isEmpty() || data != null) {
+                throw new IllegalArgumentException("--file cannot be combined with a request on the command line");
+            }
+            collection = RequestFileParser.parse(requestFile);
+            for (CollectionEntry entry : collection.getEntries()) {
+                for (String header : headers) {
+                    addHeader(entry.getRequestData(), header);
+                }
+            }
+            if (collection.size() == 0) {
+                throw new IllegalArgumentException("No requests in " + requestFile);
+            }
+            return true;
+        }
+
+        RequestData requestData;
+        if (positional.size() == 1) {
+            requestData = new RequestData(data != null ? "POST" : "GET", positional.get(0));
+        } else if (positional.size() == 2) {
+            requestData = new RequestData(method(positional.get(0)), positional.get(1));
+        } else {
+            throw new IllegalArgumentException("Expected [METHOD] URL or --file");
+        }
+        for (String header : headers) {
+            addHeader(requestData, header);
+        }
+        if (data != null) {
+            setBody(requestData, data, Paths.get(""));
+        }
+        singleRequest = requestData;
+        return true;
+    }
+
+    private void printResponse(RequestData requestData, ResponseData response) {
+        out.printf("%s %s -> %d %s%n", requestData.getMethod(), requestData.getUrl(),
+                response.getStatusCode(), response.getStatusText());
+        RequestTiming timing = response.getTiming();
+        if (timing != null) {
+            out.println(timing.toSummary());
+        } else {
+            out.printf("Total %d ms%n", response.getResponseTimeMs());
+        }
+        if (response.getContentEncoding() != null) {
+            out.printf("Body %d bytes (%d bytes %s on the wire)%n", response.getBodyLength(),
+                    response.getWireBodyLength(), response.getContentEncoding());
+        }
+        if (printHeaders) {
+            for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+                out.println(header.getKey() + ": " + header.getValue());
+            }
+        }
+        if (printBody && response.getBodyLength() > 0) {
+            out.println();
+            try (InputStream body = response.openBodyStream()) {
+                body.transferTo(out);
+            } catch (IOException e) {
+                err.println("Could not read response body: " + e.getMessage());
+            }
+            out.println();
+        }
+        out.flush();
+    }
+
+    static void addHeader(RequestData requestData, String header) {
+        int colon = header.indexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Header must be \"Name: value\": " + header);
+        }
+        requestData.addHeader(header.substring(0, colon).trim(), header.substring(colon + 1).trim());
+    }
+
+    /**
+     * Set the body from a literal, or stream it from a file for "@path"
+     * (relative to {@code baseDirectory}).
+     */
+    static void setBody(RequestData requestData, String data, Path baseDirectory) {
+        if (data.startsWith("@")) {
+            Path bodyFile = baseDirectory.resolve(data.substring(1));
+            if (!Files.isReadable(bodyFile)) {
+                throw new IllegalArgumentException("Cannot read body file " + bodyFile);
+            }
+            requestData.setBodyFile(bodyFile);
+        } else {
+            requestData.setBody(data);
+        }
+    }
+
+    static String method(String token) {
+        String method = token.toUpperCase(Locale.ROOT);
+        if (!METHODS.contains(method)) {
+            throw new IllegalArgumentException("Unsupported method " + token);
+        }
+        return method;
+    }
+
+    static boolean isMethod(String token) {
+        return METHODS.contains(token.toUpperCase(Locale.ROOT));
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+    private static int parseCount(String value, String option, int minimum) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < minimum) {
+                throw new IllegalArgumentException(option + " must be at least " + minimum);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(option + " expects a number: " + value);
+        }
+    }
+
+    private static void printUsage(PrintStream stream) {
+        stream.println("Usage:");
+        stream.println("  java -jar java-api-client.jar                         start the GUI");
+        stream.println("  java -jar java-api-client.jar [options] [METHOD] URL  send one request");
+        stream.println("  java -jar java-api-client.jar [options] --file FILE   send the requests in FILE");
+        stream.println();
+        stream.println("Options:");
+        stream.println("  -H, --header 'Name: value'  add a request header (repeatable)");
+        stream.println("  -d, --data BODY             request body; @path streams the body from a file");
+        stream.println("  -f, --file FILE             request file: 'METHOD URL' lines, each followed by");
+        stream.println("                              optional 'Name: value' headers, '< path' body,");
+        stream.println("                              '@name id' and '@depends id, ...' lines; requests are");
+        stream.println("                              separated by blank lines, # starts a comment");
+        stream.println("      --parallel N            send up to N independent requests of a file at once");
+        stream.println("  -i, --include               print response headers");
+        stream.println("      --no-body               do not print response bodies");
+        stream.println("      --retries N             retry idempotent requests on failure (default 0)");
+        stream.println("  -h, --help                  show this help");
+        stream.println();
+        stream.println("Exit status: 0 all requests < 400, 1 a request failed, 2 usage error");
+        stream.flush();
+    }
+}
@@ -0,0 +1,96 @@
+package com.apiclient.cli;
+
+import com.apiclient.collection.RequestCollection;
+import com.apiclient.model.RequestData;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads request files for the command-line runner.
+ *
+ * Each request starts with a "METHOD URL" line, followed by optional
+ * "Name: value" header lines and a "{@code < path}" line whose file is streamed as
+ * the body. "@name id" names the request (default "#n") and "@depends a, b"
+ * makes it wait for other requests. Requests are separated by blank lines;
+ * lines starting with # are comments.
+ */
+class RequestFileParser {
+    private RequestFileParser() {
+    }
+
+    static RequestCollection parse(Path file) throws IOException {
+        Path baseDirectory = file.toAbsolutePath().getParent();
+        List<Block> blocks = new ArrayList<>();
+        Block current = null;
+        int lineNumber = 0;
+
+        for (String rawLine : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            lineNumber++;
+            String line = rawLine.trim();
+            if (line.isEmpty()) {
+                current = null;
+                continue;
+            }
+            if (line.startsWith("#")) {
+                continue;
+            }
+
+            String[] parts = line.split("\\s+", 2);
+            String location = file + ":" + lineNumber + ": ";
+            if (current == null) {
+                if (parts.length != 2 || !CommandLineRunner.isMethod(parts[0])) {
+                    throw new IllegalArgumentException(location + "expected 'METHOD URL'");
+                }
+                current = new Block("#" + (blocks.size() + 1),
+                        new RequestData(CommandLineRunner.method(parts[0]), parts[1].trim()));
+                blocks.add(current);
+            } else if (line.startsWith("<")) {
+                CommandLineRunner.setBody(current.requestData, "@" + line.substring(1).trim(), baseDirectory);
+            } else if (parts[0].equals("@name")) {
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException(location + "@name needs an id");
+                }
+                current.id = parts[1].trim();
+            } else if (parts[0].equals("@depends")) {
+                if (parts.length == 2) {
+                    for (String dependency : parts[1].split(",")) {
+                        if (!dependency.trim().isEmpty()) {
+                            current.dependsOn.add(dependency.trim());
+                        }
+                    }
+                }
+            } else {
+                try {
+                    CommandLineRunner.addHeader(current.requestData, line);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(location + e.getMessage());
+                }
+            }
+        }
+
+        RequestCollection collection = new RequestCollection(file.getFileName().toString());
+        for (Block block : blocks) {
+            collection.addEntry(block.id, block.requestData, block.dependsOn.toArray(new String[0]));
+        }
+        return collection;
+    }
+
+    /**
+     * One request while it is being read.
+     */
+    private static class Block {
+        private String id;
+        private final RequestData requestData;
+        private final List<String> dependsOn = new ArrayList<>();
+
+        Block(String id, RequestData requestData) {
+            this.id = id;
+            this.requestData = requestData;
+        }
+    }
+}
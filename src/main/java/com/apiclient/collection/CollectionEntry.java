@@ -0,0 +1,40 @@
+package com.apiclient.collection;
+
+import com.apiclient.model.RequestData;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A named request in a collection together with the entries it depends on.
+ */
+public class CollectionEntry {
+    private final String id;
+    private final RequestData requestData;
+    private final Set<String> dependsOn;
+
+    public CollectionEntry(String id, RequestData requestData, Set<String> dependsOn) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("Entry id must not be empty");
+        }
+        this.id = id;
+        this.requestData = requestData;
+        this.dependsOn = Collections.unmodifiableSet(new LinkedHashSet<>(dependsOn));
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public RequestData getRequestData() {
+        return requestData;
+    }
+
+    /**
+     * Ids of the entries that must succeed before this one is sent.
+     */
+    public Set<String> getDependsOn() {
+        return dependsOn;
+    }
+}
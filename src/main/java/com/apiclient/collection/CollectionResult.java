@@ -0,0 +1,77 @@
+package com.apiclient.collection;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of a collection run, in collection order. Close it once the
+ * responses are no longer needed, so their bodies are released.
+ */
+public class CollectionResult implements Closeable {
+    private final List<EntryResult> entryResults;
+    private final long wallTimeNanos;
+
+    public CollectionResult(List<EntryResult> entryResults, long wallTimeNanos) {
+        this.entryResults = Collections.unmodifiableList(new ArrayList<>(entryResults));
+        this.wallTimeNanos = wallTimeNanos;
+    }
+
+    public List<EntryResult> getEntryResults() {
+        return entryResults;
+    }
+
+    /**
+     * Elapsed time from the first request to the last response.
+     */
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    /**
+     * Sum of all request durations: the time sending them one by one would take.
+     */
+    public long getSerialTimeNanos() {
+        long total = 0;
+        for (EntryResult result : entryResults) {
+            total += result.getDurationNanos();
+        }
+        return total;
+    }
+
+    /**
+     * Serial time divided by wall time.
+     */
+    public double getSpeedup() {
+        return wallTimeNanos > 0 ? (double) getSerialTimeNanos() / wallTimeNanos : 1.0;
+    }
+
+    public long count(EntryResult.Outcome outcome) {
+        return entryResults.stream().filter(result -> result.getOutcome() == outcome).count();
+    }
+
+    public boolean isAllSucceeded() {
+        return count(EntryResult.Outcome.SUCCEEDED) == entryResults.size();
+    }
+
+    /**
+     * Release the response bodies of every entry.
+     */
+    @Override
+    public void close() {
+        for (EntryResult result : entryResults) {
+            result.close();
+        }
+    }
+
+    /**
+     * One-line human readable summary.
+     */
+    public String toSummary() {
+        return String.format("%d requests: %d succeeded, %d failed, %d skipped; wall %.2f ms, serial %.2f ms (%.1fx)",
+                entryResults.size(), count(EntryResult.Outcome.SUCCEEDED), count(EntryResult.Outcome.FAILED),
+                count(EntryResult.Outcome.SKIPPED), wallTimeNanos / 1_000_000.0,
+                getSerialTimeNanos() / 1_000_000.0, getSpeedup());
+    }
+}
@@ -0,0 +1,209 @@
+package com.apiclient.collection;
+
+import com.apiclient.http.HttpRequestService;
+import com.apiclient.http.RequestPolicyExecutor;
+import com.apiclient.model.RequestData;
+import com.apiclient.model.ResponseData;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+/**
+ * Runs a RequestCollection, sending independent requests in parallel while
+ * respecting the dependency graph.
+ *
+ * An entry is sent as soon as all of its dependencies succeeded, with at most
+ * {@code maxConcurrency} requests in flight. Entries that depend, directly or
+ * transitively, on a failed entry are skipped.
+ */
+public class CollectionRunner {
+    /** Default number of requests in flight at once. */
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+    private final Function<RequestData, CompletableFuture<ResponseData>> sender;
+    private volatile int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+    public CollectionRunner(HttpRequestService httpRequestService) {
+        this(httpRequestService::executeRequestAsync);
+    }
+
+    /**
+     * Create a runner that sends each entry through a retry/hedging policy.
+     */
+    public CollectionRunner(RequestPolicyExecutor executor) {
+        this(executor::executeAsync);
+    }
+
+    private CollectionRunner(Function<RequestData, CompletableFuture<ResponseData>> sender) {
+        this.sender = sender;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Run every entry of the collection and block until all have finished or
+     * been skipped.
+     *
+     * @throws IllegalStateException if the collection has unknown dependencies or a cycle
+     */
+    public CollectionResult run(RequestCollection collection) throws InterruptedException {
+        collection.topologicalOrder();
+        Run run = new Run(collection, maxConcurrency);
+        run.start();
+        return run.await();
+    }
+
+    /**
+     * State of a single collection run.
+     */
+    private class Run {
+        private final RequestCollection collection;
+        private final int concurrency;
+        private final Map<String, List<String>> dependents;
+        private final Map<String, Integer> remainingDependencies = new HashMap<>();
+        private final Deque<CollectionEntry> ready = new ArrayDeque<>();
+        private final Map<String, EntryResult> results = new ConcurrentHashMap<>();
+        private final CountDownLatch finished;
+        private long startNanos;
+        private int inFlight;
+        private boolean cancelled;
+
+        Run(RequestCollection collection, int concurrency) {
+            this.collection = collection;
+            this.concurrency = concurrency;
+            this.dependents = collection.dependents();
+            this.finished = new CountDownLatch(collection.size());
+            for (CollectionEntry entry : collection.getEntries()) {
+                remainingDependencies.put(entry.getId(), entry.getDependsOn().size());
+                if (entry.getDependsOn().isEmpty()) {
+                    ready.add(entry);
+                }
+            }
+        }
+
+        void start() {
+            startNanos = System.nanoTime();
+            dispatch();
+        }
+
+        CollectionResult await() throws InterruptedException {
+            try {
+                finished.await();
+            } catch (InterruptedException e) {
+                synchronized (this) {
+                    cancelled = true;
+                }
+                throw e;
+            }
+            long wallTime = System.nanoTime() - startNanos;
+
+            List<EntryResult> ordered = new ArrayList<>(collection.size());
+            for (CollectionEntry entry : collection.getEntries()) {
+                ordered.add(results.get(entry.getId()));
+            }
+            return new CollectionResult(ordered, wallTime);
+        }
+
+        /**
+         * Send ready entries up to the concurrency limit. Requests are started
+         * outside the lock, since a future may complete on the calling thread.
+         */
+        private void dispatch() {
+            List<CollectionEntry> toSend = new ArrayList<>();
+            synchronized (this) {
+                while (!cancelled && inFlight < concurrency && !ready.isEmpty()) {
+                    toSend.add(ready.poll());
+                    inFlight++;
+                }
+            }
+            for (CollectionEntry entry : toSend) {
+                send(entry);
+            }
+        }
+
+        private void send(CollectionEntry entry) {
+            long sendNanos = System.nanoTime();
+            CompletableFuture<ResponseData> response;
+            try {
+                response = sender.apply(entry.getRequestData());
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            response.whenComplete((responseData, throwable) ->
+                    onComplete(entry, responseData, throwable, sendNanos, System.nanoTime()));
+        }
+
+        private void onComplete(CollectionEntry entry, ResponseData responseData, Throwable throwable,
+                                long sendNanos, long endNanos) {
+            EntryResult.Outcome outcome;
+            String message = null;
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause()
+                        : throwable;
+                outcome = EntryResult.Outcome.FAILED;
+                message = cause.getMessage();
+            } else if (responseData.getStatusCode() < 0 || responseData.getStatusCode() >= 400) {
+                outcome = EntryResult.Outcome.FAILED;
+                message = responseData.getStatusCode() + " " + responseData.getStatusText();
+            } else {
+                outcome = EntryResult.Outcome.SUCCEEDED;
+            }
+            record(new EntryResult(entry, outcome, responseData, sendNanos - startNanos,
+                    endNanos - sendNanos, message));
+
+            synchronized (this) {
+                inFlight--;
+                for (String dependentId : dependents.getOrDefault(entry.getId(), Collections.emptyList())) {
+                    if (outcome == EntryResult.Outcome.SUCCEEDED) {
+                        if (remainingDependencies.merge(dependentId, -1, Integer::sum) == 0
+                                && !results.containsKey(dependentId)) {
+                            ready.add(collection.getEntry(dependentId));
+                        }
+                    } else {
+                        skip(dependentId, "Dependency " + entry.getId() + " did not succeed");
+                    }
+                }
+            }
+            dispatch();
+        }
+
+        /**
+         * Mark an entry and everything depending on it as skipped.
+         */
+        private void skip(String id, String reason) {
+            if (results.containsKey(id)) {
+                return;
+            }
+            record(new EntryResult(collection.getEntry(id), EntryResult.Outcome.SKIPPED, null, 0, 0, reason));
+            for (String dependentId : dependents.getOrDefault(id, Collections.emptyList())) {
+                skip(dependentId, "Dependency " + id + " was skipped");
+            }
+        }
+
+        private void record(EntryResult result) {
+            if (results.putIfAbsent(result.getId(), result) == null) {
+                finished.countDown();
+            }
+        }
+    }
+}
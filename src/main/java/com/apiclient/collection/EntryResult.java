@@ -0,0 +1,93 @@
+package com.apiclient.collection;
+
+import com.apiclient.model.ResponseBody;
+import com.apiclient.model.ResponseData;
+
+import java.io.Closeable;
+
+/**
+ * Outcome of one collection entry. Holds the response body, which may be
+ * spilled to a temporary file, until closed.
+ */
+public class EntryResult implements Closeable {
+    /**
+     * How an entry ended.
+     */
+    public enum Outcome {
+        /** Sent and answered with a status below 400. */
+        SUCCEEDED,
+        /** Sent but failed or answered with a 4xx/5xx status. */
+        FAILED,
+        /** Not sent because a dependency did not succeed. */
+        SKIPPED
+    }
+
+    private final CollectionEntry entry;
+    private final Outcome outcome;
+    private final ResponseData responseData;
+    private final long startOffsetNanos;
+    private final long durationNanos;
+    private final String message;
+
+    public EntryResult(CollectionEntry entry, Outcome outcome, ResponseData responseData,
+                       long startOffsetNanos, long durationNanos, String message) {
+        this.entry = entry;
+        this.outcome = outcome;
+        this.responseData = responseData;
+        this.startOffsetNanos = startOffsetNanos;
+        this.durationNanos = durationNanos;
+        this.message = message;
+    }
+
+    public CollectionEntry getEntry() {
+        return entry;
+    }
+
+    public String getId() {
+        return entry.getId();
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * The response, or null if the entry was skipped or no response was received.
+     */
+    public ResponseData getResponseData() {
+        return responseData;
+    }
+
+    /**
+     * When the request was sent, relative to the start of the run.
+     */
+    public long getStartOffsetNanos() {
+        return startOffsetNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Failure or skip reason, or null on success.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isSucceeded() {
+        return outcome == Outcome.SUCCEEDED;
+    }
+
+    /**
+     * Release the response body.
+     */
+    @Override
+    public void close() {
+        ResponseBody content = responseData != null ? responseData.getBodyContent() : null;
+        if (content != null) {
+            content.close();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.apiclient.collection;
+
+import com.apiclient.model.RequestData;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordered set of requests with optional "depends on" edges between them.
+ * The edges must form a directed acyclic graph.
+ */
+public class RequestCollection {
+    private final String name;
+    private final Map<String, CollectionEntry> entries = new LinkedHashMap<>();
+
+    public RequestCollection(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Add a request that is sent only after all {@code dependsOn} entries succeeded.
+     */
+    public CollectionEntry addEntry(String id, RequestData requestData, String... dependsOn) {
+        if (entries.containsKey(id)) {
+            throw new IllegalArgumentException("Duplicate entry id: " + id);
+        }
+        CollectionEntry entry = new CollectionEntry(id, requestData, new LinkedHashSet<>(Arrays.asList(dependsOn)));
+        entries.put(id, entry);
+        return entry;
+    }
+
+    public CollectionEntry getEntry(String id) {
+        return entries.get(id);
+    }
+
+    public List<CollectionEntry> getEntries() {
+        return Collections.unmodifiableList(new ArrayList<>(entries.values()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Entries that directly depend on each entry.
+     */
+    Map<String, List<String>> dependents() {
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (CollectionEntry entry : entries.values()) {
+            for (String dependency : entry.getDependsOn()) {
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(entry.getId());
+            }
+        }
+        return dependents;
+    }
+
+    /**
+     * Entries in an order where every entry follows its dependencies
+     * (Kahn's algorithm, keeping insertion order among independent entries).
+     *
+     * @throws IllegalStateException if a dependency is unknown or the edges contain a cycle
+     */
+    public List<CollectionEntry> topologicalOrder() {
+        Map<String, Integer> remaining = new HashMap<>();
+        for (CollectionEntry entry : entries.values()) {
+            for (String dependency : entry.getDependsOn()) {
+                if (!entries.containsKey(dependency)) {
+                    throw new IllegalStateException(
+                            "Entry " + entry.getId() + " depends on unknown entry " + dependency);
+                }
+            }
+            remaining.put(entry.getId(), entry.getDependsOn().size());
+        }
+
+        Map<String, List<String>> dependents = dependents();
+        Deque<String> ready = new ArrayDeque<>();
+        for (CollectionEntry entry : entries.values()) {
+            if (entry.getDependsOn().isEmpty()) {
+                ready.add(entry.getId());
+            }
+        }
+
+        List<CollectionEntry> order = new ArrayList<>(entries.size());
+        while (!ready.isEmpty()) {
+            String id = ready.poll();
+            order.add(entries.get(id));
+            for (String dependent : dependents.getOrDefault(id, Collections.emptyList())) {
+                if (remaining.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (order.size() != entries.size()) {
+            List<String> cyclic = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : remaining.entrySet()) {
+                if (entry.getValue() > 0) {
+                    cyclic.add(entry.getKey());
+                }
+            }
+            Collections.sort(cyclic);
+            throw new IllegalStateException("Dependency cycle between entries " + cyclic);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,318 @@
+package com.apiclient.history;
+
+import com.apiclient.model.BodyBuffer;
+import com.apiclient.model.RequestData;
+import com.apiclient.model.ResponseBody;
+import com.apiclient.model.ResponseData;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * One request/response pair of a HistoryStore.
+ *
+ * The summary (time, status, body sizes) comes from the index record. Method,
+ * URL and headers are decoded from the log on first use, and bodies are only
+ * read when the entry is turned back into RequestData and ResponseData.
+ */
+public class HistoryEntry {
+    private static final int META_VERSION = 1;
+    /** Response body bytes kept in memory when an entry is loaded; the rest spills to a temp file. */
+    private static final int BODY_MEMORY_LIMIT = 512 * 1024;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    /** Headers carrying credentials, lower case; their values are never written to the log. */
+    private static final Set<String> CREDENTIAL_HEADERS =
+            Set.of("authorization", "proxy-authorization", "cookie", "set-cookie");
+    static final String REDACTED = "(redacted)";
+
+    private final HistoryStore store;
+    private final long index;
+    private final long timestamp;
+    private final long logPosition;
+    private final int metaLength;
+    private final int statusCode;
+    private final long requestBodyLength;
+    private final long responseBodyLength;
+    private final int responseTimeMs;
+    private final int metaCrc;
+    private Meta meta;
+
+    HistoryEntry(HistoryStore store, long index, long timestamp, long logPosition, int metaLength,
+                 int statusCode, long requestBodyLength, long responseBodyLength, int responseTimeMs,
+                 int metaCrc) {
+        this.store = store;
+        this.index = index;
+        this.timestamp = timestamp;
+        this.logPosition = logPosition;
+        this.metaLength = metaLength;
+        this.statusCode = statusCode;
+        this.requestBodyLength = requestBodyLength;
+        this.responseBodyLength = responseBodyLength;
+        this.responseTimeMs = responseTimeMs;
+        this.metaCrc = metaCrc;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Time the entry was recorded, in epoch milliseconds.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public long getResponseTimeMs() {
+        return responseTimeMs;
+    }
+
+    public long getRequestBodyLength() {
+        return requestBodyLength;
+    }
+
+    public long getResponseBodyLength() {
+        return responseBodyLength;
+    }
+
+    public String getMethod() throws IOException {
+        return meta().method;
+    }
+
+    public String getUrl() throws IOException {
+        return meta().url;
+    }
+
+    public Map<String, String> getRequestHeaders() throws IOException {
+        return Collections.unmodifiableMap(meta().requestHeaders);
+    }
+
+    public Map<String, String> getResponseHeaders() throws IOException {
+        return Collections.unmodifiableMap(meta().responseHeaders);
+    }
+
+    /**
+     * Rebuild the request. A body that was sent from a file refers to that
+     * file again; it is not copied into the history.
+     */
+    public RequestData toRequestData() throws IOException {
+        Meta meta = meta();
+        RequestData requestData = new RequestData(meta.method, meta.url);
+        requestData.setHeaders(new LinkedHashMap<>(meta.requestHeaders));
+        if (meta.requestBodyFile != null) {
+            requestData.setBodyFile(Paths.get(meta.requestBodyFile));
+        } else if (requestBodyLength > 0) {
+            ByteBuffer body = ByteBuffer.allocate((int) requestBodyLength);
+            store.readLog(body, logPosition + metaLength);
+            requestData.setBody(new String(body.array(), StandardCharsets.UTF_8));
+        }
+        return requestData;
+    }
+
+    /**
+     * Rebuild the response. The body is copied out of the log through a
+     * BodyBuffer, so large bodies spill to a temporary file as they did when
+     * they were received; close the body when done with it.
+     */
+    public ResponseData toResponseData() throws IOException {
+        Meta meta = meta();
+        ResponseData responseData = new ResponseData(statusCode, meta.statusText);
+        responseData.setHeaders(new LinkedHashMap<>(meta.responseHeaders));
+        responseData.setResponseTimeMs(responseTimeMs);
+        responseData.setContentEncoding(meta.contentEncoding);
+
+        BodyBuffer buffer = new BodyBuffer(BODY_MEMORY_LIMIT);
+        try {
+            long position = logPosition + metaLength + requestBodyLength;
+            long remaining = responseBodyLength;
+            ByteBuffer chunk = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+            while (remaining > 0) {
+                chunk.clear().limit((int) Math.min(chunk.capacity(), remaining));
+                store.readLog(chunk, position);
+                chunk.flip();
+                position += chunk.remaining();
+                remaining -= chunk.remaining();
+                buffer.write(chunk);
+            }
+            responseData.setBodyContent(buffer.toResponseBody(meta.charset));
+        } catch (IOException e) {
+            buffer.discard();
+            throw e;
+        }
+        return responseData;
+    }
+
+    /**
+     * Stream the response body straight from the log.
+     */
+    public InputStream openResponseBody() {
+        return new LogInputStream(logPosition + metaLength + requestBodyLength, responseBodyLength);
+    }
+
+    private synchronized Meta meta() throws IOException {
+        if (meta == null) {
+            ByteBuffer bytes = ByteBuffer.allocate(metaLength);
+            store.readLog(bytes, logPosition);
+            CRC32 crc = new CRC32();
+            crc.update(bytes.array());
+            if ((int) crc.getValue() != metaCrc) {
+                throw new IOException("History entry " + index + " is corrupt");
+            }
+            meta = decodeMeta(bytes.array());
+        }
+        return meta;
+    }
+
+    /**
+     * Encode everything but the bodies: request line and headers, body file
+     * path, response status text, charset, content encoding and headers.
+     * Credential headers are kept by name only, with their value redacted.
+     */
+    static byte[] encodeMeta(RequestData requestData, ResponseData responseData) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(META_VERSION);
+        writeString(out, requestData.getMethod());
+        writeString(out, requestData.getUrl());
+        writeHeaders(out, requestData.getHeaders());
+        writeString(out, requestData.hasBodyFile() ? requestData.getBodyFile().toAbsolutePath().toString() : null);
+
+        ResponseBody content = responseData.getBodyContent();
+        writeString(out, responseData.getStatusText());
+        writeString(out, (content != null ? content.getCharset() : StandardCharsets.UTF_8).name());
+        writeString(out, responseData.getContentEncoding());
+        writeHeaders(out, responseData.getHeaders());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static Meta decodeMeta(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        int version = in.readUnsignedByte();
+        if (version != META_VERSION) {
+            throw new IOException("Unsupported history entry version " + version);
+        }
+        Meta meta = new Meta();
+        meta.method = readString(in);
+        meta.url = readString(in);
+        meta.requestHeaders = readHeaders(in);
+        meta.requestBodyFile = readString(in);
+        meta.statusText = readString(in);
+        String charset = readString(in);
+        meta.charset = Charset.isSupported(charset) ? Charset.forName(charset) : StandardCharsets.UTF_8;
+        meta.contentEncoding = readString(in);
+        meta.responseHeaders = readHeaders(in);
+        return meta;
+    }
+
+    /**
+     * Strings are stored as their UTF-8 length and bytes; null is length -1.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeHeaders(DataOutputStream out, Map<String, String> headers) throws IOException {
+        out.writeInt(headers.size());
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            writeString(out, header.getKey());
+            writeString(out, isCredential(header.getKey()) ? REDACTED : header.getValue());
+        }
+    }
+
+    private static boolean isCredential(String name) {
+        return name != null && CREDENTIAL_HEADERS.contains(name.toLowerCase(Locale.ROOT));
+    }
+
+    private static Map<String, String> readHeaders(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            headers.put(readString(in), readString(in));
+        }
+        return headers;
+    }
+
+    /**
+     * Decoded metadata of an entry.
+     */
+    private static class Meta {
+        private String method;
+        private String url;
+        private Map<String, String> requestHeaders;
+        private String requestBodyFile;
+        private String statusText;
+        private Charset charset;
+        private String contentEncoding;
+        private Map<String, String> responseHeaders;
+    }
+
+    /**
+     * Positional reads over a range of the log.
+     */
+    private class LogInputStream extends InputStream {
+        private long position;
+        private long remaining;
+
+        LogInputStream(long position, long length) {
+            this.position = position;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            ByteBuffer target = ByteBuffer.wrap(b, off, (int) Math.min(len, remaining));
+            store.readLog(target, position);
+            int read = target.position() - off;
+            position += read;
+            remaining -= read;
+            return read;
+        }
+    }
+}
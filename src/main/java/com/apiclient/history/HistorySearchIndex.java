@@ -0,0 +1,448 @@
+package com.apiclient.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index over the URL, headers and bodies of a HistoryStore, kept in
+ * a "search" directory next to it.
+ *
+ * New entries are tokenized into an in-memory index; every FLUSH_ENTRIES
+ * entries it is written out as an immutable SearchSegment, and small
+ * segments are merged once there are more than MAX_SEGMENTS. Segments are
+ * memory-mapped, so a search reads only the posting lists of its terms
+ * instead of scanning bodies. The history log stays the source of truth:
+ * entries not yet in a segment are indexed again when the index is opened.
+ */
+public class HistorySearchIndex implements Closeable {
+    static final String DIRECTORY = "search";
+    static final int FLUSH_ENTRIES = 1_000;
+    static final int MAX_SEGMENTS = 8;
+    /** Body bytes indexed per entry; the rest of a very large body is not searchable. */
+    static final long MAX_BODY_BYTES = 32L * 1024 * 1024;
+    private static final long MAX_MERGED_SEGMENT_BYTES = 256L * 1024 * 1024;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final HistoryStore store;
+    private final Path directory;
+    private final List<SearchSegment> segments = new ArrayList<>();
+    private final Map<String, Postings> memory = new HashMap<>();
+    private long memoryFirstEntry;
+    private long indexedEntries;
+    private long nextSegmentNumber;
+
+    /**
+     * Open the index of a store and index any entries it is missing.
+     */
+    public HistorySearchIndex(HistoryStore store) throws IOException {
+        this.store = store;
+        this.directory = store.getDirectory().resolve(DIRECTORY);
+        HistoryStore.createPrivateDirectory(directory);
+        loadSegments();
+        memoryFirstEntry = indexedEntries;
+        update();
+    }
+
+    /**
+     * Index entries appended to the store since the last call.
+     */
+    public synchronized void update() throws IOException {
+        long size = store.size();
+        while (indexedEntries < size) {
+            addEntry(store.get(indexedEntries));
+            indexedEntries++;
+            if (indexedEntries - memoryFirstEntry >= FLUSH_ENTRIES) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Number of store entries that are searchable.
+     */
+    public synchronized long getIndexedEntries() {
+        return indexedEntries;
+    }
+
+    synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Entries containing every term of the query, newest first. Terms are
+     * case-insensitive runs of letters and digits of at least two characters;
+     * other characters only separate terms.
+     */
+    public synchronized List<HistoryEntry> search(String query, int limit) {
+        Set<String> terms = new HashSet<>();
+        new TermScanner(terms).scan(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        long[] matches = null;
+        for (String term : terms) {
+            long[] postings = postings(term);
+            matches = matches == null ? postings : intersect(matches, postings);
+            if (matches.length == 0) {
+                break;
+            }
+        }
+
+        List<HistoryEntry> results = new ArrayList<>();
+        for (int i = matches.length - 1; i >= 0 && results.size() < limit; i--) {
+            results.add(store.get(matches[i]));
+        }
+        return results;
+    }
+
+    /**
+     * Write the in-memory part to a segment, so reopening does not have to
+     * index those entries again.
+     */
+    public synchronized void flush() throws IOException {
+        if (indexedEntries == memoryFirstEntry) {
+            return;
+        }
+        List<byte[]> terms = new ArrayList<>(memory.size());
+        for (String term : memory.keySet()) {
+            terms.add(term.getBytes(StandardCharsets.UTF_8));
+        }
+        terms.sort(SearchSegment::compareTerms);
+        List<byte[]> postings = new ArrayList<>(terms.size());
+        for (byte[] term : terms) {
+            postings.add(memory.get(new String(term, StandardCharsets.UTF_8)).toByteArray());
+        }
+
+        segments.add(SearchSegment.write(nextSegmentFile(), memoryFirstEntry, indexedEntries, terms, postings));
+        memory.clear();
+        memoryFirstEntry = indexedEntries;
+        if (segments.size() > MAX_SEGMENTS) {
+            mergeSmallest();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        IOException failure = null;
+        try {
+            flush();
+        } catch (IOException e) {
+            failure = e;
+        }
+        for (SearchSegment segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                failure = failure != null ? failure : e;
+            }
+        }
+        segments.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void addEntry(HistoryEntry entry) throws IOException {
+        Set<String> terms = new HashSet<>();
+        TermScanner scanner = new TermScanner(terms);
+        scanner.scan(entry.getMethod());
+        scanner.scan(entry.getUrl());
+        scanHeaders(scanner, entry.getRequestHeaders());
+        scanHeaders(scanner, entry.getResponseHeaders());
+        if (entry.getRequestBodyLength() > 0) {
+            scanner.scan(entry.toRequestData().getBody());
+        }
+        if (isTextual(entry.getResponseHeaders())) {
+            try (InputStream body = entry.openResponseBody()) {
+                byte[] chunk = new byte[COPY_BUFFER_SIZE];
+                long remaining = MAX_BODY_BYTES;
+                int read;
+                while (remaining > 0 && (read = body.read(chunk, 0, (int) Math.min(chunk.length, remaining))) > 0) {
+                    scanner.scan(chunk, 0, read);
+                    remaining -= read;
+                }
+                scanner.end();
+            }
+        }
+        for (String term : terms) {
+            memory.computeIfAbsent(term, t -> new Postings()).add(entry.getIndex());
+        }
+    }
+
+    private static void scanHeaders(TermScanner scanner, Map<String, String> headers) {
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            scanner.scan(header.getKey());
+            scanner.scan(header.getValue());
+        }
+    }
+
+    /**
+     * Index bodies without a Content-Type or with a text-like one; images and
+     * other binary bodies only produce noise terms.
+     */
+    static boolean isTextual(Map<String, String> headers) {
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if ("Content-Type".equalsIgnoreCase(header.getKey()) && header.getValue() != null) {
+                String type = header.getValue().toLowerCase(Locale.ROOT);
+                return type.startsWith("text/") || type.contains("json") || type.contains("xml")
+                        || type.contains("javascript") || type.contains("x-www-form-urlencoded")
+                        || type.contains("graphql") || type.contains("yaml");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * All entries containing the term, ascending: segments in entry order,
+     * then the in-memory part.
+     */
+    private long[] postings(String term) {
+        byte[] bytes = term.getBytes(StandardCharsets.UTF_8);
+        LongList result = new LongList();
+        for (SearchSegment segment : segments) {
+            byte[] encoded = segment.postings(bytes);
+            if (encoded != null) {
+                Postings.decode(encoded, encoded.length, result);
+            }
+        }
+        Postings inMemory = memory.get(term);
+        if (inMemory != null) {
+            inMemory.decode(result);
+        }
+        return result.toArray();
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Merge the adjacent pair of segments with the smallest combined size,
+     * unless that would exceed the merged size limit.
+     */
+    private void mergeSmallest() throws IOException {
+        int best = -1;
+        long bestSize = Long.MAX_VALUE;
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            long size = segments.get(i).getSizeBytes() + segments.get(i + 1).getSizeBytes();
+            if (size < bestSize) {
+                best = i;
+                bestSize = size;
+            }
+        }
+        if (best < 0 || bestSize > MAX_MERGED_SEGMENT_BYTES) {
+            return;
+        }
+        SearchSegment first = segments.get(best);
+        SearchSegment second = segments.get(best + 1);
+        SearchSegment merged = merge(first, second);
+        segments.set(best, merged);
+        segments.remove(best + 1);
+        first.close();
+        second.close();
+        Files.deleteIfExists(first.getFile());
+        Files.deleteIfExists(second.getFile());
+    }
+
+    /**
+     * Merge two adjacent segments term by term; the second one's entries all
+     * follow the first one's, so posting lists are simply concatenated.
+     */
+    private SearchSegment merge(SearchSegment first, SearchSegment second) throws IOException {
+        List<byte[]> terms = new ArrayList<>();
+        List<byte[]> postings = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < first.getTermCount() || j < second.getTermCount()) {
+            int comparison;
+            if (i == first.getTermCount()) {
+                comparison = 1;
+            } else if (j == second.getTermCount()) {
+                comparison = -1;
+            } else {
+                comparison = SearchSegment.compareTerms(first.termAt(i), second.termAt(j));
+            }
+            LongList entries = new LongList();
+            if (comparison <= 0) {
+                terms.add(first.termAt(i));
+                byte[] encoded = first.postingsAt(i++);
+                Postings.decode(encoded, encoded.length, entries);
+            } else {
+                terms.add(second.termAt(j));
+            }
+            if (comparison >= 0) {
+                byte[] encoded = second.postingsAt(j++);
+                Postings.decode(encoded, encoded.length, entries);
+            }
+            postings.add(Postings.encode(entries));
+        }
+        return SearchSegment.write(nextSegmentFile(), first.getFirstEntry(), second.getEndEntry(), terms, postings);
+    }
+
+    /**
+     * Open the segments that cover the store's entries from the start without
+     * gaps. Files left over from an interrupted merge, or covering entries the
+     * store no longer has, are deleted and those entries are indexed again.
+     */
+    private void loadSegments() throws IOException {
+        List<SearchSegment> found = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(SEGMENT_SUFFIX + ".tmp")) {
+                    Files.deleteIfExists(file);
+                } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    nextSegmentNumber = Math.max(nextSegmentNumber, segmentNumber(name) + 1);
+                    try {
+                        found.add(SearchSegment.open(file));
+                    } catch (IOException e) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        }
+        // Widest segment first for each start, so a merged segment wins over its parts
+        found.sort(Comparator.comparingLong(SearchSegment::getFirstEntry)
+                .thenComparing(Comparator.comparingLong(SearchSegment::getEndEntry).reversed()));
+
+        long covered = 0;
+        for (SearchSegment segment : found) {
+            if (segment.getFirstEntry() == covered && segment.getEndEntry() <= store.size()) {
+                segments.add(segment);
+                covered = segment.getEndEntry();
+            } else {
+                segment.close();
+                Files.deleteIfExists(segment.getFile());
+            }
+        }
+        indexedEntries = covered;
+    }
+
+    private Path nextSegmentFile() {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, nextSegmentNumber++, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentNumber(String name) {
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Growing posting list of one term: ascending entry indexes as varint
+     * deltas, the same encoding segments use.
+     */
+    static class Postings {
+        private byte[] bytes = new byte[8];
+        private int length;
+        private long last;
+
+        void add(long entry) {
+            if (bytes.length - length < 10) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            long delta = entry - last;
+            last = entry;
+            while ((delta & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            bytes[length++] = (byte) delta;
+        }
+
+        void decode(LongList target) {
+            decode(bytes, length, target);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        static byte[] encode(LongList entries) {
+            Postings postings = new Postings();
+            for (int i = 0; i < entries.size(); i++) {
+                postings.add(entries.get(i));
+            }
+            return postings.toByteArray();
+        }
+
+        static void decode(byte[] bytes, int length, LongList target) {
+            long value = 0;
+            int position = 0;
+            while (position < length) {
+                long delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[position++];
+                    delta |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                value += delta;
+                target.add(value);
+            }
+        }
+    }
+
+    /**
+     * Minimal growable list of longs, to avoid boxing entry indexes.
+     */
+    static class LongList {
+        private long[] values = new long[16];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
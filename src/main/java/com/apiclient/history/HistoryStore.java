@@ -0,0 +1,370 @@
+package com.apiclient.history;
+
+import com.apiclient.model.RequestData;
+import com.apiclient.model.ResponseBody;
+import com.apiclient.model.ResponseData;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Request/response history kept on disk as an append-only log plus a
+ * fixed-size record index.
+ *
+ * history.log holds, per entry, the encoded request and response metadata
+ * followed by the raw request and response bodies. history.idx holds one
+ * 48-byte record per entry with its offsets, lengths, status and timestamp.
+ * The index is memory-mapped, so opening a history of any size only maps a
+ * file and reading the list touches just the records on screen; metadata and
+ * bodies are read from the log when an entry is opened.
+ *
+ * Entries are written log first, index second. On open, index records that
+ * point past the end of the log (an interrupted append) are dropped and the
+ * log is cut back to the last complete entry.
+ */
+public class HistoryStore implements Closeable {
+    static final String LOG_FILE = "history.log";
+    static final String INDEX_FILE = "history.idx";
+
+    private static final int LOG_MAGIC = 0x41504948;   // "APIH"
+    private static final int INDEX_MAGIC = 0x41504958; // "APIX"
+    private static final int VERSION = 1;
+    private static final int LOG_HEADER_SIZE = 8;
+    private static final int INDEX_HEADER_SIZE = 16;
+
+    static final int RECORD_SIZE = 48;
+    static final int OFFSET_TIMESTAMP = 0;
+    static final int OFFSET_LOG_POSITION = 8;
+    static final int OFFSET_META_LENGTH = 16;
+    static final int OFFSET_STATUS = 20;
+    static final int OFFSET_REQUEST_BODY_LENGTH = 24;
+    static final int OFFSET_RESPONSE_BODY_LENGTH = 32;
+    static final int OFFSET_RESPONSE_TIME = 40;
+    static final int OFFSET_META_CRC = 44;
+
+    /** Records per mapped window of the index (3 MB). */
+    private static final int WINDOW_RECORDS = 1 << 16;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final FileChannel logChannel;
+    private final FileChannel indexChannel;
+    private final List<MappedByteBuffer> windows = new ArrayList<>();
+    private volatile long size;
+    private long logEnd;
+
+    /**
+     * Open the history in the given directory, creating it if needed. The
+     * directory and files are made readable by their owner only, and the
+     * index is locked, so a second instance of the client cannot open the
+     * same history and append over this one's entries.
+     */
+    public HistoryStore(Path directory) throws IOException {
+        this.directory = directory;
+        createPrivateDirectory(directory);
+        logChannel = openPrivateFile(directory.resolve(LOG_FILE));
+        try {
+            indexChannel = openPrivateFile(directory.resolve(INDEX_FILE));
+        } catch (IOException e) {
+            logChannel.close();
+            throw e;
+        }
+        try {
+            lock();
+            recover();
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Create a directory, if needed, that only its owner can list and enter,
+     * where the file system has POSIX permissions.
+     */
+    static void createPrivateDirectory(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        restrictToOwner(directory, PosixFilePermissions.fromString("rwx------"));
+    }
+
+    /**
+     * Make a file readable and writable by its owner only, where the file
+     * system has POSIX permissions. Entries hold URLs, headers and bodies.
+     */
+    static void restrictToOwner(Path file) throws IOException {
+        restrictToOwner(file, PosixFilePermissions.fromString("rw-------"));
+    }
+
+    private static void restrictToOwner(Path path, Set<PosixFilePermission> permissions) throws IOException {
+        if (Files.getFileStore(path).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.setPosixFilePermissions(path, permissions);
+        }
+    }
+
+    private static FileChannel openPrivateFile(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            restrictToOwner(file);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /**
+     * Lock the index for as long as the store is open; the lock is released
+     * when the channel is closed.
+     */
+    private void lock() throws IOException {
+        FileLock lock;
+        try {
+            lock = indexChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            throw new IOException("History " + directory + " is in use by another instance");
+        }
+    }
+
+    /**
+     * Default location: ~/.java-api-client/history.
+     */
+    public static Path defaultDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".java-api-client", "history");
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Number of entries.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Append a request and its response; the response body is streamed from
+     * its ResponseBody, so spilled bodies are never loaded into memory.
+     * Returns the index of the new entry.
+     */
+    public synchronized long append(RequestData requestData, ResponseData responseData) throws IOException {
+        long timestamp = System.currentTimeMillis();
+        byte[] meta = HistoryEntry.encodeMeta(requestData, responseData);
+        byte[] requestBody = !requestData.hasBodyFile() && requestData.getBody() != null
+                ? requestData.getBody().getBytes(StandardCharsets.UTF_8)
+                : new byte[0];
+
+        long entryStart = logEnd;
+        long position = entryStart;
+        try {
+            position += writeFully(ByteBuffer.wrap(meta), position);
+            position += writeFully(ByteBuffer.wrap(requestBody), position);
+            long responseBodyLength = 0;
+            ResponseBody content = responseData.getBodyContent();
+            if (content != null && !content.isEmpty()) {
+                try (InputStream in = content.openStream()) {
+                    byte[] chunk = new byte[COPY_BUFFER_SIZE];
+                    int read;
+                    while ((read = in.read(chunk)) > 0) {
+                        position += writeFully(ByteBuffer.wrap(chunk, 0, read), position);
+                        responseBodyLength += read;
+                    }
+                }
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(meta);
+            ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+            record.putLong(OFFSET_TIMESTAMP, timestamp);
+            record.putLong(OFFSET_LOG_POSITION, entryStart);
+            record.putInt(OFFSET_META_LENGTH, meta.length);
+            record.putInt(OFFSET_STATUS, responseData.getStatusCode());
+            record.putLong(OFFSET_REQUEST_BODY_LENGTH, requestBody.length);
+            record.putLong(OFFSET_RESPONSE_BODY_LENGTH, responseBodyLength);
+            record.putInt(OFFSET_RESPONSE_TIME, (int) Math.min(Integer.MAX_VALUE, responseData.getResponseTimeMs()));
+            record.putInt(OFFSET_META_CRC, (int) crc.getValue());
+            writeFully(indexChannel, record, recordPosition(size));
+        } catch (IOException e) {
+            // Leave no partial entry behind
+            logChannel.truncate(entryStart);
+            throw e;
+        }
+        logEnd = position;
+        return size++;
+    }
+
+    /**
+     * Entry at the given index (0 is the oldest). Only the index record is
+     * read; metadata and bodies are loaded when first used.
+     */
+    public HistoryEntry get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("History entry " + index + " of " + size);
+        }
+        ByteBuffer window = window(index);
+        int base = (int) (index % WINDOW_RECORDS) * RECORD_SIZE;
+        return new HistoryEntry(this, index,
+                window.getLong(base + OFFSET_TIMESTAMP),
+                window.getLong(base + OFFSET_LOG_POSITION),
+                window.getInt(base + OFFSET_META_LENGTH),
+                window.getInt(base + OFFSET_STATUS),
+                window.getLong(base + OFFSET_REQUEST_BODY_LENGTH),
+                window.getLong(base + OFFSET_RESPONSE_BODY_LENGTH),
+                window.getInt(base + OFFSET_RESPONSE_TIME),
+                window.getInt(base + OFFSET_META_CRC));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        windows.clear();
+        try {
+            logChannel.close();
+        } finally {
+            if (indexChannel != null) {
+                indexChannel.close();
+            }
+        }
+    }
+
+    /**
+     * Read bytes of the log with a positional read; safe alongside appends.
+     */
+    void readLog(ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            int read = logChannel.read(target, position);
+            if (read < 0) {
+                throw new IOException("History log ends before entry data at " + position);
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Index window holding the record, mapped on first use and remapped when
+     * the last window has grown.
+     */
+    private synchronized ByteBuffer window(long index) {
+        int windowIndex = (int) (index / WINDOW_RECORDS);
+        while (windows.size() <= windowIndex) {
+            windows.add(null);
+        }
+        MappedByteBuffer window = windows.get(windowIndex);
+        long recordInWindow = index % WINDOW_RECORDS;
+        if (window == null || window.capacity() < (recordInWindow + 1) * RECORD_SIZE) {
+            long firstRecord = (long) windowIndex * WINDOW_RECORDS;
+            long records = Math.min(WINDOW_RECORDS, size - firstRecord);
+            try {
+                window = indexChannel.map(FileChannel.MapMode.READ_ONLY, recordPosition(firstRecord),
+                        records * RECORD_SIZE);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot map history index: " + e.getMessage(), e);
+            }
+            windows.set(windowIndex, window);
+        }
+        return window;
+    }
+
+    /**
+     * Check the file headers, drop index records whose data is missing from
+     * the log and cut the log back to the end of the last complete entry.
+     */
+    private void recover() throws IOException {
+        if (logChannel.size() < LOG_HEADER_SIZE || indexChannel.size() < INDEX_HEADER_SIZE) {
+            if (indexChannel.size() > INDEX_HEADER_SIZE || logChannel.size() > LOG_HEADER_SIZE) {
+                throw new IOException("History in " + directory + " is damaged: missing file header");
+            }
+            writeHeaders();
+        } else {
+            checkHeader(logChannel, LOG_MAGIC, LOG_FILE);
+            checkHeader(indexChannel, INDEX_MAGIC, INDEX_FILE);
+        }
+
+        long logSize = logChannel.size();
+        long records = (indexChannel.size() - INDEX_HEADER_SIZE) / RECORD_SIZE;
+        long end = LOG_HEADER_SIZE;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        while (records > 0) {
+            record.clear();
+            readIndexRecord(record, recordPosition(records - 1));
+            end = record.getLong(OFFSET_LOG_POSITION) + record.getInt(OFFSET_META_LENGTH)
+                    + record.getLong(OFFSET_REQUEST_BODY_LENGTH) + record.getLong(OFFSET_RESPONSE_BODY_LENGTH);
+            if (end <= logSize) {
+                break;
+            }
+            records--;
+            end = LOG_HEADER_SIZE;
+        }
+        indexChannel.truncate(recordPosition(records));
+        logChannel.truncate(end);
+        size = records;
+        logEnd = end;
+    }
+
+    private void writeHeaders() throws IOException {
+        logChannel.truncate(0);
+        indexChannel.truncate(0);
+        writeFully(logChannel, ByteBuffer.allocate(LOG_HEADER_SIZE).putInt(LOG_MAGIC).putInt(VERSION).flip(), 0);
+        writeFully(indexChannel, ByteBuffer.allocate(INDEX_HEADER_SIZE).putInt(INDEX_MAGIC).putInt(VERSION).flip(), 0);
+    }
+
+    private void checkHeader(FileChannel channel, int magic, String name) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(8);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // keep reading until the header is complete
+        }
+        if (header.getInt(0) != magic) {
+            throw new IOException(name + " in " + directory + " is not a history file");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException(name + " in " + directory + " has unsupported version " + header.getInt(4));
+        }
+    }
+
+    private void readIndexRecord(ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            if (indexChannel.read(target, position + target.position()) < 0) {
+                throw new IOException("History index ends unexpectedly");
+            }
+        }
+        target.flip();
+    }
+
+    private int writeFully(ByteBuffer source, long position) throws IOException {
+        return writeFully(logChannel, source, position);
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer source, long position) throws IOException {
+        int written = 0;
+        while (source.hasRemaining()) {
+            written += channel.write(source, position + written);
+        }
+        return written;
+    }
+
+    private static long recordPosition(long index) {
+        return INDEX_HEADER_SIZE + index * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,198 @@
+package com.apiclient.history;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable, memory-mapped part of the history search index covering the
+ * entries [firstEntry, endEntry).
+ *
+ * Layout: a header, a table of fixed 24-byte term records sorted by term
+ * bytes, the term bytes, and the postings. Each posting list is the entry
+ * indexes of one term as varint deltas. Lookups binary search the table in
+ * place, so opening a segment reads nothing but its header.
+ */
+class SearchSegment implements Closeable {
+    private static final int MAGIC = 0x41505353; // "APSS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 28;
+    private static final int TERM_RECORD_SIZE = 24;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long firstEntry;
+    private final long endEntry;
+    private final int termCount;
+
+    private SearchSegment(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Bad search segment size: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a search segment: " + file);
+            }
+            firstEntry = buffer.getLong(8);
+            endEntry = buffer.getLong(16);
+            termCount = buffer.getInt(24);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static SearchSegment open(Path file) throws IOException {
+        return new SearchSegment(file);
+    }
+
+    /**
+     * Write a segment from terms in ascending UTF-8 byte order and their
+     * encoded postings. The file is written under a temporary name and moved
+     * into place, so a crash never leaves a partial segment behind.
+     */
+    static SearchSegment write(Path file, long firstEntry, long endEntry, List<byte[]> terms,
+                               List<byte[]> postings) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream stream = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(firstEntry);
+            out.writeLong(endEntry);
+            out.writeInt(terms.size());
+
+            long termPosition = HEADER_SIZE + (long) terms.size() * TERM_RECORD_SIZE;
+            long postingsPosition = termPosition;
+            for (byte[] term : terms) {
+                postingsPosition += term.length;
+            }
+            for (int i = 0; i < terms.size(); i++) {
+                out.writeLong(termPosition);
+                out.writeInt(terms.get(i).length);
+                out.writeLong(postingsPosition);
+                out.writeInt(postings.get(i).length);
+                termPosition += terms.get(i).length;
+                postingsPosition += postings.get(i).length;
+            }
+            if (postingsPosition > Integer.MAX_VALUE) {
+                throw new IOException("Search segment too large: " + file);
+            }
+            for (byte[] term : terms) {
+                out.write(term);
+            }
+            for (byte[] posting : postings) {
+                out.write(posting);
+            }
+        }
+        // Terms come from URLs, headers and bodies
+        HistoryStore.restrictToOwner(temp);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return open(file);
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    long getFirstEntry() {
+        return firstEntry;
+    }
+
+    long getEndEntry() {
+        return endEntry;
+    }
+
+    int getTermCount() {
+        return termCount;
+    }
+
+    long getSizeBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Encoded postings of a term, or null when the segment does not contain it.
+     */
+    byte[] postings(byte[] term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareTerm(middle, term);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return postingsAt(middle);
+            }
+        }
+        return null;
+    }
+
+    byte[] termAt(int index) {
+        int record = HEADER_SIZE + index * TERM_RECORD_SIZE;
+        byte[] term = new byte[buffer.getInt(record + 8)];
+        read((int) buffer.getLong(record), term);
+        return term;
+    }
+
+    byte[] postingsAt(int index) {
+        int record = HEADER_SIZE + index * TERM_RECORD_SIZE;
+        byte[] postings = new byte[buffer.getInt(record + 20)];
+        read((int) buffer.getLong(record + 12), postings);
+        return postings;
+    }
+
+    private void read(int position, byte[] target) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(position);
+        view.get(target);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Compare the term at a table index with the given bytes, unsigned, as
+     * the table is sorted.
+     */
+    private int compareTerm(int index, byte[] term) {
+        int record = HEADER_SIZE + index * TERM_RECORD_SIZE;
+        int position = (int) buffer.getLong(record);
+        int length = buffer.getInt(record + 8);
+        int common = Math.min(length, term.length);
+        for (int i = 0; i < common; i++) {
+            int difference = (buffer.get(position + i) & 0xFF) - (term[i] & 0xFF);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - term.length;
+    }
+
+    /**
+     * Compare UTF-8 terms the way segments are sorted.
+     */
+    static int compareTerms(byte[] a, byte[] b) {
+        return Arrays.compareUnsigned(a, b);
+    }
+}
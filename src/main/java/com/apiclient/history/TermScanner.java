@@ -0,0 +1,68 @@
+package com.apiclient.history;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Splits bytes into search terms: runs of ASCII letters and digits and of
+ * non-ASCII UTF-8 bytes, with ASCII lower-cased. Works on raw bytes so bodies
+ * are tokenized as they stream from the log, without decoding them; a term
+ * may span chunk boundaries.
+ */
+class TermScanner {
+    static final int MIN_TERM_LENGTH = 2;
+    static final int MAX_TERM_LENGTH = 64;
+
+    private final Set<String> terms;
+    private final byte[] term = new byte[MAX_TERM_LENGTH];
+    private int length;
+    private boolean tooLong;
+
+    TermScanner(Set<String> terms) {
+        this.terms = terms;
+    }
+
+    /**
+     * Scan a string as its UTF-8 bytes, as a separate run of text.
+     */
+    void scan(String text) {
+        if (text != null) {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            scan(bytes, 0, bytes.length);
+            end();
+        }
+    }
+
+    void scan(byte[] bytes, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            int b = bytes[i] & 0xFF;
+            if (b >= 'A' && b <= 'Z') {
+                append((byte) (b + ('a' - 'A')));
+            } else if ((b >= 'a' && b <= 'z') || (b >= '0' && b <= '9') || b >= 0x80) {
+                append((byte) b);
+            } else {
+                end();
+            }
+        }
+    }
+
+    /**
+     * Finish the current term, e.g. at the end of a body.
+     */
+    void end() {
+        // Terms longer than the maximum (hashes, base64) are not worth indexing
+        if (length >= MIN_TERM_LENGTH && !tooLong) {
+            terms.add(new String(term, 0, length, StandardCharsets.UTF_8));
+        }
+        length = 0;
+        tooLong = false;
+    }
+
+    private void append(byte b) {
+        if (length < MAX_TERM_LENGTH) {
+            term[length++] = b;
+        } else {
+            tooLong = true;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.apiclient.http;
+
+import com.apiclient.model.BodyBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Streaming decoder for gzip and deflate Content-Encoding.
+ *
+ * Compressed buffers are inflated as they arrive and the decoded bytes are
+ * written straight into a BodyBuffer, so memory use does not depend on the
+ * body size. "deflate" accepts both zlib-wrapped and raw deflate streams,
+ * since servers disagree on which one the name means.
+ */
+class ContentDecoder {
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private static final int FTEXT = 0x01;
+    private static final int FHCRC = 0x02;
+    private static final int FEXTRA = 0x04;
+    private static final int FNAME = 0x08;
+    private static final int FCOMMENT = 0x10;
+
+    private enum State { HEADER, BODY, TRAILER, DONE }
+
+    private enum HeaderPart { FIXED, EXTRA_LENGTH, EXTRA, NAME, COMMENT, HEADER_CRC }
+
+    private final String encoding;
+    private final boolean gzip;
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private final CRC32 crc = new CRC32();
+    private Inflater inflater;
+
+    private State state = State.HEADER;
+    private long wireBytes;
+    private long decodedBytes;
+    private long memberDecodedBytes;
+
+    // gzip header and trailer parsing
+    private final byte[] fixedHeader = new byte[10];
+    private final byte[] trailer = new byte[8];
+    private HeaderPart headerPart = HeaderPart.FIXED;
+    private int partPosition;
+    private int extraLength;
+    private int flags;
+    private boolean headerStarted;
+    private boolean discardRemainder;
+
+    // deflate format detection
+    private final byte[] deflatePrefix = new byte[2];
+    private int deflatePrefixLength;
+
+    private ContentDecoder(String encoding, boolean gzip) {
+        this.encoding = encoding;
+        this.gzip = gzip;
+    }
+
+    /**
+     * Create a decoder for a Content-Encoding header value, or return null
+     * when the body is not encoded or uses an encoding we cannot decode.
+     */
+    static ContentDecoder forEncoding(String contentEncoding) {
+        if (contentEncoding == null) {
+            return null;
+        }
+        String normalized = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        switch (normalized) {
+            case "gzip":
+            case "x-gzip":
+                return new ContentDecoder("gzip", true);
+            case "deflate":
+                return new ContentDecoder("deflate", false);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Name of the decoded encoding ("gzip" or "deflate").
+     */
+    String getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Compressed bytes consumed so far.
+     */
+    long getWireBytes() {
+        return wireBytes;
+    }
+
+    /**
+     * Decoded bytes produced so far.
+     */
+    long getDecodedBytes() {
+        return decodedBytes;
+    }
+
+    /**
+     * Decode all remaining bytes of the buffer into the output.
+     */
+    void decode(ByteBuffer input, BodyBuffer output) throws IOException {
+        wireBytes += input.remaining();
+        while (input.hasRemaining()) {
+            switch (state) {
+                case HEADER:
+                    if (gzip) {
+                        readGzipHeader(input);
+                    } else {
+                        readDeflatePrefix(input, output);
+                    }
+                    break;
+                case BODY:
+                    inflater.setInput(input);
+                    inflate(output);
+                    break;
+                case TRAILER:
+                    readGzipTrailer(input);
+                    break;
+                case DONE:
+                    if (gzip && !discardRemainder && (input.get(input.position()) & 0xFF) == 0x1F) {
+                        // Concatenated gzip member
+                        state = State.HEADER;
+                        headerPart = HeaderPart.FIXED;
+                        partPosition = 0;
+                        extraLength = 0;
+                    } else {
+                        // Like GZIPInputStream, ignore anything after the end of the stream
+                        discardRemainder = true;
+                        input.position(input.limit());
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected state " + state);
+            }
+        }
+    }
+
+    /**
+     * Check that the stream ended cleanly and release the inflater.
+     */
+    void finish() throws IOException {
+        try {
+            boolean complete = state == State.DONE
+                    || (state == State.HEADER && !headerStarted && deflatePrefixLength == 0);
+            if (!complete) {
+                throw new IOException("Truncated " + encoding + " body");
+            }
+        } finally {
+            end();
+        }
+    }
+
+    /**
+     * Release the native inflater; safe to call more than once.
+     */
+    void end() {
+        if (inflater != null) {
+            inflater.end();
+            inflater = null;
+        }
+    }
+
+    private void inflate(BodyBuffer output) throws IOException {
+        try {
+            while (!inflater.finished()) {
+                int count = inflater.inflate(chunk);
+                if (count > 0) {
+                    decodedBytes += count;
+                    memberDecodedBytes += count;
+                    if (gzip) {
+                        crc.update(chunk, 0, count);
+                    }
+                    output.write(chunk, 0, count);
+                } else if (inflater.finished()) {
+                    // Stream trailer consumed without producing output
+                    break;
+                } else if (inflater.needsDictionary()) {
+                    throw new IOException("Preset dictionaries are not supported in " + encoding + " bodies");
+                } else {
+                    // needsInput(): the rest arrives with the next buffer
+                    return;
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Invalid " + encoding + " body: " + e.getMessage(), e);
+        }
+        state = gzip ? State.TRAILER : State.DONE;
+        partPosition = 0;
+    }
+
+    /**
+     * Consume the gzip member header (RFC 1952 section 2.3) byte by byte;
+     * it is small and may be split across buffers.
+     */
+    private void readGzipHeader(ByteBuffer input) throws IOException {
+        while (input.hasRemaining() && state == State.HEADER) {
+            int b = input.get() & 0xFF;
+            headerStarted = true;
+            switch (headerPart) {
+                case FIXED:
+                    fixedHeader[partPosition++] = (byte) b;
+                    if (partPosition == fixedHeader.length) {
+                        checkFixedHeader();
+                        flags = fixedHeader[3] & 0xFF;
+                        partPosition = 0;
+                        nextHeaderPart(HeaderPart.FIXED);
+                    }
+                    break;
+                case EXTRA_LENGTH:
+                    extraLength |= b << (8 * partPosition++);
+                    if (partPosition == 2) {
+                        partPosition = 0;
+                        if (extraLength == 0) {
+                            nextHeaderPart(HeaderPart.EXTRA);
+                        } else {
+                            headerPart = HeaderPart.EXTRA;
+                        }
+                    }
+                    break;
+                case EXTRA:
+                    if (++partPosition == extraLength) {
+                        partPosition = 0;
+                        nextHeaderPart(HeaderPart.EXTRA);
+                    }
+                    break;
+                case NAME:
+                    if (b == 0) {
+                        nextHeaderPart(HeaderPart.NAME);
+                    }
+                    break;
+                case COMMENT:
+                    if (b == 0) {
+                        nextHeaderPart(HeaderPart.COMMENT);
+                    }
+                    break;
+                case HEADER_CRC:
+                    if (++partPosition == 2) {
+                        partPosition = 0;
+                        nextHeaderPart(HeaderPart.HEADER_CRC);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected header part " + headerPart);
+            }
+        }
+    }
+
+    private void checkFixedHeader() throws IOException {
+        if ((fixedHeader[0] & 0xFF) != 0x1F || (fixedHeader[1] & 0xFF) != 0x8B) {
+            throw new IOException("Invalid gzip body: bad magic number");
+        }
+        if (fixedHeader[2] != 8) {
+            throw new IOException("Invalid gzip body: unsupported compression method " + fixedHeader[2]);
+        }
+        if ((fixedHeader[3] & ~(FTEXT | FHCRC | FEXTRA | FNAME | FCOMMENT)) != 0) {
+            throw new IOException("Invalid gzip body: reserved flags set");
+        }
+    }
+
+    /**
+     * Move to the next optional header field present in the flags, or start
+     * inflating once the header is complete.
+     */
+    private void nextHeaderPart(HeaderPart completed) {
+        HeaderPart[] order = {HeaderPart.EXTRA_LENGTH, HeaderPart.NAME, HeaderPart.COMMENT, HeaderPart.HEADER_CRC};
+        int[] masks = {FEXTRA, FNAME, FCOMMENT, FHCRC};
+        int start;
+        switch (completed) {
+            case FIXED: start = 0; break;
+            case EXTRA_LENGTH:
+            case EXTRA: start = 1; break;
+            case NAME: start = 2; break;
+            case COMMENT: start = 3; break;
+            default: start = 4; break;
+        }
+        for (int i = start; i < order.length; i++) {
+            if ((flags & masks[i]) != 0) {
+                headerPart = order[i];
+                return;
+            }
+        }
+        startMember();
+    }
+
+    private void startMember() {
+        if (inflater == null) {
+            inflater = new Inflater(true);
+        } else {
+            inflater.reset();
+        }
+        crc.reset();
+        memberDecodedBytes = 0;
+        state = State.BODY;
+    }
+
+    /**
+     * Consume the CRC32 and ISIZE trailer and verify them against the
+     * decoded member.
+     */
+    private void readGzipTrailer(ByteBuffer input) throws IOException {
+        while (input.hasRemaining() && partPosition < trailer.length) {
+            trailer[partPosition++] = input.get();
+        }
+        if (partPosition < trailer.length) {
+            return;
+        }
+        long expectedCrc = readInt(trailer, 0);
+        long expectedSize = readInt(trailer, 4);
+        if (expectedCrc != crc.getValue()) {
+            throw new IOException("Invalid gzip body: CRC mismatch");
+        }
+        if (expectedSize != (memberDecodedBytes & 0xFFFFFFFFL)) {
+            throw new IOException("Invalid gzip body: size mismatch");
+        }
+        state = State.DONE;
+    }
+
+    /**
+     * Decide between zlib-wrapped and raw deflate from the first two bytes,
+     * then feed them to the inflater.
+     */
+    private void readDeflatePrefix(ByteBuffer input, BodyBuffer output) throws IOException {
+        while (input.hasRemaining() && deflatePrefixLength < deflatePrefix.length) {
+            deflatePrefix[deflatePrefixLength++] = input.get();
+        }
+        if (deflatePrefixLength < deflatePrefix.length) {
+            return;
+        }
+        int cmf = deflatePrefix[0] & 0xFF;
+        int flg = deflatePrefix[1] & 0xFF;
+        boolean zlib = (cmf & 0x0F) == 8 && ((cmf << 8) | flg) % 31 == 0;
+        inflater = new Inflater(!zlib);
+        state = State.BODY;
+        inflater.setInput(deflatePrefix, 0, deflatePrefix.length);
+        inflate(output);
+    }
+
+    private static long readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFFL)
+                | (bytes[offset + 1] & 0xFFL) << 8
+                | (bytes[offset + 2] & 0xFFL) << 16
+                | (bytes[offset + 3] & 0xFFL) << 24;
+    }
+}
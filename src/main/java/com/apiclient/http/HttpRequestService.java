@@ -1,61 +1,232 @@
 package com.apiclient.http;
 
 import com.apiclient.model.RequestData;
+import com.apiclient.model.RequestTiming;
+import com.apiclient.model.ResponseBody;
 import com.apiclient.model.ResponseData;
+import com.apiclient.model.ResponseDownload;
 
+import java.io.FileNotFoundException;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpRequest.BodyPublishers;
-import java.net.http.HttpResponse.BodyHandlers;
 import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * Service class for handling HTTP requests using Java 11 HttpClient.
  */
 public class HttpRequestService {
+    /** Default number of body bytes kept in memory before spilling to disk. */
+    public static final int DEFAULT_BODY_MEMORY_LIMIT = 512 * 1024;
+
+    /** User-Agent sent when the request does not set one. */
+    public static final String DEFAULT_USER_AGENT = "Java-API-Client/1.0";
+
+    /** Accept-Encoding offered when compression is enabled. */
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    /** Time allowed for a response before the request fails. */
+    public static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
     private final HttpClient httpClient;
+    private volatile int bodyMemoryLimit = DEFAULT_BODY_MEMORY_LIMIT;
+    private volatile HttpResponseCache responseCache;
+    private volatile boolean compressionEnabled = true;
 
     public HttpRequestService() {
-        this.httpClient = HttpClient.newBuilder()
+        this(null);
+    }
+
+    /**
+     * Create a service whose HttpClient runs async handlers on the given executor.
+     * A null executor keeps the HttpClient default. On Java 21,
+     * VirtualThreads.newPerTaskExecutor runs each handler on a virtual thread.
+     */
+    public HttpRequestService(Executor executor) {
+        HttpClient.Builder clientBuilder = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
-                .followRedirects(HttpClient.Redirect.NORMAL)
-                .build();
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (executor != null) {
+            clientBuilder.executor(executor);
+        }
+        this.httpClient = clientBuilder.build();
+    }
+
+    public int getBodyMemoryLimit() {
+        return bodyMemoryLimit;
+    }
+
+    /**
+     * Set how many body bytes are kept in memory; the rest of a larger
+     * response body is streamed to a temporary file.
+     */
+    public void setBodyMemoryLimit(int bodyMemoryLimit) {
+        if (bodyMemoryLimit < 0) {
+            throw new IllegalArgumentException("bodyMemoryLimit must not be negative");
+        }
+        this.bodyMemoryLimit = bodyMemoryLimit;
+    }
+
+    public HttpResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Put a response cache in front of GET requests; null disables caching.
+     */
+    public void setResponseCache(HttpResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /**
+     * Enable or disable Accept-Encoding negotiation and transparent gzip/deflate
+     * decoding. Enabled by default; when disabled bodies are kept as received.
+     */
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
     }
 
     /**
      * Execute an HTTP request asynchronously.
+     *
+     * Uses the client's non-blocking sendAsync, so no thread is held while the
+     * request is in flight. The future completes exceptionally if the request
+     * could not be sent or no response was received.
      */
     public CompletableFuture<ResponseData> executeRequestAsync(RequestData requestData) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                return executeRequest(requestData);
-            } catch (Exception e) {
-                throw new RuntimeException("Request failed: " + e.getMessage(), e);
+        return executeRequestAsync(requestData, null);
+    }
+
+    /**
+     * Execute an HTTP request asynchronously, handing the response to the
+     * download listener as soon as its headers arrive so the body can be
+     * shown while it is received. The listener is called on an HttpClient
+     * thread, and not at all for a response served from the cache.
+     */
+    public CompletableFuture<ResponseData> executeRequestAsync(RequestData requestData,
+                                                               Consumer<ResponseDownload> downloadListener) {
+        RequestTimer timer = new RequestTimer();
+
+        HttpRequest request;
+        try {
+            request = buildRequest(requestData);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("Request failed: " + e.getMessage(), e));
+        }
+        timer.requestBuilt();
+        return sendAsync(request, timer, downloadListener);
+    }
+
+    /**
+     * Execute a prebuilt request asynchronously, e.g. one rendered from a
+     * RequestTemplate. The request is sent as given: no default headers are added.
+     */
+    public CompletableFuture<ResponseData> executeRequestAsync(HttpRequest request) {
+        RequestTimer timer = new RequestTimer();
+        timer.requestBuilt();
+        return sendAsync(request, timer, null);
+    }
+
+    private CompletableFuture<ResponseData> sendAsync(HttpRequest request, RequestTimer timer,
+                                                      Consumer<ResponseDownload> downloadListener) {
+        HttpResponseCache cache = responseCache;
+        if (cache != null) {
+            ResponseData cached = cache.getFresh(request);
+            if (cached != null) {
+                cached.setTiming(timer.finish());
+                return CompletableFuture.completedFuture(cached);
             }
-        });
+        }
+        HttpRequest cacheKeyRequest = request;
+        HttpRequest sentRequest = cache != null ? cache.withValidators(request) : request;
+
+        SpillingBodyHandler bodyHandler = new SpillingBodyHandler(bodyMemoryLimit, compressionEnabled, downloadListener);
+        return httpClient.sendAsync(sentRequest, timer.wrap(bodyHandler))
+                .handle((response, throwable) -> {
+                    if (throwable != null) {
+                        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                                ? throwable.getCause()
+                                : throwable;
+                        throw new RuntimeException("Request failed: " + describe(cause), cause);
+                    }
+                    ResponseData responseData = toResponseData(response, bodyHandler, timer.finish());
+                    return cache != null ? cache.update(cacheKeyRequest, responseData) : responseData;
+                });
     }
 
     /**
      * Execute an HTTP request synchronously.
      */
     public ResponseData executeRequest(RequestData requestData) throws Exception {
-        long startTime = System.currentTimeMillis();
+        RequestTimer timer = new RequestTimer();
+
+        HttpRequest request = buildRequest(requestData);
+        timer.requestBuilt();
+        return send(request, timer);
+    }
 
+    /**
+     * Execute a prebuilt request synchronously. The request is sent as given:
+     * no default headers are added.
+     */
+    public ResponseData executeRequest(HttpRequest request) {
+        RequestTimer timer = new RequestTimer();
+        timer.requestBuilt();
+        return send(request, timer);
+    }
+
+    private ResponseData send(HttpRequest request, RequestTimer timer) {
+        HttpResponseCache cache = responseCache;
+        if (cache != null) {
+            ResponseData cached = cache.getFresh(request);
+            if (cached != null) {
+                cached.setTiming(timer.finish());
+                return cached;
+            }
+        }
+        HttpRequest sentRequest = cache != null ? cache.withValidators(request) : request;
+
+        try {
+            SpillingBodyHandler bodyHandler = new SpillingBodyHandler(bodyMemoryLimit, compressionEnabled);
+            HttpResponse<ResponseBody> response = httpClient.send(sentRequest, timer.wrap(bodyHandler));
+            ResponseData responseData = toResponseData(response, bodyHandler, timer.finish());
+            return cache != null ? cache.update(request, responseData) : responseData;
+
+        } catch (Exception e) {
+            RequestTiming timing = timer.finish();
+            ResponseData errorResponse = new ResponseData();
+            errorResponse.setStatusCode(-1);
+            errorResponse.setStatusText("Error: " + e.getMessage());
+            errorResponse.setBody(e.getMessage());
+            errorResponse.setTiming(timing);
+            return errorResponse;
+        }
+    }
+
+    /**
+     * Build the HttpRequest for the given request data.
+     */
+    HttpRequest buildRequest(RequestData requestData) {
         HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
                 .uri(URI.create(requestData.getUrl()))
-                .timeout(Duration.ofSeconds(30));
+                .timeout(REQUEST_TIMEOUT);
 
         // Set HTTP method
         String method = requestData.getMethod().toUpperCase();
-        HttpRequest.BodyPublisher bodyPublisher = requestData.hasBody() 
-                ? BodyPublishers.ofString(requestData.getBody()) 
-                : BodyPublishers.noBody();
-
-        requestBuilder.method(method, bodyPublisher);
+        requestBuilder.method(method, bodyPublisher(requestData));
 
         // Add headers
         for (Map.Entry<String, String> header : requestData.getHeaders().entrySet()) {
@@ -64,46 +235,81 @@ public class HttpRequestService {
 
         // Set default User-Agent if not provided
         if (!requestData.getHeaders().containsKey("User-Agent")) {
-            requestBuilder.header("User-Agent", "Java-API-Client/1.0");
+            requestBuilder.header("User-Agent", DEFAULT_USER_AGENT);
         }
 
-        HttpRequest request = requestBuilder.build();
-
-        try {
-            HttpResponse<String> response = httpClient.send(request, BodyHandlers.ofString());
-            long responseTime = System.currentTimeMillis() - startTime;
+        // Offer compressed bodies unless the caller negotiates encodings itself
+        if (compressionEnabled && !hasHeader(requestData, "Accept-Encoding")) {
+            requestBuilder.header("Accept-Encoding", ACCEPT_ENCODING);
+        }
 
-            // Convert to ResponseData
-            ResponseData responseData = new ResponseData();
-            responseData.setStatusCode(response.statusCode());
-            responseData.setStatusText(getStatusText(response.statusCode()));
-            responseData.setBody(response.body());
-            responseData.setResponseTimeMs(responseTime);
+        return requestBuilder.build();
+    }
 
-            // Convert headers
-            response.headers().map().forEach((key, values) -> {
-                if (!values.isEmpty()) {
-                    responseData.addHeader(key, String.join(", ", values));
-                }
-            });
+    /**
+     * Exception message, or its type for exceptions without one (e.g. ConnectException).
+     */
+    private static String describe(Throwable throwable) {
+        return throwable.getMessage() != null ? throwable.getMessage() : throwable.getClass().getSimpleName();
+    }
 
-            return responseData;
+    private static boolean hasHeader(RequestData requestData, String name) {
+        for (String key : requestData.getHeaders().keySet()) {
+            if (key != null && key.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        } catch (Exception e) {
-            long responseTime = System.currentTimeMillis() - startTime;
-            ResponseData errorResponse = new ResponseData();
-            errorResponse.setStatusCode(-1);
-            errorResponse.setStatusText("Error: " + e.getMessage());
-            errorResponse.setBody(e.getMessage());
-            errorResponse.setResponseTimeMs(responseTime);
-            return errorResponse;
+    /**
+     * Choose the body publisher. A body file takes precedence over the body
+     * string and is read from disk in chunks while the request is sent.
+     */
+    private static HttpRequest.BodyPublisher bodyPublisher(RequestData requestData) {
+        if (requestData.hasBodyFile()) {
+            try {
+                return BodyPublishers.ofFile(requestData.getBodyFile());
+            } catch (FileNotFoundException e) {
+                throw new IllegalArgumentException("Body file not found: " + requestData.getBodyFile(), e);
+            }
         }
+        return requestData.hasBody()
+                ? BodyPublishers.ofString(requestData.getBody())
+                : BodyPublishers.noBody();
+    }
+
+    /**
+     * Convert an HttpResponse to ResponseData.
+     */
+    private ResponseData toResponseData(HttpResponse<ResponseBody> response, SpillingBodyHandler bodyHandler,
+                                        RequestTiming timing) {
+        ResponseData responseData = new ResponseData();
+        responseData.setStatusCode(response.statusCode());
+        responseData.setStatusText(getStatusText(response.statusCode()));
+        responseData.setBodyContent(response.body());
+        responseData.setWireBodyLength(bodyHandler.getWireBytes());
+        responseData.setContentEncoding(bodyHandler.getDecodedEncoding());
+        responseData.setTiming(timing);
+        copyHeaders(response.headers(), responseData);
+        return responseData;
+    }
+
+    /**
+     * Copy response headers into ResponseData, joining repeated values.
+     */
+    static void copyHeaders(HttpHeaders headers, ResponseData responseData) {
+        headers.map().forEach((key, values) -> {
+            if (!values.isEmpty()) {
+                responseData.addHeader(key, String.join(", ", values));
+            }
+        });
     }
 
     /**
      * Get standard HTTP status text for status codes.
      */
-    private String getStatusText(int statusCode) {
+    static String getStatusText(int statusCode) {
         switch (statusCode) {
             case 100: return "Continue";
             case 101: return "Switching Protocols";
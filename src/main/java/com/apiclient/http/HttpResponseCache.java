@@ -0,0 +1,417 @@
+package com.apiclient.http;
+
+import com.apiclient.model.ResponseBody;
+import com.apiclient.model.ResponseData;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Byte-size bounded LRU cache for GET responses.
+ *
+ * Entries are keyed on method, URL and the request headers named by the
+ * response's Vary header. Fresh entries (Cache-Control max-age, Expires or a
+ * Last-Modified heuristic) are served locally; stale entries with an ETag or
+ * Last-Modified are revalidated with If-None-Match / If-Modified-Since.
+ */
+public class HttpResponseCache {
+    private static final Set<Integer> CACHEABLE_STATUS_CODES = Set.of(200, 203, 204, 300, 301, 404, 410);
+    private static final int HEADER_OVERHEAD_BYTES = 64;
+
+    private final long maxBytes;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry> entries;
+    private long currentBytes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong revalidationCount = new AtomicLong();
+
+    public HttpResponseCache(long maxBytes) {
+        this(maxBytes, Clock.systemUTC());
+    }
+
+    HttpResponseCache(long maxBytes, Clock clock) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.maxBytes = maxBytes;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Return a fresh cached response for the request, or null.
+     */
+    public synchronized ResponseData getFresh(HttpRequest request) {
+        if (!isCacheableRequest(request) || requestDirectives(request).contains("no-cache")) {
+            return null;
+        }
+        Entry entry = entries.get(keyOf(request));
+        if (entry == null || !entry.matchesVary(request) || !entry.isFresh(clock.millis())) {
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return entry.toResponseData();
+    }
+
+    /**
+     * Add If-None-Match / If-Modified-Since validators when a stale entry
+     * exists for the request; otherwise return the request unchanged.
+     */
+    public synchronized HttpRequest withValidators(HttpRequest request) {
+        if (!isCacheableRequest(request)) {
+            return request;
+        }
+        Entry entry = entries.get(keyOf(request));
+        if (entry == null || !entry.matchesVary(request) || (entry.etag == null && entry.lastModified == null)) {
+            return request;
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.uri())
+                .method(request.method(), request.bodyPublisher().orElse(BodyPublishers.noBody()))
+                .expectContinue(request.expectContinue());
+        request.timeout().ifPresent(builder::timeout);
+        request.version().ifPresent(builder::version);
+        request.headers().map().forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
+        if (entry.etag != null) {
+            builder.header("If-None-Match", entry.etag);
+        }
+        if (entry.lastModified != null) {
+            builder.header("If-Modified-Since", entry.lastModified);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Record the network response for a request (as passed to getFresh, without
+     * validators). A 304 for a cached entry is turned into the cached response;
+     * cacheable responses are stored.
+     */
+    public synchronized ResponseData update(HttpRequest request, ResponseData response) {
+        if (!isCacheableRequest(request)) {
+            return response;
+        }
+        String key = keyOf(request);
+        Entry existing = entries.get(key);
+
+        if (response.getStatusCode() == 304 && existing != null && existing.matchesVary(request)) {
+            revalidationCount.incrementAndGet();
+            existing.refresh(response.getHeaders(), clock.millis());
+            ResponseData revalidated = existing.toResponseData();
+            revalidated.setTiming(response.getTiming());
+            return revalidated;
+        }
+
+        missCount.incrementAndGet();
+        if (existing != null) {
+            remove(key);
+        }
+        Entry entry = createEntry(request, response);
+        if (entry != null) {
+            entries.put(key, entry);
+            currentBytes += entry.size;
+            evictToLimit();
+        }
+        return response;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getRevalidationCount() {
+        return revalidationCount.get();
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d revalidations=%d entries=%d bytes=%d/%d",
+                getHitCount(), getMissCount(), getRevalidationCount(), getEntryCount(), getCurrentBytes(), maxBytes);
+    }
+
+    private boolean isCacheableRequest(HttpRequest request) {
+        if (!"GET".equals(request.method())) {
+            return false;
+        }
+        if (requestDirectives(request).contains("no-store")) {
+            return false;
+        }
+        // Caller-supplied conditional headers are passed through untouched
+        return request.headers().firstValue("If-None-Match").isEmpty()
+                && request.headers().firstValue("If-Modified-Since").isEmpty();
+    }
+
+    private Entry createEntry(HttpRequest request, ResponseData response) {
+        if (!CACHEABLE_STATUS_CODES.contains(response.getStatusCode())) {
+            return null;
+        }
+        Map<String, String> headers = response.getHeaders();
+        Set<String> directives = directives(header(headers, "Cache-Control"));
+        if (directives.contains("no-store")) {
+            return null;
+        }
+
+        String vary = header(headers, "Vary");
+        List<String> varyNames = new ArrayList<>();
+        if (vary != null) {
+            for (String name : vary.split(",")) {
+                String trimmed = name.trim();
+                if (trimmed.equals("*")) {
+                    return null;
+                }
+                if (!trimmed.isEmpty()) {
+                    varyNames.add(trimmed);
+                }
+            }
+        }
+
+        ResponseBody body = response.getBodyContent();
+        if (body == null) {
+            body = ResponseBody.empty();
+        }
+        if (body.isSpilled()) {
+            return null;
+        }
+        long size = body.length() + estimateHeaderBytes(headers);
+        if (size > maxBytes) {
+            return null;
+        }
+
+        Entry entry = new Entry(response, body, varyNames, request, size, clock.millis());
+        if (entry.freshnessLifetimeMillis() <= 0 && entry.etag == null && entry.lastModified == null) {
+            // Neither fresh nor revalidatable; storing it would only waste space
+            return null;
+        }
+        return entry;
+    }
+
+    private void evictToLimit() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            currentBytes -= eldest.getValue().size;
+            iterator.remove();
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            currentBytes -= removed.size;
+        }
+    }
+
+    private static String keyOf(HttpRequest request) {
+        return request.method() + " " + request.uri();
+    }
+
+    private static Set<String> requestDirectives(HttpRequest request) {
+        return directives(String.join(",", request.headers().allValues("Cache-Control")));
+    }
+
+    /**
+     * Parse Cache-Control into lower-case directives; values are kept as "name=value".
+     */
+    private static Set<String> directives(String cacheControl) {
+        if (cacheControl == null || cacheControl.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> result = new HashSet<>();
+        for (String part : cacheControl.split(",")) {
+            String trimmed = part.trim().toLowerCase(Locale.ROOT);
+            if (!trimmed.isEmpty()) {
+                result.add(trimmed.replace("\"", ""));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Case-insensitive header lookup.
+     */
+    private static String header(Map<String, String> headers, String name) {
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (header.getKey() != null && header.getKey().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static long estimateHeaderBytes(Map<String, String> headers) {
+        long bytes = 0;
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            bytes += HEADER_OVERHEAD_BYTES + header.getKey().length()
+                    + (header.getValue() != null ? header.getValue().length() : 0);
+        }
+        return bytes;
+    }
+
+    private static Long parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A cached response together with its freshness information.
+     */
+    private static class Entry {
+        private final int statusCode;
+        private final String statusText;
+        private final Map<String, String> headers;
+        private final ResponseBody body;
+        private final Map<String, String> varyValues;
+        private final long size;
+        private String etag;
+        private String lastModified;
+        private long storedAtMillis;
+
+        Entry(ResponseData response, ResponseBody body, List<String> varyNames, HttpRequest request,
+              long size, long nowMillis) {
+            this.statusCode = response.getStatusCode();
+            this.statusText = response.getStatusText();
+            this.headers = new HashMap<>(response.getHeaders());
+            this.body = body;
+            this.size = size;
+            this.varyValues = new HashMap<>();
+            for (String name : varyNames) {
+                varyValues.put(name, String.join(",", request.headers().allValues(name)));
+            }
+            this.etag = header(headers, "ETag");
+            this.lastModified = header(headers, "Last-Modified");
+            this.storedAtMillis = nowMillis;
+        }
+
+        boolean matchesVary(HttpRequest request) {
+            for (Map.Entry<String, String> vary : varyValues.entrySet()) {
+                String current = String.join(",", request.headers().allValues(vary.getKey()));
+                if (!current.equals(vary.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isFresh(long nowMillis) {
+            return currentAgeMillis(nowMillis) < freshnessLifetimeMillis();
+        }
+
+        /**
+         * Freshness lifetime per RFC 7234 section 4.2.1, with the 10% Last-Modified heuristic.
+         */
+        long freshnessLifetimeMillis() {
+            Set<String> directives = directives(header(headers, "Cache-Control"));
+            if (directives.contains("no-cache")) {
+                return 0;
+            }
+            for (String directive : directives) {
+                if (directive.startsWith("max-age=")) {
+                    try {
+                        return Long.parseLong(directive.substring("max-age=".length())) * 1000;
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+            Long date = parseDate(header(headers, "Date"));
+            long dateMillis = date != null ? date : storedAtMillis;
+            String expiresHeader = header(headers, "Expires");
+            if (expiresHeader != null) {
+                Long expires = parseDate(expiresHeader);
+                return expires != null ? Math.max(0, expires - dateMillis) : 0;
+            }
+            Long modified = parseDate(lastModified);
+            if (modified != null && modified < dateMillis) {
+                return (dateMillis - modified) / 10;
+            }
+            return 0;
+        }
+
+        private long currentAgeMillis(long nowMillis) {
+            long age = Math.max(0, nowMillis - storedAtMillis);
+            String ageHeader = header(headers, "Age");
+            if (ageHeader != null) {
+                try {
+                    age += Long.parseLong(ageHeader.trim()) * 1000;
+                } catch (NumberFormatException e) {
+                    // Ignore a malformed Age header
+                }
+            }
+            return age;
+        }
+
+        /**
+         * Apply the headers of a 304 response and restart the entry's age.
+         */
+        void refresh(Map<String, String> notModifiedHeaders, long nowMillis) {
+            for (Map.Entry<String, String> header : notModifiedHeaders.entrySet()) {
+                String name = header.getKey();
+                if (name == null || name.equalsIgnoreCase("Content-Length")) {
+                    continue;
+                }
+                headers.keySet().removeIf(existing -> existing.equalsIgnoreCase(name));
+                headers.put(name, header.getValue());
+            }
+            String newEtag = header(headers, "ETag");
+            if (newEtag != null) {
+                etag = newEtag;
+            }
+            String newLastModified = header(headers, "Last-Modified");
+            if (newLastModified != null) {
+                lastModified = newLastModified;
+            }
+            storedAtMillis = nowMillis;
+        }
+
+        ResponseData toResponseData() {
+            ResponseData responseData = new ResponseData(statusCode, statusText);
+            responseData.setHeaders(new HashMap<>(headers));
+            responseData.setBodyContent(body);
+            responseData.setFromCache(true);
+            return responseData;
+        }
+    }
+}
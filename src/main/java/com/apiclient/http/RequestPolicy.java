@@ -0,0 +1,158 @@
+package com.apiclient.http;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Retry and hedging settings used by RequestPolicyExecutor.
+ *
+ * Only idempotent methods are retried or hedged unless explicitly allowed,
+ * since sending a POST twice may have side effects on the server.
+ */
+public class RequestPolicy {
+    private static final Set<String> IDEMPOTENT_METHODS =
+            Set.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS", "TRACE");
+
+    private int maxRetries = 2;
+    private long initialBackoffMillis = 100;
+    private long maxBackoffMillis = 5_000;
+    private Set<Integer> retryOnStatusCodes = new HashSet<>(Set.of(429, 502, 503, 504));
+    private boolean retryNonIdempotent;
+
+    private boolean hedgingEnabled;
+    private double hedgePercentile = 95.0;
+    private long minHedgeDelayMillis = 10;
+    private long defaultHedgeDelayMillis = 500;
+    private int hedgeWarmupSamples = 20;
+
+    /**
+     * Policy that sends every request exactly once.
+     */
+    public static RequestPolicy noRetries() {
+        RequestPolicy policy = new RequestPolicy();
+        policy.setMaxRetries(0);
+        return policy;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries must not be negative");
+        }
+        this.maxRetries = maxRetries;
+    }
+
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    public void setInitialBackoffMillis(long initialBackoffMillis) {
+        if (initialBackoffMillis < 0) {
+            throw new IllegalArgumentException("initialBackoffMillis must not be negative");
+        }
+        this.initialBackoffMillis = initialBackoffMillis;
+    }
+
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    public void setMaxBackoffMillis(long maxBackoffMillis) {
+        if (maxBackoffMillis < 0) {
+            throw new IllegalArgumentException("maxBackoffMillis must not be negative");
+        }
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public Set<Integer> getRetryOnStatusCodes() {
+        return Collections.unmodifiableSet(retryOnStatusCodes);
+    }
+
+    /**
+     * Status codes that are retried in addition to connection failures.
+     */
+    public void setRetryOnStatusCodes(Set<Integer> retryOnStatusCodes) {
+        this.retryOnStatusCodes = new HashSet<>(retryOnStatusCodes);
+    }
+
+    public boolean isRetryNonIdempotent() {
+        return retryNonIdempotent;
+    }
+
+    /**
+     * Also retry and hedge POST and other non-idempotent methods.
+     */
+    public void setRetryNonIdempotent(boolean retryNonIdempotent) {
+        this.retryNonIdempotent = retryNonIdempotent;
+    }
+
+    public boolean isHedgingEnabled() {
+        return hedgingEnabled;
+    }
+
+    /**
+     * Send a second copy of a request that has not answered within the hedge
+     * delay and use whichever response arrives first.
+     */
+    public void setHedgingEnabled(boolean hedgingEnabled) {
+        this.hedgingEnabled = hedgingEnabled;
+    }
+
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    /**
+     * Latency percentile of earlier responses used as the hedge delay.
+     */
+    public void setHedgePercentile(double hedgePercentile) {
+        if (hedgePercentile <= 0 || hedgePercentile > 100) {
+            throw new IllegalArgumentException("hedgePercentile must be in (0, 100]");
+        }
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    public long getMinHedgeDelayMillis() {
+        return minHedgeDelayMillis;
+    }
+
+    public void setMinHedgeDelayMillis(long minHedgeDelayMillis) {
+        this.minHedgeDelayMillis = minHedgeDelayMillis;
+    }
+
+    public long getDefaultHedgeDelayMillis() {
+        return defaultHedgeDelayMillis;
+    }
+
+    /**
+     * Hedge delay used until enough latencies have been recorded.
+     */
+    public void setDefaultHedgeDelayMillis(long defaultHedgeDelayMillis) {
+        this.defaultHedgeDelayMillis = defaultHedgeDelayMillis;
+    }
+
+    public int getHedgeWarmupSamples() {
+        return hedgeWarmupSamples;
+    }
+
+    public void setHedgeWarmupSamples(int hedgeWarmupSamples) {
+        this.hedgeWarmupSamples = hedgeWarmupSamples;
+    }
+
+    /**
+     * Whether requests with this method may be sent more than once.
+     */
+    public boolean allowsRepeat(String method) {
+        return retryNonIdempotent
+                || (method != null && IDEMPOTENT_METHODS.contains(method.toUpperCase(Locale.ROOT)));
+    }
+
+    public boolean isRetryableStatus(int statusCode) {
+        return retryOnStatusCodes.contains(statusCode);
+    }
+}
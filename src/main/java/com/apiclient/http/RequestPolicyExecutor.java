@@ -0,0 +1,278 @@
+package com.apiclient.http;
+
+import com.apiclient.metrics.LatencyHistogram;
+import com.apiclient.model.RequestData;
+import com.apiclient.model.ResponseBody;
+import com.apiclient.model.ResponseData;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends requests through HttpRequestService according to a RequestPolicy:
+ * failed attempts are retried with jittered exponential backoff, and slow
+ * attempts can be hedged with a second copy after a percentile-based delay.
+ */
+public class RequestPolicyExecutor {
+    private final HttpRequestService httpRequestService;
+    private final RequestPolicy policy;
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong hedgeCount = new AtomicLong();
+    private final AtomicLong hedgeWinCount = new AtomicLong();
+
+    public RequestPolicyExecutor(HttpRequestService httpRequestService, RequestPolicy policy) {
+        this.httpRequestService = httpRequestService;
+        this.policy = policy;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "request-policy-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Execute a request asynchronously. The future completes with the first
+     * acceptable response, or with the last outcome once retries are exhausted.
+     */
+    public CompletableFuture<ResponseData> executeAsync(RequestData requestData) {
+        CompletableFuture<ResponseData> result = new CompletableFuture<>();
+        attempt(requestData, 0, result);
+        return result;
+    }
+
+    /**
+     * Execute a request and wait for it. Like HttpRequestService.executeRequest,
+     * a request that could not be completed yields a response with status -1.
+     */
+    public ResponseData execute(RequestData requestData) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            return executeAsync(requestData).get();
+        } catch (ExecutionException e) {
+            String message = describeFailure(e);
+            ResponseData errorResponse = new ResponseData();
+            errorResponse.setStatusCode(-1);
+            errorResponse.setStatusText("Error: " + message);
+            errorResponse.setBody(message);
+            errorResponse.setResponseTimeMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return errorResponse;
+        }
+    }
+
+    public RequestPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Latencies of completed attempts, used to derive the hedge delay.
+     */
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    public long getHedgeCount() {
+        return hedgeCount.get();
+    }
+
+    /**
+     * Number of hedged copies that answered before the original request.
+     */
+    public long getHedgeWinCount() {
+        return hedgeWinCount.get();
+    }
+
+    /**
+     * Stop scheduling retries and hedges. A retry that is already waiting
+     * for its backoff still runs, and its outcome completes the request, so
+     * no future is left pending.
+     */
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private void attempt(RequestData requestData, int attempt, CompletableFuture<ResponseData> result) {
+        boolean repeatable = policy.allowsRepeat(requestData.getMethod());
+        CompletableFuture<ResponseData> response = repeatable && policy.isHedgingEnabled() && !scheduler.isShutdown()
+                ? sendHedged(requestData)
+                : sendTimed(requestData);
+
+        response.whenComplete((responseData, throwable) -> {
+            boolean retry = repeatable
+                    && attempt < policy.getMaxRetries()
+                    && !scheduler.isShutdown()
+                    && (throwable != null || policy.isRetryableStatus(responseData.getStatusCode()));
+            if (!retry) {
+                complete(result, responseData, throwable);
+                return;
+            }
+
+            long delay = backoffMillis(attempt, responseData);
+            try {
+                scheduler.schedule(() -> attempt(requestData, attempt + 1, result), delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Shut down since the check above; this attempt is the last
+                complete(result, responseData, throwable);
+                return;
+            }
+            if (responseData != null) {
+                discard(responseData);
+            }
+            retryCount.incrementAndGet();
+        });
+    }
+
+    private static void complete(CompletableFuture<ResponseData> result, ResponseData responseData,
+                                 Throwable throwable) {
+        if (throwable != null) {
+            result.completeExceptionally(throwable);
+        } else {
+            result.complete(responseData);
+        }
+    }
+
+    /**
+     * Send once and record the latency of a completed response.
+     */
+    private CompletableFuture<ResponseData> sendTimed(RequestData requestData) {
+        long start = System.nanoTime();
+        return httpRequestService.executeRequestAsync(requestData).thenApply(responseData -> {
+            latencyHistogram.recordValue(System.nanoTime() - start);
+            return responseData;
+        });
+    }
+
+    /**
+     * Send the request and, if it has not completed after the hedge delay, a
+     * second copy. The first response wins; an error only counts once both
+     * copies have failed.
+     */
+    private CompletableFuture<ResponseData> sendHedged(RequestData requestData) {
+        CompletableFuture<ResponseData> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        AtomicBoolean answered = new AtomicBoolean();
+
+        sendTimed(requestData).whenComplete((responseData, throwable) ->
+                onHedgedOutcome(result, outstanding, answered, responseData, throwable, false));
+
+        ScheduledFuture<?> hedgeTimer;
+        try {
+            hedgeTimer = scheduler.schedule(() -> {
+                // Only add a copy while the original is still outstanding
+                if (result.isDone() || outstanding.getAndUpdate(n -> n > 0 ? n + 1 : n) == 0) {
+                    return;
+                }
+                hedgeCount.incrementAndGet();
+                sendTimed(requestData).whenComplete((responseData, throwable) ->
+                        onHedgedOutcome(result, outstanding, answered, responseData, throwable, true));
+            }, hedgeDelayMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shut down: no copy, the original alone completes the result
+            return result;
+        }
+        result.whenComplete((responseData, throwable) -> hedgeTimer.cancel(false));
+
+        return result;
+    }
+
+    private void onHedgedOutcome(CompletableFuture<ResponseData> result, AtomicInteger outstanding,
+                                 AtomicBoolean answered, ResponseData responseData, Throwable throwable,
+                                 boolean hedge) {
+        if (throwable == null) {
+            // Claim the win before completing, so counters are final when callers see the result
+            if (answered.compareAndSet(false, true)) {
+                if (hedge) {
+                    hedgeWinCount.incrementAndGet();
+                }
+                result.complete(responseData);
+            } else {
+                discard(responseData);
+            }
+        } else if (outstanding.decrementAndGet() == 0) {
+            result.completeExceptionally(throwable);
+        }
+    }
+
+    /**
+     * Hedge delay: the configured percentile of recorded latencies, or the
+     * default delay until enough samples exist.
+     */
+    long hedgeDelayMillis() {
+        if (latencyHistogram.getTotalCount() < policy.getHedgeWarmupSamples()) {
+            return policy.getDefaultHedgeDelayMillis();
+        }
+        long percentileMillis = TimeUnit.NANOSECONDS.toMillis(
+                latencyHistogram.getValueAtPercentile(policy.getHedgePercentile()));
+        return Math.max(policy.getMinHedgeDelayMillis(), percentileMillis);
+    }
+
+    /**
+     * Full-jitter exponential backoff: a random delay between zero and
+     * initial * 2^attempt, capped at the maximum. A Retry-After header in
+     * seconds raises the delay, still within the maximum.
+     */
+    long backoffMillis(int attempt, ResponseData responseData) {
+        long ceiling = policy.getInitialBackoffMillis() << Math.min(attempt, 30);
+        if (ceiling < 0 || ceiling > policy.getMaxBackoffMillis()) {
+            ceiling = policy.getMaxBackoffMillis();
+        }
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+
+        Long retryAfterMillis = retryAfterMillis(responseData);
+        if (retryAfterMillis != null) {
+            delay = Math.max(delay, Math.min(retryAfterMillis, policy.getMaxBackoffMillis()));
+        }
+        return delay;
+    }
+
+    private static Long retryAfterMillis(ResponseData responseData) {
+        if (responseData == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> header : responseData.getHeaders().entrySet()) {
+            if ("Retry-After".equalsIgnoreCase(header.getKey()) && header.getValue() != null) {
+                try {
+                    return TimeUnit.SECONDS.toMillis(Long.parseLong(header.getValue().trim()));
+                } catch (NumberFormatException e) {
+                    // HTTP-date form is not used for the delay
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Message of the failure; exceptions without one are described by type.
+     */
+    private static String describeFailure(ExecutionException e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    /**
+     * Delete the spill file of a response that will not be returned.
+     */
+    private static void discard(ResponseData responseData) {
+        ResponseBody content = responseData.getBodyContent();
+        if (content != null && content.isSpilled()) {
+            content.close();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.apiclient.http;
+
+import com.apiclient.model.RequestTiming;
+
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Records System.nanoTime marks for the phases of one request.
+ */
+class RequestTimer {
+    private final long startNanos;
+    private volatile long builtNanos;
+    private volatile long headersNanos;
+    private volatile long bodyCompleteNanos;
+
+    RequestTimer() {
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Mark the end of request construction.
+     */
+    void requestBuilt() {
+        builtNanos = System.nanoTime();
+    }
+
+    /**
+     * Wrap a body handler so header arrival and body completion are recorded.
+     */
+    <T> BodyHandler<T> wrap(BodyHandler<T> handler) {
+        return responseInfo -> {
+            headersNanos = System.nanoTime();
+            return new TimingSubscriber<>(handler.apply(responseInfo));
+        };
+    }
+
+    /**
+     * Stop the timer and compute the breakdown. Phases that never started
+     * (e.g. after a connection failure) are reported as zero.
+     */
+    RequestTiming finish() {
+        long endNanos = System.nanoTime();
+        long built = builtNanos != 0 ? builtNanos : startNanos;
+        long headers = headersNanos != 0 ? headersNanos : endNanos;
+        long bodyComplete = bodyCompleteNanos != 0 ? bodyCompleteNanos : endNanos;
+
+        return new RequestTiming(
+                built - startNanos,
+                headers - built,
+                bodyComplete - headers,
+                endNanos - bodyComplete,
+                endNanos - startNanos);
+    }
+
+    /**
+     * Pass-through subscriber that marks when the body finished.
+     */
+    private class TimingSubscriber<T> implements BodySubscriber<T> {
+        private final BodySubscriber<T> delegate;
+
+        TimingSubscriber(BodySubscriber<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            delegate.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            delegate.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            bodyCompleteNanos = System.nanoTime();
+            delegate.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            bodyCompleteNanos = System.nanoTime();
+            delegate.onComplete();
+        }
+    }
+}
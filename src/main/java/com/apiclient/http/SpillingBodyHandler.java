@@ -0,0 +1,199 @@
+package com.apiclient.http;
+
+import com.apiclient.model.BodyBuffer;
+import com.apiclient.model.ResponseBody;
+import com.apiclient.model.ResponseData;
+import com.apiclient.model.ResponseDownload;
+
+import java.io.IOException;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * Body handler that keeps the first part of a response body in memory and
+ * streams the remainder to a temporary file. When decoding is enabled, gzip
+ * and deflate bodies are decompressed on the way in.
+ *
+ * An optional download listener is handed a ResponseDownload as soon as the
+ * headers arrive, through which the body can be read while it is received.
+ */
+class SpillingBodyHandler implements BodyHandler<ResponseBody> {
+    private final int memoryLimit;
+    private final boolean decodeContent;
+    private final Consumer<ResponseDownload> downloadListener;
+    private volatile SpillingBodySubscriber subscriber;
+
+    SpillingBodyHandler(int memoryLimit) {
+        this(memoryLimit, false);
+    }
+
+    SpillingBodyHandler(int memoryLimit, boolean decodeContent) {
+        this(memoryLimit, decodeContent, null);
+    }
+
+    SpillingBodyHandler(int memoryLimit, boolean decodeContent, Consumer<ResponseDownload> downloadListener) {
+        this.memoryLimit = memoryLimit;
+        this.decodeContent = decodeContent;
+        this.downloadListener = downloadListener;
+    }
+
+    @Override
+    public BodySubscriber<ResponseBody> apply(ResponseInfo responseInfo) {
+        Charset charset = charsetOf(responseInfo.headers().firstValue("Content-Type").orElse(null));
+        ContentDecoder decoder = decodeContent
+                ? ContentDecoder.forEncoding(responseInfo.headers().firstValue("Content-Encoding").orElse(null))
+                : null;
+        BodyBuffer bodyBuffer = new BodyBuffer(memoryLimit);
+        ResponseDownload download = null;
+        if (downloadListener != null) {
+            ResponseData head = new ResponseData(responseInfo.statusCode(),
+                    HttpRequestService.getStatusText(responseInfo.statusCode()));
+            HttpRequestService.copyHeaders(responseInfo.headers(), head);
+            download = new ResponseDownload(head, bodyBuffer, charset);
+        }
+        SpillingBodySubscriber created = new SpillingBodySubscriber(bodyBuffer, charset, decoder, download);
+        subscriber = created;
+        if (download != null) {
+            downloadListener.accept(download);
+        }
+        return created;
+    }
+
+    /**
+     * Body bytes received on the wire for the last response, before decoding.
+     */
+    long getWireBytes() {
+        SpillingBodySubscriber current = subscriber;
+        return current != null ? current.wireBytes : 0;
+    }
+
+    /**
+     * Content-Encoding that was decoded for the last response, or null.
+     */
+    String getDecodedEncoding() {
+        SpillingBodySubscriber current = subscriber;
+        return current != null && current.decoder != null ? current.decoder.getEncoding() : null;
+    }
+
+    /**
+     * Extract the charset parameter of a Content-Type header, defaulting to UTF-8.
+     */
+    static Charset charsetOf(String contentType) {
+        if (contentType != null) {
+            for (String parameter : contentType.split(";")) {
+                String trimmed = parameter.trim();
+                if (trimmed.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                    String name = trimmed.substring("charset=".length()).replace("\"", "").trim();
+                    try {
+                        return Charset.forName(name);
+                    } catch (IllegalArgumentException e) {
+                        // Unknown or malformed charset; fall back to UTF-8
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Subscriber writing each received buffer, decoded if needed, into a BodyBuffer.
+     */
+    static class SpillingBodySubscriber implements BodySubscriber<ResponseBody> {
+        private final BodyBuffer bodyBuffer;
+        private final Charset charset;
+        private final ContentDecoder decoder;
+        private final ResponseDownload download;
+        private final CompletableFuture<ResponseBody> result = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+        private volatile long wireBytes;
+
+        SpillingBodySubscriber(BodyBuffer bodyBuffer, Charset charset) {
+            this(bodyBuffer, charset, null);
+        }
+
+        SpillingBodySubscriber(BodyBuffer bodyBuffer, Charset charset, ContentDecoder decoder) {
+            this(bodyBuffer, charset, decoder, null);
+        }
+
+        SpillingBodySubscriber(BodyBuffer bodyBuffer, Charset charset, ContentDecoder decoder,
+                               ResponseDownload download) {
+            this.bodyBuffer = bodyBuffer;
+            this.charset = charset;
+            this.decoder = decoder;
+            this.download = download;
+        }
+
+        @Override
+        public CompletionStage<ResponseBody> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                for (ByteBuffer buffer : buffers) {
+                    wireBytes += buffer.remaining();
+                    if (decoder != null) {
+                        decoder.decode(buffer, bodyBuffer);
+                    } else {
+                        bodyBuffer.write(buffer);
+                    }
+                }
+                if (download != null) {
+                    download.setWireBytes(wireBytes);
+                }
+                subscription.request(1);
+            } catch (IOException e) {
+                subscription.cancel();
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                if (decoder != null) {
+                    decoder.finish();
+                }
+                result.complete(bodyBuffer.toResponseBody(charset));
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            if (decoder != null) {
+                decoder.end();
+            }
+            bodyBuffer.discard();
+            result.completeExceptionally(throwable);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.apiclient.http;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to Java 21 virtual threads from code compiled for Java 11.
+ *
+ * The builder API is looked up reflectively once, so the same JAR runs on
+ * Java 11 (where isSupported() is false) and uses virtual threads on 21+.
+ */
+public final class VirtualThreads {
+    private static final Method OF_VIRTUAL = lookup(Thread.class, "ofVirtual");
+    private static final Class<?> BUILDER = builderType();
+    private static final Method BUILDER_NAME = BUILDER != null
+            ? lookup(BUILDER, "name", String.class, long.class)
+            : null;
+    private static final Method BUILDER_FACTORY = BUILDER != null ? lookup(BUILDER, "factory") : null;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR =
+            lookup(java.util.concurrent.Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Whether the running JVM has virtual threads (Java 21 or later).
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null && BUILDER_NAME != null && BUILDER_FACTORY != null
+                && NEW_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Factory for virtual threads named {@code prefix-0}, {@code prefix-1}, ...
+     *
+     * @throws UnsupportedOperationException before Java 21
+     */
+    public static ThreadFactory newThreadFactory(String prefix) {
+        requireSupported();
+        try {
+            // Call through the public Thread.Builder interface; the implementation class is not exported
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = BUILDER_NAME.invoke(builder, prefix + "-", 0L);
+            return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Cannot create virtual threads: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Executor that starts a new virtual thread for every task.
+     *
+     * @throws UnsupportedOperationException before Java 21
+     */
+    public static ExecutorService newPerTaskExecutor(String prefix) {
+        ThreadFactory threadFactory = newThreadFactory(prefix);
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Cannot create virtual threads: " + e.getMessage(), e);
+        }
+    }
+
+    private static void requireSupported() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException(
+                    "Virtual threads need Java 21 or later (running " + Runtime.version() + ")");
+        }
+    }
+
+    private static Class<?> builderType() {
+        try {
+            return Class.forName("java.lang.Thread$Builder");
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method lookup(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.apiclient.load;
+
+import com.apiclient.http.HttpRequestService;
+import com.apiclient.metrics.LatencyHistogram;
+import com.apiclient.model.RequestData;
+import com.apiclient.model.ResponseBody;
+import com.apiclient.model.ResponseData;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator that starts requests at a fixed arrival rate,
+ * independent of how quickly responses come back.
+ *
+ * Request i is scheduled at {@code start + i / rate}. Requests are sent with
+ * executeRequestAsync, so a slow server does not slow down the schedule; if
+ * sending still falls behind (in-flight limit reached, sender thread
+ * delayed), the time spent waiting is charged to the request's latency.
+ * This avoids the coordinated omission of closed-loop runners, which stop
+ * sending while the server is slow and so never observe the queueing delay.
+ */
+public class ConstantRateLoadRunner {
+    /** Default limit on requests in flight, bounding memory when the server stalls. */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 10_000;
+
+    private static final long LATE_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final HttpRequestService httpRequestService;
+    private volatile int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+    private volatile boolean stopped;
+
+    public ConstantRateLoadRunner(HttpRequestService httpRequestService) {
+        this.httpRequestService = httpRequestService;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Send requests at {@code requestsPerSecond} for the given duration and
+     * block until every response has arrived.
+     */
+    public ConstantRateResult run(RequestData requestData, double requestsPerSecond, Duration duration)
+            throws InterruptedException {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be positive");
+        }
+        long totalRequests = Math.max(1, (long) Math.ceil(requestsPerSecond * duration.toNanos() / 1e9));
+        return run(requestData, requestsPerSecond, totalRequests);
+    }
+
+    /**
+     * Send {@code totalRequests} requests at {@code requestsPerSecond} and
+     * block until every response has arrived.
+     */
+    public ConstantRateResult run(RequestData requestData, double requestsPerSecond, long totalRequests)
+            throws InterruptedException {
+        if (!(requestsPerSecond > 0) || Double.isInfinite(requestsPerSecond)) {
+            throw new IllegalArgumentException("requestsPerSecond must be positive");
+        }
+        if (totalRequests <= 0) {
+            throw new IllegalArgumentException("totalRequests must be positive");
+        }
+
+        stopped = false;
+        int inFlightLimit = maxInFlight;
+        Semaphore inFlight = new Semaphore(inFlightLimit);
+        LatencyHistogram corrected = new LatencyHistogram();
+        LatencyHistogram uncorrected = new LatencyHistogram();
+        Map<Integer, Long> statusCounts = new ConcurrentHashMap<>();
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long lateSends = 0;
+        long maxLag = 0;
+        double intervalNanos = 1e9 / requestsPerSecond;
+
+        long startTime = System.nanoTime();
+        long lastCompletion = startTime;
+        try {
+            for (long i = 0; i < totalRequests && !stopped; i++) {
+                long intended = startTime + (long) (i * intervalNanos);
+                waitUntil(intended);
+                inFlight.acquire();
+
+                long sendTime = System.nanoTime();
+                long lag = sendTime - intended;
+                if (lag > LATE_THRESHOLD_NANOS) {
+                    lateSends++;
+                }
+                maxLag = Math.max(maxLag, lag);
+
+                send(requestData, intended, sendTime, corrected, uncorrected, statusCounts, completed, errors,
+                        inFlight);
+            }
+        } finally {
+            // Wait for the requests still in flight
+            inFlight.acquireUninterruptibly(inFlightLimit);
+            lastCompletion = System.nanoTime();
+        }
+
+        return new ConstantRateResult(completed.get(), errors.get(), lastCompletion - startTime,
+                corrected, uncorrected, statusCounts, requestsPerSecond, lateSends, Math.max(0, maxLag));
+    }
+
+    /**
+     * Stop scheduling new requests; requests in flight are still awaited.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    private void send(RequestData requestData, long intended, long sendTime,
+                      LatencyHistogram corrected, LatencyHistogram uncorrected, Map<Integer, Long> statusCounts,
+                      AtomicLong completed, AtomicLong errors, Semaphore inFlight) {
+        try {
+            httpRequestService.executeRequestAsync(requestData).whenComplete((responseData, throwable) -> {
+                long end = System.nanoTime();
+                int statusCode = throwable != null ? -1 : responseData.getStatusCode();
+                if (responseData != null) {
+                    // Bodies are not kept; release any spill file straight away
+                    ResponseBody body = responseData.getBodyContent();
+                    if (body != null) {
+                        body.close();
+                    }
+                }
+                corrected.recordValue(end - intended);
+                uncorrected.recordValue(end - sendTime);
+                statusCounts.merge(statusCode, 1L, Long::sum);
+                if (statusCode < 200 || statusCode >= 300) {
+                    errors.incrementAndGet();
+                }
+                completed.incrementAndGet();
+                inFlight.release();
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Park until the target time; the last stretch is spun for accuracy at high rates.
+     */
+    private static void waitUntil(long targetNanos) {
+        long remaining;
+        while ((remaining = targetNanos - System.nanoTime()) > 0) {
+            if (remaining > 100_000) {
+                LockSupport.parkNanos(remaining - 50_000);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.apiclient.load;
+
+import com.apiclient.metrics.LatencyHistogram;
+
+import java.util.Map;
+
+/**
+ * Result of an open-model (constant arrival rate) run.
+ *
+ * The main latency histogram is corrected for coordinated omission: every
+ * latency is measured from the time the request was scheduled to be sent.
+ * The uncorrected histogram measures from the actual send time only, which
+ * is what a closed-loop client would report.
+ */
+public class ConstantRateResult extends LoadResult {
+    private final double targetRate;
+    private final LatencyHistogram uncorrectedHistogram;
+    private final long lateSends;
+    private final long maxSendLagNanos;
+
+    public ConstantRateResult(long completedRequests, long errorCount, long elapsedNanos,
+                              LatencyHistogram correctedHistogram, LatencyHistogram uncorrectedHistogram,
+                              Map<Integer, Long> statusCounts, double targetRate,
+                              long lateSends, long maxSendLagNanos) {
+        super(completedRequests, errorCount, elapsedNanos, correctedHistogram, statusCounts);
+        this.targetRate = targetRate;
+        this.uncorrectedHistogram = uncorrectedHistogram;
+        this.lateSends = lateSends;
+        this.maxSendLagNanos = maxSendLagNanos;
+    }
+
+    /**
+     * Requested arrival rate in requests per second.
+     */
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    /**
+     * Latency measured from the actual send time, without correction.
+     */
+    public LatencyHistogram getUncorrectedHistogram() {
+        return uncorrectedHistogram;
+    }
+
+    public double getUncorrectedPercentileMillis(double percentile) {
+        return uncorrectedHistogram.getValueAtPercentileMillis(percentile);
+    }
+
+    /**
+     * Requests that left more than a millisecond after their scheduled time,
+     * because the in-flight limit was reached or the sender fell behind.
+     */
+    public long getLateSends() {
+        return lateSends;
+    }
+
+    public long getMaxSendLagNanos() {
+        return maxSendLagNanos;
+    }
+
+    @Override
+    public String toSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Target rate: %.1f req/s, achieved %.1f req/s, late sends: %d (max lag %.2f ms)%n",
+                targetRate, getThroughput(), lateSends, maxSendLagNanos / 1_000_000.0));
+        summary.append(super.toSummary());
+        summary.append(String.format("%nUncorrected latency: p50=%.2f ms p90=%.2f ms p99=%.2f ms p99.9=%.2f ms max=%.2f ms",
+                getUncorrectedPercentileMillis(50), getUncorrectedPercentileMillis(90),
+                getUncorrectedPercentileMillis(99), getUncorrectedPercentileMillis(99.9),
+                uncorrectedHistogram.getMaxValue() / 1_000_000.0));
+        return summary.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.apiclient.load;
+
+import com.apiclient.metrics.LatencyHistogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records request outcomes both for the whole run and for the current
+ * interval. Taking a snapshot swaps in a fresh interval, so recording
+ * threads never wait for the reader.
+ */
+class IntervalRecorder {
+    private final LatencyHistogram totalHistogram = new LatencyHistogram();
+    private final Map<Integer, Long> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder totalCompleted = new LongAdder();
+    private final LongAdder totalErrors = new LongAdder();
+    private final AtomicReference<Interval> current = new AtomicReference<>(new Interval());
+
+    void record(long latencyNanos, int statusCode) {
+        boolean error = statusCode < 200 || statusCode >= 300;
+        totalHistogram.recordValue(latencyNanos);
+        statusCounts.merge(statusCode, 1L, Long::sum);
+        totalCompleted.increment();
+        if (error) {
+            totalErrors.increment();
+        }
+
+        Interval interval = current.get();
+        interval.histogram.recordValue(latencyNanos);
+        interval.completed.increment();
+        if (error) {
+            interval.errors.increment();
+        }
+    }
+
+    /**
+     * Close the current interval and describe it. A sample recorded while the
+     * swap happens may land in the closed interval after it was read; the run
+     * totals always include it.
+     */
+    LoadSnapshot snapshot(int index, long startOffsetNanos, long endOffsetNanos, double targetLevel,
+                          int activeLevel) {
+        Interval interval = current.getAndSet(new Interval());
+        return new LoadSnapshot(index, startOffsetNanos, endOffsetNanos - startOffsetNanos, targetLevel,
+                activeLevel, interval.completed.sum(), interval.errors.sum(), interval.histogram);
+    }
+
+    LatencyHistogram getTotalHistogram() {
+        return totalHistogram;
+    }
+
+    Map<Integer, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    long getTotalCompleted() {
+        return totalCompleted.sum();
+    }
+
+    long getTotalErrors() {
+        return totalErrors.sum();
+    }
+
+    private static class Interval {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final LongAdder completed = new LongAdder();
+        final LongAdder errors = new LongAdder();
+    }
+}
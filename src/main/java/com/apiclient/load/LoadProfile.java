@@ -0,0 +1,153 @@
+package com.apiclient.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Load that changes over time, as a sequence of ramp and hold stages,
+ * for capacity tests run by LoadProfileRunner.
+ *
+ * In CONCURRENCY mode the level is the number of closed-loop users, each
+ * sending its next request as soon as the previous one completes. In
+ * ARRIVAL_RATE mode the level is requests per second, started on schedule
+ * regardless of response time.
+ */
+public class LoadProfile {
+    public enum Mode { CONCURRENCY, ARRIVAL_RATE }
+
+    /** Default length of the intervals reported as LoadSnapshots. */
+    public static final Duration DEFAULT_SNAPSHOT_INTERVAL = Duration.ofSeconds(1);
+
+    private final Mode mode;
+    private final List<LoadStage> stages = new ArrayList<>();
+    private Duration snapshotInterval = DEFAULT_SNAPSHOT_INTERVAL;
+    private int maxInFlight = ConstantRateLoadRunner.DEFAULT_MAX_IN_FLIGHT;
+
+    public LoadProfile(Mode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("mode must not be null");
+        }
+        this.mode = mode;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void addStage(LoadStage stage) {
+        stages.add(stage);
+    }
+
+    /**
+     * Append a stage that moves the level linearly from {@code from} to {@code to}.
+     */
+    public void ramp(double from, double to, Duration duration) {
+        addStage(LoadStage.ramp(from, to, duration));
+    }
+
+    /**
+     * Append a stage that keeps the level constant.
+     */
+    public void hold(double level, Duration duration) {
+        addStage(LoadStage.hold(level, duration));
+    }
+
+    public List<LoadStage> getStages() {
+        return Collections.unmodifiableList(stages);
+    }
+
+    public Duration getTotalDuration() {
+        Duration total = Duration.ZERO;
+        for (LoadStage stage : stages) {
+            total = total.plus(stage.getDuration());
+        }
+        return total;
+    }
+
+    /**
+     * Level at the given offset from the start of the profile; zero once
+     * every stage has finished.
+     */
+    public double levelAt(long offsetNanos) {
+        long stageStart = 0;
+        for (LoadStage stage : stages) {
+            long stageNanos = stage.getDuration().toNanos();
+            if (offsetNanos < stageStart + stageNanos) {
+                return stage.levelAt(offsetNanos - stageStart);
+            }
+            stageStart += stageNanos;
+        }
+        return 0.0;
+    }
+
+    /**
+     * Area under the level from the start of the profile to the given
+     * offset, in level-seconds; in ARRIVAL_RATE mode, the number of requests
+     * due by then.
+     */
+    public double levelIntegral(long offsetNanos) {
+        double area = 0;
+        long stageStart = 0;
+        for (LoadStage stage : stages) {
+            if (offsetNanos <= stageStart) {
+                break;
+            }
+            area += stage.levelIntegral(offsetNanos - stageStart);
+            stageStart += stage.getDuration().toNanos();
+        }
+        return area;
+    }
+
+    /**
+     * Offset at which levelIntegral first reaches the given area, or -1 if
+     * the profile ends before.
+     */
+    public long offsetOfIntegral(double area) {
+        long stageStart = 0;
+        for (LoadStage stage : stages) {
+            long stageNanos = stage.getDuration().toNanos();
+            double stageArea = stage.levelIntegral(stageNanos);
+            if (area <= stageArea) {
+                long offset = stage.offsetOfIntegral(area);
+                if (offset >= 0) {
+                    return stageStart + offset;
+                }
+            }
+            area -= stageArea;
+            stageStart += stageNanos;
+        }
+        return -1;
+    }
+
+    public Duration getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public void setSnapshotInterval(Duration snapshotInterval) {
+        if (snapshotInterval == null || snapshotInterval.isNegative() || snapshotInterval.isZero()) {
+            throw new IllegalArgumentException("snapshotInterval must be positive");
+        }
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Limit on requests in flight in ARRIVAL_RATE mode.
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public String toString() {
+        return mode + " " + stages;
+    }
+}
@@ -0,0 +1,64 @@
+package com.apiclient.load;
+
+import com.apiclient.metrics.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a LoadProfileRunner run: the totals of a LoadResult plus the
+ * per-interval snapshots, in order.
+ */
+public class LoadProfileResult extends LoadResult {
+    private final LoadProfile profile;
+    private final List<LoadSnapshot> snapshots;
+
+    public LoadProfileResult(LoadProfile profile, long completedRequests, long errorCount, long elapsedNanos,
+                             LatencyHistogram latencyHistogram, Map<Integer, Long> statusCounts,
+                             List<LoadSnapshot> snapshots) {
+        super(completedRequests, errorCount, elapsedNanos, latencyHistogram, statusCounts);
+        this.profile = profile;
+        this.snapshots = Collections.unmodifiableList(snapshots);
+    }
+
+    public LoadProfile getProfile() {
+        return profile;
+    }
+
+    public List<LoadSnapshot> getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * Interval with the highest throughput, or null if there were none.
+     * Past the knee of the curve, raising the load no longer raises
+     * throughput and only adds latency.
+     */
+    public LoadSnapshot getPeakThroughputSnapshot() {
+        LoadSnapshot peak = null;
+        for (LoadSnapshot snapshot : snapshots) {
+            if (peak == null || snapshot.getThroughput() > peak.getThroughput()) {
+                peak = snapshot;
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * Tab-separated table of the snapshots, one interval per line, for
+     * plotting throughput and latency against the load level.
+     */
+    public String toTable() {
+        StringBuilder table = new StringBuilder(
+                "end_s\ttarget\tactive\treq_per_s\terrors\tp50_ms\tp90_ms\tp99_ms\tmax_ms\n");
+        for (LoadSnapshot snapshot : snapshots) {
+            table.append(String.format("%.3f\t%.1f\t%d\t%.1f\t%d\t%.2f\t%.2f\t%.2f\t%.2f%n",
+                    (snapshot.getStartOffsetNanos() + snapshot.getDurationNanos()) / 1_000_000_000.0,
+                    snapshot.getTargetLevel(), snapshot.getActiveLevel(), snapshot.getThroughput(),
+                    snapshot.getErrorCount(), snapshot.getPercentileMillis(50), snapshot.getPercentileMillis(90),
+                    snapshot.getPercentileMillis(99), snapshot.getLatencyHistogram().getMaxValue() / 1_000_000.0));
+        }
+        return table.toString();
+    }
+}
@@ -0,0 +1,266 @@
+package com.apiclient.load;
+
+import com.apiclient.http.HttpRequestService;
+import com.apiclient.model.RequestData;
+import com.apiclient.model.ResponseBody;
+import com.apiclient.model.ResponseData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Drives a LoadProfile against HttpRequestService and reports a LoadSnapshot
+ * for every snapshot interval, so throughput and latency can be followed as
+ * the load steps up.
+ *
+ * The calling thread only schedules: in CONCURRENCY mode it adds or retires
+ * users to follow the profile, in ARRIVAL_RATE mode it starts requests on
+ * schedule. Requests themselves are sent with executeRequestAsync.
+ */
+public class LoadProfileRunner {
+    private static final long CONTROL_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long BUSY_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final HttpRequestService httpRequestService;
+    private volatile boolean stopped;
+
+    public LoadProfileRunner(HttpRequestService httpRequestService) {
+        this.httpRequestService = httpRequestService;
+    }
+
+    public LoadProfileResult run(RequestData requestData, LoadProfile profile) throws InterruptedException {
+        return run(requestData, profile, null);
+    }
+
+    /**
+     * Run every stage of the profile and block until the last request has
+     * completed. The listener, if any, is called on this thread with each
+     * snapshot as its interval closes.
+     */
+    public LoadProfileResult run(RequestData requestData, LoadProfile profile, Consumer<LoadSnapshot> listener)
+            throws InterruptedException {
+        if (profile.getStages().isEmpty()) {
+            throw new IllegalArgumentException("Load profile has no stages");
+        }
+        stopped = false;
+        Run run = new Run(requestData, profile, listener);
+        run.execute();
+        return run.result();
+    }
+
+    /**
+     * Stop the profile early; requests in flight are still awaited.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * State of one run, shared between the scheduling thread and response callbacks.
+     */
+    private class Run {
+        private final RequestData requestData;
+        private final LoadProfile profile;
+        private final Consumer<LoadSnapshot> listener;
+        private final IntervalRecorder recorder = new IntervalRecorder();
+        private final List<LoadSnapshot> snapshots = new ArrayList<>();
+        private final long totalNanos;
+        private final long intervalNanos;
+
+        // CONCURRENCY mode
+        private final AtomicInteger activeUsers = new AtomicInteger();
+        private volatile int targetUsers;
+
+        // ARRIVAL_RATE mode
+        private final Semaphore inFlight;
+
+        private long startTime;
+        private long lastSnapshotOffset;
+        private long endTime;
+
+        Run(RequestData requestData, LoadProfile profile, Consumer<LoadSnapshot> listener) {
+            this.requestData = requestData;
+            this.profile = profile;
+            this.listener = listener;
+            this.totalNanos = profile.getTotalDuration().toNanos();
+            this.intervalNanos = profile.getSnapshotInterval().toNanos();
+            this.inFlight = new Semaphore(profile.getMaxInFlight());
+        }
+
+        void execute() throws InterruptedException {
+            startTime = System.nanoTime();
+            try {
+                if (profile.getMode() == LoadProfile.Mode.CONCURRENCY) {
+                    driveUsers();
+                } else {
+                    driveArrivals();
+                }
+            } finally {
+                targetUsers = 0;
+                drain();
+                endTime = System.nanoTime();
+            }
+            // The last interval also covers the wait for outstanding responses
+            if (endTime - startTime > lastSnapshotOffset || snapshots.isEmpty()) {
+                emitSnapshot(endTime - startTime);
+            }
+        }
+
+        LoadProfileResult result() {
+            return new LoadProfileResult(profile, recorder.getTotalCompleted(), recorder.getTotalErrors(),
+                    endTime - startTime, recorder.getTotalHistogram(), recorder.getStatusCounts(), snapshots);
+        }
+
+        private void driveUsers() throws InterruptedException {
+            long offset;
+            while (!stopped && (offset = System.nanoTime() - startTime) < totalNanos) {
+                emitDueSnapshots(offset);
+                targetUsers = (int) Math.round(profile.levelAt(offset));
+                while (activeUsers.get() < targetUsers) {
+                    activeUsers.incrementAndGet();
+                    sendAsUser();
+                }
+                parkUntil(Math.min(offset + CONTROL_TICK_NANOS, nextSnapshotOffset()));
+            }
+        }
+
+        /**
+         * Send the next request of a closed-loop user. When it completes the
+         * user either sends again or retires if there are more users than the
+         * profile currently asks for.
+         */
+        private void sendAsUser() {
+            long sendTime = System.nanoTime();
+            httpRequestService.executeRequestAsync(requestData).whenCompleteAsync((responseData, throwable) -> {
+                record(sendTime, responseData, throwable);
+                if (!retireUser()) {
+                    sendAsUser();
+                }
+            });
+        }
+
+        private boolean retireUser() {
+            while (true) {
+                int active = activeUsers.get();
+                if (active <= targetUsers && !stopped) {
+                    return false;
+                }
+                if (activeUsers.compareAndSet(active, active - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Start requests at the profile's current rate. Request k is due when
+         * the area under the rate reaches k + 0.5, so a ramp starting at zero
+         * sends as soon as the profile asks for any load, and every stage gets
+         * the number of requests its area calls for. As in
+         * ConstantRateLoadRunner, latency is measured from the scheduled send
+         * time so that falling behind shows up in the percentiles.
+         */
+        private void driveArrivals() throws InterruptedException {
+            long sent = 0;
+            long offset;
+            while (!stopped && (offset = System.nanoTime() - startTime) < totalNanos) {
+                emitDueSnapshots(offset);
+                long sendOffset = profile.offsetOfIntegral(sent + 0.5);
+                if (sendOffset < 0 || sendOffset >= totalNanos) {
+                    // No more requests due; wait out the profile
+                    parkUntil(Math.min(totalNanos, nextSnapshotOffset()));
+                    continue;
+                }
+                if (offset < sendOffset) {
+                    parkUntil(Math.min(sendOffset, nextSnapshotOffset()));
+                    continue;
+                }
+                if (!inFlight.tryAcquire()) {
+                    parkUntil(offset + BUSY_WAIT_NANOS);
+                    continue;
+                }
+                long intended = startTime + sendOffset;
+                httpRequestService.executeRequestAsync(requestData).whenComplete((responseData, throwable) -> {
+                    record(intended, responseData, throwable);
+                    inFlight.release();
+                });
+                sent++;
+            }
+        }
+
+        private void record(long startNanos, ResponseData responseData, Throwable throwable) {
+            long end = System.nanoTime();
+            int statusCode = throwable != null || responseData == null ? -1 : responseData.getStatusCode();
+            if (responseData != null) {
+                // Bodies are not kept; release any spill file straight away
+                ResponseBody body = responseData.getBodyContent();
+                if (body != null) {
+                    body.close();
+                }
+            }
+            recorder.record(end - startNanos, statusCode);
+        }
+
+        /**
+         * Wait for outstanding requests, still emitting snapshots on time.
+         */
+        private void drain() {
+            while (activeUsers.get() > 0 || inFlight.availablePermits() < profile.getMaxInFlight()) {
+                long offset = System.nanoTime() - startTime;
+                emitDueSnapshots(offset);
+                LockSupport.parkNanos(Math.min(CONTROL_TICK_NANOS, Math.max(1, nextSnapshotOffset() - offset)));
+            }
+        }
+
+        private long nextSnapshotOffset() {
+            return lastSnapshotOffset + intervalNanos;
+        }
+
+        private void emitDueSnapshots(long offset) {
+            while (offset >= nextSnapshotOffset()) {
+                emitSnapshot(nextSnapshotOffset());
+            }
+        }
+
+        private void emitSnapshot(long endOffset) {
+            int active = profile.getMode() == LoadProfile.Mode.CONCURRENCY
+                    ? activeUsers.get()
+                    : profile.getMaxInFlight() - inFlight.availablePermits();
+            LoadSnapshot snapshot = recorder.snapshot(snapshots.size(), lastSnapshotOffset, endOffset,
+                    targetLevel(lastSnapshotOffset, endOffset), active);
+            lastSnapshotOffset = endOffset;
+            snapshots.add(snapshot);
+            if (listener != null) {
+                listener.accept(snapshot);
+            }
+        }
+
+        /**
+         * Average level the profile asks for over an interval. The level at
+         * the interval's end would already be the next stage's at a stage
+         * boundary; past the profile's end the level is zero.
+         */
+        private double targetLevel(long startOffset, long endOffset) {
+            if (endOffset <= startOffset) {
+                return 0.0;
+            }
+            double area = profile.levelIntegral(endOffset) - profile.levelIntegral(startOffset);
+            return area / ((endOffset - startOffset) / 1e9);
+        }
+
+        private void parkUntil(long offset) throws InterruptedException {
+            long remaining = startTime + offset - System.nanoTime();
+            if (remaining > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+            if (Thread.interrupted()) {
+                stopped = true;
+                throw new InterruptedException();
+            }
+        }
+    }
+}
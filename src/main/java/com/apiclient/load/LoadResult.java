@@ -0,0 +1,90 @@
+package com.apiclient.load;
+
+import com.apiclient.metrics.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summary of a completed load run.
+ */
+public class LoadResult {
+    private final long completedRequests;
+    private final long errorCount;
+    private final long elapsedNanos;
+    private final LatencyHistogram latencyHistogram;
+    private final Map<Integer, Long> statusCounts;
+
+    public LoadResult(long completedRequests, long errorCount, long elapsedNanos,
+                      LatencyHistogram latencyHistogram, Map<Integer, Long> statusCounts) {
+        this.completedRequests = completedRequests;
+        this.errorCount = errorCount;
+        this.elapsedNanos = elapsedNanos;
+        this.latencyHistogram = latencyHistogram;
+        this.statusCounts = Collections.unmodifiableMap(new TreeMap<>(statusCounts));
+    }
+
+    public long getCompletedRequests() {
+        return completedRequests;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    /**
+     * Count of responses per status code (-1 for transport failures).
+     */
+    public Map<Integer, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    /**
+     * Completed requests per second over the whole run.
+     */
+    public double getThroughput() {
+        if (elapsedNanos <= 0) {
+            return 0.0;
+        }
+        return completedRequests / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    public double getErrorRate() {
+        return completedRequests == 0 ? 0.0 : (double) errorCount / completedRequests;
+    }
+
+    /**
+     * Latency at the given percentile (0-100) in milliseconds.
+     */
+    public double getPercentileMillis(double percentile) {
+        return latencyHistogram.getValueAtPercentileMillis(percentile);
+    }
+
+    /**
+     * Multi-line human readable summary.
+     */
+    public String toSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Requests: %d (errors: %d) in %.2f s, %.1f req/s%n",
+                completedRequests, errorCount, elapsedNanos / 1_000_000_000.0, getThroughput()));
+        summary.append(String.format("Latency: p50=%.2f ms p90=%.2f ms p99=%.2f ms p99.9=%.2f ms max=%.2f ms%n",
+                getPercentileMillis(50), getPercentileMillis(90), getPercentileMillis(99),
+                getPercentileMillis(99.9), latencyHistogram.getMaxValue() / 1_000_000.0));
+        summary.append("Status codes: ").append(statusCounts);
+        return summary.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toSummary();
+    }
+}
@@ -0,0 +1,177 @@
+package com.apiclient.load;
+
+import com.apiclient.http.HttpRequestService;
+import com.apiclient.http.VirtualThreads;
+import com.apiclient.metrics.LatencyHistogram;
+import com.apiclient.model.RequestData;
+import com.apiclient.model.ResponseBody;
+import com.apiclient.model.ResponseData;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load runner that sends the same request many times from a fixed
+ * number of concurrent workers.
+ *
+ * Workers are platform threads by default. With VIRTUAL_THREADS each worker
+ * is a virtual thread (Java 21+), so tens of thousands of blocking workers
+ * cost little memory; with ASYNC a worker is a chain of sendAsync calls and
+ * holds no thread at all while its request is in flight.
+ */
+public class LoadRunner {
+    public enum ExecutionMode { PLATFORM_THREADS, VIRTUAL_THREADS, ASYNC }
+
+    private final HttpRequestService httpRequestService;
+    private volatile ExecutionMode executionMode = ExecutionMode.PLATFORM_THREADS;
+    private volatile boolean stopped;
+
+    public LoadRunner(HttpRequestService httpRequestService) {
+        this.httpRequestService = httpRequestService;
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * Choose how workers run. VIRTUAL_THREADS requires Java 21 or later.
+     */
+    public void setExecutionMode(ExecutionMode executionMode) {
+        if (executionMode == ExecutionMode.VIRTUAL_THREADS && !VirtualThreads.isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads need Java 21 or later");
+        }
+        this.executionMode = executionMode;
+    }
+
+    /**
+     * Send the request {@code totalRequests} times using {@code concurrency} workers
+     * and block until all of them have completed.
+     */
+    public LoadResult run(RequestData requestData, int totalRequests, int concurrency)
+            throws InterruptedException {
+        if (totalRequests <= 0) {
+            throw new IllegalArgumentException("totalRequests must be positive");
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+
+        stopped = false;
+        int workers = Math.min(concurrency, totalRequests);
+        LatencyHistogram histogram = new LatencyHistogram();
+        Map<Integer, Long> statusCounts = new ConcurrentHashMap<>();
+        AtomicLong issued = new AtomicLong();
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+
+        long startTime = System.nanoTime();
+        if (executionMode == ExecutionMode.ASYNC) {
+            runAsync(requestData, totalRequests, workers, histogram, statusCounts, issued, completed, errors);
+        } else {
+            ExecutorService executor = executionMode == ExecutionMode.VIRTUAL_THREADS
+                    ? VirtualThreads.newPerTaskExecutor("load-worker")
+                    : Executors.newFixedThreadPool(workers, runnable -> {
+                        Thread thread = new Thread(runnable, "load-worker");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            for (int i = 0; i < workers; i++) {
+                executor.execute(() -> {
+                    while (!stopped && issued.getAndIncrement() < totalRequests) {
+                        long start = System.nanoTime();
+                        int statusCode = sendOnce(requestData);
+                        record(System.nanoTime() - start, statusCode, histogram, statusCounts, completed, errors);
+                    }
+                });
+            }
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                stopped = true;
+                executor.shutdownNow();
+                throw e;
+            }
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        return new LoadResult(completed.get(), errors.get(), elapsed, histogram, statusCounts);
+    }
+
+    /**
+     * Ask a running load test to finish after the requests already in flight.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Run each worker as a chain of asynchronous sends: the next request of a
+     * worker is sent from the completion of its previous one.
+     */
+    private void runAsync(RequestData requestData, long totalRequests, int workers, LatencyHistogram histogram,
+                          Map<Integer, Long> statusCounts, AtomicLong issued, AtomicLong completed,
+                          AtomicLong errors) throws InterruptedException {
+        CountDownLatch finished = new CountDownLatch(workers);
+        Runnable[] worker = new Runnable[1];
+        worker[0] = () -> {
+            if (stopped || issued.getAndIncrement() >= totalRequests) {
+                finished.countDown();
+                return;
+            }
+            long start = System.nanoTime();
+            httpRequestService.executeRequestAsync(requestData).whenCompleteAsync((responseData, throwable) -> {
+                int statusCode = throwable != null ? -1 : release(responseData);
+                record(System.nanoTime() - start, statusCode, histogram, statusCounts, completed, errors);
+                worker[0].run();
+            });
+        };
+        for (int i = 0; i < workers; i++) {
+            worker[0].run();
+        }
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            stopped = true;
+            throw e;
+        }
+    }
+
+    private static void record(long latencyNanos, int statusCode, LatencyHistogram histogram,
+                               Map<Integer, Long> statusCounts, AtomicLong completed, AtomicLong errors) {
+        histogram.recordValue(latencyNanos);
+        statusCounts.merge(statusCode, 1L, Long::sum);
+        if (statusCode < 200 || statusCode >= 300) {
+            errors.incrementAndGet();
+        }
+        completed.incrementAndGet();
+    }
+
+    /**
+     * Execute one request and return its status code.
+     */
+    private int sendOnce(RequestData requestData) {
+        try {
+            return release(httpRequestService.executeRequest(requestData));
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Bodies are not kept; release any spill file straight away and return the status code.
+     */
+    private static int release(ResponseData responseData) {
+        ResponseBody body = responseData.getBodyContent();
+        if (body != null) {
+            body.close();
+        }
+        return responseData.getStatusCode();
+    }
+}
@@ -0,0 +1,99 @@
+package com.apiclient.load;
+
+import com.apiclient.metrics.LatencyHistogram;
+
+/**
+ * Throughput and latency of the requests that completed during one
+ * interval of a LoadProfileRunner run.
+ */
+public class LoadSnapshot {
+    private final int index;
+    private final long startOffsetNanos;
+    private final long durationNanos;
+    private final double targetLevel;
+    private final int activeLevel;
+    private final long completedRequests;
+    private final long errorCount;
+    private final LatencyHistogram latencyHistogram;
+
+    public LoadSnapshot(int index, long startOffsetNanos, long durationNanos, double targetLevel,
+                        int activeLevel, long completedRequests, long errorCount,
+                        LatencyHistogram latencyHistogram) {
+        this.index = index;
+        this.startOffsetNanos = startOffsetNanos;
+        this.durationNanos = durationNanos;
+        this.targetLevel = targetLevel;
+        this.activeLevel = activeLevel;
+        this.completedRequests = completedRequests;
+        this.errorCount = errorCount;
+        this.latencyHistogram = latencyHistogram;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Start of the interval relative to the start of the run.
+     */
+    public long getStartOffsetNanos() {
+        return startOffsetNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Profile level (users or requests per second) averaged over the interval.
+     */
+    public double getTargetLevel() {
+        return targetLevel;
+    }
+
+    /**
+     * Users running (CONCURRENCY) or requests in flight (ARRIVAL_RATE) at the
+     * end of the interval.
+     */
+    public int getActiveLevel() {
+        return activeLevel;
+    }
+
+    public long getCompletedRequests() {
+        return completedRequests;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    /**
+     * Completed requests per second over the interval.
+     */
+    public double getThroughput() {
+        return durationNanos == 0 ? 0.0 : completedRequests * 1_000_000_000.0 / durationNanos;
+    }
+
+    public double getPercentileMillis(double percentile) {
+        return latencyHistogram.getValueAtPercentileMillis(percentile);
+    }
+
+    /**
+     * One-line summary, e.g. for console output while a profile runs.
+     */
+    public String toSummary() {
+        return String.format("t=%6.1fs target=%.1f active=%d %.1f req/s errors=%d p50=%.2f ms p99=%.2f ms max=%.2f ms",
+                (startOffsetNanos + durationNanos) / 1_000_000_000.0, targetLevel, activeLevel,
+                getThroughput(), errorCount, getPercentileMillis(50), getPercentileMillis(99),
+                latencyHistogram.getMaxValue() / 1_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return toSummary();
+    }
+}
@@ -0,0 +1,95 @@
+package com.apiclient.load;
+
+import java.time.Duration;
+
+/**
+ * One stage of a LoadProfile: the load level moves linearly from
+ * {@code startLevel} to {@code endLevel} over the stage duration.
+ *
+ * The level is a number of concurrent users or an arrival rate in requests
+ * per second, depending on the profile mode.
+ */
+public class LoadStage {
+    private final double startLevel;
+    private final double endLevel;
+    private final Duration duration;
+
+    public LoadStage(double startLevel, double endLevel, Duration duration) {
+        if (startLevel < 0 || endLevel < 0 || Double.isNaN(startLevel) || Double.isNaN(endLevel)) {
+            throw new IllegalArgumentException("Load levels must not be negative");
+        }
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Stage duration must be positive");
+        }
+        this.startLevel = startLevel;
+        this.endLevel = endLevel;
+        this.duration = duration;
+    }
+
+    /**
+     * Stage that changes the level linearly from {@code from} to {@code to}.
+     */
+    public static LoadStage ramp(double from, double to, Duration duration) {
+        return new LoadStage(from, to, duration);
+    }
+
+    /**
+     * Stage that keeps the level constant.
+     */
+    public static LoadStage hold(double level, Duration duration) {
+        return new LoadStage(level, level, duration);
+    }
+
+    public double getStartLevel() {
+        return startLevel;
+    }
+
+    public double getEndLevel() {
+        return endLevel;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Level at the given offset from the start of this stage.
+     */
+    public double levelAt(long offsetNanos) {
+        double fraction = Math.max(0.0, Math.min(1.0, (double) offsetNanos / duration.toNanos()));
+        return startLevel + (endLevel - startLevel) * fraction;
+    }
+
+    /**
+     * Area under the level from the start of this stage to the given offset,
+     * in level-seconds; in ARRIVAL_RATE mode, the requests due by then.
+     */
+    public double levelIntegral(long offsetNanos) {
+        long clamped = Math.max(0, Math.min(offsetNanos, duration.toNanos()));
+        return (startLevel + levelAt(clamped)) / 2 * clamped / 1e9;
+    }
+
+    /**
+     * Offset from the start of this stage at which levelIntegral reaches the
+     * given area, or -1 if the stage ends first.
+     */
+    public long offsetOfIntegral(double area) {
+        if (area <= 0) {
+            return 0;
+        }
+        if (area > levelIntegral(duration.toNanos())) {
+            return -1;
+        }
+        // Solves startLevel * t + slope * t^2 / 2 = area; this form also holds for a hold
+        double slope = (endLevel - startLevel) / (duration.toNanos() / 1e9);
+        double seconds = 2 * area / (startLevel + Math.sqrt(startLevel * startLevel + 2 * slope * area));
+        return Math.min(duration.toNanos(), (long) Math.ceil(seconds * 1e9));
+    }
+
+    @Override
+    public String toString() {
+        return startLevel == endLevel
+                ? String.format("hold %.1f for %s", startLevel, duration)
+                : String.format("ramp %.1f -> %.1f over %s", startLevel, endLevel, duration);
+    }
+}
@@ -0,0 +1,160 @@
+package com.apiclient.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-memory latency histogram with log-linear buckets.
+ *
+ * Values are recorded in nanoseconds. Each power-of-two range is split into
+ * 128 linear sub-buckets, so reported percentiles are within 1% of the recorded
+ * value no matter how many samples are taken. Recording is lock-free and safe to
+ * call from many threads at once.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+    /** Largest trackable value (about 2.4 hours); larger values are clamped. */
+    public static final long MAX_TRACKABLE_VALUE = (1L << 43) - 1;
+
+    private static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount;
+    private final AtomicLong minValue;
+    private final AtomicLong maxValue;
+    private final LongAdder totalValue;
+
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new AtomicLong();
+        this.minValue = new AtomicLong(Long.MAX_VALUE);
+        this.maxValue = new AtomicLong(0);
+        this.totalValue = new LongAdder();
+    }
+
+    /**
+     * Record a single latency sample in nanoseconds.
+     */
+    public void recordValue(long valueNanos) {
+        recordValues(valueNanos, 1);
+    }
+
+    /**
+     * Record the same latency sample several times.
+     */
+    public void recordValues(long valueNanos, long count) {
+        if (count <= 0) {
+            return;
+        }
+        long value = Math.max(0, Math.min(valueNanos, MAX_TRACKABLE_VALUE));
+        counts.addAndGet(indexOf(value), count);
+        totalCount.addAndGet(count);
+        totalValue.add(value * count);
+        minValue.accumulateAndGet(value, Math::min);
+        maxValue.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Add all samples of another histogram to this one.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        if (other.getTotalCount() > 0) {
+            totalCount.addAndGet(other.totalCount.get());
+            totalValue.add(other.totalValue.sum());
+            minValue.accumulateAndGet(other.minValue.get(), Math::min);
+            maxValue.accumulateAndGet(other.maxValue.get(), Math::max);
+        }
+    }
+
+    /**
+     * Discard all recorded samples.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalValue.reset();
+        minValue.set(Long.MAX_VALUE);
+        maxValue.set(0);
+    }
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    public long getMinValue() {
+        return totalCount.get() == 0 ? 0 : minValue.get();
+    }
+
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    public double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0.0 : (double) totalValue.sum() / count;
+    }
+
+    /**
+     * Get the value at the given percentile (0-100) in nanoseconds.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        double clamped = Math.max(0.0, Math.min(percentile, 100.0));
+        long countAtPercentile = Math.max(1, (long) Math.ceil(clamped / 100.0 * count));
+
+        long runningCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            runningCount += counts.get(i);
+            if (runningCount >= countAtPercentile) {
+                return Math.min(highestEquivalentValue(i), getMaxValue());
+            }
+        }
+        return getMaxValue();
+    }
+
+    /**
+     * Get the value at the given percentile (0-100) in milliseconds.
+     */
+    public double getValueAtPercentileMillis(double percentile) {
+        return getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    /**
+     * Map a value to its bucket index.
+     */
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >>> shift);
+        return shift * SUB_BUCKET_HALF_COUNT + subBucket;
+    }
+
+    /**
+     * Largest value that maps to the given bucket index.
+     */
+    private static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,157 @@
+package com.apiclient.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Accumulates body bytes in memory up to a limit and spills the remainder to
+ * a temporary file.
+ *
+ * Bytes written so far can be read back while writing goes on, e.g. to show
+ * a body as it is produced, and after it was handed over as a ResponseBody
+ * until that is closed; writes and reads are synchronized.
+ */
+public class BodyBuffer {
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+
+    private final int memoryLimit;
+    private byte[] head;
+    private int headLength;
+    private Path spillFile;
+    private FileChannel spillChannel;
+    private long length;
+
+    public BodyBuffer(int memoryLimit) {
+        if (memoryLimit < 0) {
+            throw new IllegalArgumentException("memoryLimit must not be negative");
+        }
+        this.memoryLimit = memoryLimit;
+        this.head = new byte[Math.min(INITIAL_CAPACITY, memoryLimit)];
+    }
+
+    /**
+     * Append the remaining bytes of the buffer.
+     */
+    public synchronized void write(ByteBuffer src) throws IOException {
+        int remaining = src.remaining();
+        length += remaining;
+
+        int toHead = Math.min(remaining, memoryLimit - headLength);
+        if (toHead > 0) {
+            ensureHeadCapacity(headLength + toHead);
+            src.get(head, headLength, toHead);
+            headLength += toHead;
+        }
+
+        if (src.hasRemaining()) {
+            FileChannel channel = spillChannel();
+            while (src.hasRemaining()) {
+                channel.write(src);
+            }
+        }
+    }
+
+    public void write(byte[] bytes, int off, int len) throws IOException {
+        write(ByteBuffer.wrap(bytes, off, len));
+    }
+
+    /**
+     * Number of bytes written so far.
+     */
+    public synchronized long length() {
+        return length;
+    }
+
+    /**
+     * Read up to {@code len} of the bytes written so far, starting at
+     * {@code position}. Returns the number of bytes read, or -1 if position
+     * is at or past the bytes written.
+     */
+    public synchronized int read(long position, byte[] dst, int off, int len) throws IOException {
+        if (position >= length) {
+            return -1;
+        }
+        int count = (int) Math.min(len, length - position);
+        int total = 0;
+        if (position < headLength) {
+            total = (int) Math.min(count, headLength - position);
+            System.arraycopy(head, (int) position, dst, off, total);
+        }
+        if (total < count) {
+            if (spillChannel != null) {
+                total += readSpill(spillChannel, position + total - headLength, dst, off + total, count - total);
+            } else if (spillFile != null && Files.exists(spillFile)) {
+                // Handed over already; the ResponseBody owns the file now
+                try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.READ)) {
+                    total += readSpill(channel, position + total - headLength, dst, off + total, count - total);
+                }
+            } else {
+                throw new IOException("Body buffer was discarded");
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Finish writing and hand the bytes over as a ResponseBody.
+     */
+    public synchronized ResponseBody toResponseBody(Charset charset) throws IOException {
+        if (spillChannel != null) {
+            spillChannel.close();
+            spillChannel = null;
+        }
+        return new ResponseBody(head, headLength, spillFile, length, charset);
+    }
+
+    /**
+     * Drop everything written so far and delete the spill file.
+     */
+    public synchronized void discard() {
+        try {
+            if (spillChannel != null) {
+                spillChannel.close();
+                spillChannel = null;
+            }
+            if (spillFile != null) {
+                SpillFiles.delete(spillFile);
+            }
+        } catch (IOException e) {
+            // Nothing more to do; a file that cannot be deleted stays in the temp directory
+        }
+    }
+
+    private void ensureHeadCapacity(int required) {
+        if (required > head.length) {
+            int newCapacity = Math.max(required, Math.min(memoryLimit, head.length * 2));
+            head = Arrays.copyOf(head, newCapacity);
+        }
+    }
+
+    private FileChannel spillChannel() throws IOException {
+        if (spillChannel == null) {
+            // Deleted by discard() or the ResponseBody's close(), else at exit
+            spillFile = SpillFiles.create();
+            spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        return spillChannel;
+    }
+
+    private static int readSpill(FileChannel channel, long spillPosition, byte[] dst, int off, int len)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(dst, off, len);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, spillPosition);
+            if (read < 0) {
+                break;
+            }
+            spillPosition += read;
+        }
+        return len - buffer.remaining();
+    }
+}
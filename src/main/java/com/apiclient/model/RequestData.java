@@ -1,5 +1,6 @@
 package com.apiclient.model;
 
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -11,6 +12,7 @@ public class RequestData {
     private String url;
     private Map<String, String> headers;
     private String body;
+    private Path bodyFile;
 
     public RequestData() {
         this.headers = new HashMap<>();
@@ -55,6 +57,22 @@ public class RequestData {
         this.body = body;
     }
 
+    public Path getBodyFile() {
+        return bodyFile;
+    }
+
+    /**
+     * Send the body from a file instead of the body string. The file is
+     * streamed from disk when the request is sent; null clears it.
+     */
+    public void setBodyFile(Path bodyFile) {
+        this.bodyFile = bodyFile;
+    }
+
+    public boolean hasBodyFile() {
+        return bodyFile != null;
+    }
+
     public void addHeader(String key, String value) {
         this.headers.put(key, value);
     }
@@ -0,0 +1,76 @@
+package com.apiclient.model;
+
+/**
+ * Breakdown of where the time of a single request went, in nanoseconds.
+ *
+ * The Java HttpClient does not report connection setup or TLS handshake
+ * separately, so both are part of the time to first byte together with
+ * sending the request and server processing.
+ */
+public class RequestTiming {
+    private final long buildNanos;
+    private final long timeToFirstByteNanos;
+    private final long downloadNanos;
+    private final long queueNanos;
+    private final long totalNanos;
+
+    public RequestTiming(long buildNanos, long timeToFirstByteNanos, long downloadNanos,
+                         long queueNanos, long totalNanos) {
+        this.buildNanos = buildNanos;
+        this.timeToFirstByteNanos = timeToFirstByteNanos;
+        this.downloadNanos = downloadNanos;
+        this.queueNanos = queueNanos;
+        this.totalNanos = totalNanos;
+    }
+
+    /**
+     * Time spent building the request (URI parsing, headers, body publisher).
+     */
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * Time from handing the request to the client until the response headers
+     * arrived: connect, TLS, upload and server processing.
+     */
+    public long getTimeToFirstByteNanos() {
+        return timeToFirstByteNanos;
+    }
+
+    /**
+     * Time from the response headers until the last body byte.
+     */
+    public long getDownloadNanos() {
+        return downloadNanos;
+    }
+
+    /**
+     * Time from the last body byte until the result reached the caller's thread.
+     */
+    public long getQueueNanos() {
+        return queueNanos;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * One-line summary in milliseconds.
+     */
+    public String toSummary() {
+        return String.format("Total %.2f ms (build %.2f, TTFB %.2f, download %.2f, queue %.2f)",
+                toMillis(totalNanos), toMillis(buildNanos), toMillis(timeToFirstByteNanos),
+                toMillis(downloadNanos), toMillis(queueNanos));
+    }
+
+    @Override
+    public String toString() {
+        return toSummary();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,216 @@
+package com.apiclient.model;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Bytes of an HTTP response body.
+ *
+ * The first part of the body is held in memory; anything beyond the memory
+ * limit used while receiving it lives in a temporary spill file. Callers read
+ * the body as a stream or in slices, so a large body never has to be
+ * materialized as a single String. close() deletes the spill file, so
+ * whoever holds a spilled body last must close it; files of bodies never
+ * closed are only deleted when the JVM exits.
+ */
+public class ResponseBody implements Closeable {
+    private static final ResponseBody EMPTY = new ResponseBody(new byte[0], 0, null, 0, StandardCharsets.UTF_8);
+
+    private final byte[] head;
+    private final int headLength;
+    private final Path spillFile;
+    private final long length;
+    private final Charset charset;
+    private FileChannel spillChannel;
+    // Holders that have not closed the body yet; see retain()
+    private int holders = 1;
+
+    public ResponseBody(byte[] head, int headLength, Path spillFile, long length, Charset charset) {
+        this.head = head;
+        this.headLength = headLength;
+        this.spillFile = spillFile;
+        this.length = length;
+        this.charset = charset != null ? charset : StandardCharsets.UTF_8;
+    }
+
+    public static ResponseBody empty() {
+        return EMPTY;
+    }
+
+    public static ResponseBody ofString(String text) {
+        if (text == null || text.isEmpty()) {
+            return EMPTY;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return new ResponseBody(bytes, bytes.length, null, bytes.length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Total body length in bytes.
+     */
+    public long length() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Whether part of the body was written to a spill file.
+     */
+    public boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    public Path getSpillFile() {
+        return spillFile;
+    }
+
+    /**
+     * Open a stream over the whole body.
+     */
+    public InputStream openStream() throws IOException {
+        InputStream headStream = new ByteArrayInputStream(head, 0, headLength);
+        if (spillFile == null) {
+            return headStream;
+        }
+        InputStream spillStream = new BufferedInputStream(Files.newInputStream(spillFile));
+        return new SequenceInputStream(headStream, spillStream);
+    }
+
+    /**
+     * Read up to {@code len} bytes starting at {@code position} into {@code dst}.
+     * Returns the number of bytes read, or -1 if position is at or past the end.
+     */
+    public int read(long position, byte[] dst, int off, int len) throws IOException {
+        if (position >= length) {
+            return -1;
+        }
+        int total = 0;
+        if (position < headLength) {
+            int count = (int) Math.min(len, headLength - position);
+            System.arraycopy(head, (int) position, dst, off, count);
+            total += count;
+        }
+        if (total < len && spillFile != null) {
+            long spillPosition = position + total - headLength;
+            ByteBuffer buffer = ByteBuffer.wrap(dst, off + total, len - total);
+            FileChannel channel = spillChannel();
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, spillPosition);
+                if (read < 0) {
+                    break;
+                }
+                spillPosition += read;
+                total += read;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Copy a slice of the body.
+     */
+    public byte[] slice(long offset, int count) throws IOException {
+        int available = (int) Math.max(0, Math.min(count, length - offset));
+        byte[] bytes = new byte[available];
+        int filled = 0;
+        while (filled < available) {
+            int read = read(offset + filled, bytes, filled, available - filled);
+            if (read <= 0) {
+                break;
+            }
+            filled += read;
+        }
+        return bytes;
+    }
+
+    /**
+     * Decode the first {@code maxBytes} bytes of the body as text.
+     */
+    public String preview(int maxBytes) {
+        try {
+            return new String(slice(0, maxBytes), charset);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decode the whole body as a String. For spilled bodies this loads the
+     * entire spill file, so prefer {@link #openStream()} or {@link #slice}.
+     */
+    public String asString() {
+        if (spillFile == null) {
+            return new String(head, 0, headLength, charset);
+        }
+        try (InputStream in = openStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(length, Integer.MAX_VALUE - 8));
+            in.transferTo(out);
+            return out.toString(charset.name());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Register one more holder of a spilled body, e.g. a thread that still
+     * reads it after the first holder may have let go. Every holder closes
+     * the body once; the spill file is released by the last close().
+     */
+    public synchronized ResponseBody retain() {
+        if (spillFile != null) {
+            if (holders == 0) {
+                throw new IllegalStateException("Response body was already closed");
+            }
+            holders++;
+        }
+        return this;
+    }
+
+    /**
+     * Release the spill file, if any, once every holder has closed the body.
+     */
+    @Override
+    public synchronized void close() {
+        if (holders == 0 || --holders > 0) {
+            return;
+        }
+        try {
+            if (spillChannel != null) {
+                spillChannel.close();
+                spillChannel = null;
+            }
+            if (spillFile != null) {
+                SpillFiles.delete(spillFile);
+            }
+        } catch (IOException e) {
+            // Nothing more to do; a file that cannot be deleted stays in the temp directory
+        }
+    }
+
+    private synchronized FileChannel spillChannel() throws IOException {
+        if (spillChannel == null) {
+            spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ);
+        }
+        return spillChannel;
+    }
+}
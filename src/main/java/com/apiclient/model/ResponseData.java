@@ -1,5 +1,7 @@
 package com.apiclient.model;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -11,7 +13,12 @@ public class ResponseData {
     private String statusText;
     private Map<String, String> headers;
     private String body;
+    private ResponseBody bodyContent;
     private long responseTimeMs;
+    private RequestTiming timing;
+    private boolean fromCache;
+    private long wireBodyLength = -1;
+    private String contentEncoding;
 
     public ResponseData() {
         this.headers = new HashMap<>();
@@ -54,12 +61,51 @@ public class ResponseData {
         this.headers.put(key, value);
     }
 
+    /**
+     * Get the body as a String. Bodies received from the network are decoded on
+     * each call; use {@link #getBodyContent()} to read large bodies in slices.
+     */
     public String getBody() {
+        if (body == null && bodyContent != null) {
+            return bodyContent.asString();
+        }
         return body;
     }
 
     public void setBody(String body) {
         this.body = body;
+        this.bodyContent = null;
+    }
+
+    /**
+     * Get the raw body bytes, or null if no body was set.
+     */
+    public ResponseBody getBodyContent() {
+        if (bodyContent == null && body != null) {
+            bodyContent = ResponseBody.ofString(body);
+        }
+        return bodyContent;
+    }
+
+    public void setBodyContent(ResponseBody bodyContent) {
+        this.bodyContent = bodyContent;
+        this.body = null;
+    }
+
+    /**
+     * Body length in bytes.
+     */
+    public long getBodyLength() {
+        ResponseBody content = getBodyContent();
+        return content != null ? content.length() : 0;
+    }
+
+    /**
+     * Open a stream over the body bytes.
+     */
+    public InputStream openBodyStream() throws IOException {
+        ResponseBody content = getBodyContent();
+        return content != null ? content.openStream() : ResponseBody.empty().openStream();
     }
 
     public long getResponseTimeMs() {
@@ -70,6 +116,64 @@ public class ResponseData {
         this.responseTimeMs = responseTimeMs;
     }
 
+    public RequestTiming getTiming() {
+        return timing;
+    }
+
+    /**
+     * Set the per-phase timing; also updates the total response time.
+     */
+    public void setTiming(RequestTiming timing) {
+        this.timing = timing;
+        if (timing != null) {
+            this.responseTimeMs = Math.round(timing.getTotalNanos() / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Whether the response was served from the local response cache,
+     * either directly or after a 304 revalidation.
+     */
+    public boolean isFromCache() {
+        return fromCache;
+    }
+
+    public void setFromCache(boolean fromCache) {
+        this.fromCache = fromCache;
+    }
+
+    /**
+     * Body bytes received on the wire, before decompression. Equals the body
+     * length when the body was not compressed or the size is unknown.
+     */
+    public long getWireBodyLength() {
+        return wireBodyLength >= 0 ? wireBodyLength : getBodyLength();
+    }
+
+    public void setWireBodyLength(long wireBodyLength) {
+        this.wireBodyLength = wireBodyLength;
+    }
+
+    /**
+     * Content-Encoding that was decoded ("gzip" or "deflate"), or null if the
+     * body arrived uncompressed.
+     */
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    public void setContentEncoding(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * Decoded body bytes per wire byte; 1.0 for uncompressed or empty bodies.
+     */
+    public double getCompressionRatio() {
+        long wire = getWireBodyLength();
+        return wire > 0 ? (double) getBodyLength() / wire : 1.0;
+    }
+
     public boolean isSuccess() {
         return statusCode >= 200 && statusCode < 300;
     }
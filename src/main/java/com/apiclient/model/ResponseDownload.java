@@ -0,0 +1,80 @@
+package com.apiclient.model;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+/**
+ * A response whose body is still being received: status and headers, and
+ * the body bytes decoded so far, which can be read while more arrive.
+ */
+public class ResponseDownload {
+    private final ResponseData head;
+    private final BodyBuffer bodyBuffer;
+    private final Charset charset;
+    private final long startNanos = System.nanoTime();
+    private volatile long wireBytes;
+
+    /**
+     * @param head status and headers of the response, without a body
+     */
+    public ResponseDownload(ResponseData head, BodyBuffer bodyBuffer, Charset charset) {
+        this.head = head;
+        this.bodyBuffer = bodyBuffer;
+        this.charset = charset;
+    }
+
+    public ResponseData getHead() {
+        return head;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Body bytes received and decoded so far.
+     */
+    public long getReceivedBytes() {
+        return bodyBuffer.length();
+    }
+
+    /**
+     * Body bytes received on the wire so far, before decoding.
+     */
+    public long getWireBytes() {
+        return wireBytes;
+    }
+
+    public void setWireBytes(long wireBytes) {
+        this.wireBytes = wireBytes;
+    }
+
+    /**
+     * Length announced by the Content-Length header, or -1.
+     */
+    public long getExpectedWireBytes() {
+        String contentLength = head.getHeaders().get("Content-Length");
+        if (contentLength == null) {
+            contentLength = head.getHeaders().get("content-length");
+        }
+        try {
+            return contentLength != null ? Long.parseLong(contentLength.trim()) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Nanoseconds since the response headers arrived.
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Read body bytes received so far; see BodyBuffer.read.
+     */
+    public int read(long position, byte[] dst, int off, int len) throws IOException {
+        return bodyBuffer.read(position, dst, off, len);
+    }
+}
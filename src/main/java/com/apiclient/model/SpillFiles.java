@@ -0,0 +1,64 @@
+package com.apiclient.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Temporary files that hold spilled body bytes.
+ *
+ * Owners delete their file with delete() once the body is discarded or
+ * closed. Files still present when the JVM exits, because an owner never
+ * closed its body, are deleted by a shutdown hook. Unlike deleteOnExit,
+ * which keeps every path until exit, only files not yet deleted are kept,
+ * so long runs that spill many bodies do not grow the set.
+ */
+final class SpillFiles {
+    private static final Set<Path> LIVE = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SpillFiles::deleteAll, "spill-file-cleanup"));
+    }
+
+    private SpillFiles() {
+    }
+
+    /**
+     * Create a new, empty spill file.
+     */
+    static Path create() throws IOException {
+        Path file = Files.createTempFile("api-client-body-", ".tmp");
+        LIVE.add(file);
+        return file;
+    }
+
+    /**
+     * Delete a spill file; it is forgotten even if it cannot be deleted.
+     */
+    static void delete(Path file) throws IOException {
+        try {
+            Files.deleteIfExists(file);
+        } finally {
+            LIVE.remove(file);
+        }
+    }
+
+    /**
+     * Number of spill files not deleted yet.
+     */
+    static int liveCount() {
+        return LIVE.size();
+    }
+
+    private static void deleteAll() {
+        for (Path file : LIVE) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Nothing more can be done at exit
+            }
+        }
+    }
+}
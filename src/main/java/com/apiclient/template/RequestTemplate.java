@@ -0,0 +1,168 @@
+package com.apiclient.template;
+
+import com.apiclient.http.HttpRequestService;
+import com.apiclient.model.RequestData;
+
+import java.io.FileNotFoundException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A RequestData with {@code {{variable}}} placeholders in its URL, header
+ * values and body, compiled once for sending many times with different
+ * values.
+ *
+ * Everything that does not depend on the variables is done at compile time:
+ * the method is normalized, constant URLs are parsed into a URI, constant
+ * header values and bodies are kept ready to use, and the User-Agent and
+ * Accept-Encoding defaults of HttpRequestService are decided up front.
+ * Rendering then only substitutes the placeholders and fills an
+ * HttpRequest.Builder. Variable values are inserted as-is; values placed in
+ * the URL must already be URL-encoded.
+ */
+public final class RequestTemplate {
+    private final RequestData source;
+    private final String method;
+    private final TemplateString url;
+    private final URI constantUri;
+    private final String[] headerNames;
+    private final TemplateString[] headerValues;
+    private final boolean addUserAgent;
+    private final boolean addAcceptEncoding;
+    private final TemplateString body;
+    private final byte[] constantBody;
+    private final Path bodyFile;
+    private final Set<String> variableNames;
+
+    private RequestTemplate(RequestData source) {
+        if (source.getMethod() == null || source.getUrl() == null) {
+            throw new IllegalArgumentException("Request template needs a method and a URL");
+        }
+        this.source = source;
+        this.method = source.getMethod().toUpperCase(Locale.ROOT);
+        this.url = TemplateString.compile(source.getUrl());
+        this.constantUri = url.isConstant() ? URI.create(url.getSource()) : null;
+
+        List<String> names = new ArrayList<>();
+        List<TemplateString> values = new ArrayList<>();
+        boolean hasUserAgent = false;
+        boolean hasAcceptEncoding = false;
+        for (Map.Entry<String, String> header : source.getHeaders().entrySet()) {
+            names.add(header.getKey());
+            values.add(TemplateString.compile(header.getValue()));
+            hasUserAgent |= "User-Agent".equals(header.getKey());
+            hasAcceptEncoding |= "Accept-Encoding".equalsIgnoreCase(header.getKey());
+        }
+        this.headerNames = names.toArray(new String[0]);
+        this.headerValues = values.toArray(new TemplateString[0]);
+        this.addUserAgent = !hasUserAgent;
+        this.addAcceptEncoding = !hasAcceptEncoding;
+
+        this.bodyFile = source.getBodyFile();
+        this.body = source.hasBody() && bodyFile == null ? TemplateString.compile(source.getBody()) : null;
+        this.constantBody = body != null && body.isConstant()
+                ? body.getSource().getBytes(StandardCharsets.UTF_8)
+                : null;
+
+        Set<String> variables = new LinkedHashSet<>(url.getVariableNames());
+        for (TemplateString value : headerValues) {
+            variables.addAll(value.getVariableNames());
+        }
+        if (body != null) {
+            variables.addAll(body.getVariableNames());
+        }
+        this.variableNames = Collections.unmodifiableSet(variables);
+    }
+
+    /**
+     * Compile a request whose URL, header values and body may contain
+     * placeholders. Later changes to the RequestData are not seen.
+     *
+     * @throws IllegalArgumentException if the method or URL is missing, or a
+     *         URL without placeholders is not a valid URI
+     */
+    public static RequestTemplate compile(RequestData requestData) {
+        return new RequestTemplate(requestData);
+    }
+
+    /**
+     * Names of all placeholders in the URL, headers and body.
+     */
+    public Set<String> getVariableNames() {
+        return variableNames;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Render an HttpRequest ready for HttpRequestService.executeRequest(HttpRequest).
+     *
+     * @param offerCompression add the Accept-Encoding header the service sends
+     *        when compression is enabled
+     * @throws IllegalArgumentException if a variable is missing or the
+     *         rendered URL is invalid
+     */
+    public HttpRequest toHttpRequest(Map<String, String> variables, boolean offerCompression) {
+        URI uri = constantUri != null ? constantUri : URI.create(url.render(variables));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(HttpRequestService.REQUEST_TIMEOUT)
+                .method(method, bodyPublisher(variables));
+        for (int i = 0; i < headerNames.length; i++) {
+            builder.header(headerNames[i], headerValues[i].render(variables));
+        }
+        if (addUserAgent) {
+            builder.header("User-Agent", HttpRequestService.DEFAULT_USER_AGENT);
+        }
+        if (offerCompression && addAcceptEncoding) {
+            builder.header("Accept-Encoding", HttpRequestService.ACCEPT_ENCODING);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Render a plain RequestData, e.g. to show or store a rendered request.
+     */
+    public RequestData toRequestData(Map<String, String> variables) {
+        RequestData requestData = new RequestData(source.getMethod(), url.render(variables));
+        for (int i = 0; i < headerNames.length; i++) {
+            requestData.addHeader(headerNames[i], headerValues[i].render(variables));
+        }
+        if (bodyFile != null) {
+            requestData.setBodyFile(bodyFile);
+        } else if (body != null) {
+            requestData.setBody(body.render(variables));
+        }
+        return requestData;
+    }
+
+    private HttpRequest.BodyPublisher bodyPublisher(Map<String, String> variables) {
+        if (bodyFile != null) {
+            try {
+                return BodyPublishers.ofFile(bodyFile);
+            } catch (FileNotFoundException e) {
+                throw new IllegalArgumentException("Body file not found: " + bodyFile, e);
+            }
+        }
+        if (constantBody != null) {
+            return BodyPublishers.ofByteArray(constantBody);
+        }
+        return body != null ? BodyPublishers.ofString(body.render(variables)) : BodyPublishers.noBody();
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + url;
+    }
+}
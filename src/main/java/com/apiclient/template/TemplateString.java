@@ -0,0 +1,130 @@
+package com.apiclient.template;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A string with {@code {{name}}} placeholders, split once into literal and
+ * variable segments so that rendering is a single pass into a pre-sized
+ * StringBuilder.
+ *
+ * Whitespace inside the braces is ignored ({@code {{ id }}} is {@code id});
+ * an opening {@code {{} without a closing {@code }}} is kept as literal text.
+ */
+public final class TemplateString {
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String source;
+    /** literals[i] comes before variables[i]; the last literal has no variable after it. */
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    private TemplateString(String source, String[] literals, String[] variables) {
+        this.source = source;
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parse a template. A null source compiles to an empty constant.
+     */
+    public static TemplateString compile(String source) {
+        String text = source != null ? source : "";
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+
+        int position = 0;
+        int literalStart = 0;
+        while (true) {
+            int open = text.indexOf(OPEN, position);
+            if (open < 0) {
+                break;
+            }
+            int close = text.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                break;
+            }
+            String name = text.substring(open + OPEN.length(), close).trim();
+            if (name.isEmpty() || name.contains(OPEN)) {
+                // "{{}}" or "{{ {{x}}": keep the first braces as text
+                position = open + 1;
+                continue;
+            }
+            literals.add(text.substring(literalStart, open));
+            variables.add(name);
+            position = close + CLOSE.length();
+            literalStart = position;
+        }
+        literals.add(text.substring(literalStart));
+
+        return new TemplateString(text, literals.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    /**
+     * Whether the template has no placeholders, so render always returns the same string.
+     */
+    public boolean isConstant() {
+        return variables.length == 0;
+    }
+
+    /**
+     * Placeholder names in order of first appearance.
+     */
+    public Set<String> getVariableNames() {
+        Set<String> names = new LinkedHashSet<>();
+        Collections.addAll(names, variables);
+        return names;
+    }
+
+    /**
+     * Substitute the variables. Constant templates return the source string
+     * without copying.
+     *
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    public String render(Map<String, String> values) {
+        if (variables.length == 0) {
+            return literals[0];
+        }
+        StringBuilder result = new StringBuilder(literalLength + 16 * variables.length);
+        appendTo(result, values);
+        return result.toString();
+    }
+
+    /**
+     * Substitute the variables into an existing builder.
+     *
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    public void appendTo(StringBuilder target, Map<String, String> values) {
+        for (int i = 0; i < variables.length; i++) {
+            target.append(literals[i]);
+            String value = values.get(variables[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing template variable: " + variables[i]);
+            }
+            target.append(value);
+        }
+        target.append(literals[variables.length]);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -1,34 +1,63 @@
 package com.apiclient.ui;
 
+import com.apiclient.StartupTiming;
+import com.apiclient.history.HistoryEntry;
+import com.apiclient.history.HistorySearchIndex;
+import com.apiclient.history.HistoryStore;
 import com.apiclient.http.HttpRequestService;
 import com.apiclient.model.RequestData;
+import com.apiclient.model.ResponseBody;
 import com.apiclient.model.ResponseData;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main application window for the API Client.
  */
 public class ApiClientFrame extends JFrame {
+    /** Most recent matches shown for a history search. */
+    private static final int SEARCH_LIMIT = 1_000;
+
     private final HttpRequestService httpRequestService;
+    private final HistoryStore historyStore;
+    private final ExecutorService historyWriter;
+    // Only touched on the history-writer thread
+    private HistorySearchIndex historySearchIndex;
     
     // UI Components
     private RequestPanel requestPanel;
     private ResponsePanel responsePanel;
     private JLabel statusLabel;
     private JButton sendButton;
+    private JButton loadTestButton;
     private JProgressBar progressBar;
+    private LoadTestDialog loadTestDialog;
+    private HistoryPanel historyPanel;
 
     public ApiClientFrame() {
         this.httpRequestService = new HttpRequestService();
+        this.historyStore = openHistory();
+        this.historyWriter = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "history-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
         initializeComponents();
         setupLayout();
         setupEventHandlers();
         configureFrame();
+        openSearchIndex();
     }
 
     private void initializeComponents() {
@@ -45,11 +74,19 @@ public class ApiClientFrame extends JFrame {
         sendButton.setBackground(new Color(76, 175, 80));
         sendButton.setForeground(Color.WHITE);
         sendButton.setFocusPainted(false);
+
+        loadTestButton = new JButton("Load Test...");
+        loadTestButton.setToolTipText("Send the request repeatedly and chart throughput and latency");
         
         progressBar = new JProgressBar();
         progressBar.setIndeterminate(true);
         progressBar.setVisible(false);
         progressBar.setPreferredSize(new Dimension(200, 20));
+
+        if (historyStore != null) {
+            historyPanel = new HistoryPanel(historyStore);
+            historyPanel.setOpenListener(this::openHistoryEntry);
+        }
     }
 
     private void setupLayout() {
@@ -59,6 +96,7 @@ public class ApiClientFrame extends JFrame {
         JToolBar toolBar = new JToolBar();
         toolBar.setFloatable(false);
         toolBar.add(sendButton);
+        toolBar.add(loadTestButton);
         toolBar.addSeparator();
         toolBar.add(progressBar);
         toolBar.add(Box.createHorizontalGlue());
@@ -70,14 +108,32 @@ public class ApiClientFrame extends JFrame {
         splitPane.setDividerLocation(300);
         splitPane.setResizeWeight(0.4);
 
+        // History on the left, when it could be opened
+        Component center = splitPane;
+        if (historyPanel != null) {
+            JSplitPane historySplitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, historyPanel, splitPane);
+            historySplitPane.setDividerLocation(320);
+            historySplitPane.setResizeWeight(0.25);
+            center = historySplitPane;
+        }
+
         // Add components to frame
         add(toolBar, BorderLayout.NORTH);
-        add(splitPane, BorderLayout.CENTER);
+        add(center, BorderLayout.CENTER);
         add(statusLabel, BorderLayout.SOUTH);
     }
 
     private void setupEventHandlers() {
         sendButton.addActionListener(new SendButtonListener());
+        loadTestButton.addActionListener(e -> openLoadTest());
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                // Spill files are not deleted on exit, so close the body shown
+                responsePanel.clearResponse();
+                closeHistory();
+            }
+        });
     }
 
     private void configureFrame() {
@@ -88,6 +144,12 @@ public class ApiClientFrame extends JFrame {
         setMinimumSize(new Dimension(800, 600));
     }
 
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        StartupTiming.firstPaint();
+    }
+
     /**
      * ActionListener for the Send button.
      */
@@ -118,11 +180,16 @@ public class ApiClientFrame extends JFrame {
         setSendingState(true);
         statusLabel.setText("Sending request...");
 
-        // Execute request asynchronously
-        CompletableFuture<ResponseData> future = httpRequestService.executeRequestAsync(requestData);
+        // Execute request asynchronously, showing the body while it arrives
+        CompletableFuture<ResponseData> future = httpRequestService.executeRequestAsync(requestData,
+                download -> SwingUtilities.invokeLater(() -> {
+                    responsePanel.showDownload(download);
+                    statusLabel.setText("Receiving response...");
+                }));
         
         future.thenAccept(responseData -> {
             // Update UI on Event Dispatch Thread
+            recordHistory(requestData, responseData);
             SwingUtilities.invokeLater(() -> {
                 responsePanel.setResponseData(responseData);
                 setSendingState(false);
@@ -130,10 +197,11 @@ public class ApiClientFrame extends JFrame {
                 if (responseData.getStatusCode() == -1) {
                     statusLabel.setText("Request failed: " + responseData.getStatusText());
                 } else {
-                    statusLabel.setText(String.format("Response: %d %s (%d ms)", 
+                    statusLabel.setText(String.format("Response: %d %s (%d ms%s)", 
                         responseData.getStatusCode(), 
                         responseData.getStatusText(),
-                        responseData.getResponseTimeMs()));
+                        responseData.getResponseTimeMs(),
+                        responseData.isFromCache() ? ", cached" : ""));
                 }
             });
         }).exceptionally(throwable -> {
@@ -152,11 +220,159 @@ public class ApiClientFrame extends JFrame {
         });
     }
 
+    /**
+     * Open the load test dialog for the current request.
+     */
+    private void openLoadTest() {
+        RequestData requestData = requestPanel.getRequestData();
+        if (requestData.getUrl() == null || requestData.getUrl().trim().isEmpty()) {
+            JOptionPane.showMessageDialog(this, 
+                "Please enter a valid URL", 
+                "Validation Error", 
+                JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (loadTestDialog == null) {
+            loadTestDialog = new LoadTestDialog(this, httpRequestService);
+        }
+        loadTestDialog.setRequestData(requestData);
+        loadTestDialog.setVisible(true);
+    }
+
+    /**
+     * Open the history in its default directory; without it the client still
+     * works, it just does not record requests.
+     */
+    private static HistoryStore openHistory() {
+        try {
+            return new HistoryStore(HistoryStore.defaultDirectory());
+        } catch (IOException e) {
+            System.err.println("History disabled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Open the history's search index on the writer thread, as it may have
+     * to index entries recorded while it was not open. Searching is enabled
+     * once it is ready; without it the history is only browsable.
+     */
+    private void openSearchIndex() {
+        if (historyStore == null) {
+            return;
+        }
+        historyWriter.execute(() -> {
+            try {
+                historySearchIndex = new HistorySearchIndex(historyStore);
+                SwingUtilities.invokeLater(() -> historyPanel.setSearchListener(this::searchHistory));
+            } catch (IOException e) {
+                System.err.println("History search disabled: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Run a history search on the writer thread, behind any pending appends,
+     * so the results include every request that has completed.
+     */
+    private void searchHistory(String query) {
+        historyWriter.execute(() -> {
+            List<HistoryEntry> results = historySearchIndex.search(query, SEARCH_LIMIT);
+            SwingUtilities.invokeLater(() -> historyPanel.showSearchResults(query, results));
+        });
+    }
+
+    /**
+     * Append the exchange to the history on the writer thread, so a large
+     * body is never copied on the EDT or the HTTP client's threads. The
+     * search index picks the new entry up straight away. The writer holds
+     * the body until it is appended, as the response panel may close it
+     * first when a newer response replaces it.
+     */
+    private void recordHistory(RequestData requestData, ResponseData responseData) {
+        if (historyStore == null) {
+            return;
+        }
+        ResponseBody content = responseData.getBodyContent();
+        if (content != null) {
+            content.retain();
+        }
+        historyWriter.execute(() -> {
+            try {
+                historyStore.append(requestData, responseData);
+                if (historySearchIndex != null) {
+                    historySearchIndex.update();
+                }
+                SwingUtilities.invokeLater(historyPanel::entryAdded);
+            } catch (IOException e) {
+                System.err.println("Could not record history: " + e.getMessage());
+            } finally {
+                if (content != null) {
+                    content.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Load a history entry into the request and response panels. The body is
+     * read off the EDT.
+     */
+    private void openHistoryEntry(HistoryEntry entry) {
+        statusLabel.setText("Loading history entry...");
+        historyWriter.execute(() -> {
+            try {
+                RequestData requestData = entry.toRequestData();
+                ResponseData responseData = entry.toResponseData();
+                SwingUtilities.invokeLater(() -> {
+                    requestPanel.setRequestData(requestData);
+                    responsePanel.setResponseData(responseData);
+                    statusLabel.setText(String.format("History: %d %s (%d ms)",
+                        responseData.getStatusCode(),
+                        responseData.getStatusText(),
+                        responseData.getResponseTimeMs()));
+                });
+            } catch (IOException e) {
+                SwingUtilities.invokeLater(() -> statusLabel.setText("Could not load history entry: " + e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Let pending appends finish, then close the search index, which writes
+     * out its in-memory part, and the history files.
+     */
+    private void closeHistory() {
+        if (historyStore == null) {
+            historyWriter.shutdown();
+            return;
+        }
+        historyWriter.execute(() -> {
+            if (historySearchIndex != null) {
+                try {
+                    historySearchIndex.close();
+                } catch (IOException e) {
+                    System.err.println("Could not close history search index: " + e.getMessage());
+                }
+            }
+        });
+        historyWriter.shutdown();
+        try {
+            historyWriter.awaitTermination(2, TimeUnit.SECONDS);
+            historyStore.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Could not close history: " + e.getMessage());
+        }
+    }
+
     /**
      * Update UI state when sending request.
      */
     private void setSendingState(boolean isSending) {
         sendButton.setEnabled(!isSending);
+        loadTestButton.setEnabled(!isSending);
         requestPanel.setEnabled(!isSending);
         progressBar.setVisible(isSending);
         
@@ -0,0 +1,231 @@
+package com.apiclient.ui;
+
+import com.apiclient.history.HistoryEntry;
+import com.apiclient.history.HistoryStore;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Table of recorded requests, newest first.
+ *
+ * The table model reads straight from the HistoryStore, so only the rows on
+ * screen are ever decoded; a small cache keeps them while scrolling.
+ * Double-clicking a row hands its entry to the open listener.
+ *
+ * Pressing Enter in the search field hands the query to the search listener,
+ * which answers with showSearchResults; an empty query shows everything again.
+ */
+public class HistoryPanel extends JPanel {
+    static final int CACHE_SIZE = 512;
+
+    private final HistoryStore store;
+    private final HistoryTableModel tableModel;
+    private final JTable table;
+    private final JLabel countLabel;
+    private final JTextField searchField;
+    private Consumer<HistoryEntry> openListener;
+    private Consumer<String> searchListener;
+    private List<HistoryEntry> searchResults;
+
+    public HistoryPanel(HistoryStore store) {
+        this.store = store;
+        this.tableModel = new HistoryTableModel();
+        this.table = new JTable(tableModel);
+        this.countLabel = new JLabel();
+        this.searchField = new JTextField();
+
+        searchField.setToolTipText("Words in the URL, headers or bodies; Enter to search");
+        searchField.setEnabled(false);
+        searchField.addActionListener(e -> search());
+
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setFillsViewportHeight(true);
+        table.getColumnModel().getColumn(0).setPreferredWidth(60);
+        table.getColumnModel().getColumn(1).setPreferredWidth(50);
+        table.getColumnModel().getColumn(2).setPreferredWidth(220);
+        table.getColumnModel().getColumn(3).setPreferredWidth(45);
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    openSelected();
+                }
+            }
+        });
+
+        setLayout(new BorderLayout());
+        setBorder(BorderFactory.createTitledBorder("History"));
+        add(searchField, BorderLayout.NORTH);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        add(countLabel, BorderLayout.SOUTH);
+        updateCount();
+    }
+
+    /**
+     * Called with the entry of a double-clicked row.
+     */
+    public void setOpenListener(Consumer<HistoryEntry> openListener) {
+        this.openListener = openListener;
+    }
+
+    /**
+     * Called with the query when a search is started; enables the search
+     * field.
+     */
+    public void setSearchListener(Consumer<String> searchListener) {
+        this.searchListener = searchListener;
+        searchField.setEnabled(searchListener != null);
+    }
+
+    /**
+     * Show an entry appended to the store. Must be called on the EDT.
+     */
+    public void entryAdded() {
+        if (searchResults == null) {
+            tableModel.fireTableRowsInserted(0, 0);
+        }
+        updateCount();
+    }
+
+    /**
+     * Show the entries matching a query, newest first, or everything again
+     * when results is null. Must be called on the EDT; results for a query
+     * that is no longer in the search field are ignored.
+     */
+    public void showSearchResults(String query, List<HistoryEntry> results) {
+        if (results != null && !query.equals(searchField.getText().trim())) {
+            return;
+        }
+        searchResults = results;
+        tableModel.fireTableDataChanged();
+        updateCount();
+    }
+
+    /**
+     * Entry shown in a row, newest first.
+     */
+    HistoryEntry entryAt(int row) {
+        return tableModel.entryAt(row);
+    }
+
+    int getRowCount() {
+        return tableModel.getRowCount();
+    }
+
+    private void openSelected() {
+        int row = table.getSelectedRow();
+        if (row >= 0 && openListener != null) {
+            openListener.accept(entryAt(table.convertRowIndexToModel(row)));
+        }
+    }
+
+    private void search() {
+        String query = searchField.getText().trim();
+        if (query.isEmpty()) {
+            showSearchResults(query, null);
+        } else if (searchListener != null) {
+            countLabel.setText("Searching...");
+            searchListener.accept(query);
+        }
+    }
+
+    private void updateCount() {
+        if (searchResults != null) {
+            countLabel.setText(searchResults.size() + " of " + store.size() + " requests");
+        } else {
+            countLabel.setText(store.size() + " requests");
+        }
+    }
+
+    private class HistoryTableModel extends AbstractTableModel {
+        private final String[] columns = {"Time", "Method", "URL", "Status", "ms", "Size"};
+        private final SimpleDateFormat timeFormat = new SimpleDateFormat("MM-dd HH:mm:ss");
+        // Keyed by store index, which does not shift when rows are inserted at the top
+        private final Map<Long, Row> cache = new LinkedHashMap<Long, Row>(CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Row> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+
+        @Override
+        public int getRowCount() {
+            if (searchResults != null) {
+                return searchResults.size();
+            }
+            return (int) Math.min(Integer.MAX_VALUE, store.size());
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columns[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column == 3 || column == 4 ? Integer.class : String.class;
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            Row row = row(rowIndex);
+            switch (columnIndex) {
+                case 0: return row.time;
+                case 1: return row.method;
+                case 2: return row.url;
+                case 3: return row.entry.getStatusCode();
+                case 4: return (int) row.entry.getResponseTimeMs();
+                default: return ResponsePanel.formatBytes(row.entry.getResponseBodyLength());
+            }
+        }
+
+        HistoryEntry entryAt(int rowIndex) {
+            return row(rowIndex).entry;
+        }
+
+        private Row row(int rowIndex) {
+            long index = searchResults != null
+                    ? searchResults.get(rowIndex).getIndex()
+                    : store.size() - 1 - rowIndex;
+            return cache.computeIfAbsent(index, this::load);
+        }
+
+        private Row load(long index) {
+            HistoryEntry entry = store.get(index);
+            Row row = new Row();
+            row.entry = entry;
+            row.time = timeFormat.format(new Date(entry.getTimestamp()));
+            try {
+                row.method = entry.getMethod();
+                row.url = entry.getUrl();
+            } catch (IOException e) {
+                row.method = "?";
+                row.url = "Unreadable entry: " + e.getMessage();
+            }
+            return row;
+        }
+    }
+
+    private static class Row {
+        private HistoryEntry entry;
+        private String time;
+        private String method;
+        private String url;
+    }
+}
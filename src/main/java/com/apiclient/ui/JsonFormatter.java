@@ -0,0 +1,133 @@
+package com.apiclient.ui;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * Streaming JSON pretty printer: tokens are read from a Reader with Gson's
+ * strict JsonReader and written to a Writer as they come, so formatting
+ * needs memory for the nesting depth and the current token only, and the
+ * output can be shown while it is produced.
+ *
+ * Numbers are copied as written; string escapes are normalized by
+ * JsonWriter. Invalid JSON stops the copy with a MalformedJsonException
+ * giving the line, column and path of the problem.
+ */
+class JsonFormatter {
+    static final String INDENT = "  ";
+
+    private static final String LENIENT_HINT = "Use JsonReader.setLenient(true) to accept malformed JSON";
+
+    private JsonFormatter() {
+    }
+
+    /**
+     * Format a JSON string; blank input gives "".
+     */
+    static String format(String json) throws IOException {
+        if (json == null || json.trim().isEmpty()) {
+            return "";
+        }
+        StringWriter out = new StringWriter(json.length() * 2);
+        format(new StringReader(json), out);
+        return out.toString();
+    }
+
+    /**
+     * Copy one JSON value from in to out, formatted, and flush out. Anything
+     * but whitespace after the value is an error.
+     */
+    static void format(Reader in, Writer out) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        reader.setLenient(false);
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent(INDENT);
+        writer.setLenient(true);
+        writer.setSerializeNulls(true);
+
+        try {
+            int depth = 0;
+            do {
+                switch (reader.peek()) {
+                    case BEGIN_ARRAY:
+                        reader.beginArray();
+                        writer.beginArray();
+                        depth++;
+                        break;
+                    case END_ARRAY:
+                        reader.endArray();
+                        writer.endArray();
+                        depth--;
+                        break;
+                    case BEGIN_OBJECT:
+                        reader.beginObject();
+                        writer.beginObject();
+                        depth++;
+                        break;
+                    case END_OBJECT:
+                        reader.endObject();
+                        writer.endObject();
+                        depth--;
+                        break;
+                    case NAME:
+                        writer.name(reader.nextName());
+                        break;
+                    case STRING:
+                        writer.value(reader.nextString());
+                        break;
+                    case NUMBER:
+                        writer.jsonValue(reader.nextString());
+                        break;
+                    case BOOLEAN:
+                        writer.value(reader.nextBoolean());
+                        break;
+                    case NULL:
+                        reader.nextNull();
+                        writer.nullValue();
+                        break;
+                    default:
+                        throw new MalformedJsonException("Unexpected end of JSON" + location(reader));
+                }
+            } while (depth > 0);
+
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new MalformedJsonException("Unexpected data after the JSON value" + location(reader));
+            }
+        } catch (MalformedJsonException e) {
+            throw new MalformedJsonException(describe(e.getMessage()));
+        } catch (EOFException e) {
+            // Truncated input: "End of input at line L column C path P"
+            throw new MalformedJsonException(e.getMessage());
+        } finally {
+            writer.flush();
+        }
+    }
+
+    /**
+     * " at line L column C path P", as JsonReader reports positions.
+     */
+    private static String location(JsonReader reader) {
+        String description = reader.toString();
+        int at = description.indexOf(" at line ");
+        return at >= 0 ? description.substring(at) : "";
+    }
+
+    /**
+     * Gson suggests lenient mode for anything it rejects in strict mode; say
+     * what that means instead.
+     */
+    private static String describe(String message) {
+        return message != null && message.startsWith(LENIENT_HINT)
+                ? "Malformed JSON" + message.substring(LENIENT_HINT.length())
+                : message;
+    }
+}
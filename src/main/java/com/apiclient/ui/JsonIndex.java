@@ -0,0 +1,341 @@
+package com.apiclient.ui;
+
+import com.apiclient.model.ResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Where the objects and arrays of a JSON body start and end, found in one
+ * pass over its bytes without parsing values.
+ *
+ * Only containers of at least MIN_INDEXED_BYTES are recorded, in document
+ * order, so the index stays small; children(...) lists the members of one
+ * container on demand and jumps over recorded containers instead of reading
+ * them. Smaller containers are simply scanned. Works on UTF-8 (or any
+ * ASCII-compatible) bytes; the body is not validated.
+ */
+class JsonIndex {
+    /** Containers smaller than this are scanned rather than recorded. */
+    static final int MIN_INDEXED_BYTES = 1024;
+    /** Bytes of a key or value read for its label. */
+    static final int PREVIEW_BYTES = 200;
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final ResponseBody body;
+    private long[] starts = new long[64];
+    private long[] ends = new long[64];
+    private int count;
+    private long rootStart = -1;
+    private boolean balanced = true;
+
+    private JsonIndex(ResponseBody body) {
+        this.body = body;
+    }
+
+    /**
+     * Index a body. Throws CancellationException if the thread is
+     * interrupted meanwhile.
+     */
+    static JsonIndex build(ResponseBody body) throws IOException {
+        JsonIndex index = new JsonIndex(body);
+        index.scan();
+        return index;
+    }
+
+    /**
+     * Offset of the top-level value, or -1 for a blank body.
+     */
+    long getRootStart() {
+        return rootStart;
+    }
+
+    /**
+     * Whether every object and array was closed; a truncated body still
+     * shows what could be indexed.
+     */
+    boolean isBalanced() {
+        return balanced;
+    }
+
+    int getIndexedCount() {
+        return count;
+    }
+
+    /**
+     * The byte at an offset, or -1 past the end.
+     */
+    int byteAt(long offset) throws IOException {
+        byte[] one = new byte[1];
+        return body.read(offset, one, 0, 1) == 1 ? one[0] & 0xFF : -1;
+    }
+
+    /**
+     * Members of the object or array starting at the given offset, in order.
+     */
+    Children children(long containerStart) throws IOException {
+        Cursor cursor = new Cursor();
+        boolean object = cursor.byteAt(containerStart) == '{';
+        Children children = new Children(object);
+        long position = containerStart + 1;
+        while (true) {
+            position = cursor.skipWhitespace(position);
+            int b = cursor.byteAt(position);
+            if (b < 0 || b == '}' || b == ']') {
+                return children;
+            }
+            if (b == ',') {
+                position++;
+                continue;
+            }
+            long keyStart = -1;
+            if (object) {
+                keyStart = position;
+                position = cursor.skipWhitespace(cursor.skipString(position));
+                if (cursor.byteAt(position) != ':') {
+                    return children;
+                }
+                position = cursor.skipWhitespace(position + 1);
+            }
+            long valueEnd = skipValue(cursor, position);
+            if (valueEnd <= position) {
+                return children;
+            }
+            children.add(keyStart, position, valueEnd);
+            position = valueEnd;
+        }
+    }
+
+    /**
+     * Label text for a slice: raw JSON bytes, cut at PREVIEW_BYTES and at the
+     * first line break.
+     */
+    String preview(long start, long end) throws IOException {
+        int length = (int) Math.min(end - start, PREVIEW_BYTES);
+        byte[] bytes = body.slice(start, length);
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        int lineBreak = text.indexOf('\n');
+        if (lineBreak >= 0) {
+            text = text.substring(0, lineBreak);
+        }
+        return end - start > length || lineBreak >= 0 ? text + "…" : text;
+    }
+
+    /**
+     * Raw key of a member: its string, quotes included.
+     */
+    String key(long keyStart) throws IOException {
+        return preview(keyStart, new Cursor().skipString(keyStart));
+    }
+
+    /**
+     * End offset (exclusive) of the value at an offset: recorded containers
+     * are jumped over, anything else is scanned.
+     */
+    private long skipValue(Cursor cursor, long position) throws IOException {
+        int b = cursor.byteAt(position);
+        if (b == '"') {
+            return cursor.skipString(position);
+        }
+        if (b == '{' || b == '[') {
+            int slot = Arrays.binarySearch(starts, 0, count, position);
+            if (slot >= 0 && ends[slot] >= 0) {
+                return ends[slot] + 1;
+            }
+            return cursor.skipContainer(position);
+        }
+        while (b >= 0 && b != ',' && b != '}' && b != ']' && !isWhitespace(b)) {
+            b = cursor.byteAt(++position);
+        }
+        return position;
+    }
+
+    private void scan() throws IOException {
+        int[] stack = new int[64];
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        long position = 0;
+        try (InputStream in = body.openStream()) {
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int read;
+            while ((read = in.read(chunk)) > 0) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Indexing cancelled");
+                }
+                for (int i = 0; i < read; i++, position++) {
+                    int b = chunk[i];
+                    if (inString) {
+                        if (escaped) {
+                            escaped = false;
+                        } else if (b == '\\') {
+                            escaped = true;
+                        } else if (b == '"') {
+                            inString = false;
+                        }
+                        continue;
+                    }
+                    if (rootStart < 0 && !isWhitespace(b)) {
+                        rootStart = position;
+                    }
+                    if (b == '"') {
+                        inString = true;
+                    } else if (b == '{' || b == '[') {
+                        if (depth == stack.length) {
+                            stack = Arrays.copyOf(stack, depth * 2);
+                        }
+                        stack[depth++] = open(position);
+                    } else if ((b == '}' || b == ']') && depth > 0) {
+                        close(stack[--depth], position);
+                    }
+                }
+            }
+        }
+        balanced = depth == 0 && !inString;
+    }
+
+    private int open(long position) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+        }
+        starts[count] = position;
+        ends[count] = -1;
+        return count++;
+    }
+
+    /**
+     * Record a container's end. A small one is dropped again; its own
+     * children were smaller still and are gone already, so it is the last
+     * slot.
+     */
+    private void close(int slot, long position) {
+        ends[slot] = position;
+        if (position - starts[slot] + 1 < MIN_INDEXED_BYTES && slot == count - 1) {
+            count--;
+        }
+    }
+
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /**
+     * Members of one container as parallel arrays of offsets.
+     */
+    static class Children {
+        private final boolean object;
+        private long[] keyStarts = new long[16];
+        private long[] valueStarts = new long[16];
+        private long[] valueEnds = new long[16];
+        private int size;
+
+        private Children(boolean object) {
+            this.object = object;
+        }
+
+        private void add(long keyStart, long valueStart, long valueEnd) {
+            if (size == valueStarts.length) {
+                keyStarts = Arrays.copyOf(keyStarts, size * 2);
+                valueStarts = Arrays.copyOf(valueStarts, size * 2);
+                valueEnds = Arrays.copyOf(valueEnds, size * 2);
+            }
+            keyStarts[size] = keyStart;
+            valueStarts[size] = valueStart;
+            valueEnds[size] = valueEnd;
+            size++;
+        }
+
+        boolean isObject() {
+            return object;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Offset of a member's key, or -1 in an array.
+         */
+        long keyStart(int index) {
+            return keyStarts[index];
+        }
+
+        long valueStart(int index) {
+            return valueStarts[index];
+        }
+
+        long valueEnd(int index) {
+            return valueEnds[index];
+        }
+    }
+
+    /**
+     * Buffered random access to the body's bytes.
+     */
+    private class Cursor {
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private long bufferStart;
+        private int bufferLength;
+
+        int byteAt(long position) throws IOException {
+            if (position < bufferStart || position >= bufferStart + bufferLength) {
+                bufferStart = position;
+                bufferLength = Math.max(0, body.read(position, buffer, 0, buffer.length));
+                if (bufferLength == 0) {
+                    return -1;
+                }
+            }
+            return buffer[(int) (position - bufferStart)] & 0xFF;
+        }
+
+        long skipWhitespace(long position) throws IOException {
+            while (isWhitespace(byteAt(position))) {
+                position++;
+            }
+            return position;
+        }
+
+        /**
+         * End (exclusive) of the string starting with a quote at position.
+         */
+        long skipString(long position) throws IOException {
+            position++;
+            int b;
+            while ((b = byteAt(position)) >= 0) {
+                position++;
+                if (b == '\\') {
+                    position++;
+                } else if (b == '"') {
+                    break;
+                }
+            }
+            return position;
+        }
+
+        /**
+         * End (exclusive) of an unrecorded container, found by scanning it.
+         */
+        long skipContainer(long position) throws IOException {
+            int depth = 0;
+            int b;
+            while ((b = byteAt(position)) >= 0) {
+                if (b == '"') {
+                    position = skipString(position);
+                    continue;
+                }
+                position++;
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    break;
+                }
+            }
+            return position;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.apiclient.ui;
+
+import com.apiclient.model.ResponseBody;
+
+import javax.swing.*;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeWillExpandListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.ExpandVetoException;
+import javax.swing.tree.TreePath;
+import java.awt.*;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Collapsible tree of a JSON body that is built as it is explored.
+ *
+ * A JsonIndex of the body is built in one pass on a "json-tree" thread;
+ * after that, expanding an object or array lists just its members, again
+ * off the EDT, and the node expands once they are loaded. Containers with
+ * more than GROUP_SIZE members are split into range nodes whose members
+ * are only labelled when the range is expanded.
+ */
+public class JsonTreePanel extends JPanel {
+    /** Members shown per range node of a large object or array. */
+    static final int GROUP_SIZE = 1000;
+
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "json-tree");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final DefaultTreeModel treeModel;
+    private final JTree tree;
+    private final JLabel statusLabel;
+    private JsonIndex index;
+    private Future<?> job;
+    // Bumped for every new body, so loads for an older one are dropped
+    private volatile int generation;
+    // Tasks handed to the loader, so awaitLoaded can tell when loads stop chaining
+    private volatile int submitted;
+
+    public JsonTreePanel() {
+        treeModel = new DefaultTreeModel(new DefaultMutableTreeNode("(No response yet)"));
+        tree = new JTree(treeModel);
+        tree.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        tree.setRowHeight(18);
+        tree.setLargeModel(true);
+        tree.setShowsRootHandles(true);
+        tree.addTreeWillExpandListener(new LazyExpansion());
+        statusLabel = new JLabel(" ");
+        statusLabel.setBorder(BorderFactory.createEmptyBorder(2, 5, 2, 5));
+
+        setLayout(new BorderLayout());
+        add(new JScrollPane(tree), BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Show a JSON body; indexing starts on the loader thread.
+     */
+    public void setBody(ResponseBody body) {
+        int current = startNewBody();
+        setRoot(new DefaultMutableTreeNode("Indexing..."));
+        statusLabel.setText("Indexing " + ResponsePanel.formatBytes(body.length()) + "...");
+        submitted++;
+        job = LOADER.submit(() -> {
+            try {
+                JsonIndex built = JsonIndex.build(body);
+                DefaultMutableTreeNode root = rootNode(built);
+                SwingUtilities.invokeLater(() -> {
+                    if (current == generation) {
+                        index = built;
+                        setRoot(root);
+                        statusLabel.setText(built.isBalanced() ? " " : "JSON ends early; showing what was found");
+                        expandRoot(root);
+                    }
+                });
+            } catch (CancellationException e) {
+                // A newer body replaced this one
+            } catch (IOException e) {
+                SwingUtilities.invokeLater(() -> {
+                    if (current == generation) {
+                        setRoot(new DefaultMutableTreeNode("Could not read body: " + e.getMessage()));
+                        statusLabel.setText(" ");
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Show a message instead of a tree, e.g. for a body that is not JSON.
+     */
+    public void setMessage(String message) {
+        startNewBody();
+        setRoot(new DefaultMutableTreeNode(message));
+        statusLabel.setText(" ");
+    }
+
+    /**
+     * Wait for a running index or expansion to be shown. Must not be called
+     * on the EDT.
+     */
+    void awaitLoaded() throws Exception {
+        int before;
+        do {
+            before = submitted;
+            // The loader runs one task at a time, so a no-op queued behind them waits for all
+            LOADER.submit(() -> { }).get();
+            SwingUtilities.invokeAndWait(() -> { });
+        } while (submitted != before);
+    }
+
+    JTree getTree() {
+        return tree;
+    }
+
+    private int startNewBody() {
+        int current = ++generation;
+        index = null;
+        if (job != null) {
+            job.cancel(true);
+            job = null;
+        }
+        return current;
+    }
+
+    private void setRoot(DefaultMutableTreeNode root) {
+        treeModel.setRoot(root);
+    }
+
+    /**
+     * Node of the top-level value.
+     */
+    private static DefaultMutableTreeNode rootNode(JsonIndex built) throws IOException {
+        long start = built.getRootStart();
+        if (start < 0) {
+            return new DefaultMutableTreeNode("(Empty body)");
+        }
+        Member member = new Member(built, "", start, Long.MAX_VALUE);
+        return member.toNode();
+    }
+
+    /**
+     * The tree shows a new root expanded without asking the listener, so
+     * load the root's members right away.
+     */
+    private void expandRoot(DefaultMutableTreeNode root) {
+        Object content = root.getUserObject();
+        if (content instanceof Expandable) {
+            ((Expandable) content).setLoading();
+            load(root, new TreePath(root));
+        }
+    }
+
+    /**
+     * Load the children of a node on the loader thread, then expand it.
+     */
+    private void load(DefaultMutableTreeNode node, TreePath path) {
+        int current = generation;
+        JsonIndex loading = index;
+        Object content = node.getUserObject();
+        statusLabel.setText("Loading...");
+        submitted++;
+        LOADER.execute(() -> {
+            List<DefaultMutableTreeNode> children;
+            try {
+                children = content instanceof Range
+                        ? ((Range) content).members(loading)
+                        : ((Member) content).children(loading);
+            } catch (IOException e) {
+                children = new ArrayList<>();
+                children.add(new DefaultMutableTreeNode("Could not read body: " + e.getMessage()));
+            }
+            List<DefaultMutableTreeNode> loaded = children;
+            SwingUtilities.invokeLater(() -> {
+                if (current != generation) {
+                    return;
+                }
+                node.removeAllChildren();
+                for (DefaultMutableTreeNode child : loaded) {
+                    node.add(child);
+                }
+                ((Expandable) content).setLoaded();
+                treeModel.nodeStructureChanged(node);
+                tree.expandPath(path);
+                statusLabel.setText(" ");
+            });
+        });
+    }
+
+    /**
+     * Vetoes the first expansion of a node and loads its children instead;
+     * the node is expanded once they are there.
+     */
+    private class LazyExpansion implements TreeWillExpandListener {
+        @Override
+        public void treeWillExpand(TreeExpansionEvent event) throws ExpandVetoException {
+            TreePath path = event.getPath();
+            DefaultMutableTreeNode node = (DefaultMutableTreeNode) path.getLastPathComponent();
+            Object content = node.getUserObject();
+            if (content instanceof Expandable && !((Expandable) content).isLoaded() && index != null) {
+                if (!((Expandable) content).isLoading()) {
+                    ((Expandable) content).setLoading();
+                    load(node, path);
+                }
+                throw new ExpandVetoException(event);
+            }
+        }
+
+        @Override
+        public void treeWillCollapse(TreeExpansionEvent event) {
+        }
+    }
+
+    /**
+     * Content of a node whose children are loaded on first expansion.
+     */
+    private abstract static class Expandable {
+        private boolean loading;
+        private boolean loaded;
+
+        boolean isLoaded() {
+            return loaded;
+        }
+
+        boolean isLoading() {
+            return loading;
+        }
+
+        void setLoading() {
+            loading = true;
+        }
+
+        void setLoaded() {
+            loaded = true;
+        }
+
+        /**
+         * Node with a placeholder child, so the tree shows it as expandable.
+         */
+        DefaultMutableTreeNode placeholderNode() {
+            DefaultMutableTreeNode node = new DefaultMutableTreeNode(this);
+            node.add(new DefaultMutableTreeNode("Loading..."));
+            return node;
+        }
+    }
+
+    /**
+     * A member (or the root) with its label; objects and arrays expand.
+     */
+    private static class Member extends Expandable {
+        private final long valueStart;
+        private final boolean container;
+        private final String label;
+
+        Member(JsonIndex index, String key, long valueStart, long valueEnd) throws IOException {
+            this.valueStart = valueStart;
+            int first = index.byteAt(valueStart);
+            this.container = first == '{' || first == '[';
+            String prefix = key.isEmpty() ? "" : key + ": ";
+            if (container) {
+                String size = valueEnd == Long.MAX_VALUE ? "" : "  " + ResponsePanel.formatBytes(valueEnd - valueStart);
+                label = prefix + (first == '{' ? "{…}" : "[…]") + size;
+            } else {
+                label = prefix + index.preview(valueStart, valueEnd);
+            }
+        }
+
+        DefaultMutableTreeNode toNode() {
+            return container ? placeholderNode() : new DefaultMutableTreeNode(this, false);
+        }
+
+        /**
+         * Member nodes, or range nodes for a large container.
+         */
+        List<DefaultMutableTreeNode> children(JsonIndex index) throws IOException {
+            JsonIndex.Children children = index.children(valueStart);
+            List<DefaultMutableTreeNode> nodes = new ArrayList<>();
+            if (children.size() > GROUP_SIZE) {
+                for (int from = 0; from < children.size(); from += GROUP_SIZE) {
+                    nodes.add(new Range(children, from, Math.min(children.size(), from + GROUP_SIZE)).placeholderNode());
+                }
+            } else {
+                nodes.addAll(new Range(children, 0, children.size()).members(index));
+            }
+            return nodes;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /**
+     * Members [from, to) of a large container.
+     */
+    private static class Range extends Expandable {
+        private final JsonIndex.Children children;
+        private final int from;
+        private final int to;
+
+        Range(JsonIndex.Children children, int from, int to) {
+            this.children = children;
+            this.from = from;
+            this.to = to;
+        }
+
+        List<DefaultMutableTreeNode> members(JsonIndex index) throws IOException {
+            List<DefaultMutableTreeNode> nodes = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                String key = children.isObject() ? index.key(children.keyStart(i)) : "[" + i + "]";
+                nodes.add(new Member(index, key, children.valueStart(i), children.valueEnd(i)).toNode());
+            }
+            return nodes;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + from + " … " + (to - 1) + "]";
+        }
+    }
+}
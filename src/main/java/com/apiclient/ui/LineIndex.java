@@ -0,0 +1,155 @@
+package com.apiclient.ui;
+
+import java.util.Arrays;
+
+/**
+ * Sparse index of the display rows of a body, built from its bytes in one
+ * pass.
+ *
+ * A row ends at '\n', or is broken before MAX_ROW_BYTES so a minified
+ * payload on a single line still scrolls as many short rows; forced breaks
+ * never split a UTF-8 sequence. Only the start offset of every STRIDE-th row
+ * is kept, so indexing a 1 GB body of short lines costs a few MB; a block of
+ * STRIDE rows is found again by reading from its checkpoint.
+ *
+ * Bytes are appended by one thread while another reads the index; all
+ * methods are synchronized and only hold the lock for one chunk.
+ */
+class LineIndex {
+    /** Rows per checkpoint, and per block read back by the viewer. */
+    static final int STRIDE = 64;
+    /** Rows are broken before this many bytes, at the next character start. */
+    static final int MAX_ROW_BYTES = 4096;
+
+    private long[] checkpoints = new long[16];
+    private int checkpointCount = 1;
+    private long completedRows;
+    private long length;
+    private int rowLength;
+    private int maxRowBytes;
+    private boolean finished;
+
+    /**
+     * Index the next bytes of the body.
+     */
+    synchronized void append(byte[] data, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            byte b = data[i];
+            if (b == '\n') {
+                endRow(length + 1);
+            } else {
+                if (breaksBefore(rowLength, b)) {
+                    endRow(length);
+                }
+                rowLength++;
+            }
+            length++;
+        }
+    }
+
+    /**
+     * Mark the body as complete; the row after the last newline is the last row.
+     */
+    synchronized void finish() {
+        finished = true;
+    }
+
+    synchronized boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Bytes indexed so far.
+     */
+    synchronized long length() {
+        return length;
+    }
+
+    /**
+     * Number of rows, counting the row still being appended to (which may be
+     * empty, like the line after a trailing newline in a text area).
+     */
+    synchronized long rowCount() {
+        return completedRows + 1;
+    }
+
+    /**
+     * Longest row seen, in bytes.
+     */
+    synchronized int maxRowBytes() {
+        return Math.max(maxRowBytes, rowLength);
+    }
+
+    /**
+     * Byte range [start, end) of a block of rows, or null if the block has
+     * not been reached yet. The range of the last block grows until the
+     * index is finished.
+     */
+    synchronized long[] blockRange(int block) {
+        if (block >= checkpointCount) {
+            return null;
+        }
+        long end = block + 1 < checkpointCount ? checkpoints[block + 1] : length;
+        return new long[] {checkpoints[block], end};
+    }
+
+    /**
+     * Whether a block's rows and range will not change any more.
+     */
+    synchronized boolean isBlockComplete(int block) {
+        return block + 1 < checkpointCount || finished;
+    }
+
+    /**
+     * Split bytes that start at a row start into rows using the same rule as
+     * append. Returns the end offsets, exclusive of the newline, of at most
+     * maxRows rows; the last one runs to the end of the data.
+     */
+    static int[] splitRows(byte[] data, int count, int maxRows) {
+        int[] ends = new int[Math.min(maxRows, 16)];
+        int rows = 0;
+        int rowStart = 0;
+        for (int i = 0; i < count && rows < maxRows; i++) {
+            byte b = data[i];
+            if (b == '\n') {
+                ends = add(ends, rows++, i);
+                rowStart = i + 1;
+            } else if (breaksBefore(i - rowStart, b)) {
+                ends = add(ends, rows++, i);
+                rowStart = i;
+            }
+        }
+        if (rows < maxRows) {
+            ends = add(ends, rows++, count);
+        }
+        return Arrays.copyOf(ends, rows);
+    }
+
+    private void endRow(long nextRowStart) {
+        maxRowBytes = Math.max(maxRowBytes, rowLength);
+        completedRows++;
+        rowLength = 0;
+        if (completedRows % STRIDE == 0) {
+            if (checkpointCount == checkpoints.length) {
+                checkpoints = Arrays.copyOf(checkpoints, checkpointCount * 2);
+            }
+            checkpoints[checkpointCount++] = nextRowStart;
+        }
+    }
+
+    /**
+     * A long row is broken before a byte that starts a character, so a
+     * multi-byte sequence stays on one row.
+     */
+    private static boolean breaksBefore(int rowLength, byte b) {
+        return rowLength >= MAX_ROW_BYTES && (b & 0xC0) != 0x80;
+    }
+
+    private static int[] add(int[] values, int index, int value) {
+        if (index == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[index] = value;
+        return values;
+    }
+}
@@ -0,0 +1,199 @@
+package com.apiclient.ui;
+
+import com.apiclient.http.HttpRequestService;
+import com.apiclient.load.LoadProfile;
+import com.apiclient.load.LoadProfileResult;
+import com.apiclient.load.LoadProfileRunner;
+import com.apiclient.model.RequestData;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.time.Duration;
+
+/**
+ * Dialog that runs a ramp-up / hold / ramp-down load profile for the current
+ * request and shows its progress in a MetricsPanel.
+ */
+public class LoadTestDialog extends JDialog {
+    private static final String USERS = "Concurrent users";
+    private static final String RATE = "Requests per second";
+
+    private final LoadProfileRunner runner;
+    private RequestData requestData;
+    private volatile Thread runThread;
+
+    private JComboBox<String> modeComboBox;
+    private JSpinner startLevelSpinner;
+    private JSpinner targetLevelSpinner;
+    private JSpinner rampUpSpinner;
+    private JSpinner holdSpinner;
+    private JSpinner rampDownSpinner;
+    private JButton startButton;
+    private JButton stopButton;
+    private JLabel statusLabel;
+    private MetricsPanel metricsPanel;
+
+    public LoadTestDialog(Frame owner, HttpRequestService httpRequestService) {
+        super(owner, "Load Test", false);
+        this.runner = new LoadProfileRunner(httpRequestService);
+        initializeComponents();
+        setupLayout();
+        setupEventHandlers();
+        setSize(800, 600);
+        setLocationRelativeTo(owner);
+    }
+
+    private void initializeComponents() {
+        modeComboBox = new JComboBox<>(new String[]{USERS, RATE});
+        startLevelSpinner = new JSpinner(new SpinnerNumberModel(1, 0, 100_000, 1));
+        targetLevelSpinner = new JSpinner(new SpinnerNumberModel(10, 0, 100_000, 1));
+        rampUpSpinner = new JSpinner(new SpinnerNumberModel(30, 0, 86_400, 1));
+        holdSpinner = new JSpinner(new SpinnerNumberModel(60, 0, 86_400, 1));
+        rampDownSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 86_400, 1));
+
+        startButton = new JButton("Start");
+        stopButton = new JButton("Stop");
+        stopButton.setEnabled(false);
+
+        statusLabel = new JLabel("Ready");
+        statusLabel.setBorder(BorderFactory.createEtchedBorder());
+
+        metricsPanel = new MetricsPanel();
+    }
+
+    private void setupLayout() {
+        setLayout(new BorderLayout());
+
+        JPanel settingsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        settingsPanel.add(modeComboBox);
+        settingsPanel.add(new JLabel("from"));
+        settingsPanel.add(startLevelSpinner);
+        settingsPanel.add(new JLabel("to"));
+        settingsPanel.add(targetLevelSpinner);
+        settingsPanel.add(new JLabel("Ramp up (s)"));
+        settingsPanel.add(rampUpSpinner);
+        settingsPanel.add(new JLabel("Hold (s)"));
+        settingsPanel.add(holdSpinner);
+        settingsPanel.add(new JLabel("Ramp down (s)"));
+        settingsPanel.add(rampDownSpinner);
+        settingsPanel.add(startButton);
+        settingsPanel.add(stopButton);
+
+        add(settingsPanel, BorderLayout.NORTH);
+        add(metricsPanel, BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+    }
+
+    private void setupEventHandlers() {
+        startButton.addActionListener(e -> startLoadTest());
+        stopButton.addActionListener(e -> {
+            runner.stop();
+            statusLabel.setText("Stopping, waiting for requests in flight...");
+        });
+        // Closing only hides the dialog, which is reused for the next run,
+        // so stop the run here rather than relying on dispose()
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                runner.stop();
+            }
+        });
+    }
+
+    /**
+     * Set the request sent by the next run.
+     */
+    public void setRequestData(RequestData requestData) {
+        this.requestData = requestData;
+        statusLabel.setText(runThread == null
+                ? "Ready: " + requestData.getMethod() + " " + requestData.getUrl()
+                : statusLabel.getText());
+    }
+
+    /**
+     * Build the profile from the ramp-up, hold and ramp-down settings;
+     * stages of zero seconds are left out.
+     */
+    LoadProfile buildProfile() {
+        LoadProfile profile = new LoadProfile(USERS.equals(modeComboBox.getSelectedItem())
+                ? LoadProfile.Mode.CONCURRENCY
+                : LoadProfile.Mode.ARRIVAL_RATE);
+        int startLevel = (Integer) startLevelSpinner.getValue();
+        int targetLevel = (Integer) targetLevelSpinner.getValue();
+        int rampUp = (Integer) rampUpSpinner.getValue();
+        int hold = (Integer) holdSpinner.getValue();
+        int rampDown = (Integer) rampDownSpinner.getValue();
+
+        if (rampUp > 0) {
+            profile.ramp(startLevel, targetLevel, Duration.ofSeconds(rampUp));
+        }
+        if (hold > 0) {
+            profile.hold(targetLevel, Duration.ofSeconds(hold));
+        }
+        if (rampDown > 0) {
+            profile.ramp(targetLevel, 0, Duration.ofSeconds(rampDown));
+        }
+        return profile;
+    }
+
+    private void startLoadTest() {
+        if (requestData == null) {
+            return;
+        }
+        LoadProfile profile = buildProfile();
+        if (profile.getStages().isEmpty()) {
+            JOptionPane.showMessageDialog(this,
+                "Set a ramp-up, hold or ramp-down time",
+                "Validation Error",
+                JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        metricsPanel.clear();
+        setRunningState(true);
+        statusLabel.setText("Running " + profile.getTotalDuration().getSeconds() + " s profile...");
+
+        RequestData runRequest = requestData;
+        Thread thread = new Thread(() -> {
+            String status;
+            try {
+                LoadProfileResult result = runner.run(runRequest, profile, metricsPanel::addSnapshot);
+                status = String.format("Done: %d requests, %d errors, %.1f req/s, p99 %.1f ms",
+                        result.getCompletedRequests(), result.getErrorCount(), result.getThroughput(),
+                        result.getPercentileMillis(99));
+            } catch (InterruptedException e) {
+                status = "Load test interrupted";
+            } catch (RuntimeException e) {
+                status = "Load test failed: " + e.getMessage();
+            }
+            String finalStatus = status;
+            SwingUtilities.invokeLater(() -> {
+                runThread = null;
+                setRunningState(false);
+                statusLabel.setText(finalStatus);
+            });
+        }, "load-profile");
+        thread.setDaemon(true);
+        runThread = thread;
+        thread.start();
+    }
+
+    private void setRunningState(boolean running) {
+        startButton.setEnabled(!running);
+        stopButton.setEnabled(running);
+        modeComboBox.setEnabled(!running);
+        startLevelSpinner.setEnabled(!running);
+        targetLevelSpinner.setEnabled(!running);
+        rampUpSpinner.setEnabled(!running);
+        holdSpinner.setEnabled(!running);
+        rampDownSpinner.setEnabled(!running);
+    }
+
+    @Override
+    public void dispose() {
+        runner.stop();
+        super.dispose();
+    }
+}
@@ -0,0 +1,235 @@
+package com.apiclient.ui;
+
+import com.apiclient.load.LoadSnapshot;
+
+import javax.swing.*;
+import javax.swing.border.TitledBorder;
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Live charts of throughput, error rate and latency percentiles, one point
+ * per LoadSnapshot.
+ *
+ * Snapshots may be added from any thread; they are queued in a lock-free
+ * buffer and picked up by a Swing timer at most MAX_FRAMES_PER_SECOND times
+ * a second, so the EDT repaints once per frame rather than once per update.
+ */
+public class MetricsPanel extends JPanel {
+    /** Upper bound on chart repaints per second. */
+    public static final int MAX_FRAMES_PER_SECOND = 10;
+
+    /** Number of snapshots kept on screen; older points scroll off. */
+    static final int HISTORY_SIZE = 300;
+
+    private final Queue<LoadSnapshot> pending = new ConcurrentLinkedQueue<>();
+    private final Deque<LoadSnapshot> history = new ArrayDeque<>();
+    private final Timer frameTimer;
+
+    private JLabel summaryLabel;
+    private Chart throughputChart;
+    private Chart errorChart;
+    private Chart latencyChart;
+
+    public MetricsPanel() {
+        frameTimer = new Timer(1000 / MAX_FRAMES_PER_SECOND, e -> drainPending());
+        frameTimer.setCoalesce(true);
+        initializeComponents();
+        setupLayout();
+    }
+
+    private void initializeComponents() {
+        summaryLabel = new JLabel("No samples yet");
+        summaryLabel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+
+        throughputChart = new Chart("Requests/s", history);
+        throughputChart.addSeries("req/s", new Color(33, 150, 243), LoadSnapshot::getThroughput);
+
+        errorChart = new Chart("Error rate %", history);
+        errorChart.addSeries("errors", new Color(244, 67, 54), MetricsPanel::errorPercent);
+
+        latencyChart = new Chart("Latency ms", history);
+        latencyChart.addSeries("p50", new Color(76, 175, 80), snapshot -> snapshot.getPercentileMillis(50));
+        latencyChart.addSeries("p90", new Color(255, 152, 0), snapshot -> snapshot.getPercentileMillis(90));
+        latencyChart.addSeries("p99", new Color(156, 39, 176), snapshot -> snapshot.getPercentileMillis(99));
+    }
+
+    private void setupLayout() {
+        setLayout(new BorderLayout());
+        setBorder(new TitledBorder("Metrics"));
+
+        JPanel charts = new JPanel(new GridLayout(3, 1, 0, 5));
+        charts.add(throughputChart);
+        charts.add(errorChart);
+        charts.add(latencyChart);
+
+        add(summaryLabel, BorderLayout.NORTH);
+        add(charts, BorderLayout.CENTER);
+    }
+
+    /**
+     * Queue a snapshot for display. Safe to call from any thread.
+     */
+    public void addSnapshot(LoadSnapshot snapshot) {
+        pending.offer(snapshot);
+    }
+
+    /**
+     * Remove all points from the charts.
+     */
+    public void clear() {
+        pending.clear();
+        history.clear();
+        summaryLabel.setText("No samples yet");
+        repaint();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        frameTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        frameTimer.stop();
+        super.removeNotify();
+    }
+
+    /**
+     * Move queued snapshots into the chart history and repaint once.
+     * Called on the EDT by the frame timer; returns whether anything changed.
+     */
+    boolean drainPending() {
+        LoadSnapshot latest = null;
+        LoadSnapshot snapshot;
+        while ((snapshot = pending.poll()) != null) {
+            history.addLast(snapshot);
+            if (history.size() > HISTORY_SIZE) {
+                history.removeFirst();
+            }
+            latest = snapshot;
+        }
+        if (latest == null) {
+            return false;
+        }
+        summaryLabel.setText(describe(latest));
+        throughputChart.repaint();
+        errorChart.repaint();
+        latencyChart.repaint();
+        return true;
+    }
+
+    int getHistorySize() {
+        return history.size();
+    }
+
+    String getSummaryText() {
+        return summaryLabel.getText();
+    }
+
+    static String describe(LoadSnapshot snapshot) {
+        return String.format("%.1f req/s, %.1f%% errors, p50 %.1f ms, p90 %.1f ms, p99 %.1f ms (active %d)",
+                snapshot.getThroughput(), errorPercent(snapshot), snapshot.getPercentileMillis(50),
+                snapshot.getPercentileMillis(90), snapshot.getPercentileMillis(99), snapshot.getActiveLevel());
+    }
+
+    private static double errorPercent(LoadSnapshot snapshot) {
+        long completed = snapshot.getCompletedRequests();
+        return completed == 0 ? 0.0 : 100.0 * snapshot.getErrorCount() / completed;
+    }
+
+    /**
+     * Line chart of one or more series over the snapshot history, scaled to
+     * the largest visible value.
+     */
+    static class Chart extends JComponent {
+        private static final int PADDING = 6;
+
+        private final String title;
+        private final Deque<LoadSnapshot> history;
+        private final List<String> names = new ArrayList<>();
+        private final List<Color> colors = new ArrayList<>();
+        private final List<ToDoubleFunction<LoadSnapshot>> values = new ArrayList<>();
+
+        Chart(String title, Deque<LoadSnapshot> history) {
+            this.title = title;
+            this.history = history;
+            setPreferredSize(new Dimension(400, 100));
+            setBackground(Color.WHITE);
+            setOpaque(true);
+        }
+
+        void addSeries(String name, Color color, ToDoubleFunction<LoadSnapshot> value) {
+            names.add(name);
+            colors.add(color);
+            values.add(value);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            try {
+                g2.setColor(getBackground());
+                g2.fillRect(0, 0, getWidth(), getHeight());
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+                FontMetrics metrics = g2.getFontMetrics();
+                int top = PADDING + metrics.getHeight();
+                int left = PADDING;
+                int width = getWidth() - 2 * PADDING;
+                int height = getHeight() - top - PADDING;
+
+                double max = 0;
+                for (LoadSnapshot snapshot : history) {
+                    for (ToDoubleFunction<LoadSnapshot> value : values) {
+                        max = Math.max(max, value.applyAsDouble(snapshot));
+                    }
+                }
+                max = max > 0 ? max * 1.1 : 1.0;
+
+                // Title, scale and legend
+                g2.setColor(Color.DARK_GRAY);
+                g2.drawString(String.format("%s (max %.1f)", title, max / 1.1), left, PADDING + metrics.getAscent());
+                int legendX = getWidth() - PADDING;
+                for (int i = names.size() - 1; i >= 0; i--) {
+                    legendX -= metrics.stringWidth(names.get(i)) + PADDING;
+                    g2.setColor(colors.get(i));
+                    g2.drawString(names.get(i), legendX, PADDING + metrics.getAscent());
+                }
+                g2.setColor(Color.LIGHT_GRAY);
+                g2.drawRect(left, top, width, height);
+
+                if (history.size() < 2 || width <= 0 || height <= 0) {
+                    return;
+                }
+                double step = (double) width / (HISTORY_SIZE - 1);
+                int offset = HISTORY_SIZE - history.size();
+                for (int series = 0; series < values.size(); series++) {
+                    g2.setColor(colors.get(series));
+                    int index = 0;
+                    int previousX = 0;
+                    int previousY = 0;
+                    for (LoadSnapshot snapshot : history) {
+                        int x = left + (int) Math.round((offset + index) * step);
+                        int y = top + height - (int) Math.round(values.get(series).applyAsDouble(snapshot) / max * height);
+                        if (index > 0) {
+                            g2.drawLine(previousX, previousY, x, y);
+                        }
+                        previousX = x;
+                        previousY = y;
+                        index++;
+                    }
+                }
+            } finally {
+                g2.dispose();
+            }
+        }
+    }
+}
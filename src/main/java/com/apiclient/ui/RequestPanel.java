@@ -10,6 +10,10 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
 
 /**
  * Panel for configuring HTTP requests.
@@ -21,6 +25,11 @@ public class RequestPanel extends JPanel {
     private DefaultTableModel headersTableModel;
     private JTextArea bodyTextArea;
     private JScrollPane bodyScrollPane;
+    private JButton chooseBodyFileButton;
+    private JButton clearBodyFileButton;
+    private JLabel bodyFileLabel;
+    private JFileChooser bodyFileChooser;
+    private Path bodyFile;
 
     public RequestPanel() {
         initializeComponents();
@@ -54,10 +63,6 @@ public class RequestPanel extends JPanel {
         // Add some default headers
         headersTableModel.addRow(new Object[]{"Content-Type", "application/json"});
 
-        // Headers scroll pane
-        JScrollPane headersScrollPane = new JScrollPane(headersTable);
-        headersScrollPane.setPreferredSize(new Dimension(400, 120));
-
         // Request body area
         bodyTextArea = new JTextArea();
         bodyTextArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
@@ -65,6 +70,11 @@ public class RequestPanel extends JPanel {
         bodyScrollPane = new JScrollPane(bodyTextArea);
         bodyScrollPane.setPreferredSize(new Dimension(400, 150));
 
+        // File-backed body controls
+        chooseBodyFileButton = new JButton("Body from File...");
+        clearBodyFileButton = new JButton("Clear File");
+        bodyFileLabel = new JLabel();
+
         // Initially disable body for GET requests
         updateBodyState();
     }
@@ -128,14 +138,59 @@ public class RequestPanel extends JPanel {
         JPanel bodyPanel = new JPanel(new BorderLayout());
         bodyPanel.setBorder(new TitledBorder("Request Body"));
         bodyPanel.add(bodyScrollPane, BorderLayout.CENTER);
+
+        JPanel bodyFilePanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        bodyFilePanel.add(chooseBodyFileButton);
+        bodyFilePanel.add(clearBodyFileButton);
+        bodyFilePanel.add(bodyFileLabel);
+        bodyPanel.add(bodyFilePanel, BorderLayout.NORTH);
         add(bodyPanel, gbc);
     }
 
     private void setupEventHandlers() {
         methodComboBox.addActionListener(e -> updateBodyState());
+        chooseBodyFileButton.addActionListener(e -> chooseBodyFile());
+        clearBodyFileButton.addActionListener(e -> setBodyFile(null));
+    }
+
+    /**
+     * Let the user pick a file to upload as the request body.
+     */
+    private void chooseBodyFile() {
+        if (bodyFileChooser == null) {
+            bodyFileChooser = new JFileChooser();
+        }
+        if (bodyFileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            setBodyFile(bodyFileChooser.getSelectedFile().toPath());
+        }
+    }
+
+    /**
+     * Use a file as the request body. The file is streamed when the request is
+     * sent and never loaded into the editor; null switches back to the editor.
+     */
+    public void setBodyFile(Path bodyFile) {
+        this.bodyFile = bodyFile;
+        if (bodyFile == null) {
+            bodyFileLabel.setText("");
+        } else {
+            bodyFileLabel.setText(bodyFile.getFileName() + " (" + describeSize(bodyFile) + ")");
+            bodyFileLabel.setToolTipText(bodyFile.toString());
+        }
+        updateBodyState();
     }
 
-    
+    public Path getBodyFile() {
+        return bodyFile;
+    }
+
+    private static String describeSize(Path file) {
+        try {
+            return ResponsePanel.formatBytes(Files.size(file));
+        } catch (IOException e) {
+            return "unreadable";
+        }
+    }
 
     /**
      * Enable/disable request body based on HTTP method.
@@ -143,9 +198,12 @@ public class RequestPanel extends JPanel {
     private void updateBodyState() {
         String method = (String) methodComboBox.getSelectedItem();
         boolean hasBody = !"GET".equals(method) && !"DELETE".equals(method);
-        bodyTextArea.setEnabled(hasBody);
-        bodyScrollPane.setEnabled(hasBody);
-        bodyTextArea.setBackground(hasBody ? Color.WHITE : Color.LIGHT_GRAY);
+        boolean editable = hasBody && bodyFile == null;
+        bodyTextArea.setEnabled(editable);
+        bodyScrollPane.setEnabled(editable);
+        bodyTextArea.setBackground(editable ? Color.WHITE : Color.LIGHT_GRAY);
+        chooseBodyFileButton.setEnabled(hasBody);
+        clearBodyFileButton.setEnabled(hasBody && bodyFile != null);
     }
 
     /**
@@ -169,11 +227,28 @@ public class RequestPanel extends JPanel {
         String method = (String) methodComboBox.getSelectedItem();
         if (!"GET".equals(method) && !"DELETE".equals(method)) {
             requestData.setBody(bodyTextArea.getText());
+            requestData.setBodyFile(bodyFile);
         }
         
         return requestData;
     }
 
+    /**
+     * Populate the UI components from request data.
+     */
+    public void setRequestData(RequestData requestData) {
+        methodComboBox.setSelectedItem(requestData.getMethod());
+        urlTextField.setText(requestData.getUrl() != null ? requestData.getUrl() : "");
+
+        headersTableModel.setRowCount(0);
+        for (Map.Entry<String, String> header : requestData.getHeaders().entrySet()) {
+            headersTableModel.addRow(new Object[]{header.getKey(), header.getValue()});
+        }
+
+        bodyTextArea.setText(requestData.getBody() != null ? requestData.getBody() : "");
+        setBodyFile(requestData.getBodyFile());
+    }
+
     /**
      * Enable or disable all components in this panel.
      */
@@ -183,7 +258,10 @@ public class RequestPanel extends JPanel {
         methodComboBox.setEnabled(enabled);
         urlTextField.setEnabled(enabled);
         headersTable.setEnabled(enabled);
-        bodyTextArea.setEnabled(enabled && !"GET".equals(methodComboBox.getSelectedItem()) 
-                                       && !"DELETE".equals(methodComboBox.getSelectedItem()));
+        boolean hasBody = !"GET".equals(methodComboBox.getSelectedItem())
+                && !"DELETE".equals(methodComboBox.getSelectedItem());
+        bodyTextArea.setEnabled(enabled && hasBody && bodyFile == null);
+        chooseBodyFileButton.setEnabled(enabled && hasBody);
+        clearBodyFileButton.setEnabled(enabled && hasBody && bodyFile != null);
     }
 }
\ No newline at end of file
@@ -1,23 +1,107 @@
 package com.apiclient.ui;
 
+import com.apiclient.model.BodyBuffer;
+import com.apiclient.model.RequestTiming;
+import com.apiclient.model.ResponseBody;
 import com.apiclient.model.ResponseData;
+import com.apiclient.model.ResponseDownload;
+import com.google.gson.stream.MalformedJsonException;
 
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
 import java.awt.*;
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
 
 /**
  * Panel for displaying HTTP responses.
+ *
+ * Bodies are shown in TextViewers, which read only the visible rows from the
+ * response's bytes, so even a body spilled to disk is never copied into a
+ * text document. JSON and XML bodies are highlighted as they are painted.
+ * While a response is received, the Raw tab grows with it (see showDownload).
+ *
+ * JSON for the Pretty tab is formatted on a "pretty-printer" thread, only
+ * once the tab is shown, with a progress bar for large bodies; a newer
+ * response cancels a format still running.
+ *
+ * The Tree tab shows a JSON body as a JsonTreePanel, also built on first
+ * use, which reads only the members of the nodes that are expanded.
  */
 public class ResponsePanel extends JPanel {
+    /** Formatted JSON beyond this is spilled to a temporary file. */
+    static final int PRETTY_MEMORY_LIMIT = 4 * 1024 * 1024;
+    /** JSON bodies from this size show formatting progress. */
+    static final long PROGRESS_MIN_BYTES = 256 * 1024;
+    /** A response being received is redrawn this often. */
+    static final int DOWNLOAD_UPDATE_MILLIS = 100;
+    /** Body bytes passed to the Raw viewer per update, so the EDT is never held long. */
+    static final int DOWNLOAD_FEED_BYTES = 4 * 1024 * 1024;
+
+    private static final int FORMAT_BUFFER_SIZE = 16 * 1024;
+    private static final long RATE_WINDOW_NANOS = 1_000_000_000L;
+
+    private static final ExecutorService PRETTY_PRINTER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pretty-printer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private JLabel statusLabel;
+    private JLabel timingLabel;
+    private JLabel sizeLabel;
     private JTextArea headersTextArea;
-    private JTextArea bodyTextArea;
+    private TextViewer bodyViewer;
     private JScrollPane headersScrollPane;
     private JScrollPane bodyScrollPane;
     private JTabbedPane tabbedPane;
 
+    // Pretty tab: the viewer is created and the body formatted only when the tab is shown
+    private JPanel prettyPanel;
+    private JScrollPane prettyScrollPane;
+    private JProgressBar prettyProgress;
+    private TextViewer prettyViewer;
+    private ResponseBody prettySource = ResponseBody.ofString("(No response yet)");
+    private boolean prettySourceIsJson;
+    private SyntaxLexer.Language syntax = SyntaxLexer.Language.NONE;
+    private boolean prettyStale = true;
+    private Future<?> prettyJob;
+    private BodyBuffer prettyOutput;
+    // Bumped for every new Pretty source, so results of an older format are dropped
+    private volatile int prettyGeneration;
+
+    // Response being received, until the complete one is set
+    private Timer downloadTimer;
+    private ResponseDownload download;
+    private TextViewer.Feed downloadFeed;
+    private long downloadFedBytes;
+    private long rateSampleNanos;
+    private long rateSampleBytes;
+    private double bytesPerSecond;
+
+    // Body of the response shown; closed once another replaces it, so its spill file goes
+    private ResponseBody shownBody;
+
+    // Tree tab: shares the Pretty tab's source and is likewise built when shown
+    private JPanel treeTab;
+    private JsonTreePanel treePanel;
+    private boolean treeStale = true;
+
     public ResponsePanel() {
         initializeComponents();
         setupLayout();
@@ -29,6 +113,19 @@ public class ResponsePanel extends JPanel {
         statusLabel.setFont(statusLabel.getFont().deriveFont(Font.BOLD));
         statusLabel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
 
+        // Timing breakdown label
+        timingLabel = new JLabel("");
+        timingLabel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        timingLabel.setToolTipText("TTFB includes connection setup, TLS handshake and server processing");
+
+        // Progress of a response being received, picked up at a fixed rate
+        downloadTimer = new Timer(DOWNLOAD_UPDATE_MILLIS, e -> updateDownload());
+        downloadTimer.setCoalesce(true);
+
+        // Body size label (decoded and wire size for compressed bodies)
+        sizeLabel = new JLabel("", SwingConstants.CENTER);
+        sizeLabel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+
         // Headers display
         headersTextArea = new JTextArea();
         headersTextArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
@@ -38,24 +135,35 @@ public class ResponsePanel extends JPanel {
         headersScrollPane.setPreferredSize(new Dimension(400, 100));
 
         // Response body display
-        bodyTextArea = new JTextArea();
-        bodyTextArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
-        bodyTextArea.setEditable(false);
-        bodyTextArea.setBackground(Color.WHITE);
-        bodyTextArea.setLineWrap(false);
-        bodyScrollPane = new JScrollPane(bodyTextArea);
+        bodyViewer = new TextViewer();
+        bodyViewer.setText("(No response yet)");
+        bodyScrollPane = new JScrollPane(bodyViewer);
         bodyScrollPane.setPreferredSize(new Dimension(400, 200));
 
         // Create tabbed pane for different views
         tabbedPane = new JTabbedPane();
         tabbedPane.add("Raw", bodyScrollPane);
         
-        // Pretty print tab (placeholder for future enhancement)
-        JTextArea prettyTextArea = new JTextArea();
-        prettyTextArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
-        prettyTextArea.setEditable(false);
-        prettyTextArea.setBackground(Color.WHITE);
-        tabbedPane.add("Pretty", new JScrollPane(prettyTextArea));
+        // Pretty print tab, filled in on first use
+        prettyScrollPane = new JScrollPane();
+        prettyProgress = new JProgressBar(0, 100);
+        prettyProgress.setStringPainted(true);
+        prettyProgress.setVisible(false);
+        prettyPanel = new JPanel(new BorderLayout());
+        prettyPanel.add(prettyScrollPane, BorderLayout.CENTER);
+        prettyPanel.add(prettyProgress, BorderLayout.SOUTH);
+        tabbedPane.add("Pretty", prettyPanel);
+
+        // Tree tab, filled in on first use
+        treeTab = new JPanel(new BorderLayout());
+        tabbedPane.add("Tree", treeTab);
+        tabbedPane.addChangeListener(e -> {
+            if (tabbedPane.getSelectedComponent() == prettyPanel) {
+                updatePrettyView();
+            } else if (tabbedPane.getSelectedComponent() == treeTab) {
+                updateTreeView();
+            }
+        });
     }
 
     private void setupLayout() {
@@ -65,6 +173,8 @@ public class ResponsePanel extends JPanel {
         // Top panel for status
         JPanel topPanel = new JPanel(new BorderLayout());
         topPanel.add(statusLabel, BorderLayout.WEST);
+        topPanel.add(sizeLabel, BorderLayout.CENTER);
+        topPanel.add(timingLabel, BorderLayout.EAST);
         
         // Headers panel
         JPanel headersPanel = new JPanel(new BorderLayout());
@@ -92,15 +202,136 @@ public class ResponsePanel extends JPanel {
     }
 
     /**
-     * Update the panel with response data.
+     * Update the panel with response data. The panel takes over the body and
+     * closes it when another response replaces it.
      */
     public void setResponseData(ResponseData responseData) {
         if (responseData == null) {
             clearResponse();
             return;
         }
+        stopDownload();
+
+        showStatus(responseData);
+
+        // Update timing breakdown
+        RequestTiming timing = responseData.getTiming();
+        timingLabel.setText(timing != null ? timing.toSummary() : "");
+
+        // Update body size
+        sizeLabel.setText(describeSize(responseData));
+
+        showHeaders(responseData);
+
+        // Update body; the viewer reads it in place, whatever its size
+        ResponseBody content = responseData.getBodyContent();
+        boolean hasBody = content != null && !content.isEmpty();
+        if (!hasBody) {
+            content = ResponseBody.ofString("(No response body)");
+        }
+        syntax = hasBody ? syntaxOf(responseData) : SyntaxLexer.Language.NONE;
+        bodyViewer.setSyntax(syntax);
+        bodyViewer.setBody(content);
+
+        // Pretty view is formatted when the tab is shown
+        setPrettySource(content, hasBody && isJsonResponse(responseData));
+        replaceShownBody(responseData.getBodyContent());
+    }
+
+    /**
+     * Show a response whose body is still being received. The Raw tab shows
+     * the body as it arrives and the size label the bytes received and the
+     * transfer rate, updated every DOWNLOAD_UPDATE_MILLIS until the complete
+     * response is passed to setResponseData.
+     */
+    public void showDownload(ResponseDownload download) {
+        stopDownload();
+        ResponseData head = download.getHead();
+        showStatus(head);
+        timingLabel.setText("Receiving...");
+        showHeaders(head);
+
+        this.download = download;
+        downloadFedBytes = 0;
+        rateSampleNanos = System.nanoTime() - download.getElapsedNanos();
+        rateSampleBytes = 0;
+        bytesPerSecond = -1;
+        syntax = syntaxOf(head);
+        bodyViewer.setSyntax(syntax);
+        downloadFeed = bodyViewer.beginFeed(download::read, download.getCharset());
+        // The other tabs wait for the complete body
+        setPrettySource(ResponseBody.ofString("(Receiving response...)"), false);
+        replaceShownBody(null);
 
-        // Update status
+        updateDownload();
+        downloadTimer.start();
+    }
+
+    /**
+     * Pass the bytes received since the last update to the Raw viewer, at
+     * most DOWNLOAD_FEED_BYTES at a time, and update the size label.
+     */
+    private void updateDownload() {
+        if (download == null) {
+            return;
+        }
+        long received = download.getReceivedBytes();
+        byte[] chunk = new byte[64 * 1024];
+        long fed = 0;
+        try {
+            while (downloadFedBytes < received && fed < DOWNLOAD_FEED_BYTES) {
+                int length = (int) Math.min(chunk.length, received - downloadFedBytes);
+                int read = download.read(downloadFedBytes, chunk, 0, length);
+                if (read <= 0) {
+                    break;
+                }
+                downloadFeed.append(chunk, 0, read);
+                downloadFedBytes += read;
+                fed += read;
+            }
+        } catch (IOException e) {
+            // The download failed; its error is shown once the request completes
+            stopDownload();
+            return;
+        }
+
+        long now = System.nanoTime();
+        long wireBytes = download.getWireBytes();
+        if (now - rateSampleNanos >= RATE_WINDOW_NANOS) {
+            bytesPerSecond = (wireBytes - rateSampleBytes) * 1e9 / (now - rateSampleNanos);
+            rateSampleNanos = now;
+            rateSampleBytes = wireBytes;
+        }
+        double rate = bytesPerSecond >= 0
+                ? bytesPerSecond
+                : wireBytes * 1e9 / Math.max(1, download.getElapsedNanos());
+        sizeLabel.setText(describeDownload(wireBytes, download.getExpectedWireBytes(), rate));
+    }
+
+    private void stopDownload() {
+        downloadTimer.stop();
+        download = null;
+        downloadFeed = null;
+    }
+
+    /**
+     * Text of the size label, or of the download progress while receiving.
+     */
+    String getSizeText() {
+        return sizeLabel.getText();
+    }
+
+    /**
+     * Whether a response is being received.
+     */
+    boolean isDownloading() {
+        return download != null;
+    }
+
+    /**
+     * Update the status label, colour coded by status class.
+     */
+    private void showStatus(ResponseData responseData) {
         String statusText = responseData.getStatusCode() + " " + responseData.getStatusText();
         statusLabel.setText(statusText);
         
@@ -114,143 +345,399 @@ public class ResponsePanel extends JPanel {
         } else {
             statusLabel.setForeground(new Color(0, 0, 200)); // Blue for informational
         }
+    }
 
-        // Update headers
+    /**
+     * Show the response headers, one per line.
+     */
+    private void showHeaders(ResponseData responseData) {
         StringBuilder headersText = new StringBuilder();
         for (Map.Entry<String, String> header : responseData.getHeaders().entrySet()) {
             headersText.append(header.getKey()).append(": ").append(header.getValue()).append("\n");
         }
         headersTextArea.setText(headersText.toString());
         headersTextArea.setCaretPosition(0);
+    }
+
+    /**
+     * Clear the response display.
+     */
+    public void clearResponse() {
+        stopDownload();
+        statusLabel.setText("No response yet");
+        statusLabel.setForeground(Color.BLACK);
+        timingLabel.setText("");
+        sizeLabel.setText("");
+        headersTextArea.setText("");
+        syntax = SyntaxLexer.Language.NONE;
+        bodyViewer.setSyntax(syntax);
+        bodyViewer.setText("(No response yet)");
+        setPrettySource(ResponseBody.ofString("(No response yet)"), false);
+        replaceShownBody(null);
+    }
+
+    /**
+     * Close the body shown so far, now that the viewers no longer read it.
+     * The panel owns the bodies it is given; anyone else still reading one,
+     * like the history writer, holds it with ResponseBody.retain().
+     */
+    private void replaceShownBody(ResponseBody body) {
+        if (shownBody != null && shownBody != body) {
+            shownBody.close();
+        }
+        shownBody = body;
+    }
+
+    private void setPrettySource(ResponseBody source, boolean json) {
+        prettySource = source;
+        prettySourceIsJson = json;
+        prettyStale = true;
+        treeStale = true;
+        cancelPrettyJob();
+        if (tabbedPane.getSelectedComponent() == prettyPanel) {
+            updatePrettyView();
+        } else if (tabbedPane.getSelectedComponent() == treeTab) {
+            updateTreeView();
+        } else if (treePanel != null) {
+            // Stop indexing a body that is no longer shown
+            treePanel.setMessage("(No response yet)");
+        }
+    }
 
-        // Update body
-        String body = responseData.getBody();
-        if (body == null || body.trim().isEmpty()) {
-            bodyTextArea.setText("(No response body)");
+    /**
+     * Create the Pretty viewer on first use and format the current body
+     * into it if it changed since the tab was last shown. Bodies that are
+     * not JSON are shown as they are.
+     */
+    private void updatePrettyView() {
+        if (prettyViewer == null) {
+            prettyViewer = new TextViewer();
+            prettyScrollPane.setViewportView(prettyViewer);
+        }
+        if (!prettyStale) {
+            return;
+        }
+        prettyStale = false;
+        prettyViewer.setSyntax(syntax);
+        if (prettySourceIsJson) {
+            formatInBackground(prettySource);
         } else {
-            bodyTextArea.setText(body);
+            prettyViewer.setBody(prettySource);
+        }
+    }
+
+    /**
+     * Create the tree on first use and index the current body into it if it
+     * changed since the tab was last shown.
+     */
+    private void updateTreeView() {
+        if (treePanel == null) {
+            treePanel = new JsonTreePanel();
+            treeTab.add(treePanel, BorderLayout.CENTER);
+            treeTab.revalidate();
+        }
+        if (!treeStale) {
+            return;
+        }
+        treeStale = false;
+        if (prettySourceIsJson) {
+            treePanel.setBody(prettySource);
+        } else {
+            treePanel.setMessage("(Not a JSON response)");
+        }
+    }
+
+    /**
+     * Stream the body through JsonFormatter on the pretty-printer thread.
+     * The output goes to a BodyBuffer that spills to disk and is fed to the
+     * viewer as it is written, so the first lines show straight away and a
+     * body of any size is formatted in constant memory. Invalid JSON shows
+     * the output up to the error, then the error and its position.
+     */
+    private void formatInBackground(ResponseBody source) {
+        int generation = prettyGeneration;
+        boolean showProgress = source.length() >= PROGRESS_MIN_BYTES;
+        BodyBuffer output = new BodyBuffer(PRETTY_MEMORY_LIMIT);
+        prettyOutput = output;
+        TextViewer.Feed feed = prettyViewer.beginFeed(output::read, StandardCharsets.UTF_8);
+        prettyProgress.setValue(0);
+        prettyProgress.setVisible(showProgress);
+        IntConsumer progress = !showProgress ? null : percent -> SwingUtilities.invokeLater(() -> {
+            if (generation == prettyGeneration) {
+                prettyProgress.setValue(percent);
+            }
+        });
+
+        prettyJob = PRETTY_PRINTER.submit(() -> {
+            try (Reader in = new InputStreamReader(
+                         new ProgressInputStream(source.openStream(), source.length(), progress), source.getCharset());
+                 Writer out = new BufferedWriter(new OutputStreamWriter(
+                         new FeedOutputStream(output, feed), StandardCharsets.UTF_8), FORMAT_BUFFER_SIZE)) {
+                try {
+                    JsonFormatter.format(in, out);
+                } catch (MalformedJsonException e) {
+                    out.write("\n\nCould not format JSON: " + e.getMessage());
+                }
+            } catch (CancellationException e) {
+                // A newer body replaced this one
+            } catch (IOException e) {
+                try {
+                    byte[] message = ("\n\nCould not format JSON: " + e.getMessage()).getBytes(StandardCharsets.UTF_8);
+                    output.write(message, 0, message.length);
+                    feed.append(message, 0, message.length);
+                } catch (IOException ignored) {
+                    // Nothing more can be shown
+                }
+            } finally {
+                feed.finish();
+                SwingUtilities.invokeLater(() -> {
+                    if (generation == prettyGeneration) {
+                        prettyProgress.setVisible(false);
+                    }
+                });
+                if (generation != prettyGeneration) {
+                    output.discard();
+                }
+            }
+        });
+    }
+
+    /**
+     * Stop a format that is still running and drop its output; it is no
+     * longer wanted.
+     */
+    private void cancelPrettyJob() {
+        prettyGeneration++;
+        if (prettyJob != null) {
+            prettyJob.cancel(true);
+            prettyJob = null;
+        }
+        if (prettyOutput != null) {
+            prettyOutput.discard();
+            prettyOutput = null;
         }
-        bodyTextArea.setCaretPosition(0);
+        prettyProgress.setVisible(false);
+    }
 
-        // Update pretty view (basic JSON pretty printing)
-        JTextArea prettyTextArea = (JTextArea) ((JScrollPane) tabbedPane.getComponentAt(1)).getViewport().getView();
-        if (body != null && !body.trim().isEmpty() && isJsonResponse(responseData)) {
+    /**
+     * Wait for a running format to be shown. Must not be called on the EDT.
+     */
+    void awaitPrettyView() throws Exception {
+        Future<?> job = prettyJob;
+        if (job != null) {
             try {
-                String prettyJson = prettyPrintJson(body);
-                prettyTextArea.setText(prettyJson);
-            } catch (Exception e) {
-                prettyTextArea.setText("Could not format JSON: " + e.getMessage());
+                job.get();
+            } catch (CancellationException | ExecutionException e) {
+                // Nothing to show
             }
-        } else {
-            prettyTextArea.setText(body != null ? body : "(No response body)");
         }
-        prettyTextArea.setCaretPosition(0);
+        // The result is handed to the EDT
+        SwingUtilities.invokeAndWait(() -> { });
     }
 
     /**
-     * Clear the response display.
+     * Whether the Pretty tab has been built yet.
      */
-    public void clearResponse() {
-        statusLabel.setText("No response yet");
-        statusLabel.setForeground(Color.BLACK);
-        headersTextArea.setText("");
-        bodyTextArea.setText("(No response yet)");
-        
-        JTextArea prettyTextArea = (JTextArea) ((JScrollPane) tabbedPane.getComponentAt(1)).getViewport().getView();
-        prettyTextArea.setText("(No response yet)");
+    boolean isPrettyViewCreated() {
+        return prettyViewer != null;
+    }
+
+    /**
+     * Text of the Pretty tab, building and formatting it if needed and
+     * waiting for the format to finish. Must not be called on the EDT.
+     */
+    String getPrettyText() throws Exception {
+        updatePrettyView();
+        awaitPrettyView();
+        return prettyViewer.getText();
+    }
+
+    /**
+     * Show the Pretty tab, which starts formatting the body if needed.
+     */
+    void selectPrettyTab() {
+        tabbedPane.setSelectedComponent(prettyPanel);
+    }
+
+    /**
+     * Viewer of the Pretty tab, or null before the tab is first shown.
+     */
+    TextViewer getPrettyViewer() {
+        return prettyViewer;
+    }
+
+    /**
+     * Show the Tree tab, which starts indexing the body if needed.
+     */
+    void selectTreeTab() {
+        tabbedPane.setSelectedComponent(treeTab);
+    }
+
+    /**
+     * Tree of the Tree tab, or null before the tab is first shown.
+     */
+    JsonTreePanel getTreePanel() {
+        return treePanel;
+    }
+
+    /**
+     * Text of the Raw tab.
+     */
+    String getBodyText() {
+        return bodyViewer.getText();
+    }
+
+    /**
+     * Viewer of the Raw tab.
+     */
+    TextViewer getBodyViewer() {
+        return bodyViewer;
+    }
+
+    /**
+     * Describe the body size, including wire size and ratio for compressed bodies.
+     */
+    static String describeSize(ResponseData responseData) {
+        String size = formatBytes(responseData.getBodyLength());
+        if (responseData.getContentEncoding() == null) {
+            return size;
+        }
+        return String.format("%s (%s %s, %.1fx)", size, formatBytes(responseData.getWireBodyLength()),
+                responseData.getContentEncoding(), responseData.getCompressionRatio());
+    }
+
+    /**
+     * Describe a download in progress: bytes received, out of the expected
+     * length if known, and the transfer rate.
+     */
+    static String describeDownload(long wireBytes, long expectedWireBytes, double bytesPerSecond) {
+        String received = expectedWireBytes > 0
+                ? String.format("%s of %s (%d%%)", formatBytes(wireBytes), formatBytes(expectedWireBytes),
+                        Math.min(100, wireBytes * 100 / expectedWireBytes))
+                : formatBytes(wireBytes);
+        return String.format("Receiving %s at %s/s", received, formatBytes((long) bytesPerSecond));
+    }
+
+    /**
+     * Format a byte count as B, KB, MB or GB.
+     */
+    static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        } else if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        } else if (bytes < 1024L * 1024 * 1024) {
+            return String.format("%.1f MB", bytes / (1024.0 * 1024));
+        }
+        return String.format("%.2f GB", bytes / (1024.0 * 1024 * 1024));
     }
 
     /**
      * Check if the response is likely JSON based on headers.
      */
     private boolean isJsonResponse(ResponseData responseData) {
-        String contentType = responseData.getHeaders().get("Content-Type");
+        String contentType = contentType(responseData);
+        return contentType != null && contentType.contains("application/json");
+    }
+
+    /**
+     * Language to highlight the body as, based on headers.
+     */
+    static SyntaxLexer.Language syntaxOf(ResponseData responseData) {
+        String contentType = contentType(responseData);
         if (contentType == null) {
-            contentType = responseData.getHeaders().get("content-type");
+            return SyntaxLexer.Language.NONE;
+        } else if (contentType.contains("json")) {
+            return SyntaxLexer.Language.JSON;
+        } else if (contentType.contains("xml")) {
+            return SyntaxLexer.Language.XML;
         }
-        return contentType != null && contentType.toLowerCase().contains("application/json");
+        return SyntaxLexer.Language.NONE;
     }
 
     /**
-     * Simple JSON pretty printing (basic implementation).
+     * Lower-case Content-Type header, or null.
      */
-    private String prettyPrintJson(String json) {
-        if (json == null || json.trim().isEmpty()) {
-            return "";
+    private static String contentType(ResponseData responseData) {
+        String contentType = responseData.getHeaders().get("Content-Type");
+        if (contentType == null) {
+            contentType = responseData.getHeaders().get("content-type");
         }
+        return contentType != null ? contentType.toLowerCase() : null;
+    }
 
-        StringBuilder pretty = new StringBuilder();
-        int indent = 0;
-        boolean inString = false;
-        boolean escapeNext = false;
-
-        for (int i = 0; i < json.length(); i++) {
-            char c = json.charAt(i);
+    /**
+     * Pretty print a JSON string in memory; see JsonFormatter.
+     */
+    static String prettyPrintJson(String json) throws IOException {
+        return JsonFormatter.format(json);
+    }
 
-            if (escapeNext) {
-                pretty.append(c);
-                escapeNext = false;
-                continue;
-            }
+    /**
+     * Counts bytes read for progress in percent, and stops with a
+     * CancellationException once the thread is interrupted.
+     */
+    private static class ProgressInputStream extends FilterInputStream {
+        private final long length;
+        private final IntConsumer progress;
+        private long position;
+        private int lastPercent;
 
-            if (c == '\\') {
-                pretty.append(c);
-                escapeNext = true;
-                continue;
-            }
+        ProgressInputStream(InputStream in, long length, IntConsumer progress) {
+            super(in);
+            this.length = length;
+            this.progress = progress;
+        }
 
-            if (c == '"') {
-                inString = !inString;
-                pretty.append(c);
-                continue;
-            }
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
 
-            if (inString) {
-                pretty.append(c);
-                continue;
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Formatting cancelled");
             }
-
-            switch (c) {
-                case '{':
-                case '[':
-                    pretty.append(c);
-                    indent++;
-                    pretty.append('\n');
-                    addIndent(pretty, indent);
-                    break;
-                case '}':
-                case ']':
-                    pretty.append('\n');
-                    indent--;
-                    addIndent(pretty, indent);
-                    pretty.append(c);
-                    break;
-                case ',':
-                    pretty.append(c);
-                    pretty.append('\n');
-                    addIndent(pretty, indent);
-                    break;
-                case ':':
-                    pretty.append(c);
-                    pretty.append(' ');
-                    break;
-                default:
-                    if (!Character.isWhitespace(c)) {
-                        pretty.append(c);
-                    }
-                    break;
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                position += read;
+                int percent = (int) (100L * position / Math.max(1, length));
+                if (progress != null && percent != lastPercent) {
+                    progress.accept(percent);
+                    lastPercent = percent;
+                }
             }
+            return read;
         }
-
-        return pretty.toString();
     }
 
     /**
-     * Add indentation to the string builder.
+     * Writes formatted bytes to the output buffer and passes them on to the
+     * viewer's feed once they can be read back.
      */
-    private void addIndent(StringBuilder sb, int level) {
-        for (int i = 0; i < level * 2; i++) {
-            sb.append(' ');
+    private static class FeedOutputStream extends OutputStream {
+        private final BodyBuffer output;
+        private final TextViewer.Feed feed;
+
+        FeedOutputStream(BodyBuffer output, TextViewer.Feed feed) {
+            this.output = output;
+            this.feed = feed;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Formatting cancelled");
+            }
+            output.write(b, off, len);
+            feed.append(b, off, len);
         }
     }
-}
\ No newline at end of file
+}
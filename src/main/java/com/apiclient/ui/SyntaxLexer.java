@@ -0,0 +1,243 @@
+package com.apiclient.ui;
+
+/**
+ * Row-at-a-time lexer for JSON and XML, used to colour the rows a
+ * TextViewer paints.
+ *
+ * lex(...) marks the token kind of every character of one row, starting in
+ * the state the previous row ended in, and returns the state the row ends
+ * in (inside a string, tag, comment, ...). States are small ints and
+ * INITIAL is the start of a document, so lexing can resume at any row whose
+ * start state was kept. The lexer only colours; it never rejects input.
+ */
+class SyntaxLexer {
+    /** State at the start of a document. */
+    static final int INITIAL = 0;
+
+    static final byte PLAIN = 0;
+    static final byte KEY = 1;
+    static final byte STRING = 2;
+    static final byte NUMBER = 3;
+    static final byte LITERAL = 4;
+    static final byte PUNCTUATION = 5;
+    static final byte TAG = 6;
+    static final byte ATTRIBUTE = 7;
+    static final byte COMMENT = 8;
+
+    // JSON states
+    private static final int JSON_STRING = 1;
+    private static final int JSON_STRING_ESCAPE = 2;
+
+    // XML states
+    private static final int XML_TAG = 1;
+    private static final int XML_DOUBLE_QUOTED = 2;
+    private static final int XML_SINGLE_QUOTED = 3;
+    private static final int XML_COMMENT = 4;
+    private static final int XML_CDATA = 5;
+
+    /**
+     * Languages that can be highlighted.
+     */
+    enum Language {
+        NONE,
+        JSON,
+        XML
+    }
+
+    private SyntaxLexer() {
+    }
+
+    /**
+     * Mark the kind of each character of a row in kinds (at least as long as
+     * the row) and return the state after it.
+     */
+    static int lex(Language language, String row, int state, byte[] kinds) {
+        switch (language) {
+            case JSON:
+                return lexJson(row, state, kinds);
+            case XML:
+                return lexXml(row, state, kinds);
+            default:
+                fill(kinds, 0, row.length(), PLAIN);
+                return INITIAL;
+        }
+    }
+
+    private static int lexJson(String row, int state, byte[] kinds) {
+        int n = row.length();
+        int i = 0;
+        if (state == JSON_STRING || state == JSON_STRING_ESCAPE) {
+            // A string broken over rows; keys are only recognized within a row
+            int end = stringEnd(row, 0, state == JSON_STRING_ESCAPE);
+            fill(kinds, 0, end < 0 ? n : end, STRING);
+            if (end < 0) {
+                return end == -2 ? JSON_STRING_ESCAPE : JSON_STRING;
+            }
+            i = end;
+        }
+        while (i < n) {
+            char c = row.charAt(i);
+            if (c == '"') {
+                int end = stringEnd(row, i + 1, false);
+                if (end < 0) {
+                    fill(kinds, i, n, STRING);
+                    return end == -2 ? JSON_STRING_ESCAPE : JSON_STRING;
+                }
+                int next = end;
+                while (next < n && Character.isWhitespace(row.charAt(next))) {
+                    next++;
+                }
+                fill(kinds, i, end, next < n && row.charAt(next) == ':' ? KEY : STRING);
+                i = end;
+            } else if (c == '-' || (c >= '0' && c <= '9')) {
+                int end = i + 1;
+                while (end < n && isNumberPart(row.charAt(end))) {
+                    end++;
+                }
+                fill(kinds, i, end, NUMBER);
+                i = end;
+            } else if (Character.isLetter(c)) {
+                int end = i + 1;
+                while (end < n && Character.isLetter(row.charAt(end))) {
+                    end++;
+                }
+                String word = row.substring(i, end);
+                boolean literal = word.equals("true") || word.equals("false") || word.equals("null");
+                fill(kinds, i, end, literal ? LITERAL : PLAIN);
+                i = end;
+            } else {
+                boolean punctuation = c == '{' || c == '}' || c == '[' || c == ']' || c == ',' || c == ':';
+                kinds[i++] = punctuation ? PUNCTUATION : PLAIN;
+            }
+        }
+        return INITIAL;
+    }
+
+    /**
+     * Index after the closing quote of a string whose contents start at
+     * from, or -1 if the row ends inside it (-2 right after a backslash).
+     */
+    private static int stringEnd(String row, int from, boolean escaped) {
+        for (int i = from; i < row.length(); i++) {
+            char c = row.charAt(i);
+            if (escaped) {
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                return i + 1;
+            }
+        }
+        return escaped ? -2 : -1;
+    }
+
+    private static boolean isNumberPart(char c) {
+        return (c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-';
+    }
+
+    private static int lexXml(String row, int state, byte[] kinds) {
+        int n = row.length();
+        int i = 0;
+        while (i < n) {
+            switch (state) {
+                case XML_COMMENT:
+                    i = until(row, i, "-->", kinds, COMMENT);
+                    state = i < 0 ? XML_COMMENT : INITIAL;
+                    break;
+                case XML_CDATA:
+                    i = until(row, i, "]]>", kinds, STRING);
+                    state = i < 0 ? XML_CDATA : INITIAL;
+                    break;
+                case XML_DOUBLE_QUOTED:
+                case XML_SINGLE_QUOTED:
+                    i = until(row, i, state == XML_DOUBLE_QUOTED ? "\"" : "'", kinds, STRING);
+                    state = i < 0 ? state : XML_TAG;
+                    break;
+                case XML_TAG:
+                    char t = row.charAt(i);
+                    if (t == '>') {
+                        kinds[i++] = TAG;
+                        state = INITIAL;
+                    } else if ((t == '/' || t == '?') && i + 1 < n && row.charAt(i + 1) == '>') {
+                        fill(kinds, i, i + 2, TAG);
+                        i += 2;
+                        state = INITIAL;
+                    } else if (t == '"' || t == '\'') {
+                        kinds[i++] = STRING;
+                        state = t == '"' ? XML_DOUBLE_QUOTED : XML_SINGLE_QUOTED;
+                    } else if (t == '=') {
+                        kinds[i++] = PUNCTUATION;
+                    } else if (Character.isWhitespace(t)) {
+                        kinds[i++] = PLAIN;
+                    } else {
+                        // At least one character, so a stray '/' cannot stall the loop
+                        int end = Math.max(i + 1, nameEnd(row, i));
+                        fill(kinds, i, end, ATTRIBUTE);
+                        i = end;
+                    }
+                    break;
+                default:
+                    char c = row.charAt(i);
+                    if (row.startsWith("<!--", i)) {
+                        fill(kinds, i, i + 4, COMMENT);
+                        i += 4;
+                        state = XML_COMMENT;
+                    } else if (row.startsWith("<![CDATA[", i)) {
+                        fill(kinds, i, i + 9, TAG);
+                        i += 9;
+                        state = XML_CDATA;
+                    } else if (c == '<') {
+                        int end = i + 1;
+                        if (end < n && (row.charAt(end) == '/' || row.charAt(end) == '?' || row.charAt(end) == '!')) {
+                            end++;
+                        }
+                        end = nameEnd(row, end);
+                        fill(kinds, i, end, TAG);
+                        i = end;
+                        state = XML_TAG;
+                    } else if (c == '&') {
+                        int end = row.indexOf(';', i);
+                        end = end < 0 ? i + 1 : end + 1;
+                        fill(kinds, i, end, LITERAL);
+                        i = end;
+                    } else {
+                        kinds[i++] = PLAIN;
+                    }
+                    break;
+            }
+            if (i < 0) {
+                // The row ended inside a comment, CDATA section or quoted value
+                return state;
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Mark the row from i up to and including the terminator with kind.
+     * Returns the index after the terminator, or -1 if the row ends first.
+     */
+    private static int until(String row, int i, String terminator, byte[] kinds, byte kind) {
+        int at = row.indexOf(terminator, i);
+        int end = at < 0 ? row.length() : at + terminator.length();
+        fill(kinds, i, end, kind);
+        return at < 0 ? -1 : end;
+    }
+
+    private static int nameEnd(String row, int i) {
+        while (i < row.length()) {
+            char c = row.charAt(i);
+            if (Character.isWhitespace(c) || c == '>' || c == '/' || c == '=' || c == '"' || c == '\'') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static void fill(byte[] kinds, int from, int to, byte kind) {
+        for (int i = from; i < to; i++) {
+            kinds[i] = kind;
+        }
+    }
+}
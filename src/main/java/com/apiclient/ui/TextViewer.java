@@ -0,0 +1,575 @@
+package com.apiclient.ui;
+
+import com.apiclient.model.ResponseBody;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Read-only view of a body of any size that only decodes and paints the
+ * rows in the viewport.
+ *
+ * The bytes stay where they are (in memory or in a spill file); a LineIndex
+ * records where every STRIDE-th row starts, and rows are read back and
+ * decoded a block at a time, through a small LRU cache, when they are
+ * painted. Bodies larger than SYNC_INDEX_BYTES are indexed on a background
+ * thread, and bodies still being produced are fed in through a Feed; either
+ * way the view grows as rows are found. Rows are selected with the mouse
+ * and copied with Ctrl+C.
+ *
+ * With a syntax set, painted blocks are coloured by SyntaxLexer. The lexer
+ * state at the start of each block is kept, so a block is lexed from its own
+ * start; when that state is not known yet, lexing begins at most
+ * HIGHLIGHT_MARGIN_BLOCKS blocks earlier (from the document's initial state
+ * if nothing nearer is known), so jumping anywhere in a huge body only lexes
+ * the rows around the viewport.
+ */
+public class TextViewer extends JComponent implements Scrollable {
+    /** Bodies up to this size are indexed on the calling thread. */
+    static final int SYNC_INDEX_BYTES = 1024 * 1024;
+    /** Decoded blocks of LineIndex.STRIDE rows kept for painting. */
+    static final int CACHE_BLOCKS = 32;
+    /** Selections are copied up to this many characters. */
+    static final int MAX_COPY_CHARS = 16 * 1024 * 1024;
+    /** Blocks lexed before a block whose start state is not known yet. */
+    static final int HIGHLIGHT_MARGIN_BLOCKS = 2;
+
+    private static final int INSET = 4;
+    private static final Color SELECTION_COLOR = new Color(184, 207, 229);
+    private static final int INDEX_CHUNK_SIZE = 64 * 1024;
+    private static final long REPAINT_INTERVAL_NANOS = 100_000_000L;
+    // Indexed by SyntaxLexer token kind; null paints in the foreground colour
+    private static final Color[] TOKEN_COLORS = {
+        null,
+        new Color(128, 0, 128),   // KEY
+        new Color(0, 128, 0),     // STRING
+        new Color(0, 0, 200),     // NUMBER
+        new Color(170, 85, 0),    // LITERAL
+        new Color(110, 110, 110), // PUNCTUATION
+        new Color(0, 0, 150),     // TAG
+        new Color(128, 0, 128),   // ATTRIBUTE
+        new Color(128, 128, 128)  // COMMENT
+    };
+
+    private static final ExecutorService INDEXER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "body-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Positional reads over the bytes being viewed.
+     */
+    interface ByteSource {
+        int read(long position, byte[] dst, int off, int len) throws IOException;
+    }
+
+    private final Map<Integer, String[]> blocks = new LinkedHashMap<Integer, String[]>(CACHE_BLOCKS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String[]> eldest) {
+            return size() > CACHE_BLOCKS;
+        }
+    };
+
+    private final Map<Integer, byte[][]> highlights = new LinkedHashMap<Integer, byte[][]>(CACHE_BLOCKS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, byte[][]> eldest) {
+            return size() > CACHE_BLOCKS;
+        }
+    };
+
+    private ByteSource source;
+    private Charset charset = StandardCharsets.UTF_8;
+    private LineIndex index = new LineIndex();
+    // Bumped for every new body, so a background indexer of an old one stops
+    private volatile int generation;
+    private int maxRowChars;
+    private SyntaxLexer.Language syntax = SyntaxLexer.Language.NONE;
+    // Lexer state at the start of each block, or -1 where not known yet
+    private int[] blockStates = {SyntaxLexer.INITIAL};
+    private long anchorRow = -1;
+    private long leadRow = -1;
+
+    public TextViewer() {
+        setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        setBackground(Color.WHITE);
+        setForeground(Color.BLACK);
+        setOpaque(true);
+        setFocusable(true);
+        installSelection();
+        setText("");
+    }
+
+    /**
+     * Show a short text, e.g. a placeholder or an error message.
+     */
+    public void setText(String text) {
+        setBody(ResponseBody.ofString(text));
+    }
+
+    /**
+     * Show a body. Small bodies are indexed straight away; larger ones on a
+     * background thread, with the view growing as rows are found.
+     */
+    public void setBody(ResponseBody body) {
+        Feed feed = beginFeed(body::read, body.getCharset());
+        if (body.length() <= SYNC_INDEX_BYTES) {
+            indexBody(body, feed);
+        } else {
+            INDEXER.execute(() -> indexBody(body, feed));
+        }
+    }
+
+    /**
+     * Show a body that is still being produced. Its bytes are read from the
+     * source once they have been passed to the returned Feed.
+     */
+    Feed beginFeed(ByteSource source, Charset charset) {
+        int current = ++generation;
+        this.source = source;
+        this.charset = charset;
+        index = new LineIndex();
+        blocks.clear();
+        resetHighlights();
+        maxRowChars = 0;
+        anchorRow = -1;
+        leadRow = -1;
+        contentChanged();
+        scrollRectToVisible(new Rectangle(0, 0, 1, 1));
+        return new Feed(index, current);
+    }
+
+    /**
+     * Colour the body as the given language from now on.
+     */
+    void setSyntax(SyntaxLexer.Language syntax) {
+        if (this.syntax != syntax) {
+            this.syntax = syntax;
+            resetHighlights();
+            repaint();
+        }
+    }
+
+    SyntaxLexer.Language getSyntax() {
+        return syntax;
+    }
+
+    /**
+     * Number of rows, including rows found so far in a body still being indexed.
+     */
+    public long getRowCount() {
+        return index.rowCount();
+    }
+
+    /**
+     * Whether the whole body has been indexed.
+     */
+    public boolean isIndexed() {
+        return index.isFinished();
+    }
+
+    /**
+     * Text of one row, or "" if it cannot be read.
+     */
+    String getRow(long row) {
+        String[] block = block((int) (row / LineIndex.STRIDE));
+        int offset = (int) (row % LineIndex.STRIDE);
+        return block != null && offset < block.length ? block[offset] : "";
+    }
+
+    /**
+     * All rows joined by newlines; only meant for small bodies.
+     */
+    String getText() {
+        return rowsText(0, getRowCount() - 1);
+    }
+
+    /**
+     * Rows of the current selection joined by newlines, or "" without one.
+     */
+    String getSelectedText() {
+        if (anchorRow < 0) {
+            return "";
+        }
+        return rowsText(Math.min(anchorRow, leadRow), Math.max(anchorRow, leadRow));
+    }
+
+    int getCachedBlockCount() {
+        return blocks.size();
+    }
+
+    /**
+     * Token kinds of one row, or null without a syntax.
+     */
+    byte[] getRowTokens(long row) {
+        byte[][] kinds = syntax == SyntaxLexer.Language.NONE ? null : highlights((int) (row / LineIndex.STRIDE));
+        int offset = (int) (row % LineIndex.STRIDE);
+        return kinds != null && offset < kinds.length ? kinds[offset] : null;
+    }
+
+    /**
+     * Select all rows.
+     */
+    public void selectAll() {
+        anchorRow = 0;
+        leadRow = getRowCount() - 1;
+        repaint();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        FontMetrics metrics = getFontMetrics(getFont());
+        int columns = Math.max(index.maxRowBytes(), maxRowChars);
+        long width = 2L * INSET + (long) columns * metrics.charWidth('m');
+        // Rows past Integer.MAX_VALUE pixels (over 100 million) cannot be scrolled to
+        long height = 2L * INSET + getRowCount() * metrics.getHeight();
+        return new Dimension((int) Math.min(width, Integer.MAX_VALUE), (int) Math.min(height, Integer.MAX_VALUE));
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        g.setFont(getFont());
+        FontMetrics metrics = g.getFontMetrics();
+        int lineHeight = metrics.getHeight();
+        int charWidth = metrics.charWidth('m');
+        long rows = getRowCount();
+        long first = Math.max(0, (clip.y - INSET) / lineHeight);
+        long last = Math.min(rows - 1, (clip.y + clip.height - INSET) / lineHeight);
+        long selectionStart = anchorRow < 0 ? -1 : Math.min(anchorRow, leadRow);
+        long selectionEnd = anchorRow < 0 ? -1 : Math.max(anchorRow, leadRow);
+        int firstColumn = Math.max(0, (clip.x - INSET) / charWidth - 1);
+        int lastColumn = (clip.x + clip.width - INSET) / charWidth + 2;
+        int widest = maxRowChars;
+
+        for (long row = first; row <= last; row++) {
+            int y = (int) (INSET + row * lineHeight);
+            if (row >= selectionStart && row <= selectionEnd) {
+                g.setColor(SELECTION_COLOR);
+                g.fillRect(clip.x, y, clip.width, lineHeight);
+            }
+            String text = getRow(row);
+            widest = Math.max(widest, text.length());
+            // Monospaced, so only the columns inside the clip need drawing
+            if (firstColumn < text.length()) {
+                int end = Math.min(text.length(), lastColumn);
+                int baseline = y + metrics.getAscent();
+                byte[] kinds = getRowTokens(row);
+                if (kinds == null) {
+                    g.setColor(getForeground());
+                    g.drawString(text.substring(firstColumn, end), INSET + firstColumn * charWidth, baseline);
+                } else {
+                    drawTokens(g, text, kinds, firstColumn, end, charWidth, baseline);
+                }
+            }
+        }
+        if (widest > maxRowChars) {
+            // Tabs or multi-byte text made a row wider than its byte count
+            maxRowChars = widest;
+            revalidate();
+        }
+    }
+
+    /**
+     * Draw columns [from, to) of a row as runs of one token kind each.
+     */
+    private void drawTokens(Graphics g, String text, byte[] kinds, int from, int to, int charWidth, int baseline) {
+        int start = from;
+        while (start < to) {
+            // A row of a block still being fed may have grown since it was lexed
+            byte kind = start < kinds.length ? kinds[start] : SyntaxLexer.PLAIN;
+            int stop = start + 1;
+            while (stop < to && (stop < kinds.length ? kinds[stop] : SyntaxLexer.PLAIN) == kind) {
+                stop++;
+            }
+            Color color = TOKEN_COLORS[kind];
+            g.setColor(color != null ? color : getForeground());
+            g.drawString(text.substring(start, stop), INSET + start * charWidth, baseline);
+            start = stop;
+        }
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return new Dimension(400, 200);
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        FontMetrics metrics = getFontMetrics(getFont());
+        return orientation == SwingConstants.VERTICAL ? metrics.getHeight() : metrics.charWidth('m') * 4;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return getParent() instanceof JViewport && getParent().getWidth() > getPreferredSize().width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return getParent() instanceof JViewport && getParent().getHeight() > getPreferredSize().height;
+    }
+
+    private static void indexBody(ResponseBody body, Feed feed) {
+        try (InputStream in = body.openStream()) {
+            byte[] chunk = new byte[INDEX_CHUNK_SIZE];
+            int read;
+            while (feed.isCurrent() && (read = in.read(chunk)) > 0) {
+                feed.append(chunk, 0, read);
+            }
+        } catch (IOException e) {
+            // Show what could be indexed
+        }
+        feed.finish();
+    }
+
+    private void contentChanged() {
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Decoded rows of a block, read from the source starting at the block's
+     * checkpoint. Blocks that may still grow are not cached.
+     */
+    private String[] block(int block) {
+        String[] rows = blocks.get(block);
+        if (rows != null) {
+            return rows;
+        }
+        // Checked before the range, so a block completed in between is not cached short
+        boolean complete = index.isBlockComplete(block);
+        long[] range = index.blockRange(block);
+        if (range == null) {
+            return null;
+        }
+        byte[] bytes = new byte[(int) (range[1] - range[0])];
+        try {
+            int filled = 0;
+            while (filled < bytes.length) {
+                int read = source.read(range[0] + filled, bytes, filled, bytes.length - filled);
+                if (read <= 0) {
+                    break;
+                }
+                filled += read;
+            }
+        } catch (IOException e) {
+            return new String[] {"(Could not read body: " + e.getMessage() + ")"};
+        }
+        int[] ends = LineIndex.splitRows(bytes, bytes.length, LineIndex.STRIDE);
+        rows = new String[ends.length];
+        int start = 0;
+        for (int i = 0; i < ends.length; i++) {
+            rows[i] = decodeRow(bytes, start, ends[i]);
+            start = ends[i] < bytes.length && bytes[ends[i]] == '\n' ? ends[i] + 1 : ends[i];
+        }
+        if (complete) {
+            blocks.put(block, rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Token kinds of the rows of a block, lexed from the block's start
+     * state, which is found by lexing the blocks before it back to the
+     * nearest known state, or to HIGHLIGHT_MARGIN_BLOCKS back. Like rows,
+     * kinds of a block that may still grow are not cached, and neither is
+     * the state after it.
+     */
+    private byte[][] highlights(int block) {
+        byte[][] kinds = highlights.get(block);
+        if (kinds != null) {
+            return kinds;
+        }
+        int from = block;
+        while (from > 0 && block - from < HIGHLIGHT_MARGIN_BLOCKS && blockState(from) < 0) {
+            from--;
+        }
+        int state = Math.max(SyntaxLexer.INITIAL, blockState(from));
+        for (int b = from; b <= block; b++) {
+            kinds = highlights.get(b);
+            if (kinds != null && b < block) {
+                state = blockState(b + 1);
+                if (state >= 0) {
+                    continue;
+                }
+            }
+            // Checked before the rows are read, as in block(...)
+            boolean complete = index.isBlockComplete(b);
+            String[] rows = block(b);
+            if (rows == null) {
+                return null;
+            }
+            kinds = new byte[rows.length][];
+            for (int i = 0; i < rows.length; i++) {
+                kinds[i] = new byte[rows[i].length()];
+                state = SyntaxLexer.lex(syntax, rows[i], Math.max(SyntaxLexer.INITIAL, state), kinds[i]);
+            }
+            if (complete) {
+                highlights.put(b, kinds);
+                setBlockState(b + 1, state);
+            }
+        }
+        return kinds;
+    }
+
+    private int blockState(int block) {
+        return block < blockStates.length ? blockStates[block] : -1;
+    }
+
+    private void setBlockState(int block, int state) {
+        if (block >= blockStates.length) {
+            int oldLength = blockStates.length;
+            blockStates = Arrays.copyOf(blockStates, Math.max(block + 1, oldLength * 2));
+            Arrays.fill(blockStates, oldLength, blockStates.length, -1);
+        }
+        blockStates[block] = state;
+    }
+
+    private void resetHighlights() {
+        highlights.clear();
+        blockStates = new int[] {SyntaxLexer.INITIAL};
+    }
+
+    private String decodeRow(byte[] bytes, int start, int end) {
+        if (end > start && bytes[end - 1] == '\r') {
+            end--;
+        }
+        String row = new String(bytes, start, end - start, charset);
+        return row.indexOf('\t') < 0 ? row : row.replace("\t", "    ");
+    }
+
+    private String rowsText(long first, long last) {
+        StringBuilder text = new StringBuilder();
+        for (long row = first; row <= last && text.length() < MAX_COPY_CHARS; row++) {
+            if (row > first) {
+                text.append('\n');
+            }
+            text.append(getRow(row));
+        }
+        return text.length() > MAX_COPY_CHARS ? text.substring(0, MAX_COPY_CHARS) : text.toString();
+    }
+
+    private long rowAt(int y) {
+        long row = Math.max(0, (y - INSET) / getFontMetrics(getFont()).getHeight());
+        return Math.min(row, getRowCount() - 1);
+    }
+
+    private void installSelection() {
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                requestFocusInWindow();
+                long row = rowAt(e.getY());
+                if (!e.isShiftDown() || anchorRow < 0) {
+                    anchorRow = row;
+                }
+                leadRow = row;
+                repaint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                leadRow = rowAt(e.getY());
+                scrollRectToVisible(new Rectangle(e.getX(), e.getY(), 1, 1));
+                repaint();
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+
+        int menuMask = GraphicsEnvironment.isHeadless()
+                ? InputEvent.CTRL_DOWN_MASK
+                : Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx();
+        getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_C, menuMask), "copy");
+        getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_A, menuMask), "selectAll");
+        getActionMap().put("copy", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                String selected = getSelectedText();
+                if (!selected.isEmpty()) {
+                    getToolkit().getSystemClipboard().setContents(new StringSelection(selected), null);
+                }
+            }
+        });
+        getActionMap().put("selectAll", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                selectAll();
+            }
+        });
+    }
+
+    /**
+     * Indexes the bytes of a body as they are produced. May be used from any
+     * thread; the view is updated at most every 100 ms, and once more when
+     * the body is finished.
+     */
+    class Feed {
+        private final LineIndex target;
+        private final int feedGeneration;
+        private long lastUpdate = System.nanoTime();
+
+        private Feed(LineIndex target, int feedGeneration) {
+            this.target = target;
+            this.feedGeneration = feedGeneration;
+        }
+
+        /**
+         * Index bytes that the source can now read.
+         */
+        void append(byte[] data, int offset, int count) {
+            target.append(data, offset, count);
+            if (System.nanoTime() - lastUpdate >= REPAINT_INTERVAL_NANOS) {
+                lastUpdate = System.nanoTime();
+                update();
+            }
+        }
+
+        void finish() {
+            target.finish();
+            update();
+        }
+
+        /**
+         * Whether the viewer still shows this body.
+         */
+        boolean isCurrent() {
+            return generation == feedGeneration;
+        }
+
+        private void update() {
+            SwingUtilities.invokeLater(() -> {
+                if (isCurrent()) {
+                    contentChanged();
+                }
+            });
+        }
+    }
+}
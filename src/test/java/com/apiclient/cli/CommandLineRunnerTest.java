@@ -0,0 +1,171 @@
+package com.apiclient.cli;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CommandLineRunner class.
+ */
+class CommandLineRunnerTest {
+
+    private WireMockServer wireMockServer;
+    private ByteArrayOutputStream out;
+    private ByteArrayOutputStream err;
+    private CommandLineRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().port(8080));
+        wireMockServer.start();
+        WireMock.configureFor("localhost", 8080);
+        out = new ByteArrayOutputStream();
+        err = new ByteArrayOutputStream();
+        runner = new CommandLineRunner(new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @Test
+    void testRun_SingleGet_PrintsStatusTimingAndBody() {
+        // Arrange
+        stubFor(get(urlEqualTo("/users/1"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("{\"id\": 1}")));
+
+        // Act
+        int exitCode = runner.run(new String[]{"http://localhost:8080/users/1"});
+
+        // Assert
+        String output = out.toString(StandardCharsets.UTF_8);
+        assertThat(exitCode).isEqualTo(CommandLineRunner.EXIT_OK);
+        assertThat(output).contains("GET http://localhost:8080/users/1 -> 200 OK");
+        assertThat(output).contains("Total ");
+        assertThat(output).contains("{\"id\": 1}");
+    }
+
+    @Test
+    void testRun_PostWithHeadersAndData_SendsRequest() {
+        // Arrange
+        stubFor(post(urlEqualTo("/users"))
+                .willReturn(aResponse()
+                        .withStatus(201)));
+
+        // Act
+        int exitCode = runner.run(new String[]{
+                "-H", "Content-Type: application/json", "--data", "{\"name\": \"test\"}",
+                "post", "http://localhost:8080/users"});
+
+        // Assert
+        assertThat(exitCode).isEqualTo(CommandLineRunner.EXIT_OK);
+        verify(postRequestedFor(urlEqualTo("/users"))
+                .withHeader("Content-Type", equalTo("application/json"))
+                .withRequestBody(equalTo("{\"name\": \"test\"}")));
+    }
+
+    @Test
+    void testRun_ErrorStatus_ReturnsFailureExitCode() {
+        // Arrange
+        stubFor(get(urlEqualTo("/missing"))
+                .willReturn(aResponse()
+                        .withStatus(404)));
+
+        // Act
+        int exitCode = runner.run(new String[]{"--no-body", "GET", "http://localhost:8080/missing"});
+
+        // Assert
+        assertThat(exitCode).isEqualTo(CommandLineRunner.EXIT_REQUEST_FAILED);
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("-> 404 Not Found");
+    }
+
+    @Test
+    void testRun_RequestFile_SendsAllRequestsInOrder(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/health")).willReturn(aResponse().withStatus(200).withBody("up")));
+        stubFor(put(urlEqualTo("/items/1")).willReturn(aResponse().withStatus(204)));
+        Files.write(tempDir.resolve("item.json"), "{\"id\": 1}".getBytes(StandardCharsets.UTF_8));
+        Path requestFile = tempDir.resolve("requests.txt");
+        Files.write(requestFile, String.join("\n",
+                "# smoke checks",
+                "GET http://localhost:8080/health",
+                "",
+                "PUT http://localhost:8080/items/1",
+                "Content-Type: application/json",
+                "< item.json").getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        int exitCode = runner.run(new String[]{"--file", requestFile.toString()});
+
+        // Assert
+        String output = out.toString(StandardCharsets.UTF_8);
+        assertThat(exitCode).isEqualTo(CommandLineRunner.EXIT_OK);
+        assertThat(output.indexOf("GET http://localhost:8080/health -> 200"))
+                .isLessThan(output.indexOf("PUT http://localhost:8080/items/1 -> 204"));
+        verify(putRequestedFor(urlEqualTo("/items/1"))
+                .withHeader("Content-Type", equalTo("application/json"))
+                .withRequestBody(equalTo("{\"id\": 1}")));
+    }
+
+    @Test
+    void testRun_RequestFileWithDependencies_SkipsDependentsOfFailures(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        stubFor(post(urlEqualTo("/login")).willReturn(aResponse().withStatus(500)));
+        stubFor(get(urlEqualTo("/health")).willReturn(aResponse().withStatus(200)));
+        Path requestFile = tempDir.resolve("suite.txt");
+        Files.write(requestFile, String.join("\n",
+                "POST http://localhost:8080/login",
+                "@name login",
+                "",
+                "GET http://localhost:8080/profile",
+                "@depends login",
+                "",
+                "GET http://localhost:8080/health").getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        int exitCode = runner.run(new String[]{"--parallel", "4", "--file", requestFile.toString()});
+
+        // Assert
+        String output = out.toString(StandardCharsets.UTF_8);
+        assertThat(exitCode).isEqualTo(CommandLineRunner.EXIT_REQUEST_FAILED);
+        assertThat(output).contains("GET http://localhost:8080/profile -> SKIPPED");
+        assertThat(output).contains("3 requests: 1 succeeded, 1 failed, 1 skipped");
+        verify(0, getRequestedFor(urlEqualTo("/profile")));
+    }
+
+    @Test
+    void testRun_InvalidArguments_ReturnsUsageExitCode() {
+        // Act
+        int exitCode = runner.run(new String[]{"--unknown"});
+
+        // Assert
+        assertThat(exitCode).isEqualTo(CommandLineRunner.EXIT_USAGE);
+        assertThat(err.toString(StandardCharsets.UTF_8)).contains("Unknown option --unknown").contains("Usage:");
+    }
+
+    @Test
+    void testIsCommandLine_WithoutArguments_ReturnsFalse() {
+        // Assert
+        assertThat(CommandLineRunner.isCommandLine(new String[0])).isFalse();
+        assertThat(CommandLineRunner.isCommandLine(new String[]{"http://localhost"})).isTrue();
+    }
+}
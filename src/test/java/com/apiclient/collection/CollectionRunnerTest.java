@@ -0,0 +1,202 @@
+package com.apiclient.collection;
+
+import com.apiclient.http.HttpRequestService;
+import com.apiclient.model.RequestData;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for CollectionRunner and RequestCollection classes.
+ */
+class CollectionRunnerTest {
+
+    private WireMockServer wireMockServer;
+    private CollectionRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().port(8080));
+        wireMockServer.start();
+        WireMock.configureFor("localhost", 8080);
+        runner = new CollectionRunner(new HttpRequestService());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @Test
+    void testRun_IndependentRequests_RunInParallel() throws Exception {
+        // Arrange
+        stubFor(get(urlPathMatching("/slow/.*"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(300)));
+        RequestCollection collection = new RequestCollection("parallel");
+        for (int i = 0; i < 6; i++) {
+            collection.addEntry("slow-" + i, new RequestData("GET", "http://localhost:8080/slow/" + i));
+        }
+        runner.setMaxConcurrency(6);
+
+        // Act
+        CollectionResult result = runner.run(collection);
+
+        // Assert
+        assertThat(result.isAllSucceeded()).isTrue();
+        assertThat(result.getSerialTimeNanos()).isGreaterThanOrEqualTo(6 * 300_000_000L);
+        assertThat(result.getWallTimeNanos()).isLessThan(result.getSerialTimeNanos() / 2);
+        assertThat(result.getSpeedup()).isGreaterThan(2.0);
+    }
+
+    @Test
+    void testRun_Dependencies_StartAfterTheirPrerequisites() throws Exception {
+        // Arrange
+        stubFor(post(urlEqualTo("/login")).willReturn(aResponse().withStatus(200).withFixedDelay(100)));
+        stubFor(get(urlPathMatching("/items/.*")).willReturn(aResponse().withStatus(200)));
+        RequestCollection collection = new RequestCollection("dependent");
+        collection.addEntry("items-1", new RequestData("GET", "http://localhost:8080/items/1"), "login");
+        collection.addEntry("login", new RequestData("POST", "http://localhost:8080/login"));
+        collection.addEntry("items-2", new RequestData("GET", "http://localhost:8080/items/2"), "login");
+
+        // Act
+        CollectionResult result = runner.run(collection);
+
+        // Assert
+        EntryResult login = result.getEntryResults().get(1);
+        assertThat(login.getId()).isEqualTo("login");
+        for (EntryResult item : List.of(result.getEntryResults().get(0), result.getEntryResults().get(2))) {
+            assertThat(item.isSucceeded()).isTrue();
+            assertThat(item.getStartOffsetNanos())
+                    .isGreaterThanOrEqualTo(login.getStartOffsetNanos() + login.getDurationNanos());
+        }
+    }
+
+    @Test
+    void testRun_FailedDependency_SkipsDependentsTransitively() throws Exception {
+        // Arrange
+        stubFor(post(urlEqualTo("/login")).willReturn(aResponse().withStatus(401)));
+        stubFor(get(urlEqualTo("/health")).willReturn(aResponse().withStatus(200)));
+        RequestCollection collection = new RequestCollection("failing");
+        collection.addEntry("login", new RequestData("POST", "http://localhost:8080/login"));
+        collection.addEntry("profile", new RequestData("GET", "http://localhost:8080/profile"), "login");
+        collection.addEntry("settings", new RequestData("GET", "http://localhost:8080/settings"), "profile");
+        collection.addEntry("health", new RequestData("GET", "http://localhost:8080/health"));
+
+        // Act
+        CollectionResult result = runner.run(collection);
+
+        // Assert
+        List<EntryResult.Outcome> outcomes = result.getEntryResults().stream()
+                .map(EntryResult::getOutcome)
+                .collect(Collectors.toList());
+        assertThat(outcomes).containsExactly(EntryResult.Outcome.FAILED, EntryResult.Outcome.SKIPPED,
+                EntryResult.Outcome.SKIPPED, EntryResult.Outcome.SUCCEEDED);
+        assertThat(result.getEntryResults().get(0).getMessage()).startsWith("401");
+        assertThat(result.isAllSucceeded()).isFalse();
+        verify(0, getRequestedFor(urlEqualTo("/profile")));
+        verify(0, getRequestedFor(urlEqualTo("/settings")));
+    }
+
+    @Test
+    void testRun_ConcurrencyLimitOfOne_RunsSerially() throws Exception {
+        // Arrange
+        stubFor(get(urlPathMatching("/serial/.*")).willReturn(aResponse().withStatus(200).withFixedDelay(50)));
+        RequestCollection collection = new RequestCollection("serial");
+        for (int i = 0; i < 3; i++) {
+            collection.addEntry("serial-" + i, new RequestData("GET", "http://localhost:8080/serial/" + i));
+        }
+        runner.setMaxConcurrency(1);
+
+        // Act
+        CollectionResult result = runner.run(collection);
+
+        // Assert
+        List<EntryResult> entries = result.getEntryResults();
+        for (int i = 1; i < entries.size(); i++) {
+            EntryResult previous = entries.get(i - 1);
+            assertThat(entries.get(i).getStartOffsetNanos())
+                    .isGreaterThanOrEqualTo(previous.getStartOffsetNanos() + previous.getDurationNanos());
+        }
+    }
+
+    @Test
+    void testClose_ReleasesSpilledResponseBodies() throws Exception {
+        // Arrange
+        stubFor(get(urlPathMatching("/large/.*")).willReturn(aResponse().withStatus(200).withBody("x".repeat(4096))));
+        HttpRequestService httpRequestService = new HttpRequestService();
+        httpRequestService.setBodyMemoryLimit(1024);
+        RequestCollection collection = new RequestCollection("large");
+        for (int i = 0; i < 2; i++) {
+            collection.addEntry("large-" + i, new RequestData("GET", "http://localhost:8080/large/" + i));
+        }
+        CollectionResult result = new CollectionRunner(httpRequestService).run(collection);
+        List<Path> spillFiles = result.getEntryResults().stream()
+                .map(entry -> entry.getResponseData().getBodyContent().getSpillFile())
+                .collect(Collectors.toList());
+
+        // Act
+        result.close();
+
+        // Assert
+        assertThat(spillFiles).hasSize(2).doesNotContainNull();
+        assertThat(spillFiles).noneMatch(Files::exists);
+    }
+
+    @Test
+    void testTopologicalOrder_WithCycle_Throws() {
+        // Arrange
+        RequestCollection collection = new RequestCollection("cyclic");
+        collection.addEntry("a", new RequestData("GET", "http://localhost:8080/a"), "c");
+        collection.addEntry("b", new RequestData("GET", "http://localhost:8080/b"), "a");
+        collection.addEntry("c", new RequestData("GET", "http://localhost:8080/c"), "b");
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> runner.run(collection));
+        assertThat(exception.getMessage()).contains("cycle").contains("[a, b, c]");
+    }
+
+    @Test
+    void testTopologicalOrder_WithUnknownDependency_Throws() {
+        // Arrange
+        RequestCollection collection = new RequestCollection("broken");
+        collection.addEntry("a", new RequestData("GET", "http://localhost:8080/a"), "missing");
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                collection::topologicalOrder);
+        assertThat(exception.getMessage()).contains("unknown entry missing");
+    }
+
+    @Test
+    void testTopologicalOrder_PlacesDependenciesFirst() {
+        // Arrange
+        RequestCollection collection = new RequestCollection("ordered");
+        collection.addEntry("c", new RequestData("GET", "http://localhost:8080/c"), "a", "b");
+        collection.addEntry("a", new RequestData("GET", "http://localhost:8080/a"));
+        collection.addEntry("b", new RequestData("GET", "http://localhost:8080/b"), "a");
+
+        // Act
+        List<String> order = collection.topologicalOrder().stream()
+                .map(CollectionEntry::getId)
+                .collect(Collectors.toList());
+
+        // Assert
+        assertThat(order).containsExactly("a", "b", "c");
+    }
+}
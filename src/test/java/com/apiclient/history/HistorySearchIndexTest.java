@@ -0,0 +1,164 @@
+package com.apiclient.history;
+
+import com.apiclient.model.RequestData;
+import com.apiclient.model.ResponseBody;
+import com.apiclient.model.ResponseData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for HistorySearchIndex class.
+ */
+class HistorySearchIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSearch_MatchesUrlHeadersAndBodies() throws Exception {
+        // Arrange
+        try (HistoryStore store = new HistoryStore(tempDir);
+             HistorySearchIndex index = new HistorySearchIndex(store)) {
+            RequestData request = new RequestData("POST", "http://localhost:8080/orders");
+            request.addHeader("X-Tenant", "acme");
+            request.setBody("{\"sku\": \"widget\"}");
+            store.append(request, response(201, "{\"orderId\": 12345}"));
+            store.append(new RequestData("GET", "http://localhost:8080/users/7"), response(200, "{\"name\": \"Ann\"}"));
+
+            // Act
+            index.update();
+
+            // Assert
+            assertThat(urls(index.search("12345", 10))).containsExactly("http://localhost:8080/orders");
+            assertThat(urls(index.search("ACME", 10))).containsExactly("http://localhost:8080/orders");
+            assertThat(urls(index.search("widget", 10))).containsExactly("http://localhost:8080/orders");
+            assertThat(urls(index.search("users", 10))).containsExactly("http://localhost:8080/users/7");
+            assertThat(index.search("missing", 10)).isEmpty();
+        }
+    }
+
+    @Test
+    void testSearch_RequiresAllTermsAndReturnsNewestFirst() throws Exception {
+        // Arrange
+        try (HistoryStore store = new HistoryStore(tempDir);
+             HistorySearchIndex index = new HistorySearchIndex(store)) {
+            store.append(new RequestData("GET", "http://localhost:8080/orders/1"), response(200, "status shipped"));
+            store.append(new RequestData("GET", "http://localhost:8080/orders/2"), response(200, "status pending"));
+            store.append(new RequestData("GET", "http://localhost:8080/orders/3"), response(200, "status shipped"));
+            index.update();
+
+            // Act
+            List<HistoryEntry> results = index.search("orders shipped", 10);
+
+            // Assert
+            assertThat(urls(results)).containsExactly("http://localhost:8080/orders/3", "http://localhost:8080/orders/1");
+            assertThat(index.search("orders", 2)).hasSize(2);
+        }
+    }
+
+    @Test
+    void testSearch_SkipsBinaryBodies() throws Exception {
+        // Arrange
+        try (HistoryStore store = new HistoryStore(tempDir);
+             HistorySearchIndex index = new HistorySearchIndex(store)) {
+            ResponseData image = response(200, "PNGDATA");
+            image.addHeader("Content-Type", "image/png");
+            store.append(new RequestData("GET", "http://localhost:8080/logo"), image);
+            index.update();
+
+            // Act & Assert
+            assertThat(index.search("pngdata", 10)).isEmpty();
+            assertThat(index.search("logo", 10)).hasSize(1);
+        }
+    }
+
+    @Test
+    void testFlushAndMerge_KeepsEveryEntrySearchable() throws Exception {
+        // Arrange
+        int count = HistorySearchIndex.FLUSH_ENTRIES * (HistorySearchIndex.MAX_SEGMENTS + 2) + 5;
+        try (HistoryStore store = new HistoryStore(tempDir);
+             HistorySearchIndex index = new HistorySearchIndex(store)) {
+            for (int i = 0; i < count; i++) {
+                store.append(new RequestData("GET", "http://localhost:8080/items/" + i), response(200, "item"));
+            }
+
+            // Act
+            index.update();
+
+            // Assert
+            assertThat(index.getSegmentCount()).isLessThanOrEqualTo(HistorySearchIndex.MAX_SEGMENTS);
+            assertThat(index.getIndexedEntries()).isEqualTo(count);
+            assertThat(index.search("item", Integer.MAX_VALUE)).hasSize(count);
+            assertThat(urls(index.search("4321", 10))).containsExactly("http://localhost:8080/items/4321");
+        }
+    }
+
+    @Test
+    void testReopen_IndexesOnlyEntriesNotInSegments() throws Exception {
+        // Arrange
+        try (HistoryStore store = new HistoryStore(tempDir);
+             HistorySearchIndex index = new HistorySearchIndex(store)) {
+            store.append(new RequestData("GET", "http://localhost:8080/before"), response(200, "alpha"));
+            index.update();
+        }
+        try (HistoryStore store = new HistoryStore(tempDir)) {
+            // Appended while no index was open
+            store.append(new RequestData("GET", "http://localhost:8080/after"), response(200, "alpha"));
+        }
+
+        // Act
+        try (HistoryStore store = new HistoryStore(tempDir);
+             HistorySearchIndex index = new HistorySearchIndex(store)) {
+            // Assert
+            assertThat(index.getIndexedEntries()).isEqualTo(2);
+            assertThat(urls(index.search("alpha", 10)))
+                    .containsExactly("http://localhost:8080/after", "http://localhost:8080/before");
+        }
+    }
+
+    @Test
+    void testOpen_DropsSegmentsBeyondStore() throws Exception {
+        // Arrange
+        try (HistoryStore store = new HistoryStore(tempDir);
+             HistorySearchIndex index = new HistorySearchIndex(store)) {
+            store.append(new RequestData("GET", "http://localhost:8080/kept"), response(200, "beta"));
+            index.update();
+        }
+        // A history reset under an existing index
+        Files.delete(tempDir.resolve(HistoryStore.LOG_FILE));
+        Files.delete(tempDir.resolve(HistoryStore.INDEX_FILE));
+
+        // Act
+        try (HistoryStore store = new HistoryStore(tempDir);
+             HistorySearchIndex index = new HistorySearchIndex(store)) {
+            // Assert
+            assertThat(index.getIndexedEntries()).isZero();
+            assertThat(index.search("beta", 10)).isEmpty();
+            try (Stream<Path> files = Files.list(tempDir.resolve(HistorySearchIndex.DIRECTORY))) {
+                assertThat(files.count()).isZero();
+            }
+        }
+    }
+
+    private static List<String> urls(List<HistoryEntry> entries) throws Exception {
+        List<String> urls = new ArrayList<>();
+        for (HistoryEntry entry : entries) {
+            urls.add(entry.getUrl());
+        }
+        return urls;
+    }
+
+    private static ResponseData response(int statusCode, String body) {
+        ResponseData response = new ResponseData(statusCode, "OK");
+        response.setBodyContent(ResponseBody.ofString(body));
+        return response;
+    }
+}
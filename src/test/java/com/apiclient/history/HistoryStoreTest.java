@@ -0,0 +1,262 @@
+package com.apiclient.history;
+
+import com.apiclient.model.BodyBuffer;
+import com.apiclient.model.RequestData;
+import com.apiclient.model.ResponseBody;
+import com.apiclient.model.ResponseData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for HistoryStore and HistoryEntry classes.
+ */
+class HistoryStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAppend_ThenGet_RestoresRequestAndResponse() throws Exception {
+        // Arrange
+        RequestData request = new RequestData("POST", "http://localhost:8080/users");
+        request.addHeader("Content-Type", "application/json");
+        request.setBody("{\"name\": \"Ann\"}");
+        ResponseData response = response(201, "Created", "{\"id\": 7}");
+        response.addHeader("Location", "/users/7");
+        response.setResponseTimeMs(42);
+
+        try (HistoryStore store = new HistoryStore(tempDir)) {
+            // Act
+            long index = store.append(request, response);
+            HistoryEntry entry = store.get(index);
+
+            // Assert
+            assertThat(index).isZero();
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(entry.getStatusCode()).isEqualTo(201);
+            assertThat(entry.getResponseTimeMs()).isEqualTo(42);
+            assertThat(entry.getMethod()).isEqualTo("POST");
+            assertThat(entry.getUrl()).isEqualTo("http://localhost:8080/users");
+
+            RequestData restoredRequest = entry.toRequestData();
+            assertThat(restoredRequest.getHeaders()).containsEntry("Content-Type", "application/json");
+            assertThat(restoredRequest.getBody()).isEqualTo("{\"name\": \"Ann\"}");
+
+            ResponseData restoredResponse = entry.toResponseData();
+            assertThat(restoredResponse.getStatusText()).isEqualTo("Created");
+            assertThat(restoredResponse.getHeaders()).containsEntry("Location", "/users/7");
+            assertThat(restoredResponse.getBody()).isEqualTo("{\"id\": 7}");
+        }
+    }
+
+    @Test
+    void testReopen_KeepsEntriesInOrder() throws Exception {
+        // Arrange
+        try (HistoryStore store = new HistoryStore(tempDir)) {
+            for (int i = 0; i < 100; i++) {
+                store.append(new RequestData("GET", "http://localhost:8080/items/" + i), response(200, "OK", "item " + i));
+            }
+        }
+
+        // Act
+        try (HistoryStore store = new HistoryStore(tempDir)) {
+            // Assert
+            assertThat(store.size()).isEqualTo(100);
+            assertThat(store.get(0).getUrl()).isEqualTo("http://localhost:8080/items/0");
+            assertThat(store.get(99).getUrl()).isEqualTo("http://localhost:8080/items/99");
+            assertThat(store.get(57).toResponseData().getBody()).isEqualTo("item 57");
+
+            store.append(new RequestData("GET", "http://localhost:8080/items/100"), response(200, "OK", "item 100"));
+            assertThat(store.get(100).toResponseData().getBody()).isEqualTo("item 100");
+        }
+    }
+
+    @Test
+    void testOpenResponseBody_StreamsLargeBodyFromLog() throws Exception {
+        // Arrange
+        byte[] bytes = new byte[3 * 1024 * 1024];
+        Arrays.fill(bytes, (byte) 'x');
+        bytes[bytes.length - 1] = 'y';
+        BodyBuffer buffer = new BodyBuffer(1024);
+        buffer.write(bytes, 0, bytes.length);
+        ResponseBody body = buffer.toResponseBody(StandardCharsets.UTF_8);
+        ResponseData response = new ResponseData(200, "OK");
+        response.setBodyContent(body);
+
+        try (HistoryStore store = new HistoryStore(tempDir)) {
+            // Act
+            store.append(new RequestData("GET", "http://localhost:8080/large"), response);
+            HistoryEntry entry = store.get(0);
+
+            // Assert
+            assertThat(entry.getResponseBodyLength()).isEqualTo(bytes.length);
+            try (InputStream in = entry.openResponseBody()) {
+                assertThat(in.readAllBytes()).isEqualTo(bytes);
+            }
+            ResponseBody restored = entry.toResponseData().getBodyContent();
+            assertThat(restored.isSpilled()).isTrue();
+            assertThat(restored.length()).isEqualTo(bytes.length);
+            restored.close();
+        } finally {
+            body.close();
+        }
+    }
+
+    @Test
+    void testRequestWithBodyFile_StoresPathOnly(@TempDir Path bodyDir) throws Exception {
+        // Arrange
+        Path bodyFile = Files.write(bodyDir.resolve("upload.json"), "{\"big\": true}".getBytes(StandardCharsets.UTF_8));
+        RequestData request = new RequestData("PUT", "http://localhost:8080/upload");
+        request.setBodyFile(bodyFile);
+
+        try (HistoryStore store = new HistoryStore(tempDir)) {
+            // Act
+            store.append(request, response(204, "No Content", ""));
+            HistoryEntry entry = store.get(0);
+
+            // Assert
+            assertThat(entry.getRequestBodyLength()).isZero();
+            assertThat(entry.toRequestData().getBodyFile()).isEqualTo(bodyFile.toAbsolutePath());
+        }
+    }
+
+    @Test
+    void testOpen_AfterInterruptedAppend_DropsIncompleteEntry() throws Exception {
+        // Arrange
+        try (HistoryStore store = new HistoryStore(tempDir)) {
+            store.append(new RequestData("GET", "http://localhost:8080/first"), response(200, "OK", "first"));
+            store.append(new RequestData("GET", "http://localhost:8080/second"), response(200, "OK", "second body"));
+        }
+        // Simulate a crash that lost the tail of the log after the index was written
+        try (FileChannel log = FileChannel.open(tempDir.resolve(HistoryStore.LOG_FILE), StandardOpenOption.WRITE)) {
+            log.truncate(log.size() - 4);
+        }
+
+        // Act
+        try (HistoryStore store = new HistoryStore(tempDir)) {
+            // Assert
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(store.get(0).toResponseData().getBody()).isEqualTo("first");
+
+            store.append(new RequestData("GET", "http://localhost:8080/third"), response(200, "OK", "third"));
+            assertThat(store.get(1).getUrl()).isEqualTo("http://localhost:8080/third");
+            assertThat(store.get(1).toResponseData().getBody()).isEqualTo("third");
+        }
+    }
+
+    @Test
+    void testOpen_WithPartialIndexRecord_TruncatesIt() throws Exception {
+        // Arrange
+        try (HistoryStore store = new HistoryStore(tempDir)) {
+            store.append(new RequestData("GET", "http://localhost:8080/only"), response(200, "OK", "only"));
+        }
+        try (FileChannel index = FileChannel.open(tempDir.resolve(HistoryStore.INDEX_FILE), StandardOpenOption.WRITE)) {
+            index.write(ByteBuffer.wrap(new byte[HistoryStore.RECORD_SIZE / 2]), index.size());
+        }
+
+        // Act
+        try (HistoryStore store = new HistoryStore(tempDir)) {
+            // Assert
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(Files.size(tempDir.resolve(HistoryStore.INDEX_FILE))).isEqualTo(16 + HistoryStore.RECORD_SIZE);
+        }
+    }
+
+    @Test
+    void testOpen_ForeignFile_Throws() throws Exception {
+        // Arrange
+        Files.write(tempDir.resolve(HistoryStore.LOG_FILE), "not a history log".getBytes(StandardCharsets.UTF_8));
+        Files.write(tempDir.resolve(HistoryStore.INDEX_FILE), "not a history index".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertThatThrownBy(() -> new HistoryStore(tempDir))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("not a history file");
+    }
+
+    @Test
+    void testAppend_CredentialHeaders_AreRedacted() throws Exception {
+        // Arrange
+        RequestData request = new RequestData("GET", "http://localhost:8080/me");
+        request.addHeader("Authorization", "Bearer secret-token");
+        request.addHeader("cookie", "session=secret-session");
+        request.addHeader("Accept", "application/json");
+        ResponseData response = response(200, "OK", "{}");
+        response.addHeader("Set-Cookie", "session=secret-session");
+
+        try (HistoryStore store = new HistoryStore(tempDir)) {
+            // Act
+            HistoryEntry entry = store.get(store.append(request, response));
+
+            // Assert
+            assertThat(entry.toRequestData().getHeaders())
+                    .containsEntry("Authorization", HistoryEntry.REDACTED)
+                    .containsEntry("cookie", HistoryEntry.REDACTED)
+                    .containsEntry("Accept", "application/json");
+            assertThat(entry.toResponseData().getHeaders()).containsEntry("Set-Cookie", HistoryEntry.REDACTED);
+        }
+        String log = new String(Files.readAllBytes(tempDir.resolve(HistoryStore.LOG_FILE)), StandardCharsets.UTF_8);
+        assertThat(log).doesNotContain("secret");
+    }
+
+    @Test
+    void testOpen_CreatesFilesReadableByOwnerOnly() throws Exception {
+        // Arrange
+        assumeTrue(Files.getFileStore(tempDir).supportsFileAttributeView(PosixFileAttributeView.class));
+        Path directory = tempDir.resolve("history");
+
+        // Act
+        new HistoryStore(directory).close();
+
+        // Assert
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(directory))).isEqualTo("rwx------");
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(directory.resolve(HistoryStore.LOG_FILE))))
+                .isEqualTo("rw-------");
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(directory.resolve(HistoryStore.INDEX_FILE))))
+                .isEqualTo("rw-------");
+    }
+
+    @Test
+    void testOpen_WhileOpenElsewhere_Throws() throws Exception {
+        // Arrange
+        try (HistoryStore store = new HistoryStore(tempDir)) {
+            // Act & Assert
+            assertThatThrownBy(() -> new HistoryStore(tempDir))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("in use");
+        }
+        // Closing releases the lock
+        new HistoryStore(tempDir).close();
+    }
+
+    @Test
+    void testGet_OutOfRange_Throws() throws Exception {
+        // Arrange
+        try (HistoryStore store = new HistoryStore(tempDir)) {
+            // Act & Assert
+            assertThatThrownBy(() -> store.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+
+    private static ResponseData response(int statusCode, String statusText, String body) {
+        ResponseData response = new ResponseData(statusCode, statusText);
+        response.setBodyContent(ResponseBody.ofString(body));
+        return response;
+    }
+}
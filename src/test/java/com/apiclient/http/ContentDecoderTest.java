@@ -0,0 +1,192 @@
+package com.apiclient.http;
+
+import com.apiclient.model.BodyBuffer;
+import com.apiclient.model.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for ContentDecoder class.
+ */
+class ContentDecoderTest {
+
+    private static final String JSON = "{\"items\": [" + "{\"id\": 1, \"name\": \"item\"},".repeat(2000) + "{}]}";
+
+    @Test
+    void testGzip_InSingleBuffer_DecodesBody() throws Exception {
+        // Arrange
+        byte[] compressed = gzip(JSON.getBytes(StandardCharsets.UTF_8));
+        ContentDecoder decoder = ContentDecoder.forEncoding("gzip");
+
+        // Act
+        ResponseBody body = decode(decoder, compressed, compressed.length);
+
+        // Assert
+        assertThat(body.asString()).isEqualTo(JSON);
+        assertThat(decoder.getWireBytes()).isEqualTo(compressed.length);
+        assertThat(decoder.getDecodedBytes()).isEqualTo(JSON.length());
+    }
+
+    @Test
+    void testGzip_SplitIntoSingleBytes_DecodesBody() throws Exception {
+        // Arrange - header, body and trailer all cross buffer boundaries
+        byte[] compressed = gzip(JSON.getBytes(StandardCharsets.UTF_8));
+        ContentDecoder decoder = ContentDecoder.forEncoding("x-gzip");
+
+        // Act
+        ResponseBody body = decode(decoder, compressed, 1);
+
+        // Assert
+        assertThat(body.asString()).isEqualTo(JSON);
+    }
+
+    @Test
+    void testGzip_WithOptionalHeaderFields_DecodesBody() throws Exception {
+        // Arrange - FEXTRA, FNAME and FCOMMENT set, followed by a raw deflate stream
+        byte[] deflated = rawDeflate("hello".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[]{0x1F, (byte) 0x8B, 8, 0x04 | 0x08 | 0x10, 0, 0, 0, 0, 0, (byte) 0xFF});
+        out.write(new byte[]{3, 0, 'a', 'b', 'c'});
+        out.write("name.json\0".getBytes(StandardCharsets.ISO_8859_1));
+        out.write("comment\0".getBytes(StandardCharsets.ISO_8859_1));
+        out.write(deflated);
+        CRC32 crc = new CRC32();
+        crc.update("hello".getBytes(StandardCharsets.UTF_8));
+        writeInt(out, crc.getValue());
+        writeInt(out, 5);
+        byte[] compressed = out.toByteArray();
+
+        // Act
+        ResponseBody body = decode(ContentDecoder.forEncoding("gzip"), compressed, 3);
+
+        // Assert
+        assertThat(body.asString()).isEqualTo("hello");
+    }
+
+    @Test
+    void testGzip_ConcatenatedMembers_DecodesAll() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(gzip("first,".getBytes(StandardCharsets.UTF_8)));
+        out.write(gzip("second".getBytes(StandardCharsets.UTF_8)));
+        byte[] compressed = out.toByteArray();
+
+        // Act
+        ResponseBody body = decode(ContentDecoder.forEncoding("gzip"), compressed, 7);
+
+        // Assert
+        assertThat(body.asString()).isEqualTo("first,second");
+    }
+
+    @Test
+    void testGzip_CorruptedTrailer_Fails() throws Exception {
+        // Arrange
+        byte[] compressed = gzip(JSON.getBytes(StandardCharsets.UTF_8));
+        compressed[compressed.length - 8] ^= 0x01;
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class,
+                () -> decode(ContentDecoder.forEncoding("gzip"), compressed, 512));
+        assertThat(exception.getMessage()).contains("CRC mismatch");
+    }
+
+    @Test
+    void testGzip_Truncated_Fails() throws Exception {
+        // Arrange
+        byte[] full = gzip(JSON.getBytes(StandardCharsets.UTF_8));
+        byte[] truncated = Arrays.copyOf(full, full.length / 2);
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class,
+                () -> decode(ContentDecoder.forEncoding("gzip"), truncated, 512));
+        assertThat(exception.getMessage()).contains("Truncated gzip body");
+    }
+
+    @Test
+    void testDeflate_ZlibWrapped_DecodesBody() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(JSON.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Act
+        ResponseBody body = decode(ContentDecoder.forEncoding("deflate"), out.toByteArray(), 1);
+
+        // Assert
+        assertThat(body.asString()).isEqualTo(JSON);
+    }
+
+    @Test
+    void testDeflate_Raw_DecodesBody() throws Exception {
+        // Arrange
+        byte[] compressed = rawDeflate(JSON.getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        ResponseBody body = decode(ContentDecoder.forEncoding("Deflate"), compressed, 100);
+
+        // Assert
+        assertThat(body.asString()).isEqualTo(JSON);
+    }
+
+    @Test
+    void testEmptyBody_DecodesToEmpty() throws Exception {
+        // Act
+        ResponseBody body = decode(ContentDecoder.forEncoding("gzip"), new byte[0], 1);
+
+        // Assert
+        assertThat(body.length()).isZero();
+    }
+
+    @Test
+    void testForEncoding_UnsupportedOrIdentity_ReturnsNull() {
+        // Assert
+        assertThat(ContentDecoder.forEncoding(null)).isNull();
+        assertThat(ContentDecoder.forEncoding("identity")).isNull();
+        assertThat(ContentDecoder.forEncoding("br")).isNull();
+    }
+
+    private static ResponseBody decode(ContentDecoder decoder, byte[] compressed, int chunkSize) throws IOException {
+        BodyBuffer output = new BodyBuffer(1024 * 1024);
+        for (int offset = 0; offset < compressed.length; offset += chunkSize) {
+            int length = Math.min(chunkSize, compressed.length - offset);
+            decoder.decode(ByteBuffer.wrap(compressed, offset, length), output);
+        }
+        decoder.finish();
+        return output.toResponseBody(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] rawDeflate(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out, new Deflater(Deflater.DEFAULT_COMPRESSION, true))) {
+            deflater.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, long value) {
+        for (int i = 0; i < 4; i++) {
+            out.write((int) (value >>> (8 * i)) & 0xFF);
+        }
+    }
+}
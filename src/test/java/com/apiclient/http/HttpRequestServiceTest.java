@@ -1,16 +1,29 @@
 package com.apiclient.http;
 
 import com.apiclient.model.RequestData;
+import com.apiclient.model.RequestTiming;
+import com.apiclient.model.ResponseBody;
 import com.apiclient.model.ResponseData;
+import com.apiclient.model.ResponseDownload;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -231,6 +244,101 @@ class HttpRequestServiceTest {
         assertThat(response.isSuccess()).isTrue();
     }
 
+    @Test
+    void testAsyncRequest_WithDownloadListener_ExposesBodyWhileReceived() throws Exception {
+        // Arrange
+        StringBuilder largeBody = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            largeBody.append("line ").append(i).append('\n');
+        }
+        stubFor(get(urlEqualTo("/download"))
+                .willReturn(aResponse()
+                        .withStatus(201)
+                        .withHeader("Content-Type", "text/plain")
+                        .withBody(largeBody.toString())));
+        httpRequestService.setBodyMemoryLimit(1024);
+        httpRequestService.setCompressionEnabled(false);
+        List<ResponseDownload> downloads = new ArrayList<>();
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/download");
+
+        // Act
+        ResponseData response = httpRequestService.executeRequestAsync(requestData, downloads::add).get();
+
+        // Assert
+        assertThat(downloads).hasSize(1);
+        ResponseDownload download = downloads.get(0);
+        assertThat(download.getHead().getStatusCode()).isEqualTo(201);
+        assertThat(download.getHead().getStatusText()).isEqualTo("Created");
+        assertThat(download.getHead().getHeaders()).containsEntry("content-type", "text/plain");
+        assertThat(download.getReceivedBytes()).isEqualTo(largeBody.length());
+        assertThat(download.getWireBytes()).isEqualTo(largeBody.length());
+        byte[] tail = new byte[9];
+        assertThat(download.read(largeBody.length() - 9, tail, 0, 9)).isEqualTo(9);
+        assertThat(new String(tail, StandardCharsets.UTF_8)).isEqualTo("line 999\n");
+        assertThat(response.getBody()).isEqualTo(largeBody.toString());
+        response.getBodyContent().close();
+    }
+
+    @Test
+    void testAsyncRequest_ManyConcurrentRequests_DoNotBlockExecutorThreads() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/async-slow"))
+                .willReturn(aResponse()
+                        .withFixedDelay(300)
+                        .withStatus(200)));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        HttpRequestService service = new HttpRequestService(executor);
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/async-slow");
+
+        try {
+            // Act - a blocking implementation would need 8 x 300 ms on one thread
+            long startTime = System.currentTimeMillis();
+            List<CompletableFuture<ResponseData>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(service.executeRequestAsync(requestData));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+            long elapsed = System.currentTimeMillis() - startTime;
+
+            // Assert
+            for (CompletableFuture<ResponseData> future : futures) {
+                assertThat(future.get().getStatusCode()).isEqualTo(200);
+            }
+            assertThat(elapsed).isLessThan(1500L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRequest_WithLargeBody_SpillsToDisk() throws Exception {
+        // Arrange
+        StringBuilder largeBody = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            largeBody.append("line ").append(i).append('\n');
+        }
+        stubFor(get(urlEqualTo("/large-spill"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "text/plain; charset=utf-8")
+                        .withBody(largeBody.toString())));
+
+        httpRequestService.setBodyMemoryLimit(1024);
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/large-spill");
+
+        // Act
+        ResponseData response = httpRequestService.executeRequest(requestData);
+
+        // Assert
+        ResponseBody body = response.getBodyContent();
+        assertThat(body.isSpilled()).isTrue();
+        assertThat(body.length()).isEqualTo(largeBody.length());
+        assertThat(new String(body.slice(0, 7), StandardCharsets.UTF_8)).isEqualTo("line 0\n");
+        assertThat(response.getBody()).isEqualTo(largeBody.toString());
+        body.close();
+    }
+
     @Test
     void testRequest_WithoutDefaultUserAgent_AddsUserAgentHeader() throws Exception {
         // Arrange
@@ -331,6 +439,31 @@ class HttpRequestServiceTest {
         assertThat(response.getResponseTimeMs()).isBetween(90L, 200L); // Allow some variance
     }
 
+    @Test
+    void testRequest_TimingBreakdownSeparatesServerAndTransferTime() throws Exception {
+        // Arrange - 100 ms before headers, then the body dribbles in over 200 ms
+        stubFor(get(urlEqualTo("/phased"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(100)
+                        .withBody("0123456789012345678901234567890123456789")
+                        .withChunkedDribbleDelay(5, 200)));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/phased");
+
+        // Act
+        ResponseData response = httpRequestService.executeRequest(requestData);
+
+        // Assert
+        RequestTiming timing = response.getTiming();
+        assertThat(timing).isNotNull();
+        assertThat(timing.getTimeToFirstByteNanos()).isGreaterThanOrEqualTo(90_000_000L);
+        assertThat(timing.getDownloadNanos()).isGreaterThanOrEqualTo(100_000_000L);
+        assertThat(timing.getBuildNanos() + timing.getTimeToFirstByteNanos()
+                + timing.getDownloadNanos() + timing.getQueueNanos()).isEqualTo(timing.getTotalNanos());
+        assertThat(response.getResponseTimeMs()).isEqualTo(Math.round(timing.getTotalNanos() / 1_000_000.0));
+    }
+
     @Test
     void testPostRequest_WithoutBody_SendsEmptyBody() throws Exception {
         // Arrange
@@ -352,6 +485,99 @@ class HttpRequestServiceTest {
                 .withRequestBody(equalTo("")));
     }
 
+    @Test
+    void testPostRequest_WithBodyFile_StreamsFileContent(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        stubFor(post(urlEqualTo("/upload"))
+                .willReturn(aResponse()
+                        .withStatus(201)));
+
+        byte[] content = new byte[256 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) ('a' + i % 26);
+        }
+        Path bodyFile = tempDir.resolve("upload.bin");
+        Files.write(bodyFile, content);
+
+        RequestData requestData = new RequestData("POST", "http://localhost:8080/upload");
+        requestData.setBody("ignored when a body file is set");
+        requestData.setBodyFile(bodyFile);
+
+        // Act
+        ResponseData response = httpRequestService.executeRequest(requestData);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(201);
+        verify(postRequestedFor(urlEqualTo("/upload"))
+                .withHeader("Content-Length", equalTo(String.valueOf(content.length)))
+                .withRequestBody(binaryEqualTo(content)));
+    }
+
+    @Test
+    void testAsyncRequest_WithMissingBodyFile_CompletesExceptionally(@TempDir Path tempDir) {
+        // Arrange
+        RequestData requestData = new RequestData("PUT", "http://localhost:8080/upload");
+        requestData.setBodyFile(tempDir.resolve("missing.bin"));
+
+        // Act
+        CompletableFuture<ResponseData> future = httpRequestService.executeRequestAsync(requestData);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertThat(exception.getCause().getMessage()).contains("Body file not found");
+    }
+
+    @Test
+    void testRequest_WithGzipResponse_DecodesBodyAndRecordsWireSize() throws Exception {
+        // Arrange
+        String json = "{\"items\": [" + "{\"id\": 1},".repeat(1000) + "{}]}";
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        stubFor(get(urlEqualTo("/compressed"))
+                .withHeader("Accept-Encoding", containing("gzip"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("Content-Encoding", "gzip")
+                        .withBody(compressed.toByteArray())));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/compressed");
+
+        // Act
+        ResponseData response = httpRequestService.executeRequest(requestData);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(json);
+        assertThat(response.getContentEncoding()).isEqualTo("gzip");
+        assertThat(response.getWireBodyLength()).isEqualTo(compressed.size());
+        assertThat(response.getBodyLength()).isEqualTo(json.length());
+        assertThat(response.getCompressionRatio()).isGreaterThan(10.0);
+    }
+
+    @Test
+    void testRequest_WithCompressionDisabled_DoesNotNegotiateEncoding() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/plain"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("plain")));
+        httpRequestService.setCompressionEnabled(false);
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/plain");
+
+        // Act
+        ResponseData response = httpRequestService.executeRequest(requestData);
+
+        // Assert
+        assertThat(response.getBody()).isEqualTo("plain");
+        assertThat(response.getContentEncoding()).isNull();
+        assertThat(response.getWireBodyLength()).isEqualTo(5);
+        verify(getRequestedFor(urlEqualTo("/plain")).withoutHeader("Accept-Encoding"));
+    }
+
     @Test
     void testRequest_WithUrlContainingSpecialCharacters_WorksCorrectly() throws Exception {
         // Arrange
@@ -0,0 +1,204 @@
+package com.apiclient.http;
+
+import com.apiclient.model.RequestData;
+import com.apiclient.model.ResponseData;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for HttpResponseCache class.
+ */
+class HttpResponseCacheTest {
+
+    private WireMockServer wireMockServer;
+    private HttpRequestService httpRequestService;
+    private HttpResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().port(8080));
+        wireMockServer.start();
+        WireMock.configureFor("localhost", 8080);
+        cache = new HttpResponseCache(1024 * 1024);
+        httpRequestService = new HttpRequestService();
+        httpRequestService.setResponseCache(cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @Test
+    void testFreshResponse_IsServedFromCache() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/fresh"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Cache-Control", "max-age=60")
+                        .withBody("cached body")));
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/fresh");
+
+        // Act
+        ResponseData first = httpRequestService.executeRequest(requestData);
+        ResponseData second = httpRequestService.executeRequest(requestData);
+
+        // Assert
+        assertThat(first.isFromCache()).isFalse();
+        assertThat(second.isFromCache()).isTrue();
+        assertThat(second.getStatusCode()).isEqualTo(200);
+        assertThat(second.getBody()).isEqualTo("cached body");
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        verify(1, getRequestedFor(urlEqualTo("/fresh")));
+    }
+
+    @Test
+    void testStaleResponseWithEtag_IsRevalidated() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/etag"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Cache-Control", "no-cache")
+                        .withHeader("ETag", "\"v1\"")
+                        .withBody("versioned body")));
+        stubFor(get(urlEqualTo("/etag"))
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse()
+                        .withStatus(304)
+                        .withHeader("ETag", "\"v1\"")));
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/etag");
+
+        // Act
+        httpRequestService.executeRequest(requestData);
+        ResponseData revalidated = httpRequestService.executeRequest(requestData);
+
+        // Assert
+        assertThat(revalidated.getStatusCode()).isEqualTo(200);
+        assertThat(revalidated.getBody()).isEqualTo("versioned body");
+        assertThat(revalidated.isFromCache()).isTrue();
+        assertThat(cache.getRevalidationCount()).isEqualTo(1);
+        verify(2, getRequestedFor(urlEqualTo("/etag")));
+        verify(1, getRequestedFor(urlEqualTo("/etag")).withHeader("If-None-Match", equalTo("\"v1\"")));
+    }
+
+    @Test
+    void testAsyncRequest_UsesCache() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/async"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Cache-Control", "max-age=60")
+                        .withBody("async body")));
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/async");
+
+        // Act
+        httpRequestService.executeRequestAsync(requestData).get();
+        ResponseData second = httpRequestService.executeRequestAsync(requestData).get();
+
+        // Assert
+        assertThat(second.isFromCache()).isTrue();
+        assertThat(second.getBody()).isEqualTo("async body");
+        verify(1, getRequestedFor(urlEqualTo("/async")));
+    }
+
+    @Test
+    void testVaryMismatch_IsNotServedFromCache() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/vary"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Cache-Control", "max-age=60")
+                        .withHeader("Vary", "Accept")
+                        .withBody("{}")));
+        RequestData json = new RequestData("GET", "http://localhost:8080/vary");
+        json.addHeader("Accept", "application/json");
+        RequestData xml = new RequestData("GET", "http://localhost:8080/vary");
+        xml.addHeader("Accept", "application/xml");
+
+        // Act
+        httpRequestService.executeRequest(json);
+        ResponseData response = httpRequestService.executeRequest(xml);
+
+        // Assert
+        assertThat(response.isFromCache()).isFalse();
+        verify(2, getRequestedFor(urlEqualTo("/vary")));
+    }
+
+    @Test
+    void testNoStoreResponse_IsNotCached() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/private"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Cache-Control", "no-store, max-age=60")
+                        .withBody("secret")));
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/private");
+
+        // Act
+        httpRequestService.executeRequest(requestData);
+        ResponseData second = httpRequestService.executeRequest(requestData);
+
+        // Assert
+        assertThat(second.isFromCache()).isFalse();
+        assertThat(cache.getEntryCount()).isZero();
+        verify(2, getRequestedFor(urlEqualTo("/private")));
+    }
+
+    @Test
+    void testPostRequest_IsNotCached() throws Exception {
+        // Arrange
+        stubFor(post(urlEqualTo("/submit"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Cache-Control", "max-age=60")
+                        .withBody("created")));
+        RequestData requestData = new RequestData("POST", "http://localhost:8080/submit");
+        requestData.setBody("{}");
+
+        // Act
+        httpRequestService.executeRequest(requestData);
+        httpRequestService.executeRequest(requestData);
+
+        // Assert
+        assertThat(cache.getEntryCount()).isZero();
+        verify(2, postRequestedFor(urlEqualTo("/submit")));
+    }
+
+    @Test
+    void testByteLimit_EvictsLeastRecentlyUsed() throws Exception {
+        // Arrange
+        String body = "x".repeat(400);
+        for (String path : new String[]{"/a", "/b", "/c"}) {
+            stubFor(get(urlEqualTo(path))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Cache-Control", "max-age=60")
+                            .withBody(body)));
+        }
+        HttpResponseCache smallCache = new HttpResponseCache(2048);
+        httpRequestService.setResponseCache(smallCache);
+
+        // Act
+        httpRequestService.executeRequest(new RequestData("GET", "http://localhost:8080/a"));
+        httpRequestService.executeRequest(new RequestData("GET", "http://localhost:8080/b"));
+        httpRequestService.executeRequest(new RequestData("GET", "http://localhost:8080/a"));
+        httpRequestService.executeRequest(new RequestData("GET", "http://localhost:8080/c"));
+        ResponseData a = httpRequestService.executeRequest(new RequestData("GET", "http://localhost:8080/a"));
+        ResponseData b = httpRequestService.executeRequest(new RequestData("GET", "http://localhost:8080/b"));
+
+        // Assert
+        assertThat(smallCache.getCurrentBytes()).isLessThanOrEqualTo(2048);
+        assertThat(a.isFromCache()).isTrue();
+        assertThat(b.isFromCache()).isFalse();
+    }
+}
@@ -0,0 +1,206 @@
+package com.apiclient.http;
+
+import com.apiclient.model.RequestData;
+import com.apiclient.model.ResponseData;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RequestPolicyExecutor class.
+ */
+class RequestPolicyExecutorTest {
+
+    private WireMockServer wireMockServer;
+    private RequestPolicy policy;
+    private RequestPolicyExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().port(8080));
+        wireMockServer.start();
+        WireMock.configureFor("localhost", 8080);
+        policy = new RequestPolicy();
+        policy.setInitialBackoffMillis(10);
+        policy.setMaxBackoffMillis(50);
+        executor = new RequestPolicyExecutor(new HttpRequestService(), policy);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @Test
+    void testRetryableStatus_IsRetriedUntilSuccess() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/flaky")).inScenario("flaky")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(503))
+                .willSetStateTo("recovered"));
+        stubFor(get(urlEqualTo("/flaky")).inScenario("flaky")
+                .whenScenarioStateIs("recovered")
+                .willReturn(aResponse().withStatus(200).withBody("ok")));
+
+        // Act
+        ResponseData response = executor.execute(new RequestData("GET", "http://localhost:8080/flaky"));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo("ok");
+        assertThat(executor.getRetryCount()).isEqualTo(1);
+        verify(2, getRequestedFor(urlEqualTo("/flaky")));
+    }
+
+    @Test
+    void testRetries_StopAfterMaxRetries() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/down"))
+                .willReturn(aResponse().withStatus(503)));
+        policy.setMaxRetries(3);
+
+        // Act
+        ResponseData response = executor.execute(new RequestData("GET", "http://localhost:8080/down"));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(503);
+        verify(4, getRequestedFor(urlEqualTo("/down")));
+    }
+
+    @Test
+    void testNonIdempotentMethod_IsNotRetried() throws Exception {
+        // Arrange
+        stubFor(post(urlEqualTo("/orders"))
+                .willReturn(aResponse().withStatus(503)));
+        RequestData requestData = new RequestData("POST", "http://localhost:8080/orders");
+        requestData.setBody("{}");
+
+        // Act
+        ResponseData response = executor.execute(requestData);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(503);
+        assertThat(executor.getRetryCount()).isZero();
+        verify(1, postRequestedFor(urlEqualTo("/orders")));
+    }
+
+    @Test
+    void testStatusOutsideRetrySet_IsReturnedImmediately() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/missing"))
+                .willReturn(aResponse().withStatus(404)));
+        policy.setRetryOnStatusCodes(Set.of(503));
+
+        // Act
+        ResponseData response = executor.execute(new RequestData("GET", "http://localhost:8080/missing"));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(404);
+        verify(1, getRequestedFor(urlEqualTo("/missing")));
+    }
+
+    @Test
+    void testConnectionFailure_ReturnsErrorResponseAfterRetries() throws Exception {
+        // Arrange
+        policy.setMaxRetries(1);
+        RequestData requestData = new RequestData("GET", "http://localhost:9999/unreachable");
+
+        // Act
+        ResponseData response = executor.execute(requestData);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(-1);
+        assertThat(executor.getRetryCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testShutdown_WithRetryWaiting_StillCompletesTheRequest() throws Exception {
+        // Arrange: Retry-After holds the retry back until after the shutdown
+        stubFor(get(urlEqualTo("/busy"))
+                .willReturn(aResponse().withStatus(503).withHeader("Retry-After", "1")));
+        policy.setMaxRetries(3);
+        policy.setMaxBackoffMillis(500);
+        CompletableFuture<ResponseData> future = executor.executeAsync(new RequestData("GET", "http://localhost:8080/busy"));
+        while (executor.getRetryCount() == 0) {
+            Thread.sleep(10);
+        }
+
+        // Act
+        executor.shutdown();
+
+        // Assert: the waiting retry runs and its outcome is the last
+        ResponseData response = future.get(5, TimeUnit.SECONDS);
+        assertThat(response.getStatusCode()).isEqualTo(503);
+        verify(2, getRequestedFor(urlEqualTo("/busy")));
+    }
+
+    @Test
+    void testHedging_SlowFirstAttempt_UsesFasterCopy() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/tail")).inScenario("tail")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(200).withBody("slow").withFixedDelay(2000))
+                .willSetStateTo("fast"));
+        stubFor(get(urlEqualTo("/tail")).inScenario("tail")
+                .whenScenarioStateIs("fast")
+                .willReturn(aResponse().withStatus(200).withBody("fast")));
+        policy.setHedgingEnabled(true);
+        policy.setDefaultHedgeDelayMillis(100);
+
+        // Act
+        long start = System.nanoTime();
+        ResponseData response = executor.execute(new RequestData("GET", "http://localhost:8080/tail"));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertThat(response.getBody()).isEqualTo("fast");
+        assertThat(elapsedMillis).isLessThan(1500);
+        assertThat(executor.getHedgeCount()).isEqualTo(1);
+        assertThat(executor.getHedgeWinCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testHedgeDelay_UsesPercentileAfterWarmup() {
+        // Arrange
+        policy.setHedgeWarmupSamples(10);
+        policy.setDefaultHedgeDelayMillis(500);
+        policy.setMinHedgeDelayMillis(1);
+        for (int i = 1; i <= 100; i++) {
+            executor.getLatencyHistogram().recordValue(i * 1_000_000L);
+        }
+
+        // Act
+        long delay = executor.hedgeDelayMillis();
+
+        // Assert
+        assertThat(delay).isBetween(94L, 96L);
+    }
+
+    @Test
+    void testBackoff_StaysWithinExponentialCeiling() {
+        // Arrange
+        policy.setInitialBackoffMillis(100);
+        policy.setMaxBackoffMillis(1000);
+
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            assertThat(executor.backoffMillis(0, null)).isBetween(0L, 100L);
+            assertThat(executor.backoffMillis(2, null)).isBetween(0L, 400L);
+            assertThat(executor.backoffMillis(10, null)).isBetween(0L, 1000L);
+        }
+    }
+}
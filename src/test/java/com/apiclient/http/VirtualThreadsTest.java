@@ -0,0 +1,49 @@
+package com.apiclient.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for VirtualThreads class.
+ */
+class VirtualThreadsTest {
+
+    @Test
+    void testIsSupported_MatchesJavaVersion() {
+        // Act & Assert
+        assertThat(VirtualThreads.isSupported()).isEqualTo(Runtime.version().feature() >= 21);
+    }
+
+    @Test
+    void testNewPerTaskExecutor_BeforeJava21_Throws() {
+        // Arrange
+        assumeFalse(VirtualThreads.isSupported());
+
+        // Act & Assert
+        UnsupportedOperationException exception = assertThrows(UnsupportedOperationException.class,
+                () -> VirtualThreads.newPerTaskExecutor("test"));
+        assertThat(exception.getMessage()).contains("Java 21");
+    }
+
+    @Test
+    void testNewPerTaskExecutor_RunsTasksOnNamedVirtualThreads() throws Exception {
+        // Arrange
+        assumeTrue(VirtualThreads.isSupported());
+        ExecutorService executor = VirtualThreads.newPerTaskExecutor("test");
+
+        // Act
+        Future<Thread> thread = executor.submit(Thread::currentThread);
+
+        // Assert
+        assertThat(thread.get().getName()).startsWith("test-");
+        assertThat(Thread.class.getMethod("isVirtual").invoke(thread.get())).isEqualTo(true);
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,148 @@
+package com.apiclient.load;
+
+import com.apiclient.http.HttpRequestService;
+import com.apiclient.model.RequestData;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for ConstantRateLoadRunner class.
+ */
+class ConstantRateLoadRunnerTest {
+
+    private WireMockServer wireMockServer;
+    private ConstantRateLoadRunner loadRunner;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().port(8080));
+        wireMockServer.start();
+        WireMock.configureFor("localhost", 8080);
+        loadRunner = new ConstantRateLoadRunner(new HttpRequestService());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @Test
+    void testRun_SendsAtTargetRate() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/rate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("ok")));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/rate");
+
+        // Act
+        ConstantRateResult result = loadRunner.run(requestData, 100, 50);
+
+        // Assert
+        assertThat(result.getCompletedRequests()).isEqualTo(50);
+        assertThat(result.getErrorCount()).isZero();
+        assertThat(result.getStatusCounts()).containsEntry(200, 50L);
+        // 50 requests at 100 req/s are spread over roughly half a second
+        assertThat(result.getElapsedNanos()).isGreaterThanOrEqualTo(Duration.ofMillis(490).toNanos());
+        assertThat(result.getThroughput()).isBetween(50.0, 105.0);
+        assertThat(result.getTargetRate()).isEqualTo(100.0);
+        verify(50, getRequestedFor(urlEqualTo("/rate")));
+    }
+
+    @Test
+    void testRun_SlowServerDoesNotSlowSchedule() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/rate-slow"))
+                .willReturn(aResponse()
+                        .withFixedDelay(200)
+                        .withStatus(200)));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/rate-slow");
+
+        // Act
+        ConstantRateResult result = loadRunner.run(requestData, 50, 20);
+
+        // Assert
+        // A closed loop would need 20 x 200 ms; the open model overlaps the requests
+        assertThat(result.getCompletedRequests()).isEqualTo(20);
+        assertThat(result.getElapsedNanos()).isLessThan(Duration.ofMillis(2000).toNanos());
+        assertThat(result.getPercentileMillis(50)).isGreaterThanOrEqualTo(190.0);
+    }
+
+    @Test
+    void testRun_CorrectsForCoordinatedOmission() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/rate-stalled"))
+                .willReturn(aResponse()
+                        .withFixedDelay(100)
+                        .withStatus(200)));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/rate-stalled");
+        // Two in flight at 100 ms each caps the server at 20 req/s, well below the target
+        loadRunner.setMaxInFlight(2);
+
+        // Act
+        ConstantRateResult result = loadRunner.run(requestData, 100, 20);
+
+        // Assert
+        assertThat(result.getCompletedRequests()).isEqualTo(20);
+        assertThat(result.getLateSends()).isPositive();
+        assertThat(result.getUncorrectedPercentileMillis(99)).isLessThan(400.0);
+        assertThat(result.getPercentileMillis(99))
+                .isGreaterThan(2 * result.getUncorrectedPercentileMillis(99));
+        assertThat(result.toSummary()).contains("Uncorrected latency").contains("late sends");
+    }
+
+    @Test
+    void testRun_CountsConnectionFailuresAsErrors() throws Exception {
+        // Arrange
+        RequestData requestData = new RequestData("GET", "http://localhost:1/unreachable");
+
+        // Act
+        ConstantRateResult result = loadRunner.run(requestData, 200, 5);
+
+        // Assert
+        assertThat(result.getCompletedRequests()).isEqualTo(5);
+        assertThat(result.getErrorCount()).isEqualTo(5);
+        assertThat(result.getStatusCounts()).containsEntry(-1, 5L);
+    }
+
+    @Test
+    void testRun_WithDuration_SchedulesRateTimesDuration() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/rate"))
+                .willReturn(aResponse()
+                        .withStatus(204)));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/rate");
+
+        // Act
+        ConstantRateResult result = loadRunner.run(requestData, 40, Duration.ofMillis(250));
+
+        // Assert
+        assertThat(result.getCompletedRequests()).isEqualTo(10);
+    }
+
+    @Test
+    void testRun_WithInvalidRate_Throws() {
+        // Arrange
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/rate");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> loadRunner.run(requestData, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> loadRunner.setMaxInFlight(0));
+    }
+}
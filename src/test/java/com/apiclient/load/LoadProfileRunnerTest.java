@@ -0,0 +1,192 @@
+package com.apiclient.load;
+
+import com.apiclient.http.HttpRequestService;
+import com.apiclient.model.RequestData;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for LoadProfileRunner class.
+ */
+class LoadProfileRunnerTest {
+
+    private WireMockServer wireMockServer;
+    private HttpRequestService httpRequestService;
+    private LoadProfileRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().port(8080));
+        wireMockServer.start();
+        WireMock.configureFor("localhost", 8080);
+        httpRequestService = new HttpRequestService();
+        runner = new LoadProfileRunner(httpRequestService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @Test
+    void testRun_ConcurrencyRamp_IncreasesUsersAndThroughput() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/profile"))
+                .willReturn(aResponse()
+                        .withFixedDelay(20)
+                        .withStatus(200)));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/profile");
+        LoadProfile profile = new LoadProfile(LoadProfile.Mode.CONCURRENCY);
+        profile.hold(1, Duration.ofMillis(400));
+        profile.hold(6, Duration.ofMillis(400));
+        profile.setSnapshotInterval(Duration.ofMillis(200));
+        List<LoadSnapshot> received = new ArrayList<>();
+        warmUp(requestData);
+
+        // Act
+        LoadProfileResult result = runner.run(requestData, profile, received::add);
+
+        // Assert
+        List<LoadSnapshot> snapshots = result.getSnapshots();
+        assertThat(snapshots).hasSizeBetween(4, 5);
+        assertThat(received).isEqualTo(snapshots);
+        assertThat(snapshots.get(0).getActiveLevel()).isEqualTo(1);
+        assertThat(snapshots.get(2).getActiveLevel()).isEqualTo(6);
+        assertThat(snapshots.get(3).getThroughput()).isGreaterThan(2 * snapshots.get(1).getThroughput());
+        assertThat(result.getPeakThroughputSnapshot().getIndex()).isGreaterThanOrEqualTo(2);
+        assertThat(result.getErrorCount()).isZero();
+        assertThat(result.getCompletedRequests())
+                .isEqualTo(snapshots.stream().mapToLong(LoadSnapshot::getCompletedRequests).sum());
+        verify((int) result.getCompletedRequests(), getRequestedFor(urlEqualTo("/profile")));
+    }
+
+    @Test
+    void testRun_ArrivalRateStages_FollowTargetRate() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/profile-rate"))
+                .willReturn(aResponse()
+                        .withStatus(200)));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/profile-rate");
+        LoadProfile profile = new LoadProfile(LoadProfile.Mode.ARRIVAL_RATE);
+        profile.hold(50, Duration.ofMillis(500));
+        profile.hold(200, Duration.ofMillis(500));
+        profile.setSnapshotInterval(Duration.ofMillis(500));
+        warmUp(requestData);
+
+        // Act
+        LoadProfileResult result = runner.run(requestData, profile);
+
+        // Assert
+        // 25 requests in the first stage and 100 in the second
+        assertThat(result.getCompletedRequests()).isBetween(120L, 127L);
+        List<LoadSnapshot> snapshots = result.getSnapshots();
+        assertThat(snapshots.get(0).getCompletedRequests()).isBetween(20L, 27L);
+        assertThat(snapshots.get(0).getTargetLevel()).isCloseTo(50.0, within(5.0));
+        assertThat(snapshots.get(1).getTargetLevel()).isCloseTo(200.0, within(5.0));
+        assertThat(result.toTable().split("\n")).hasSize(snapshots.size() + 1);
+    }
+
+    @Test
+    void testRun_SnapshotsAtStageBoundaries_ReportTheirOwnStageLevel() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/profile-rate"))
+                .willReturn(aResponse()
+                        .withStatus(200)));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/profile-rate");
+        LoadProfile profile = new LoadProfile(LoadProfile.Mode.ARRIVAL_RATE);
+        profile.ramp(0, 100, Duration.ofMillis(400));
+        profile.hold(100, Duration.ofMillis(400));
+        profile.ramp(100, 0, Duration.ofMillis(400));
+        profile.setSnapshotInterval(Duration.ofMillis(200));
+        warmUp(requestData);
+
+        // Act
+        LoadProfileResult result = runner.run(requestData, profile);
+
+        // Assert: each interval reports the average of its own stretch of the profile,
+        // within the few milliseconds a snapshot can come late
+        List<LoadSnapshot> snapshots = result.getSnapshots();
+        assertThat(snapshots).hasSizeGreaterThanOrEqualTo(6);
+        assertThat(snapshots.get(0).getTargetLevel()).isCloseTo(25.0, within(5.0));
+        assertThat(snapshots.get(1).getTargetLevel()).isCloseTo(75.0, within(5.0));
+        assertThat(snapshots.get(3).getTargetLevel()).isCloseTo(100.0, within(5.0));
+        assertThat(snapshots.get(5).getTargetLevel()).isCloseTo(25.0, within(5.0));
+    }
+
+    @Test
+    void testRun_ArrivalRateRampFromZero_StartsSending() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/profile-rate"))
+                .willReturn(aResponse()
+                        .withStatus(200)));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/profile-rate");
+        LoadProfile profile = new LoadProfile(LoadProfile.Mode.ARRIVAL_RATE);
+        profile.ramp(0, 200, Duration.ofMillis(500));
+        warmUp(requestData);
+
+        // Act
+        LoadProfileResult result = runner.run(requestData, profile);
+
+        // Assert
+        // The area under the ramp is 50 requests
+        assertThat(result.getCompletedRequests()).isBetween(35L, 55L);
+        assertThat(result.getSnapshots()).hasSize(1);
+    }
+
+    @Test
+    void testRun_CountsErrors() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/profile-error"))
+                .willReturn(aResponse()
+                        .withStatus(500)));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/profile-error");
+        LoadProfile profile = new LoadProfile(LoadProfile.Mode.CONCURRENCY);
+        profile.hold(2, Duration.ofMillis(200));
+
+        // Act
+        LoadProfileResult result = runner.run(requestData, profile);
+
+        // Assert
+        assertThat(result.getCompletedRequests()).isPositive();
+        assertThat(result.getErrorRate()).isEqualTo(1.0);
+        assertThat(result.getStatusCounts()).containsOnlyKeys(500);
+    }
+
+    @Test
+    void testRun_WithEmptyProfile_Throws() {
+        // Arrange
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/profile");
+        LoadProfile profile = new LoadProfile(LoadProfile.Mode.CONCURRENCY);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> runner.run(requestData, profile));
+    }
+
+    /**
+     * Open the client's connection first, so timed runs do not include its setup.
+     */
+    private void warmUp(RequestData requestData) throws Exception {
+        httpRequestService.executeRequest(requestData);
+        WireMock.resetAllRequests();
+    }
+}
@@ -0,0 +1,77 @@
+package com.apiclient.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for LoadProfile class.
+ */
+class LoadProfileTest {
+
+    @Test
+    void testLevelAt_InterpolatesRampAndHoldsLevel() {
+        // Arrange
+        LoadProfile profile = new LoadProfile(LoadProfile.Mode.CONCURRENCY);
+        profile.ramp(10, 500, Duration.ofMinutes(5));
+        profile.hold(500, Duration.ofMinutes(20));
+        profile.ramp(500, 0, Duration.ofMinutes(1));
+
+        // Act & Assert
+        assertThat(profile.getTotalDuration()).isEqualTo(Duration.ofMinutes(26));
+        assertThat(profile.levelAt(0)).isEqualTo(10.0);
+        assertThat(profile.levelAt(Duration.ofSeconds(150).toNanos())).isEqualTo(255.0);
+        assertThat(profile.levelAt(Duration.ofMinutes(10).toNanos())).isEqualTo(500.0);
+        assertThat(profile.levelAt(Duration.ofSeconds(25 * 60 + 30).toNanos())).isEqualTo(250.0);
+        assertThat(profile.levelAt(Duration.ofMinutes(30).toNanos())).isZero();
+    }
+
+    @Test
+    void testLevelIntegral_AndItsInverse_FollowRampsAndHolds() {
+        // Arrange
+        LoadProfile profile = new LoadProfile(LoadProfile.Mode.ARRIVAL_RATE);
+        profile.ramp(0, 200, Duration.ofMillis(500));
+        profile.hold(100, Duration.ofSeconds(1));
+
+        // Act & Assert
+        assertThat(profile.levelIntegral(Duration.ofMillis(250).toNanos())).isCloseTo(12.5, within(1e-9));
+        assertThat(profile.levelIntegral(Duration.ofMillis(500).toNanos())).isCloseTo(50.0, within(1e-9));
+        assertThat(profile.levelIntegral(Duration.ofSeconds(2).toNanos())).isCloseTo(150.0, within(1e-9));
+        // A ramp from zero is due its first request after 50 ms, not never
+        assertThat(profile.offsetOfIntegral(0.5)).isCloseTo(Duration.ofMillis(50).toNanos(), within(1000L));
+        assertThat(profile.offsetOfIntegral(12.5)).isCloseTo(Duration.ofMillis(250).toNanos(), within(1000L));
+        assertThat(profile.offsetOfIntegral(100)).isCloseTo(Duration.ofMillis(1000).toNanos(), within(1000L));
+        assertThat(profile.offsetOfIntegral(150.5)).isEqualTo(-1);
+    }
+
+    @Test
+    void testStages_AreKeptInOrder() {
+        // Arrange
+        LoadProfile profile = new LoadProfile(LoadProfile.Mode.ARRIVAL_RATE);
+
+        // Act
+        profile.addStage(LoadStage.hold(100, Duration.ofSeconds(1)));
+        profile.ramp(100, 2000, Duration.ofSeconds(2));
+
+        // Assert
+        assertThat(profile.getStages()).hasSize(2);
+        assertThat(profile.getStages().get(1).getEndLevel()).isEqualTo(2000.0);
+        assertThat(profile.getSnapshotInterval()).isEqualTo(LoadProfile.DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    @Test
+    void testInvalidSettings_Throw() {
+        // Arrange
+        LoadProfile profile = new LoadProfile(LoadProfile.Mode.CONCURRENCY);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> profile.hold(-1, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> profile.ramp(1, 2, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> profile.setSnapshotInterval(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new LoadProfile(null));
+    }
+}
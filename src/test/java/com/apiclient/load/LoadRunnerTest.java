@@ -0,0 +1,175 @@
+package com.apiclient.load;
+
+import com.apiclient.http.HttpRequestService;
+import com.apiclient.http.VirtualThreads;
+import com.apiclient.model.RequestData;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for LoadRunner class.
+ */
+class LoadRunnerTest {
+
+    private WireMockServer wireMockServer;
+    private LoadRunner loadRunner;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().port(8080));
+        wireMockServer.start();
+        WireMock.configureFor("localhost", 8080);
+        loadRunner = new LoadRunner(new HttpRequestService());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @Test
+    void testRun_SendsExactNumberOfRequests() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/load"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("ok")));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/load");
+
+        // Act
+        LoadResult result = loadRunner.run(requestData, 50, 4);
+
+        // Assert
+        assertThat(result.getCompletedRequests()).isEqualTo(50);
+        assertThat(result.getErrorCount()).isZero();
+        assertThat(result.getLatencyHistogram().getTotalCount()).isEqualTo(50);
+        assertThat(result.getStatusCounts()).containsEntry(200, 50L);
+        assertThat(result.getThroughput()).isPositive();
+        verify(50, getRequestedFor(urlEqualTo("/load")));
+    }
+
+    @Test
+    void testRun_CountsErrorResponses() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/load-error"))
+                .willReturn(aResponse()
+                        .withStatus(503)));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/load-error");
+
+        // Act
+        LoadResult result = loadRunner.run(requestData, 10, 2);
+
+        // Assert
+        assertThat(result.getCompletedRequests()).isEqualTo(10);
+        assertThat(result.getErrorCount()).isEqualTo(10);
+        assertThat(result.getErrorRate()).isEqualTo(1.0);
+        assertThat(result.getStatusCounts()).containsEntry(503, 10L);
+    }
+
+    @Test
+    void testRun_ReportsLatencyPercentiles() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/load-delayed"))
+                .willReturn(aResponse()
+                        .withFixedDelay(50)
+                        .withStatus(200)));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/load-delayed");
+
+        // Act
+        LoadResult result = loadRunner.run(requestData, 8, 8);
+
+        // Assert
+        assertThat(result.getPercentileMillis(50)).isGreaterThanOrEqualTo(45.0);
+        assertThat(result.getPercentileMillis(99.9)).isGreaterThanOrEqualTo(result.getPercentileMillis(50));
+        assertThat(result.toSummary()).contains("p99.9=");
+    }
+
+    @Test
+    void testRun_WithInvalidConcurrency_Throws() {
+        // Arrange
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/load");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> loadRunner.run(requestData, 10, 0));
+    }
+
+    @Test
+    void testRun_AsyncMode_SendsExactNumberOfRequests() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo("/load-async"))
+                .willReturn(aResponse()
+                        .withFixedDelay(10)
+                        .withStatus(200)));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/load-async");
+        loadRunner.setExecutionMode(LoadRunner.ExecutionMode.ASYNC);
+
+        // Act
+        LoadResult result = loadRunner.run(requestData, 60, 20);
+
+        // Assert
+        assertThat(result.getCompletedRequests()).isEqualTo(60);
+        assertThat(result.getErrorCount()).isZero();
+        assertThat(result.getLatencyHistogram().getTotalCount()).isEqualTo(60);
+        verify(60, getRequestedFor(urlEqualTo("/load-async")));
+    }
+
+    @Test
+    void testRun_AsyncMode_CountsConnectionFailures() throws Exception {
+        // Arrange
+        RequestData requestData = new RequestData("GET", "http://localhost:1/unreachable");
+        loadRunner.setExecutionMode(LoadRunner.ExecutionMode.ASYNC);
+
+        // Act
+        LoadResult result = loadRunner.run(requestData, 5, 2);
+
+        // Assert
+        assertThat(result.getCompletedRequests()).isEqualTo(5);
+        assertThat(result.getStatusCounts()).containsEntry(-1, 5L);
+    }
+
+    @Test
+    void testRun_VirtualThreadMode_SendsExactNumberOfRequests() throws Exception {
+        // Arrange
+        assumeTrue(VirtualThreads.isSupported());
+        stubFor(get(urlEqualTo("/load-virtual"))
+                .willReturn(aResponse()
+                        .withStatus(200)));
+
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/load-virtual");
+        loadRunner.setExecutionMode(LoadRunner.ExecutionMode.VIRTUAL_THREADS);
+
+        // Act
+        LoadResult result = loadRunner.run(requestData, 100, 50);
+
+        // Assert
+        assertThat(result.getCompletedRequests()).isEqualTo(100);
+        verify(100, getRequestedFor(urlEqualTo("/load-virtual")));
+    }
+
+    @Test
+    void testSetExecutionMode_VirtualThreadsBeforeJava21_Throws() {
+        // Arrange
+        assumeFalse(VirtualThreads.isSupported());
+
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class,
+                () -> loadRunner.setExecutionMode(LoadRunner.ExecutionMode.VIRTUAL_THREADS));
+        assertThat(loadRunner.getExecutionMode()).isEqualTo(LoadRunner.ExecutionMode.PLATFORM_THREADS);
+    }
+}
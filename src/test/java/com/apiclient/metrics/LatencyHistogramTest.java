@@ -0,0 +1,101 @@
+package com.apiclient.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for LatencyHistogram class.
+ */
+class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    void testEmptyHistogram_ReturnsZeroes() {
+        // Assert
+        assertThat(histogram.getTotalCount()).isZero();
+        assertThat(histogram.getMinValue()).isZero();
+        assertThat(histogram.getMaxValue()).isZero();
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+    }
+
+    @Test
+    void testSmallValues_AreRecordedExactly() {
+        // Act
+        for (long value = 1; value <= 100; value++) {
+            histogram.recordValue(value);
+        }
+
+        // Assert
+        assertThat(histogram.getTotalCount()).isEqualTo(100);
+        assertThat(histogram.getMinValue()).isEqualTo(1);
+        assertThat(histogram.getMaxValue()).isEqualTo(100);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(50);
+        assertThat(histogram.getValueAtPercentile(99)).isEqualTo(99);
+        assertThat(histogram.getMean()).isCloseTo(50.5, within(0.001));
+    }
+
+    @Test
+    void testPercentiles_StayWithinOnePercent() {
+        // Arrange - uniform latencies from 1 ms to 1000 ms
+        for (int i = 1; i <= 1000; i++) {
+            histogram.recordValue(i * 1_000_000L);
+        }
+
+        // Assert
+        assertThat((double) histogram.getValueAtPercentile(50)).isCloseTo(500_000_000.0, within(5_000_000.0));
+        assertThat((double) histogram.getValueAtPercentile(90)).isCloseTo(900_000_000.0, within(9_000_000.0));
+        assertThat((double) histogram.getValueAtPercentile(99)).isCloseTo(990_000_000.0, within(9_900_000.0));
+        assertThat((double) histogram.getValueAtPercentile(99.9)).isCloseTo(999_000_000.0, within(9_990_000.0));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(1_000_000_000L);
+    }
+
+    @Test
+    void testValueAboveMaximum_IsClamped() {
+        // Act
+        histogram.recordValue(Long.MAX_VALUE);
+
+        // Assert
+        assertThat(histogram.getMaxValue()).isEqualTo(LatencyHistogram.MAX_TRACKABLE_VALUE);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(LatencyHistogram.MAX_TRACKABLE_VALUE);
+    }
+
+    @Test
+    void testAdd_MergesCountsAndExtremes() {
+        // Arrange
+        LatencyHistogram other = new LatencyHistogram();
+        histogram.recordValue(10);
+        other.recordValue(5);
+        other.recordValue(5_000);
+
+        // Act
+        histogram.add(other);
+
+        // Assert
+        assertThat(histogram.getTotalCount()).isEqualTo(3);
+        assertThat(histogram.getMinValue()).isEqualTo(5);
+        assertThat(histogram.getMaxValue()).isEqualTo(5_000);
+    }
+
+    @Test
+    void testReset_ClearsAllSamples() {
+        // Arrange
+        histogram.recordValue(1_000);
+
+        // Act
+        histogram.reset();
+
+        // Assert
+        assertThat(histogram.getTotalCount()).isZero();
+        assertThat(histogram.getMaxValue()).isZero();
+        assertThat(histogram.getValueAtPercentile(50)).isZero();
+    }
+}
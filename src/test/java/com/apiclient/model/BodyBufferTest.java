@@ -0,0 +1,179 @@
+package com.apiclient.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for BodyBuffer and ResponseBody classes.
+ */
+class BodyBufferTest {
+
+    @Test
+    void testSmallBody_StaysInMemory() throws Exception {
+        // Arrange
+        BodyBuffer buffer = new BodyBuffer(1024);
+        byte[] bytes = "{\"id\": 1}".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        buffer.write(bytes, 0, bytes.length);
+        ResponseBody body = buffer.toResponseBody(StandardCharsets.UTF_8);
+
+        // Assert
+        assertThat(body.isSpilled()).isFalse();
+        assertThat(body.length()).isEqualTo(bytes.length);
+        assertThat(body.asString()).isEqualTo("{\"id\": 1}");
+    }
+
+    @Test
+    void testLargeBody_SpillsRemainderToFile() throws Exception {
+        // Arrange
+        BodyBuffer buffer = new BodyBuffer(16);
+        byte[] bytes = "0123456789abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.UTF_8);
+
+        // Act - write in several chunks
+        buffer.write(bytes, 0, 10);
+        buffer.write(bytes, 10, 10);
+        buffer.write(bytes, 20, bytes.length - 20);
+        ResponseBody body = buffer.toResponseBody(StandardCharsets.UTF_8);
+
+        // Assert
+        assertThat(body.isSpilled()).isTrue();
+        assertThat(Files.size(body.getSpillFile())).isEqualTo(bytes.length - 16);
+        assertThat(body.length()).isEqualTo(bytes.length);
+        assertThat(body.asString()).isEqualTo(new String(bytes, StandardCharsets.UTF_8));
+        body.close();
+    }
+
+    @Test
+    void testSlice_AcrossMemoryAndSpillFile() throws Exception {
+        // Arrange
+        BodyBuffer buffer = new BodyBuffer(8);
+        byte[] bytes = "abcdefghijklmnop".getBytes(StandardCharsets.UTF_8);
+        buffer.write(bytes, 0, bytes.length);
+        ResponseBody body = buffer.toResponseBody(StandardCharsets.UTF_8);
+
+        // Act & Assert
+        assertThat(new String(body.slice(4, 8), StandardCharsets.UTF_8)).isEqualTo("efghijkl");
+        assertThat(new String(body.slice(12, 100), StandardCharsets.UTF_8)).isEqualTo("mnop");
+        assertThat(body.slice(100, 10)).isEmpty();
+        assertThat(body.preview(3)).isEqualTo("abc");
+        body.close();
+    }
+
+    @Test
+    void testOpenStream_ReturnsAllBytes() throws Exception {
+        // Arrange
+        BodyBuffer buffer = new BodyBuffer(4);
+        byte[] bytes = "streamed body".getBytes(StandardCharsets.UTF_8);
+        buffer.write(bytes, 0, bytes.length);
+        ResponseBody body = buffer.toResponseBody(StandardCharsets.UTF_8);
+
+        // Act
+        byte[] read;
+        try (InputStream in = body.openStream()) {
+            read = in.readAllBytes();
+        }
+
+        // Assert
+        assertThat(read).isEqualTo(bytes);
+        body.close();
+    }
+
+    @Test
+    void testRead_WhileWritingAndAfterHandOver() throws Exception {
+        // Arrange
+        BodyBuffer buffer = new BodyBuffer(4);
+        byte[] bytes = "growing body".getBytes(StandardCharsets.UTF_8);
+        byte[] read = new byte[bytes.length];
+
+        // Act & Assert - reads see what was written so far
+        buffer.write(bytes, 0, 7);
+        assertThat(buffer.read(0, read, 0, read.length)).isEqualTo(7);
+        assertThat(buffer.read(7, read, 0, read.length)).isEqualTo(-1);
+        buffer.write(bytes, 7, bytes.length - 7);
+        ResponseBody body = buffer.toResponseBody(StandardCharsets.UTF_8);
+        assertThat(buffer.read(0, read, 0, read.length)).isEqualTo(bytes.length);
+        assertThat(read).isEqualTo(bytes);
+
+        body.close();
+        assertThatThrownBy(() -> buffer.read(5, read, 0, 1)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testClose_DeletesSpillFile() throws Exception {
+        // Arrange
+        BodyBuffer buffer = new BodyBuffer(2);
+        byte[] bytes = "spilled".getBytes(StandardCharsets.UTF_8);
+        buffer.write(bytes, 0, bytes.length);
+        ResponseBody body = buffer.toResponseBody(StandardCharsets.UTF_8);
+        Path spillFile = body.getSpillFile();
+
+        // Act
+        body.close();
+
+        // Assert
+        assertThat(Files.exists(spillFile)).isFalse();
+    }
+
+    @Test
+    void testSpillFiles_AreKeptForExitCleanupOnlyUntilDeleted() throws Exception {
+        // Arrange
+        int before = SpillFiles.liveCount();
+        BodyBuffer closed = new BodyBuffer(2);
+        BodyBuffer discarded = new BodyBuffer(2);
+        byte[] bytes = "spilled".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        closed.write(bytes, 0, bytes.length);
+        discarded.write(bytes, 0, bytes.length);
+        int whileOpen = SpillFiles.liveCount();
+        closed.toResponseBody(StandardCharsets.UTF_8).close();
+        discarded.discard();
+
+        // Assert
+        assertThat(whileOpen).isEqualTo(before + 2);
+        assertThat(SpillFiles.liveCount()).isEqualTo(before);
+    }
+
+    @Test
+    void testRetain_KeepsSpillFileUntilEveryHolderClosed() throws Exception {
+        // Arrange
+        BodyBuffer buffer = new BodyBuffer(2);
+        byte[] bytes = "spilled".getBytes(StandardCharsets.UTF_8);
+        buffer.write(bytes, 0, bytes.length);
+        ResponseBody body = buffer.toResponseBody(StandardCharsets.UTF_8);
+        Path spillFile = body.getSpillFile();
+
+        // Act
+        body.retain();
+        body.close();
+
+        // Assert - the second holder can still read it
+        assertThat(Files.exists(spillFile)).isTrue();
+        assertThat(body.asString()).isEqualTo("spilled");
+        body.close();
+        assertThat(Files.exists(spillFile)).isFalse();
+        assertThatThrownBy(body::retain).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testResponseData_BodyContentFromString() {
+        // Arrange
+        ResponseData responseData = new ResponseData();
+
+        // Act
+        responseData.setBody("héllo");
+
+        // Assert
+        assertThat(responseData.getBodyContent().asString()).isEqualTo("héllo");
+        assertThat(responseData.getBodyLength()).isEqualTo(6);
+    }
+}
@@ -3,6 +3,8 @@ package com.apiclient.model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -251,4 +253,18 @@ class RequestDataTest {
         assertThat(requestData.getHeaders()).hasSize(1);
         assertThat(requestData.getHeaders()).containsEntry("key", "");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSetBodyFile_IsReportedSeparatelyFromBody() {
+        // Arrange
+        Path bodyFile = Paths.get("upload.bin");
+
+        // Act
+        requestData.setBodyFile(bodyFile);
+
+        // Assert
+        assertThat(requestData.hasBodyFile()).isTrue();
+        assertThat(requestData.getBodyFile()).isEqualTo(bodyFile);
+        assertThat(requestData.hasBody()).isFalse();
+    }
+}
@@ -0,0 +1,163 @@
+package com.apiclient.template;
+
+import com.apiclient.http.HttpRequestService;
+import com.apiclient.model.RequestData;
+import com.apiclient.model.ResponseData;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpRequest;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for RequestTemplate class.
+ */
+class RequestTemplateTest {
+
+    private WireMockServer wireMockServer;
+    private HttpRequestService httpRequestService;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().port(8080));
+        wireMockServer.start();
+        WireMock.configureFor("localhost", 8080);
+        httpRequestService = new HttpRequestService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @Test
+    void testToHttpRequest_RendersUrlHeadersAndDefaults() {
+        // Arrange
+        RequestData requestData = new RequestData("get", "http://localhost:8080/users/{{id}}");
+        requestData.addHeader("X-Trace", "trace-{{id}}");
+        RequestTemplate template = RequestTemplate.compile(requestData);
+
+        // Act
+        HttpRequest request = template.toHttpRequest(Map.of("id", "17"), true);
+
+        // Assert
+        assertThat(request.method()).isEqualTo("GET");
+        assertThat(request.uri().toString()).isEqualTo("http://localhost:8080/users/17");
+        assertThat(request.headers().firstValue("X-Trace")).hasValue("trace-17");
+        assertThat(request.headers().firstValue("User-Agent")).hasValue(HttpRequestService.DEFAULT_USER_AGENT);
+        assertThat(request.headers().firstValue("Accept-Encoding")).hasValue(HttpRequestService.ACCEPT_ENCODING);
+        assertThat(request.timeout()).hasValue(HttpRequestService.REQUEST_TIMEOUT);
+        assertThat(template.getVariableNames()).containsExactly("id");
+    }
+
+    @Test
+    void testToHttpRequest_KeepsCallerHeadersOverDefaults() {
+        // Arrange
+        RequestData requestData = new RequestData("GET", "http://localhost:8080/static");
+        requestData.addHeader("User-Agent", "custom");
+        requestData.addHeader("accept-encoding", "identity");
+        RequestTemplate template = RequestTemplate.compile(requestData);
+
+        // Act
+        HttpRequest request = template.toHttpRequest(Map.of(), true);
+
+        // Assert
+        assertThat(request.headers().allValues("User-Agent")).containsExactly("custom");
+        assertThat(request.headers().allValues("Accept-Encoding")).containsExactly("identity");
+    }
+
+    @Test
+    void testExecute_SendsRenderedBody() {
+        // Arrange
+        stubFor(post(urlEqualTo("/orders/5"))
+                .willReturn(aResponse()
+                        .withStatus(201)
+                        .withBody("created")));
+
+        RequestData requestData = new RequestData("POST", "http://localhost:8080/orders/{{id}}");
+        requestData.addHeader("Content-Type", "application/json");
+        requestData.setBody("{\"id\": {{id}}, \"item\": \"{{item}}\"}");
+        RequestTemplate template = RequestTemplate.compile(requestData);
+
+        // Act
+        ResponseData response = httpRequestService.executeRequest(
+                template.toHttpRequest(Map.of("id", "5", "item", "book"),
+                        httpRequestService.isCompressionEnabled()));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(201);
+        assertThat(response.getBody()).isEqualTo("created");
+        verify(postRequestedFor(urlEqualTo("/orders/5"))
+                .withHeader("Content-Type", equalTo("application/json"))
+                .withRequestBody(equalTo("{\"id\": 5, \"item\": \"book\"}")));
+    }
+
+    @Test
+    void testExecuteAsync_WithConstantTemplate_ReusesRequestShape() throws Exception {
+        // Arrange
+        stubFor(put(urlEqualTo("/config"))
+                .willReturn(aResponse()
+                        .withStatus(200)));
+
+        RequestData requestData = new RequestData("PUT", "http://localhost:8080/config");
+        requestData.setBody("{\"enabled\": true}");
+        RequestTemplate template = RequestTemplate.compile(requestData);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            ResponseData response = httpRequestService.executeRequestAsync(
+                    template.toHttpRequest(Map.of(), false)).get();
+            assertThat(response.getStatusCode()).isEqualTo(200);
+        }
+
+        // Assert
+        verify(3, putRequestedFor(urlEqualTo("/config"))
+                .withRequestBody(equalTo("{\"enabled\": true}"))
+                .withoutHeader("Accept-Encoding"));
+    }
+
+    @Test
+    void testToRequestData_RendersAllParts() {
+        // Arrange
+        RequestData requestData = new RequestData("POST", "http://localhost:8080/users/{{id}}");
+        requestData.addHeader("Authorization", "Bearer {{token}}");
+        requestData.setBody("{\"id\": {{id}}}");
+        RequestTemplate template = RequestTemplate.compile(requestData);
+
+        // Act
+        RequestData rendered = template.toRequestData(Map.of("id", "9", "token", "abc"));
+
+        // Assert
+        assertThat(rendered.getUrl()).isEqualTo("http://localhost:8080/users/9");
+        assertThat(rendered.getHeaders()).containsEntry("Authorization", "Bearer abc");
+        assertThat(rendered.getBody()).isEqualTo("{\"id\": 9}");
+        assertThat(template.getVariableNames()).containsExactly("id", "token");
+    }
+
+    @Test
+    void testToHttpRequest_WithMissingVariable_Throws() {
+        // Arrange
+        RequestTemplate template = RequestTemplate.compile(
+                new RequestData("GET", "http://localhost:8080/users/{{id}}"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> template.toHttpRequest(Map.of(), true));
+    }
+
+    @Test
+    void testCompile_WithInvalidConstantUrl_Throws() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> RequestTemplate.compile(new RequestData("GET", "http://bad host/")));
+    }
+}
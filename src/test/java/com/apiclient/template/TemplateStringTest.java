@@ -0,0 +1,84 @@
+package com.apiclient.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for TemplateString class.
+ */
+class TemplateStringTest {
+
+    @Test
+    void testRender_SubstitutesVariables() {
+        // Arrange
+        TemplateString template = TemplateString.compile("/users/{{id}}/orders/{{ orderId }}?v={{id}}");
+
+        // Act
+        String rendered = template.render(Map.of("id", "42", "orderId", "7"));
+
+        // Assert
+        assertThat(rendered).isEqualTo("/users/42/orders/7?v=42");
+        assertThat(template.getVariableNames()).containsExactly("id", "orderId");
+        assertThat(template.isConstant()).isFalse();
+    }
+
+    @Test
+    void testRender_WithoutPlaceholders_ReturnsSourceString() {
+        // Arrange
+        String source = "https://example.com/static";
+        TemplateString template = TemplateString.compile(source);
+
+        // Act
+        String rendered = template.render(Map.of());
+
+        // Assert
+        assertThat(rendered).isSameAs(source);
+        assertThat(template.isConstant()).isTrue();
+    }
+
+    @Test
+    void testCompile_KeepsUnmatchedBracesAsText() {
+        // Arrange
+        TemplateString template = TemplateString.compile("{\"a\": {{value}}, \"b\": \"{{\", \"c\": {{}}}");
+
+        // Act
+        String rendered = template.render(Map.of("value", "1"));
+
+        // Assert
+        assertThat(rendered).isEqualTo("{\"a\": 1, \"b\": \"{{\", \"c\": {{}}}");
+        assertThat(template.getVariableNames()).containsExactly("value");
+    }
+
+    @Test
+    void testRender_WithAdjacentPlaceholders() {
+        // Arrange
+        TemplateString template = TemplateString.compile("{{a}}{{b}}");
+
+        // Act & Assert
+        assertThat(template.render(Map.of("a", "x", "b", "y"))).isEqualTo("xy");
+    }
+
+    @Test
+    void testRender_WithMissingVariable_Throws() {
+        // Arrange
+        TemplateString template = TemplateString.compile("/users/{{id}}");
+
+        // Act & Assert
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> template.render(Map.of()));
+        assertThat(exception.getMessage()).contains("id");
+    }
+
+    @Test
+    void testCompile_WithNull_IsEmptyConstant() {
+        // Act
+        TemplateString template = TemplateString.compile(null);
+
+        // Assert
+        assertThat(template.render(Map.of())).isEmpty();
+    }
+}
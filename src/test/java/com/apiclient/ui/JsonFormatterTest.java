@@ -0,0 +1,88 @@
+package com.apiclient.ui;
+
+import com.google.gson.stream.MalformedJsonException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for JsonFormatter class.
+ */
+class JsonFormatterTest {
+
+    @Test
+    void testFormat_NestedValues_IndentsAndKeepsNumbersAsWritten() throws Exception {
+        // Act
+        String pretty = JsonFormatter.format("{\"id\":1.50,\"big\":12345678901234567890,\"tags\":[\"a\",null,true],\"empty\":{}}");
+
+        // Assert
+        assertThat(pretty).isEqualTo("{\n"
+                + "  \"id\": 1.50,\n"
+                + "  \"big\": 12345678901234567890,\n"
+                + "  \"tags\": [\n"
+                + "    \"a\",\n"
+                + "    null,\n"
+                + "    true\n"
+                + "  ],\n"
+                + "  \"empty\": {}\n"
+                + "}");
+    }
+
+    @Test
+    void testFormat_StringsWithStructuralCharacters_AreCopiedIntact() throws Exception {
+        // Act
+        String pretty = JsonFormatter.format("[\"a,b:{c}\",\"quote \\\" and \\\\\"]");
+
+        // Assert
+        assertThat(pretty).isEqualTo("[\n  \"a,b:{c}\",\n  \"quote \\\" and \\\\\"\n]");
+    }
+
+    @Test
+    void testFormat_TopLevelPrimitive_IsAccepted() throws Exception {
+        // Act & Assert
+        assertThat(JsonFormatter.format(" 42 ")).isEqualTo("42");
+        assertThat(JsonFormatter.format("  ")).isEmpty();
+    }
+
+    @Test
+    void testFormat_InvalidJson_ReportsPosition() {
+        // Act & Assert
+        assertThatThrownBy(() -> JsonFormatter.format("{\n  \"a\": [1, 2,,]\n}"))
+                .isInstanceOf(MalformedJsonException.class)
+                .hasMessageContaining("line 2");
+        assertThatThrownBy(() -> JsonFormatter.format("{name: 1}"))
+                .isInstanceOf(MalformedJsonException.class)
+                .hasMessageStartingWith("Malformed JSON at line 1");
+    }
+
+    @Test
+    void testFormat_TrailingData_IsAnError() {
+        // Act & Assert
+        assertThatThrownBy(() -> JsonFormatter.format("{} {}"))
+                .isInstanceOf(MalformedJsonException.class)
+                .hasMessageContaining("line 1 column");
+    }
+
+    @Test
+    void testFormat_TruncatedJson_ReportsEndOfInput() {
+        // Act & Assert
+        assertThatThrownBy(() -> JsonFormatter.format("{\"a\": [1, 2"))
+                .isInstanceOf(MalformedJsonException.class)
+                .hasMessageContaining("End of input");
+    }
+
+    @Test
+    void testFormat_ToWriter_WritesOutputBeforeTheError() throws Exception {
+        // Arrange
+        StringWriter out = new StringWriter();
+
+        // Act & Assert
+        assertThatThrownBy(() -> JsonFormatter.format(new StringReader("[1, 2, oops]"), out))
+                .isInstanceOf(MalformedJsonException.class);
+        assertThat(out.toString()).isEqualTo("[\n  1,\n  2");
+    }
+}
@@ -0,0 +1,101 @@
+package com.apiclient.ui;
+
+import com.apiclient.model.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for JsonIndex class.
+ */
+class JsonIndexTest {
+
+    @Test
+    void testChildren_Object_ListsKeysAndValues() throws Exception {
+        // Arrange
+        JsonIndex index = JsonIndex.build(ResponseBody.ofString(" {\"a\": 1, \"b\\\"}\": \"x,]\", \"c\": [true, {\"d\": null}]}"));
+
+        // Act
+        JsonIndex.Children children = index.children(index.getRootStart());
+
+        // Assert
+        assertThat(index.getRootStart()).isEqualTo(1);
+        assertThat(index.isBalanced()).isTrue();
+        assertThat(children.isObject()).isTrue();
+        assertThat(children.size()).isEqualTo(3);
+        assertThat(index.key(children.keyStart(0))).isEqualTo("\"a\"");
+        assertThat(index.preview(children.valueStart(0), children.valueEnd(0))).isEqualTo("1");
+        assertThat(index.key(children.keyStart(1))).isEqualTo("\"b\\\"}\"");
+        assertThat(index.preview(children.valueStart(1), children.valueEnd(1))).isEqualTo("\"x,]\"");
+        assertThat(index.preview(children.valueStart(2), children.valueEnd(2))).isEqualTo("[true, {\"d\": null}]");
+    }
+
+    @Test
+    void testChildren_NestedArray_ListsElements() throws Exception {
+        // Arrange
+        JsonIndex index = JsonIndex.build(ResponseBody.ofString("{\"list\": [1, \"two\", [3], {}]}"));
+        JsonIndex.Children root = index.children(index.getRootStart());
+
+        // Act
+        JsonIndex.Children list = index.children(root.valueStart(0));
+
+        // Assert
+        assertThat(list.isObject()).isFalse();
+        assertThat(list.size()).isEqualTo(4);
+        assertThat(list.keyStart(0)).isEqualTo(-1);
+        assertThat(index.preview(list.valueStart(2), list.valueEnd(2))).isEqualTo("[3]");
+        assertThat(index.preview(list.valueStart(3), list.valueEnd(3))).isEqualTo("{}");
+    }
+
+    @Test
+    void testBuild_RecordsOnlyLargeContainers() throws Exception {
+        // Arrange: an array of small objects inside one large enough to record
+        StringBuilder json = new StringBuilder("{\"items\": [");
+        for (int i = 0; i < 100; i++) {
+            json.append(i == 0 ? "" : ", ").append("{\"id\": ").append(i).append('}');
+        }
+        json.append("], \"tail\": \"").append("y".repeat(JsonIndex.MIN_INDEXED_BYTES)).append("\"}");
+
+        // Act
+        JsonIndex index = JsonIndex.build(ResponseBody.ofString(json.toString()));
+        JsonIndex.Children root = index.children(index.getRootStart());
+        JsonIndex.Children items = index.children(root.valueStart(0));
+
+        // Assert: the root and the items array, but none of the small objects
+        assertThat(index.getIndexedCount()).isEqualTo(2);
+        assertThat(root.size()).isEqualTo(2);
+        assertThat(index.key(root.keyStart(1))).isEqualTo("\"tail\"");
+        assertThat(items.size()).isEqualTo(100);
+        assertThat(index.preview(items.valueStart(99), items.valueEnd(99))).isEqualTo("{\"id\": 99}");
+    }
+
+    @Test
+    void testPreview_LongOrMultilineValue_IsCut() throws Exception {
+        // Arrange
+        String json = "[\"" + "z".repeat(JsonIndex.PREVIEW_BYTES * 2) + "\", {\n  \"a\": 1\n}]";
+        JsonIndex index = JsonIndex.build(ResponseBody.ofString(json));
+
+        // Act
+        JsonIndex.Children children = index.children(index.getRootStart());
+
+        // Assert
+        String first = index.preview(children.valueStart(0), children.valueEnd(0));
+        assertThat(first).endsWith("…");
+        assertThat(first.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(JsonIndex.PREVIEW_BYTES + 3);
+        assertThat(index.preview(children.valueStart(1), children.valueEnd(1))).isEqualTo("{…");
+    }
+
+    @Test
+    void testBuild_TruncatedBody_IsNotBalanced() throws Exception {
+        // Act
+        JsonIndex index = JsonIndex.build(ResponseBody.ofString("{\"a\": [1, 2"));
+        JsonIndex.Children root = index.children(index.getRootStart());
+
+        // Assert
+        assertThat(index.isBalanced()).isFalse();
+        assertThat(root.size()).isEqualTo(1);
+        assertThat(JsonIndex.build(ResponseBody.ofString("   ")).getRootStart()).isEqualTo(-1);
+    }
+}
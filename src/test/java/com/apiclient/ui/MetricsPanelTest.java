@@ -0,0 +1,113 @@
+package com.apiclient.ui;
+
+import com.apiclient.load.LoadSnapshot;
+import com.apiclient.metrics.LatencyHistogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for MetricsPanel class.
+ */
+class MetricsPanelTest {
+
+    private MetricsPanel metricsPanel;
+
+    @BeforeEach
+    void setUp() {
+        metricsPanel = new MetricsPanel();
+    }
+
+    @Test
+    void testDrainPending_WithoutSnapshots_ReturnsFalse() {
+        // Act & Assert
+        assertThat(metricsPanel.drainPending()).isFalse();
+        assertThat(metricsPanel.getSummaryText()).isEqualTo("No samples yet");
+    }
+
+    @Test
+    void testAddSnapshot_FromOtherThreads_IsShownOnNextFrame() throws Exception {
+        // Arrange
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 25; i++) {
+                    metricsPanel.addSnapshot(snapshot(i, 100, 5, 20));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Act
+        boolean changed = metricsPanel.drainPending();
+
+        // Assert
+        assertThat(changed).isTrue();
+        assertThat(metricsPanel.getHistorySize()).isEqualTo(100);
+        assertThat(metricsPanel.getSummaryText()).contains("100.0 req/s").contains("5.0% errors");
+        assertThat(metricsPanel.drainPending()).isFalse();
+    }
+
+    @Test
+    void testDrainPending_KeepsBoundedHistory() {
+        // Arrange
+        for (int i = 0; i < MetricsPanel.HISTORY_SIZE + 50; i++) {
+            metricsPanel.addSnapshot(snapshot(i, 10, 0, 1));
+        }
+
+        // Act
+        metricsPanel.drainPending();
+
+        // Assert
+        assertThat(metricsPanel.getHistorySize()).isEqualTo(MetricsPanel.HISTORY_SIZE);
+    }
+
+    @Test
+    void testClear_RemovesHistory() {
+        // Arrange
+        metricsPanel.addSnapshot(snapshot(0, 10, 0, 1));
+        metricsPanel.drainPending();
+
+        // Act
+        metricsPanel.clear();
+
+        // Assert
+        assertThat(metricsPanel.getHistorySize()).isZero();
+        assertThat(metricsPanel.getSummaryText()).isEqualTo("No samples yet");
+    }
+
+    @Test
+    void testPaint_WithHistory_DoesNotFail() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            metricsPanel.addSnapshot(snapshot(i, 50 + i, i, 10 + i));
+        }
+        metricsPanel.drainPending();
+        metricsPanel.setSize(600, 400);
+        metricsPanel.doLayout();
+        BufferedImage image = new BufferedImage(600, 400, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+
+        // Act
+        metricsPanel.printAll(graphics);
+        graphics.dispose();
+
+        // Assert
+        assertThat(metricsPanel.getHistorySize()).isEqualTo(10);
+    }
+
+    private static LoadSnapshot snapshot(int index, long completed, long errors, long latencyMillis) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordValues(TimeUnit.MILLISECONDS.toNanos(latencyMillis), completed);
+        return new LoadSnapshot(index, TimeUnit.SECONDS.toNanos(index), TimeUnit.SECONDS.toNanos(1),
+                10, 10, completed, errors, histogram);
+    }
+}
@@ -1,15 +1,23 @@
 package com.apiclient.ui;
 
+import com.apiclient.model.BodyBuffer;
+import com.apiclient.model.ResponseBody;
 import com.apiclient.model.ResponseData;
+import com.apiclient.model.ResponseDownload;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import javax.swing.JLabel;
 import javax.swing.JTabbedPane;
 import javax.swing.JTextArea;
+import javax.swing.JTree;
+import javax.swing.SwingUtilities;
 import javax.swing.JScrollPane;
 import java.awt.Color;
 import java.awt.Font;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -348,6 +356,264 @@ class ResponsePanelTest {
         assertThat(bodyArea.getText()).isEqualTo("Second response");
     }
 
+    @Test
+    void testPrettyView_IsFormattedOnlyWhenShown() throws Exception {
+        // Arrange
+        ResponseData responseData = new ResponseData();
+        responseData.setStatusCode(200);
+        responseData.setStatusText("OK");
+        responseData.addHeader("Content-Type", "application/json");
+        responseData.setBody("{\"id\":1,\"tags\":[\"a\"]}");
+
+        // Act
+        responsePanel.setResponseData(responseData);
+
+        // Assert
+        assertThat(responsePanel.isPrettyViewCreated()).isFalse();
+        assertThat(responsePanel.getPrettyText()).contains("\"id\": 1,").contains("\n  ");
+        assertThat(responsePanel.isPrettyViewCreated()).isTrue();
+    }
+
+    @Test
+    void testPrettyView_AfterClear_ShowsPlaceholder() throws Exception {
+        // Arrange
+        ResponseData responseData = new ResponseData();
+        responseData.setStatusCode(200);
+        responseData.setStatusText("OK");
+        responseData.setBody("plain");
+        responsePanel.setResponseData(responseData);
+        assertThat(responsePanel.getPrettyText()).isEqualTo("plain");
+
+        // Act
+        responsePanel.clearResponse();
+
+        // Assert
+        assertThat(responsePanel.getPrettyText()).isEqualTo("(No response yet)");
+    }
+
+    @Test
+    void testPrettyView_LargeJson_IsFormattedOffTheCallingThread() throws Exception {
+        // Arrange
+        ResponseData responseData = jsonResponse(largeJson(2 * 1024 * 1024));
+        responsePanel.setResponseData(responseData);
+
+        // Act
+        responsePanel.selectPrettyTab();
+        responsePanel.awaitPrettyView();
+
+        // Assert
+        assertThat(responsePanel.getPrettyViewer().isIndexed()).isTrue();
+        assertThat(responsePanel.getPrettyViewer().getRow(0)).isEqualTo("[");
+        assertThat(responsePanel.getPrettyViewer().getRow(2)).isEqualTo("    \"id\": 0,");
+        assertThat(responsePanel.getPrettyViewer().getRowCount()).isGreaterThan(100_000);
+    }
+
+    @Test
+    void testPrettyView_InvalidJson_ShowsOutputUpToTheErrorAndItsPosition() throws Exception {
+        // Arrange
+        responsePanel.setResponseData(jsonResponse("{\"ok\": 1,\n \"bad\": tru}"));
+
+        // Act
+        String pretty = responsePanel.getPrettyText();
+
+        // Assert
+        assertThat(pretty).startsWith("{\n  \"ok\": 1")
+                .contains("Could not format JSON:")
+                .contains("line 2");
+    }
+
+    @Test
+    void testPrettyView_NewerResponse_ReplacesRunningFormat() throws Exception {
+        // Arrange
+        responsePanel.setResponseData(jsonResponse(largeJson(8 * 1024 * 1024)));
+        responsePanel.selectPrettyTab();
+
+        // Act
+        responsePanel.setResponseData(jsonResponse("{\"latest\":true}"));
+
+        // Assert
+        assertThat(responsePanel.getPrettyText()).isEqualTo("{\n  \"latest\": true\n}");
+    }
+
+    @Test
+    void testTreeView_ExpandingNodes_LoadsTheirMembers() throws Exception {
+        // Arrange
+        responsePanel.setResponseData(jsonResponse("{\"id\": 7, \"tags\": [\"a\", \"b\"], \"owner\": {\"name\": \"x\"}}"));
+        responsePanel.selectTreeTab();
+        JsonTreePanel treePanel = responsePanel.getTreePanel();
+        treePanel.awaitLoaded();
+        JTree tree = treePanel.getTree();
+
+        // Assert: the root's members are loaded with the index
+        assertThat(tree.getRowCount()).isEqualTo(4);
+        assertThat(tree.getPathForRow(1).getLastPathComponent().toString()).isEqualTo("\"id\": 7");
+        assertThat(tree.getPathForRow(2).getLastPathComponent().toString()).startsWith("\"tags\": […]");
+        assertThat(tree.isExpanded(2)).isFalse();
+
+        // Act
+        tree.expandRow(2);
+        treePanel.awaitLoaded();
+
+        // Assert
+        assertThat(tree.getRowCount()).isEqualTo(6);
+        assertThat(tree.getPathForRow(3).getLastPathComponent().toString()).isEqualTo("[0]: \"a\"");
+    }
+
+    @Test
+    void testTreeView_LargeArray_IsGroupedIntoRanges() throws Exception {
+        // Arrange
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < JsonTreePanel.GROUP_SIZE * 2 + 5; i++) {
+            json.append(i == 0 ? "" : ",").append(i);
+        }
+        responsePanel.setResponseData(jsonResponse(json.append(']').toString()));
+        responsePanel.selectTreeTab();
+        JsonTreePanel treePanel = responsePanel.getTreePanel();
+        treePanel.awaitLoaded();
+        JTree tree = treePanel.getTree();
+
+        // Act
+        tree.expandRow(3);
+        treePanel.awaitLoaded();
+
+        // Assert
+        assertThat(tree.getRowCount()).isEqualTo(9);
+        assertThat(tree.getPathForRow(1).getLastPathComponent().toString()).isEqualTo("[0 … 999]");
+        assertThat(tree.getPathForRow(3).getLastPathComponent().toString()).isEqualTo("[2000 … 2004]");
+        assertThat(tree.getPathForRow(4).getLastPathComponent().toString()).isEqualTo("[2000]: 2000");
+    }
+
+    @Test
+    void testTreeView_NonJsonResponse_ShowsMessage() throws Exception {
+        // Arrange
+        ResponseData responseData = new ResponseData(200, "OK");
+        responseData.setBody("plain");
+        responsePanel.setResponseData(responseData);
+
+        // Act
+        responsePanel.selectTreeTab();
+
+        // Assert
+        assertThat(responsePanel.getTreePanel().getTree().getModel().getRoot().toString())
+                .isEqualTo("(Not a JSON response)");
+    }
+
+    @Test
+    void testSetResponseData_WithSpilledBody_ShowsWholeBodyFromSpillFile() throws Exception {
+        // Arrange
+        BodyBuffer buffer = new BodyBuffer(16);
+        byte[] bytes = "first line\nsecond line\nthird line".getBytes(StandardCharsets.UTF_8);
+        buffer.write(bytes, 0, bytes.length);
+        ResponseBody body = buffer.toResponseBody(StandardCharsets.UTF_8);
+        ResponseData responseData = new ResponseData(200, "OK");
+        responseData.setBodyContent(body);
+
+        try {
+            // Act
+            responsePanel.setResponseData(responseData);
+
+            // Assert
+            assertThat(body.isSpilled()).isTrue();
+            assertThat(responsePanel.getBodyViewer().getRowCount()).isEqualTo(3);
+            assertThat(responsePanel.getBodyText()).isEqualTo("first line\nsecond line\nthird line");
+        } finally {
+            body.close();
+        }
+    }
+
+    @Test
+    void testSetResponseData_NewerResponse_ClosesReplacedSpilledBody() throws Exception {
+        // Arrange
+        BodyBuffer buffer = new BodyBuffer(4);
+        byte[] bytes = "spilled body".getBytes(StandardCharsets.UTF_8);
+        buffer.write(bytes, 0, bytes.length);
+        ResponseBody body = buffer.toResponseBody(StandardCharsets.UTF_8);
+        ResponseData first = new ResponseData(200, "OK");
+        first.setBodyContent(body);
+        ResponseData second = new ResponseData(200, "OK");
+        second.setBody("next");
+        responsePanel.setResponseData(first);
+
+        // Act
+        responsePanel.setResponseData(first);
+        boolean keptWhileShown = Files.exists(body.getSpillFile());
+        responsePanel.setResponseData(second);
+
+        // Assert
+        assertThat(keptWhileShown).isTrue();
+        assertThat(Files.exists(body.getSpillFile())).isFalse();
+        assertThat(responsePanel.getBodyText()).isEqualTo("next");
+    }
+
+    @Test
+    void testShowDownload_ShowsBodyAsItArrives() throws Exception {
+        // Arrange
+        ResponseData head = new ResponseData(200, "OK");
+        head.addHeader("Content-Type", "application/json");
+        head.addHeader("Content-Length", "100");
+        BodyBuffer buffer = new BodyBuffer(1024);
+        ResponseDownload download = new ResponseDownload(head, buffer, StandardCharsets.UTF_8);
+        byte[] first = "[\n  1,\n".getBytes(StandardCharsets.UTF_8);
+        buffer.write(first, 0, first.length);
+        download.setWireBytes(first.length);
+
+        // Act
+        SwingUtilities.invokeAndWait(() -> responsePanel.showDownload(download));
+
+        // Assert - the first part is shown straight away
+        assertThat(responsePanel.isDownloading()).isTrue();
+        assertThat(responsePanel.getBodyViewer().getRow(1)).isEqualTo("  1,");
+        assertThat(responsePanel.getSizeText()).startsWith("Receiving " + first.length + " B of 100 B (7%) at ");
+        assertThat(responsePanel.getBodyViewer().getSyntax()).isEqualTo(SyntaxLexer.Language.JSON);
+
+        // Act - more bytes are picked up by the next update
+        byte[] rest = "  2\n]".getBytes(StandardCharsets.UTF_8);
+        buffer.write(rest, 0, rest.length);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (responsePanel.getBodyViewer().getRowCount() < 4 && System.nanoTime() < deadline) {
+            Thread.sleep(ResponsePanel.DOWNLOAD_UPDATE_MILLIS);
+        }
+
+        // Assert
+        assertThat(responsePanel.getBodyViewer().getRow(3)).isEqualTo("]");
+
+        // Act - the complete response replaces the download
+        ResponseData complete = jsonResponse("[1, 2]");
+        SwingUtilities.invokeAndWait(() -> responsePanel.setResponseData(complete));
+
+        // Assert
+        assertThat(responsePanel.isDownloading()).isFalse();
+        assertThat(responsePanel.getBodyText()).isEqualTo("[1, 2]");
+    }
+
+    @Test
+    void testDescribeDownload_WithAndWithoutExpectedLength() {
+        // Act & Assert
+        assertThat(ResponsePanel.describeDownload(512 * 1024, 2 * 1024 * 1024, 256 * 1024))
+                .isEqualTo("Receiving 512.0 KB of 2.0 MB (25%) at 256.0 KB/s");
+        assertThat(ResponsePanel.describeDownload(100, -1, 50))
+                .isEqualTo("Receiving 100 B at 50 B/s");
+    }
+
+    private static ResponseData jsonResponse(String json) {
+        ResponseData responseData = new ResponseData(200, "OK");
+        responseData.addHeader("Content-Type", "application/json");
+        responseData.setBody(json);
+        return responseData;
+    }
+
+    private static String largeJson(int size) {
+        StringBuilder json = new StringBuilder(size + 64);
+        json.append('[');
+        for (int id = 0; json.length() < size; id++) {
+            if (id > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(id).append(",\"name\":\"item ").append(id).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
     // Helper methods to find UI components
     private JLabel findStatusLabel() {
         // Search for the status label in the component hierarchy
@@ -0,0 +1,111 @@
+package com.apiclient.ui;
+
+import org.junit.jupiter.api.Test;
+
+import static com.apiclient.ui.SyntaxLexer.ATTRIBUTE;
+import static com.apiclient.ui.SyntaxLexer.COMMENT;
+import static com.apiclient.ui.SyntaxLexer.KEY;
+import static com.apiclient.ui.SyntaxLexer.LITERAL;
+import static com.apiclient.ui.SyntaxLexer.NUMBER;
+import static com.apiclient.ui.SyntaxLexer.PLAIN;
+import static com.apiclient.ui.SyntaxLexer.PUNCTUATION;
+import static com.apiclient.ui.SyntaxLexer.STRING;
+import static com.apiclient.ui.SyntaxLexer.TAG;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SyntaxLexer class.
+ */
+class SyntaxLexerTest {
+
+    @Test
+    void testLexJson_MarksKeysValuesAndPunctuation() {
+        // Arrange
+        String row = "  \"id\": -1.5e3, \"ok\": true, \"name\": \"a:b\"";
+        byte[] kinds = new byte[row.length()];
+
+        // Act
+        int state = SyntaxLexer.lex(SyntaxLexer.Language.JSON, row, SyntaxLexer.INITIAL, kinds);
+
+        // Assert
+        assertThat(state).isEqualTo(SyntaxLexer.INITIAL);
+        assertThat(kindAt(row, kinds, "\"id\"")).isEqualTo(KEY);
+        assertThat(kindAt(row, kinds, "-1.5e3")).isEqualTo(NUMBER);
+        assertThat(kindAt(row, kinds, "true")).isEqualTo(LITERAL);
+        assertThat(kindAt(row, kinds, "\"a:b\"")).isEqualTo(STRING);
+        assertThat(kinds[row.indexOf(':')]).isEqualTo(PUNCTUATION);
+        assertThat(kinds[0]).isEqualTo(PLAIN);
+    }
+
+    @Test
+    void testLexJson_StringBrokenOverRows_ContinuesInNextRow() {
+        // Arrange
+        String first = "[\"abc\\";
+        String second = "\"def\", 1]";
+        byte[] firstKinds = new byte[first.length()];
+        byte[] secondKinds = new byte[second.length()];
+
+        // Act
+        int state = SyntaxLexer.lex(SyntaxLexer.Language.JSON, first, SyntaxLexer.INITIAL, firstKinds);
+        int end = SyntaxLexer.lex(SyntaxLexer.Language.JSON, second, state, secondKinds);
+
+        // Assert: the escaped quote does not end the string
+        assertThat(state).isNotEqualTo(SyntaxLexer.INITIAL);
+        assertThat(firstKinds[first.length() - 1]).isEqualTo(STRING);
+        assertThat(kindAt(second, secondKinds, "\"def\"")).isEqualTo(STRING);
+        assertThat(secondKinds[second.indexOf('1')]).isEqualTo(NUMBER);
+        assertThat(end).isEqualTo(SyntaxLexer.INITIAL);
+    }
+
+    @Test
+    void testLexXml_MarksTagsAttributesAndValues() {
+        // Arrange
+        String row = "<item id=\"7\" kind='x'>a &amp; b</item>";
+        byte[] kinds = new byte[row.length()];
+
+        // Act
+        int state = SyntaxLexer.lex(SyntaxLexer.Language.XML, row, SyntaxLexer.INITIAL, kinds);
+
+        // Assert
+        assertThat(state).isEqualTo(SyntaxLexer.INITIAL);
+        assertThat(kindAt(row, kinds, "<item")).isEqualTo(TAG);
+        assertThat(kindAt(row, kinds, "id")).isEqualTo(ATTRIBUTE);
+        assertThat(kindAt(row, kinds, "\"7\"")).isEqualTo(STRING);
+        assertThat(kindAt(row, kinds, "'x'")).isEqualTo(STRING);
+        assertThat(kindAt(row, kinds, "&amp;")).isEqualTo(LITERAL);
+        assertThat(kindAt(row, kinds, "</item>")).isEqualTo(TAG);
+        assertThat(kinds[row.indexOf("a &")]).isEqualTo(PLAIN);
+    }
+
+    @Test
+    void testLexXml_CommentAndTagOverRows_KeepState() {
+        // Arrange
+        String[] rows = {"<!-- note", "<b> still comment -->", "<a", "  href=\"x\">t</a>"};
+        byte[][] kinds = new byte[rows.length][];
+
+        // Act
+        int state = SyntaxLexer.INITIAL;
+        for (int i = 0; i < rows.length; i++) {
+            kinds[i] = new byte[rows[i].length()];
+            state = SyntaxLexer.lex(SyntaxLexer.Language.XML, rows[i], state, kinds[i]);
+        }
+
+        // Assert
+        assertThat(kindAt(rows[1], kinds[1], "<b> still comment -->")).isEqualTo(COMMENT);
+        assertThat(kindAt(rows[3], kinds[3], "href")).isEqualTo(ATTRIBUTE);
+        assertThat(kindAt(rows[3], kinds[3], "</a>")).isEqualTo(TAG);
+        assertThat(state).isEqualTo(SyntaxLexer.INITIAL);
+    }
+
+    /**
+     * The kind of every character of a token, which must be the same.
+     */
+    private static byte kindAt(String row, byte[] kinds, String token) {
+        int start = row.indexOf(token);
+        assertThat(start).isNotNegative();
+        for (int i = start + 1; i < start + token.length(); i++) {
+            assertThat(kinds[i]).as("kind at %d of %s", i, token).isEqualTo(kinds[start]);
+        }
+        return kinds[start];
+    }
+}
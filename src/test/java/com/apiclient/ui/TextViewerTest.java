@@ -0,0 +1,211 @@
+package com.apiclient.ui;
+
+import com.apiclient.model.BodyBuffer;
+import com.apiclient.model.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for TextViewer and LineIndex classes.
+ */
+class TextViewerTest {
+
+    @Test
+    void testSetText_SplitsRowsAtNewlines() {
+        // Arrange
+        TextViewer viewer = new TextViewer();
+
+        // Act
+        viewer.setText("first\r\nsecond\n\tthird");
+
+        // Assert
+        assertThat(viewer.getRowCount()).isEqualTo(3);
+        assertThat(viewer.getRow(0)).isEqualTo("first");
+        assertThat(viewer.getRow(1)).isEqualTo("second");
+        assertThat(viewer.getRow(2)).isEqualTo("    third");
+        assertThat(viewer.isIndexed()).isTrue();
+    }
+
+    @Test
+    void testSetText_ManyRows_ReadsEachBlockFromItsCheckpoint() {
+        // Arrange
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < LineIndex.STRIDE * 5 + 3; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+        TextViewer viewer = new TextViewer();
+
+        // Act
+        viewer.setText(text.toString());
+
+        // Assert
+        assertThat(viewer.getRowCount()).isEqualTo(LineIndex.STRIDE * 5 + 4);
+        assertThat(viewer.getRow(0)).isEqualTo("line 0");
+        assertThat(viewer.getRow(LineIndex.STRIDE)).isEqualTo("line " + LineIndex.STRIDE);
+        assertThat(viewer.getRow(LineIndex.STRIDE * 5 + 2)).isEqualTo("line " + (LineIndex.STRIDE * 5 + 2));
+        assertThat(viewer.getRow(LineIndex.STRIDE * 5 + 3)).isEmpty();
+    }
+
+    @Test
+    void testLongLine_IsBrokenWithoutSplittingCharacters() {
+        // Arrange: one line of 3-byte characters, so MAX_ROW_BYTES falls inside one
+        char[] chars = new char[LineIndex.MAX_ROW_BYTES];
+        Arrays.fill(chars, '€');
+        String line = new String(chars);
+        TextViewer viewer = new TextViewer();
+
+        // Act
+        viewer.setText(line);
+
+        // Assert
+        long rows = viewer.getRowCount();
+        assertThat(rows).isEqualTo(3);
+        StringBuilder joined = new StringBuilder();
+        for (long row = 0; row < rows; row++) {
+            assertThat(viewer.getRow(row).getBytes(StandardCharsets.UTF_8).length)
+                    .isLessThanOrEqualTo(LineIndex.MAX_ROW_BYTES + 2);
+            joined.append(viewer.getRow(row));
+        }
+        assertThat(joined.toString()).isEqualTo(line);
+    }
+
+    @Test
+    void testLineIndex_AppendInChunks_MatchesSplitRows() {
+        // Arrange
+        byte[] data = ("a\nbb\n" + "x".repeat(LineIndex.MAX_ROW_BYTES + 10) + "\nlast").getBytes(StandardCharsets.UTF_8);
+        LineIndex index = new LineIndex();
+
+        // Act
+        for (int i = 0; i < data.length; i += 7) {
+            index.append(data, i, Math.min(7, data.length - i));
+        }
+        index.finish();
+
+        // Assert
+        int[] ends = LineIndex.splitRows(data, data.length, Integer.MAX_VALUE);
+        assertThat(index.rowCount()).isEqualTo(ends.length).isEqualTo(5);
+        assertThat(index.maxRowBytes()).isEqualTo(LineIndex.MAX_ROW_BYTES);
+        assertThat(index.blockRange(0)).containsExactly(0, data.length);
+        assertThat(index.blockRange(1)).isNull();
+    }
+
+    @Test
+    void testSetBody_LargeSpilledBody_IsIndexedInBackground() throws Exception {
+        // Arrange
+        int rows = 200_000;
+        BodyBuffer buffer = new BodyBuffer(64 * 1024);
+        for (int i = 0; i < rows; i++) {
+            byte[] line = String.format("{\"row\": %07d}%n", i).getBytes(StandardCharsets.UTF_8);
+            buffer.write(line, 0, line.length);
+        }
+        ResponseBody body = buffer.toResponseBody(StandardCharsets.UTF_8);
+        assertThat(body.length()).isGreaterThan(TextViewer.SYNC_INDEX_BYTES);
+        TextViewer viewer = new TextViewer();
+
+        try {
+            // Act
+            SwingUtilities.invokeAndWait(() -> viewer.setBody(body));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!viewer.isIndexed() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // Assert
+            assertThat(viewer.isIndexed()).isTrue();
+            assertThat(viewer.getRowCount()).isEqualTo(rows + 1);
+            assertThat(viewer.getRow(123_456)).isEqualTo("{\"row\": 0123456}");
+            assertThat(viewer.getRow(rows - 1)).isEqualTo("{\"row\": 0199999}");
+        } finally {
+            body.close();
+        }
+    }
+
+    @Test
+    void testPaint_OnlyDecodesVisibleBlocks() {
+        // Arrange
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            text.append("row ").append(i).append('\n');
+        }
+        TextViewer viewer = new TextViewer();
+        viewer.setText(text.toString());
+        viewer.setSize(400, 200);
+        BufferedImage image = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+
+        // Act
+        Graphics2D g = image.createGraphics();
+        viewer.paint(g);
+        g.dispose();
+
+        // Assert
+        assertThat(viewer.getPreferredSize().height).isGreaterThan(10_000 * 10);
+        assertThat(viewer.getCachedBlockCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testHighlight_FarRow_OnlyLexesBlocksAroundIt() {
+        // Arrange
+        StringBuilder text = new StringBuilder("[\n");
+        for (int i = 0; i < 10_000; i++) {
+            text.append("  {\"id\": ").append(i).append("},\n");
+        }
+        TextViewer viewer = new TextViewer();
+        viewer.setText(text.append("]").toString());
+        viewer.setSyntax(SyntaxLexer.Language.JSON);
+
+        // Act
+        byte[] kinds = viewer.getRowTokens(9_000);
+
+        // Assert
+        assertThat(viewer.getRow(9_000)).isEqualTo("  {\"id\": 8999},");
+        assertThat(kinds[3]).isEqualTo(SyntaxLexer.KEY);
+        assertThat(kinds[9]).isEqualTo(SyntaxLexer.NUMBER);
+        assertThat(viewer.getCachedBlockCount()).isEqualTo(TextViewer.HIGHLIGHT_MARGIN_BLOCKS + 1);
+    }
+
+    @Test
+    void testHighlight_StringAcrossBlocks_UsesKeptBlockState() {
+        // Arrange: a string opened on the last row of the first block
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < LineIndex.STRIDE - 1; i++) {
+            text.append("1,\n");
+        }
+        text.append("\"open\n");
+        for (int i = 0; i < LineIndex.STRIDE * 4; i++) {
+            text.append("plain\n");
+        }
+        TextViewer viewer = new TextViewer();
+        viewer.setText(text.toString());
+        viewer.setSyntax(SyntaxLexer.Language.JSON);
+
+        // Act
+        viewer.getRowTokens(0);
+        byte[] kinds = viewer.getRowTokens(LineIndex.STRIDE * 2);
+
+        // Assert: lexed on from the state kept after block 0
+        assertThat(kinds[0]).isEqualTo(SyntaxLexer.STRING);
+        viewer.setSyntax(SyntaxLexer.Language.NONE);
+        assertThat(viewer.getRowTokens(0)).isNull();
+    }
+
+    @Test
+    void testSelectAll_CopiesEveryRow() {
+        // Arrange
+        TextViewer viewer = new TextViewer();
+        viewer.setText("one\ntwo");
+
+        // Act
+        viewer.selectAll();
+
+        // Assert
+        assertThat(viewer.getSelectedText()).isEqualTo("one\ntwo");
+    }
+}